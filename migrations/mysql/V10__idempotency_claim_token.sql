@@ -0,0 +1,4 @@
+-- Owner token of the request holding an idempotency key, so only that request can complete or release it.
+-- Run once on existing databases before deploying; new databases get the column from ddl-auto.
+
+ALTER TABLE idempotency_keys ADD COLUMN claim_token VARCHAR(36) NULL;
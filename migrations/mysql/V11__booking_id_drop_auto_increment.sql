@@ -0,0 +1,9 @@
+-- Drop AUTO_INCREMENT from bookings.id, so the bookings_seq table is the only source of booking ids.
+-- An insert that omitted the id would otherwise take the next AUTO_INCREMENT value, which the sequence
+-- later hands to Hibernate as well, failing that insert with a duplicate key.
+-- The fares and booking_status_history foreign keys reference the column, so checks are off for the change.
+-- Run once on existing databases before deploying; new databases get the column from ddl-auto.
+
+SET FOREIGN_KEY_CHECKS = 0;
+ALTER TABLE bookings MODIFY id BIGINT NOT NULL;
+SET FOREIGN_KEY_CHECKS = 1;
@@ -0,0 +1,9 @@
+-- When each day of the hourly rollup was last rebuilt from the bookings table. Every node drops its
+-- unflushed rollup deltas observed before that time, since the rebuilt rows already count them.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS booking_rollup_rebuilds (
+    rebuild_day DATE NOT NULL,
+    rebuilt_at DATETIME(6) NULL,
+    PRIMARY KEY (rebuild_day)
+);
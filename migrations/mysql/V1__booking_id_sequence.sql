@@ -0,0 +1,14 @@
+-- Switch booking ids from AUTO_INCREMENT to a Hibernate pooled sequence so inserts can be batched.
+-- MySQL has no sequences, so Hibernate keeps the next value in a one-row table. The AUTO_INCREMENT
+-- attribute of bookings.id is dropped by V11.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS bookings_seq (
+    next_val BIGINT
+) ENGINE = InnoDB;
+
+-- The pooled optimizer treats the stored value as the top of a block of 50 ids,
+-- so start one full block past the highest existing id
+DELETE FROM bookings_seq;
+INSERT INTO bookings_seq (next_val)
+SELECT COALESCE(MAX(id), 0) + 51 FROM bookings;
@@ -0,0 +1,4 @@
+-- Optimistic locking version for bookings, bumped by every status transition.
+-- Run once on existing databases before deploying; new databases get the column from ddl-auto.
+
+ALTER TABLE bookings ADD COLUMN version BIGINT NOT NULL DEFAULT 0;
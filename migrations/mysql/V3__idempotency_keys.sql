@@ -0,0 +1,14 @@
+-- Shared Idempotency-Key store, used when idempotency.store=jpa.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    idempotency_key VARCHAR(255) NOT NULL PRIMARY KEY,
+    fingerprint VARCHAR(64) NOT NULL,
+    status_code INT NULL,
+    content_type VARCHAR(255) NULL,
+    response_headers VARCHAR(4000) NULL,
+    response_body LONGBLOB NULL,
+    created_at DATETIME(6) NOT NULL,
+    expires_at DATETIME(6) NOT NULL,
+    INDEX idx_idempotency_keys_expires_at (expires_at)
+);
@@ -0,0 +1,9 @@
+-- Indexes backing the repository queries (declared on the entities for new databases).
+-- idx_bookings_customer_created also satisfies the customer_id foreign key, so the index MySQL
+-- created for the constraint becomes redundant; drop it afterwards if it is still present, e.g.
+--   SHOW INDEX FROM bookings WHERE Column_name = 'customer_id';
+
+CREATE INDEX idx_bookings_status_created ON bookings (status, created_date);
+CREATE INDEX idx_bookings_customer_created ON bookings (customer_id, created_date);
+CREATE INDEX idx_bookings_created ON bookings (created_date);
+CREATE INDEX idx_customers_phone ON customers (phone);
@@ -0,0 +1,7 @@
+-- Near-cache invalidation counters, one row per region bucket, bumped on writes and polled by every node.
+-- Run once on existing databases before deploying; rows are created on startup.
+
+CREATE TABLE IF NOT EXISTS cache_versions (
+    name VARCHAR(64) NOT NULL PRIMARY KEY,
+    version BIGINT NOT NULL
+);
@@ -0,0 +1,11 @@
+-- Status changes shown on the booking detail page; creation is implied by bookings.created_date.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+
+CREATE TABLE IF NOT EXISTS booking_status_history (
+    id BIGINT NOT NULL AUTO_INCREMENT PRIMARY KEY,
+    booking_id BIGINT NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    changed_at DATETIME(6) NOT NULL,
+    INDEX idx_booking_status_history_booking (booking_id, changed_at),
+    CONSTRAINT fk_booking_status_history_booking FOREIGN KEY (booking_id) REFERENCES bookings (id) ON DELETE CASCADE
+);
@@ -0,0 +1,13 @@
+-- Bookings and fare totals per creation hour, cab type and status, read by the admin reports.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+-- The application fills an empty table from booking history on startup; POST
+-- /api/admin/reports/rollup/backfill rebuilds any range of days later.
+
+CREATE TABLE IF NOT EXISTS booking_hourly_rollup (
+    bucket_hour DATETIME(6) NOT NULL,
+    cab_type VARCHAR(255) NOT NULL,
+    status VARCHAR(255) NOT NULL,
+    bookings BIGINT NOT NULL,
+    fare_total DECIMAL(14,2) NOT NULL,
+    PRIMARY KEY (bucket_hour, cab_type, status)
+);
@@ -0,0 +1,11 @@
+-- Per-day distinct-rider and fare/trip-time percentile sketches, read by the admin analytics endpoints.
+-- Run once on existing databases before deploying; new databases get the table from ddl-auto.
+-- Rows older than analytics.sketches.retention-days are deleted by the application.
+
+CREATE TABLE IF NOT EXISTS booking_sketches (
+    sketch_day DATE NOT NULL,
+    name VARCHAR(255) NOT NULL,
+    data LONGBLOB NOT NULL,
+    updated_at DATETIME(6) NOT NULL,
+    PRIMARY KEY (sketch_day, name)
+);
@@ -0,0 +1,5 @@
+-- Bookings are paged on (created_date, id), so created_date must always be set.
+-- Run once on existing databases before deploying; new databases get the constraint from ddl-auto.
+
+UPDATE bookings SET created_date = COALESCE(booking_time, NOW(6)) WHERE created_date IS NULL;
+ALTER TABLE bookings MODIFY created_date DATETIME(6) NOT NULL;
@@ -0,0 +1,113 @@
+package com.travelcompany.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.service.AdminService;
+import com.travelcompany.booking.service.BookingRollupService;
+import com.travelcompany.booking.service.DashboardCounters;
+
+/**
+ * Benchmarks for admin reporting against an embedded H2 database seeded at realistic sizes
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AdminDashboardBenchmark {
+
+    private static final int CUSTOMERS = 1_000;
+    private static final int INSERT_BATCH = 5_000;
+    private static final String[] CAB_TYPES = { "Economy", "Premium", "SUV" };
+
+    @Param({"10000", "100000"})
+    private int bookings;
+
+    private ConfigurableApplicationContext context;
+    private AdminService adminService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        adminService = context.getBean(AdminService.class);
+        seed(context.getBean(JdbcTemplate.class));
+        // Seeding bypasses the booking events that keep the counters and the report rollup current
+        context.getBean(DashboardCounters.class).reconcile();
+        context.getBean(BookingRollupService.class).backfill(LocalDate.now().minusDays(60), LocalDate.now());
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private void seed(JdbcTemplate jdbcTemplate) {
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+
+        List<Object[]> customerRows = new ArrayList<>(CUSTOMERS);
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customerRows.add(new Object[] { "Bench Customer " + i, "bench" + i + "@example.com",
+                "+1555" + String.format("%07d", i), i + " Bench St", Timestamp.valueOf(now.minusDays(90)) });
+        }
+        jdbcTemplate.batchUpdate("INSERT INTO customers (name, email, phone, address, registration_date) "
+            + "VALUES (?, ?, ?, ?, ?)", customerRows);
+        List<Long> customerIds = jdbcTemplate.queryForList("SELECT id FROM customers", Long.class);
+
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        List<Object[]> bookingRows = new ArrayList<>(INSERT_BATCH);
+        for (int i = 0; i < bookings; i++) {
+            LocalDateTime created = now.minusMinutes(random.nextInt(60 * 24 * 60));
+            bookingRows.add(new Object[] {
+                customerIds.get(random.nextInt(customerIds.size())),
+                i + " Pickup Rd", i + " Drop Ave",
+                Timestamp.valueOf(created), Timestamp.valueOf(created.plusHours(1)),
+                CAB_TYPES[random.nextInt(CAB_TYPES.length)],
+                BigDecimal.valueOf(500 + random.nextInt(5_000), 2),
+                statuses[random.nextInt(statuses.length)].name(),
+                Timestamp.valueOf(created) });
+            if (bookingRows.size() == INSERT_BATCH || i == bookings - 1) {
+                jdbcTemplate.batchUpdate("INSERT INTO bookings (id, version, customer_id, pickup_location, destination, "
+                    + "booking_time, preferred_time, cab_type, fare, status, created_date) "
+                    + "VALUES (NEXT VALUE FOR bookings_seq, 0, ?, ?, ?, ?, ?, ?, ?, ?, ?)", bookingRows);
+                bookingRows.clear();
+            }
+        }
+    }
+
+    @Benchmark
+    public Map<String, Object> dashboardStats() {
+        return adminService.getDashboardStats();
+    }
+
+    @Benchmark
+    public Map<String, Object> monthlyReport() {
+        return adminService.getMonthlyReport();
+    }
+}
@@ -0,0 +1,124 @@
+package com.travelcompany.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import com.travelcompany.booking.dto.FareCalculationDto;
+import com.travelcompany.booking.dto.FareMatrixDto;
+import com.travelcompany.booking.service.DistanceProvider;
+import com.travelcompany.booking.service.FareCalculatorService;
+import com.travelcompany.booking.service.FareEngine;
+import com.travelcompany.booking.service.SimulatedDistanceProvider;
+import com.travelcompany.booking.service.SurgePricingService;
+
+/**
+ * Benchmarks for fare quoting, distance lookup and surge pricing
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class FareBenchmark {
+
+    private static final int TRIPS = 1024;
+
+    private ConfigurableApplicationContext context;
+    private FareCalculatorService fareCalculatorService;
+    private DistanceProvider distanceProvider;
+    private SurgePricingService surgePricingService;
+
+    private final String[] pickups = new String[TRIPS];
+    private final String[] destinations = new String[TRIPS];
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        context = BenchmarkApplication.start();
+        fareCalculatorService = context.getBean(FareCalculatorService.class);
+        distanceProvider = context.getBean(DistanceProvider.class);
+        surgePricingService = context.getBean(SurgePricingService.class);
+
+        for (int i = 0; i < TRIPS; i++) {
+            pickups[i] = i + " Main St";
+            destinations[i] = (TRIPS - i) + " Oak Ave";
+        }
+        // Warm the route cache so the fare benchmarks measure pricing, not the first provider call
+        for (int i = 0; i < TRIPS; i++) {
+            distanceProvider.getDistanceHundredthsKm(pickups[i], destinations[i]);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        context.close();
+    }
+
+    private int nextTrip() {
+        next = (next + 1) & (TRIPS - 1);
+        return next;
+    }
+
+    @Benchmark
+    public BigDecimal calculateFare() {
+        int trip = nextTrip();
+        return fareCalculatorService.calculateFare(pickups[trip], destinations[trip], "Economy");
+    }
+
+    @Benchmark
+    public FareCalculationDto calculateDetailedFare() {
+        int trip = nextTrip();
+        return fareCalculatorService.calculateDetailedFare(pickups[trip], destinations[trip], "Premium");
+    }
+
+    @Benchmark
+    public FareMatrixDto calculateFareMatrix() {
+        int trip = nextTrip();
+        return fareCalculatorService.calculateFareMatrix(pickups[trip], destinations[trip]);
+    }
+
+    @Benchmark
+    public long cachedDistanceLookup() {
+        int trip = nextTrip();
+        return distanceProvider.getDistanceHundredthsKm(pickups[trip], destinations[trip]);
+    }
+
+    @Benchmark
+    public BigDecimal simulatedDistance() {
+        int trip = nextTrip();
+        return SimulatedDistanceProvider.estimate(pickups[trip], destinations[trip]);
+    }
+
+    @Benchmark
+    public long fareEngineTotal() {
+        long distance = 1_250L + nextTrip();
+        long distanceFare = FareEngine.distanceFare(distance, 150L);
+        long surge = FareEngine.surgeFareCents(500L, distanceFare, 12_500L);
+        return FareEngine.totalFareCents(500L, distanceFare, surge);
+    }
+
+    @Benchmark
+    public long surgeRead() {
+        return surgePricingService.getMultiplierBasisPoints("Economy");
+    }
+
+    @Benchmark
+    public void surgeRecord() {
+        surgePricingService.recordBooking("Economy");
+    }
+}
@@ -0,0 +1,85 @@
+package com.travelcompany.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+
+/**
+ * Benchmarks for Jackson serialization of booking and customer list responses
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializationBenchmark {
+
+    @Param({"10000"})
+    private int size;
+
+    private ObjectMapper objectMapper;
+    private List<Booking> bookings;
+    private List<BookingSummaryDto> bookingSummaries;
+    private List<Customer> customers;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Same builder Spring Boot uses for its ObjectMapper
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+        customers = new ArrayList<>(size);
+        bookings = new ArrayList<>(size);
+        bookingSummaries = new ArrayList<>(size);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < size; i++) {
+            Customer customer = new Customer("Customer " + i, "customer" + i + "@example.com",
+                "+1555" + String.format("%07d", i), i + " Main St");
+            customer.setId((long) i + 1);
+            customers.add(customer);
+
+            Booking booking = new Booking(customer, i + " Main St", i + " Oak Ave", now.plusHours(i % 48),
+                i % 3 == 0 ? "Economy" : i % 3 == 1 ? "Premium" : "SUV", BigDecimal.valueOf(1_000 + i, 2));
+            booking.setId((long) i + 1);
+            bookings.add(booking);
+            bookingSummaries.add(BookingSummaryDto.from(booking));
+        }
+    }
+
+    @Benchmark
+    public byte[] serializeBookings() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookings);
+    }
+
+    @Benchmark
+    public byte[] serializeBookingSummaries() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(bookingSummaries);
+    }
+
+    @Benchmark
+    public byte[] serializeCustomers() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(customers);
+    }
+}
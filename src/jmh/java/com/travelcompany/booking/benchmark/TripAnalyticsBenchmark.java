@@ -0,0 +1,82 @@
+package com.travelcompany.booking.benchmark;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.travelcompany.booking.dto.TripGroupDto;
+import com.travelcompany.booking.dto.TripQueryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.service.TripAnalyticsStore;
+
+/**
+ * Benchmarks for trip analytics scans; divide the trip count by the time per query for trips per second
+ * Run with parallelism 1 to measure a single core.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgs = "-Xmx2g")
+public class TripAnalyticsBenchmark {
+
+    private static final String[] CAB_TYPES = { "Economy", "Premium", "SUV" };
+
+    @Param({"1000000", "10000000"})
+    private int trips;
+
+    @Param({"1", "0"})
+    private int parallelism;
+
+    private TripAnalyticsStore store;
+    private TripQueryDto revenueByCabType;
+    private TripQueryDto fareByHour;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        store = new TripAnalyticsStore(null, parallelism);
+        Random random = new Random(42);
+        LocalDateTime now = LocalDateTime.now();
+        for (int i = 0; i < trips; i++) {
+            store.append((long) i, now.minusMinutes(random.nextInt(60 * 24 * 365)),
+                CAB_TYPES[random.nextInt(CAB_TYPES.length)],
+                random.nextInt(10) == 0 ? Booking.BookingStatus.CANCELLED : Booking.BookingStatus.COMPLETED,
+                BigDecimal.valueOf(500 + random.nextInt(5_000), 2));
+        }
+        revenueByCabType = new TripQueryDto(Booking.BookingStatus.COMPLETED, null, now.minusMonths(3), now,
+            TripQueryDto.GroupBy.CAB_TYPE);
+        fareByHour = new TripQueryDto(null, null, null, null, TripQueryDto.GroupBy.HOUR_OF_DAY);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        store.shutdown();
+    }
+
+    @Benchmark
+    public List<TripGroupDto> completedRevenueByCabTypeLastQuarter() {
+        return store.query(revenueByCabType);
+    }
+
+    @Benchmark
+    public List<TripGroupDto> averageFareByHourOfDay() {
+        return store.query(fareByHour);
+    }
+}
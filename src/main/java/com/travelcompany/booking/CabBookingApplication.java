@@ -2,12 +2,14 @@ package com.travelcompany.booking;
 
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 /**
  * Main application class for the Cab Booking System
  * This Spring Boot application provides microservices for travel company booking management
  */
 @SpringBootApplication
+@EnableScheduling
 public class CabBookingApplication {
     public static void main(String[] args) {
         SpringApplication.run(CabBookingApplication.class, args);
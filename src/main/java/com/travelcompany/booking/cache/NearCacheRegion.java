@@ -0,0 +1,153 @@
+package com.travelcompany.booking.cache;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+
+/**
+ * Named read-through cache region split into a fixed number of buckets
+ * Each key lives in one bucket, so invalidation can drop a single key or a whole bucket, which is what
+ * other nodes do when they only know that something in that bucket changed. Every invalidation bumps the
+ * bucket's generation; a load that started before it is not stored, so a slow read can never put back a
+ * value that was invalidated while it ran.
+ */
+public class NearCacheRegion<K, V> {
+
+    private final String name;
+    private final List<BoundedTtlCache<K, V>> buckets;
+    private final AtomicLongArray generations;
+
+    private final LongAdder invalidations = new LongAdder();
+    private final LongAdder bucketFlushes = new LongAdder();
+
+    public NearCacheRegion(String name, int bucketCount, int maxSize, long ttl, TimeUnit unit) {
+        this(name, bucketCount, maxSize, ttl, unit, System::nanoTime);
+    }
+
+    public NearCacheRegion(String name, int bucketCount, int maxSize, long ttl, TimeUnit unit, LongSupplier clock) {
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("Bucket count must be positive: " + bucketCount);
+        }
+        int bucketSize = Math.max(1, (maxSize + bucketCount - 1) / bucketCount);
+        this.name = name;
+        this.buckets = new ArrayList<>(bucketCount);
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.add(new BoundedTtlCache<>(bucketSize, ttl, unit, clock));
+        }
+        this.generations = new AtomicLongArray(bucketCount);
+    }
+
+    public String getName() { return name; }
+
+    public int getBucketCount() { return buckets.size(); }
+
+    /**
+     * Bucket a key belongs to; identical on every node for the same key
+     */
+    public int bucketOf(K key) {
+        return Math.floorMod(key.hashCode(), buckets.size());
+    }
+
+    /**
+     * Get a cached value, loading and caching it on a miss
+     * Null results are returned as is and never cached.
+     */
+    public V get(K key, Function<K, V> loader) {
+        int bucket = bucketOf(key);
+        BoundedTtlCache<K, V> cache = buckets.get(bucket);
+        V cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+
+        long generation = generations.get(bucket);
+        V loaded = loader.apply(key);
+        if (loaded != null) {
+            synchronized (cache) {
+                if (generations.get(bucket) == generation) {
+                    cache.put(key, loaded);
+                }
+            }
+        }
+        return loaded;
+    }
+
+    /**
+     * Drop one key
+     */
+    public void invalidate(K key) {
+        int bucket = bucketOf(key);
+        BoundedTtlCache<K, V> cache = buckets.get(bucket);
+        synchronized (cache) {
+            generations.incrementAndGet(bucket);
+            cache.remove(key);
+        }
+        invalidations.increment();
+    }
+
+    /**
+     * Drop every key of one bucket
+     */
+    public void invalidateBucket(int bucket) {
+        BoundedTtlCache<K, V> cache = buckets.get(bucket);
+        synchronized (cache) {
+            generations.incrementAndGet(bucket);
+            cache.clear();
+        }
+        bucketFlushes.increment();
+    }
+
+    /**
+     * Drop every key
+     */
+    public void invalidateAll() {
+        for (int bucket = 0; bucket < buckets.size(); bucket++) {
+            invalidateBucket(bucket);
+        }
+    }
+
+    public int size() {
+        return buckets.stream().mapToInt(BoundedTtlCache::size).sum();
+    }
+
+    /**
+     * Get region statistics summed over all buckets
+     */
+    public Map<String, Object> getStats() {
+        long size = 0;
+        long maxSize = 0;
+        long hits = 0;
+        long misses = 0;
+        long evictions = 0;
+        long expirations = 0;
+        for (BoundedTtlCache<K, V> cache : buckets) {
+            Map<String, Object> bucket = cache.getStats();
+            size += ((Number) bucket.get("size")).longValue();
+            maxSize += ((Number) bucket.get("maxSize")).longValue();
+            hits += ((Number) bucket.get("hits")).longValue();
+            misses += ((Number) bucket.get("misses")).longValue();
+            evictions += ((Number) bucket.get("evictions")).longValue();
+            expirations += ((Number) bucket.get("expirations")).longValue();
+        }
+        long lookups = hits + misses;
+
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("size", size);
+        stats.put("maxSize", maxSize);
+        stats.put("buckets", buckets.size());
+        stats.put("hits", hits);
+        stats.put("misses", misses);
+        stats.put("hitRatio", lookups == 0 ? 0.0 : (double) hits / lookups);
+        stats.put("evictions", evictions);
+        stats.put("expirations", expirations);
+        stats.put("invalidations", invalidations.sum());
+        stats.put("bucketFlushes", bucketFlushes.sum());
+        return stats;
+    }
+}
@@ -0,0 +1,163 @@
+package com.travelcompany.booking.cache;
+
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Stale-while-revalidate cache of computed results, one snapshot per key
+ * Callers always get the last snapshot right away. Once it is older than maxAge, the first caller to notice
+ * starts a refresh on the background executor and later callers keep the old snapshot until it completes, so
+ * there is at most one computation per key in flight. Only the very first load of a key runs in the caller;
+ * concurrent first callers wait for it. A failed refresh keeps the old snapshot and is retried on a later call.
+ */
+public class SnapshotCache<K, V> {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotCache.class);
+
+    private final long maxAgeNanos;
+    private final Executor refresher;
+    private final LongSupplier clock;
+    private final Map<K, Slot<V>> slots = new ConcurrentHashMap<>();
+
+    private final LongAdder freshHits = new LongAdder();
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder refreshes = new LongAdder();
+    private final LongAdder refreshFailures = new LongAdder();
+    private final LongAdder rejectedRefreshes = new LongAdder();
+
+    public SnapshotCache(long maxAge, TimeUnit unit, int threads, int queueSize) {
+        this(maxAge, unit, refreshExecutor(threads, queueSize), System::nanoTime);
+    }
+
+    public SnapshotCache(long maxAge, TimeUnit unit, Executor refresher, LongSupplier clock) {
+        if (maxAge < 0) {
+            throw new IllegalArgumentException("Snapshot max age must not be negative: " + maxAge);
+        }
+        this.maxAgeNanos = unit.toNanos(maxAge);
+        this.refresher = refresher;
+        this.clock = clock;
+    }
+
+    /**
+     * Get the snapshot of a key, computing it with the loader on the first call and refreshing it in the
+     * background once it is older than the max age
+     */
+    public Snapshot<V> get(K key, Supplier<V> loader) {
+        Slot<V> slot = slots.computeIfAbsent(key, k -> new Slot<>());
+        Snapshot<V> current = slot.snapshot;
+        if (current == null) {
+            synchronized (slot) {
+                if (slot.snapshot == null) {
+                    slot.snapshot = compute(loader);
+                    loads.increment();
+                }
+                return slot.snapshot;
+            }
+        }
+        if (clock.getAsLong() - current.computedAt < maxAgeNanos) {
+            freshHits.increment();
+            return current;
+        }
+        staleHits.increment();
+        if (slot.refreshing.compareAndSet(false, true)) {
+            try {
+                refresher.execute(() -> refresh(key, slot, loader));
+            } catch (RejectedExecutionException e) {
+                slot.refreshing.set(false);
+                rejectedRefreshes.increment();
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Get hit, refresh and failure statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("snapshots", slots.size());
+        stats.put("maxAgeMs", TimeUnit.NANOSECONDS.toMillis(maxAgeNanos));
+        stats.put("freshHits", freshHits.sum());
+        stats.put("staleHits", staleHits.sum());
+        stats.put("loads", loads.sum());
+        stats.put("refreshes", refreshes.sum());
+        stats.put("refreshFailures", refreshFailures.sum());
+        stats.put("rejectedRefreshes", rejectedRefreshes.sum());
+        return stats;
+    }
+
+    public void shutdown() {
+        if (refresher instanceof ExecutorService) {
+            ((ExecutorService) refresher).shutdownNow();
+        }
+    }
+
+    private void refresh(K key, Slot<V> slot, Supplier<V> loader) {
+        try {
+            slot.snapshot = compute(loader);
+            refreshes.increment();
+        } catch (RuntimeException e) {
+            refreshFailures.increment();
+            log.warn("Could not refresh snapshot {}, serving the previous one: {}", key, e.getMessage());
+        } finally {
+            slot.refreshing.set(false);
+        }
+    }
+
+    private Snapshot<V> compute(Supplier<V> loader) {
+        long startedAt = clock.getAsLong();
+        LocalDateTime asOf = LocalDateTime.now();
+        return new Snapshot<>(loader.get(), asOf, startedAt);
+    }
+
+    private static ThreadPoolExecutor refreshExecutor(int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "snapshot-refresh-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+
+    /**
+     * Computed value and the time its computation started
+     */
+    public static final class Snapshot<V> {
+        private final V value;
+        private final LocalDateTime asOf;
+        private final long computedAt;
+
+        private Snapshot(V value, LocalDateTime asOf, long computedAt) {
+            this.value = value;
+            this.asOf = asOf;
+            this.computedAt = computedAt;
+        }
+
+        public V getValue() { return value; }
+
+        public LocalDateTime getAsOf() { return asOf; }
+    }
+
+    private static final class Slot<V> {
+        private volatile Snapshot<V> snapshot;
+        private final AtomicBoolean refreshing = new AtomicBoolean();
+    }
+}
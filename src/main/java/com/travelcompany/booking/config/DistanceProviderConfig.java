@@ -0,0 +1,40 @@
+package com.travelcompany.booking.config;
+
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.io.Resource;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+import com.travelcompany.booking.service.CachingDistanceProvider;
+import com.travelcompany.booking.service.FileDistanceProvider;
+import com.travelcompany.booking.service.RouteKey;
+import com.travelcompany.booking.service.StatsSource;
+
+/**
+ * Configuration for the distance provider used by fare and trip time calculations
+ * Swap the delegate here when a real routing service is introduced.
+ */
+@Configuration
+public class DistanceProviderConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public CachingDistanceProvider distanceProvider(
+            @Value("${fare.distance.route-file:classpath:distances.csv}") Resource routeFile,
+            @Value("${fare.distance.cache.max-size:10000}") int maxSize,
+            @Value("${fare.distance.cache.ttl-minutes:60}") long ttlMinutes,
+            @Value("${fare.distance.timeout-ms:250}") long timeoutMillis,
+            @Value("${fare.distance.threads:4}") int threads,
+            @Value("${fare.distance.queue-size:256}") int queueSize) {
+        BoundedTtlCache<RouteKey, Long> cache = new BoundedTtlCache<>(maxSize, ttlMinutes, TimeUnit.MINUTES);
+        return new CachingDistanceProvider(new FileDistanceProvider(routeFile), RouteKey::new, cache,
+            timeoutMillis, threads, queueSize);
+    }
+
+    @Bean
+    public StatsSource distanceStats(CachingDistanceProvider distanceProvider) {
+        return StatsSource.of("distance", distanceProvider::getStats);
+    }
+}
@@ -0,0 +1,66 @@
+package com.travelcompany.booking.config;
+
+import java.time.Duration;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+import com.travelcompany.booking.idempotency.IdempotencyFilter;
+import com.travelcompany.booking.idempotency.IdempotencyStore;
+import com.travelcompany.booking.idempotency.InMemoryIdempotencyStore;
+import com.travelcompany.booking.idempotency.JpaIdempotencyStore;
+import com.travelcompany.booking.repository.IdempotencyRecordRepository;
+import com.travelcompany.booking.service.StatsSource;
+
+/**
+ * Configuration for Idempotency-Key handling on create endpoints
+ * Use idempotency.store=memory for a single node and idempotency.store=jpa when several nodes share a database.
+ */
+@Configuration
+public class IdempotencyConfig {
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "memory", matchIfMissing = true)
+    public IdempotencyStore inMemoryIdempotencyStore(
+            @Value("${idempotency.max-keys:100000}") int maxKeys,
+            @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes) {
+        return new InMemoryIdempotencyStore(new BoundedTtlCache<>(maxKeys, ttlMinutes, TimeUnit.MINUTES));
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "idempotency.store", havingValue = "jpa")
+    public IdempotencyStore jpaIdempotencyStore(
+            IdempotencyRecordRepository repository,
+            @Value("${idempotency.ttl-minutes:1440}") long ttlMinutes,
+            @Value("${idempotency.in-progress-ttl-seconds:60}") long inProgressTtlSeconds) {
+        return new JpaIdempotencyStore(repository, Duration.ofMinutes(ttlMinutes), Duration.ofSeconds(inProgressTtlSeconds));
+    }
+
+    @Bean
+    public IdempotencyFilter idempotencyFilter(
+            IdempotencyStore store,
+            @Value("${idempotency.paths:/api/bookings,/api/bookings/bulk,/api/bookings/async,/api/customers}") List<String> paths,
+            @Value("${idempotency.wait-timeout-ms:10000}") long waitTimeoutMillis) {
+        return new IdempotencyFilter(store, new LinkedHashSet<>(paths), waitTimeoutMillis);
+    }
+
+    @Bean
+    public FilterRegistrationBean<IdempotencyFilter> idempotencyFilterRegistration(IdempotencyFilter filter,
+            @Value("${idempotency.paths:/api/bookings,/api/bookings/bulk,/api/bookings/async,/api/customers}") List<String> paths) {
+        FilterRegistrationBean<IdempotencyFilter> registration = new FilterRegistrationBean<>(filter);
+        registration.setUrlPatterns(paths);
+        return registration;
+    }
+
+    @Bean
+    public StatsSource idempotencyStats(IdempotencyFilter filter) {
+        return StatsSource.of("idempotency", filter::getStats);
+    }
+}
@@ -0,0 +1,31 @@
+package com.travelcompany.booking.config;
+
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import com.travelcompany.booking.cache.SnapshotCache;
+import com.travelcompany.booking.service.StatsSource;
+
+/**
+ * Configuration for the snapshot cache in front of the admin dashboard and monthly report
+ */
+@Configuration
+public class ReportSnapshotConfig {
+
+    @Bean(destroyMethod = "shutdown")
+    public SnapshotCache<String, Map<String, Object>> reportSnapshots(
+            @Value("${admin.snapshots.max-age-ms:10000}") long maxAgeMillis,
+            @Value("${admin.snapshots.threads:1}") int threads,
+            @Value("${admin.snapshots.queue-size:16}") int queueSize) {
+        return new SnapshotCache<>(maxAgeMillis, TimeUnit.MILLISECONDS, threads, queueSize);
+    }
+
+    @Bean
+    public StatsSource reportSnapshotStats(SnapshotCache<String, Map<String, Object>> reportSnapshots) {
+        return StatsSource.of("report-snapshots", reportSnapshots::getStats);
+    }
+}
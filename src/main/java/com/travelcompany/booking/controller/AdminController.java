@@ -1,13 +1,29 @@
 package com.travelcompany.booking.controller;
 
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingStatusResultDto;
+import com.travelcompany.booking.dto.BookingStatusUpdateDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.dto.TripGroupDto;
+import com.travelcompany.booking.dto.TripQueryDto;
 import com.travelcompany.booking.model.Booking;
 import com.travelcompany.booking.service.AdminService;
+import com.travelcompany.booking.service.BookingExportService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+import jakarta.validation.Valid;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Locale;
 import java.util.Map;
+import java.util.zip.GZIPOutputStream;
 
 /**
  * REST Controller for Admin operations
@@ -18,15 +34,19 @@ import java.util.Map;
 @CrossOrigin(origins = "*")
 public class AdminController {
 
+    private static final MediaType NDJSON = MediaType.parseMediaType("application/x-ndjson");
+
     private final AdminService adminService;
+    private final BookingExportService bookingExportService;
 
     @Autowired
-    public AdminController(AdminService adminService) {
+    public AdminController(AdminService adminService, BookingExportService bookingExportService) {
         this.adminService = adminService;
+        this.bookingExportService = bookingExportService;
     }
 
     /**
-     * Get dashboard statistics
+     * Get dashboard statistics from the latest snapshot; asOf tells when it was computed
      * GET /api/admin/dashboard
      */
     @GetMapping("/dashboard")
@@ -40,9 +60,43 @@ public class AdminController {
      * GET /api/admin/bookings
      */
     @GetMapping("/bookings")
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        List<Booking> bookings = adminService.getAllBookingsForAdmin();
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    public ResponseEntity<List<BookingSummaryDto>> getAllBookings(@RequestParam(defaultValue = "0") int page,
+                                                                  @RequestParam(defaultValue = "${booking.query.max-page-size:500}") int size) {
+        try {
+            List<BookingSummaryDto> bookings = adminService.getAllBookingsForAdmin(page, size);
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Export all bookings as newline-delimited JSON, gzip-compressed when the client accepts it
+     * GET /api/admin/bookings/export
+     */
+    @GetMapping("/bookings/export")
+    public ResponseEntity<StreamingResponseBody> exportBookings(
+            @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding) {
+        boolean gzip = acceptsGzip(acceptEncoding);
+
+        StreamingResponseBody body = out -> {
+            if (gzip) {
+                GZIPOutputStream compressed = new GZIPOutputStream(out);
+                bookingExportService.exportBookings(compressed);
+                compressed.finish();
+            } else {
+                bookingExportService.exportBookings(out);
+            }
+        };
+
+        ResponseEntity.BodyBuilder response = ResponseEntity.ok()
+            .contentType(NDJSON)
+            .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"bookings.ndjson\"")
+            .header(HttpHeaders.VARY, HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            response.header(HttpHeaders.CONTENT_ENCODING, "gzip");
+        }
+        return response.body(body);
     }
 
     /**
@@ -55,19 +109,39 @@ public class AdminController {
         try {
             Booking updatedBooking = adminService.updateBookingStatus(id, status);
             return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
     /**
-     * Get bookings by status (admin filtering)
+     * Update the status of many bookings at once, reporting the outcome per booking
+     * PUT /api/admin/bookings/status
+     */
+    @PutMapping("/bookings/status")
+    public ResponseEntity<List<BookingStatusResultDto>> updateBookingStatuses(
+            @Valid @RequestBody BookingStatusUpdateDto statusUpdate) {
+        try {
+            List<BookingStatusResultDto> results =
+                adminService.updateBookingStatuses(statusUpdate.getBookingIds(), statusUpdate.getStatus());
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Get bookings by status (admin filtering), one keyset page at a time
      * GET /api/admin/bookings/status/{status}
      */
     @GetMapping("/bookings/status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable String status) {
+    public ResponseEntity<BookingPageDto> getBookingsByStatus(@PathVariable String status,
+                                                              @RequestParam(required = false) String cursor,
+                                                              @RequestParam(required = false) Integer size) {
         try {
-            List<Booking> bookings = adminService.getBookingsByStatus(status);
+            BookingPageDto bookings = adminService.getBookingsByStatus(status, cursor, size);
             return new ResponseEntity<>(bookings, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
@@ -79,13 +153,29 @@ public class AdminController {
      * GET /api/admin/bookings/search
      */
     @GetMapping("/bookings/search")
-    public ResponseEntity<List<Booking>> searchBookings(@RequestParam(required = false) String location) {
-        List<Booking> bookings = adminService.searchBookings(location);
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    public ResponseEntity<List<BookingSummaryDto>> searchBookings(@RequestParam(required = false) String location,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "${booking.search.max-page-size:500}") int size) {
+        try {
+            List<BookingSummaryDto> bookings = adminService.searchBookings(location, page, size);
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 
     /**
-     * Get monthly report
+     * Get surge pricing demand windows
+     * GET /api/admin/surge
+     */
+    @GetMapping("/surge")
+    public ResponseEntity<Map<String, Object>> getSurgeState() {
+        Map<String, Object> surge = adminService.getSurgeState();
+        return new ResponseEntity<>(surge, HttpStatus.OK);
+    }
+
+    /**
+     * Get monthly report from the latest snapshot; asOf tells when it was computed
      * GET /api/admin/reports/monthly
      */
     @GetMapping("/reports/monthly")
@@ -93,4 +183,135 @@ public class AdminController {
         Map<String, Object> report = adminService.getMonthlyReport();
         return new ResponseEntity<>(report, HttpStatus.OK);
     }
-}
\ No newline at end of file
+
+    /**
+     * Get report for one day
+     * GET /api/admin/reports/daily?date=2026-01-31
+     */
+    @GetMapping("/reports/daily")
+    public ResponseEntity<Map<String, Object>> getDailyReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate date) {
+        Map<String, Object> report = adminService.getDailyReport(date);
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    /**
+     * Get report for an arbitrary time range, at hour resolution
+     * GET /api/admin/reports/range?from=2026-01-01T00:00&to=2026-01-08T00:00
+     */
+    @GetMapping("/reports/range")
+    public ResponseEntity<Map<String, Object>> getReport(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to) {
+        try {
+            Map<String, Object> report = adminService.getReport(from, to);
+            return new ResponseEntity<>(report, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Rebuild the report rollup for a range of days, e.g. after importing bookings directly into the database
+     * POST /api/admin/reports/rollup/backfill?from=2026-01-01&to=2026-01-31
+     */
+    @PostMapping("/reports/rollup/backfill")
+    public ResponseEntity<Map<String, Object>> backfillReports(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            Map<String, Object> result = adminService.backfillReports(from, to);
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Count trips and sum fares of finished bookings, filtered and grouped in memory
+     * GET /api/admin/analytics/trips?status=COMPLETED&groupBy=CAB_TYPE&from=2026-01-01T00:00
+     */
+    @GetMapping("/analytics/trips")
+    public ResponseEntity<List<TripGroupDto>> getTripAnalytics(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) String cabType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(defaultValue = "NONE") String groupBy) {
+        try {
+            Booking.BookingStatus tripStatus = status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase());
+            TripQueryDto query = new TripQueryDto(tripStatus, cabType, from, to,
+                TripQueryDto.GroupBy.valueOf(groupBy.toUpperCase()));
+            List<TripGroupDto> groups = adminService.getTripAnalytics(query);
+            return new ResponseEntity<>(groups, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Estimate unique riders per day and over the whole window (about 0.8% standard error)
+     * GET /api/admin/analytics/riders?from=2026-01-01&to=2026-01-31
+     */
+    @GetMapping("/analytics/riders")
+    public ResponseEntity<Map<String, Object>> getUniqueRiders(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            Map<String, Object> riders = adminService.getUniqueRiders(from, to);
+            return new ResponseEntity<>(riders, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Estimate p50/p95/p99 fares and trip times per cab type (within 0.4%)
+     * GET /api/admin/analytics/percentiles?from=2026-01-01&to=2026-01-31
+     */
+    @GetMapping("/analytics/percentiles")
+    public ResponseEntity<Map<String, Object>> getFarePercentiles(
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        try {
+            Map<String, Object> percentiles = adminService.getFarePercentiles(from, to);
+            return new ResponseEntity<>(percentiles, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Whether an Accept-Encoding header allows gzip, honouring q-values so "gzip;q=0" refuses it
+     * An explicit gzip entry takes precedence over "*".
+     */
+    static boolean acceptsGzip(String acceptEncoding) {
+        if (acceptEncoding == null) {
+            return false;
+        }
+        Double gzipQuality = null;
+        Double wildcardQuality = null;
+        for (String entry : acceptEncoding.split(",")) {
+            String[] parts = entry.split(";");
+            String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+            double quality = 1.0;
+            for (int i = 1; i < parts.length; i++) {
+                String parameter = parts[i].trim().toLowerCase(Locale.ROOT);
+                if (parameter.startsWith("q=")) {
+                    try {
+                        quality = Double.parseDouble(parameter.substring(2).trim());
+                    } catch (NumberFormatException e) {
+                        quality = 0.0;
+                    }
+                }
+            }
+            if (coding.equals("gzip") || coding.equals("x-gzip")) {
+                gzipQuality = quality;
+            } else if (coding.equals("*")) {
+                wildcardQuality = quality;
+            }
+        }
+        Double quality = gzipQuality != null ? gzipQuality : wildcardQuality;
+        return quality != null && quality > 0;
+    }
+}
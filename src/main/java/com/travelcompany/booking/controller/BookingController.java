@@ -1,9 +1,14 @@
 package com.travelcompany.booking.controller;
 
+import java.net.URI;
+import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.CrossOrigin;
@@ -16,8 +21,16 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingQueryDto;
 import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.dto.BookingTicketDto;
 import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.service.BookingBulkService;
+import com.travelcompany.booking.service.BookingPipelineService;
+import com.travelcompany.booking.service.BookingQueryService;
 import com.travelcompany.booking.service.BookingService;
 
 import jakarta.validation.Valid;
@@ -32,10 +45,17 @@ import jakarta.validation.Valid;
 public class BookingController {
 
     private final BookingService bookingService;
+    private final BookingQueryService bookingQueryService;
+    private final BookingBulkService bookingBulkService;
+    private final BookingPipelineService bookingPipelineService;
 
     @Autowired
-    public BookingController(BookingService bookingService) {
+    public BookingController(BookingService bookingService, BookingQueryService bookingQueryService,
+                             BookingBulkService bookingBulkService, BookingPipelineService bookingPipelineService) {
         this.bookingService = bookingService;
+        this.bookingQueryService = bookingQueryService;
+        this.bookingBulkService = bookingBulkService;
+        this.bookingPipelineService = bookingPipelineService;
     }
 
     /**
@@ -53,51 +73,93 @@ public class BookingController {
     }
 
     /**
-     * Get all bookings
-     * GET /api/bookings
+     * Accept a booking for asynchronous creation, answering with a ticket to poll
+     * POST /api/bookings/async
      */
-    @GetMapping
-    public ResponseEntity<List<Booking>> getAllBookings() {
-        List<Booking> bookings = bookingService.getAllBookings();
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    @PostMapping("/async")
+    public ResponseEntity<BookingTicketDto> submitBooking(@Valid @RequestBody BookingRequestDto bookingRequest) {
+        Optional<BookingTicketDto> ticket = bookingPipelineService.submit(bookingRequest);
+        if (ticket.isEmpty()) {
+            // Queue is full: ask the client to back off and retry
+            HttpHeaders headers = new HttpHeaders();
+            headers.set(HttpHeaders.RETRY_AFTER, "1");
+            return new ResponseEntity<>(headers, HttpStatus.TOO_MANY_REQUESTS);
+        }
+        HttpHeaders headers = new HttpHeaders();
+        headers.setLocation(URI.create("/api/bookings/tickets/" + ticket.get().getTicketId()));
+        return new ResponseEntity<>(ticket.get(), headers, HttpStatus.ACCEPTED);
     }
 
     /**
-     * Get booking by ID
-     * GET /api/bookings/{id}
+     * Get the state of an asynchronous booking ticket
+     * GET /api/bookings/tickets/{ticketId}
      */
-    @GetMapping("/{id}")
-    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
-        Optional<Booking> booking = bookingService.findBookingById(id);
-        return booking.map(b -> new ResponseEntity<>(b, HttpStatus.OK))
+    @GetMapping("/tickets/{ticketId}")
+    public ResponseEntity<BookingTicketDto> getTicket(@PathVariable String ticketId) {
+        return bookingPipelineService.getTicket(ticketId)
+                .map(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
     /**
-     * Get bookings by customer ID
-     * GET /api/bookings/customer/{customerId}
+     * Wait for an asynchronous booking ticket to be processed
+     * GET /api/bookings/tickets/{ticketId}/result
      */
-    @GetMapping("/customer/{customerId}")
-    public ResponseEntity<List<Booking>> getBookingsByCustomerId(@PathVariable Long customerId) {
-        List<Booking> bookings = bookingService.getBookingsByCustomerId(customerId);
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    @GetMapping("/tickets/{ticketId}/result")
+    public CompletableFuture<ResponseEntity<BookingTicketDto>> awaitTicket(@PathVariable String ticketId) {
+        return bookingPipelineService.awaitTicket(ticketId)
+                .map(result -> result.thenApply(ticket -> new ResponseEntity<>(ticket, HttpStatus.OK)))
+                .orElse(CompletableFuture.completedFuture(new ResponseEntity<>(HttpStatus.NOT_FOUND)));
     }
 
     /**
-     * Get bookings by status
-     * GET /api/bookings/status/{status}
+     * Create many bookings in one request, reporting the outcome of each row
+     * POST /api/bookings/bulk
      */
-    @GetMapping("/status/{status}")
-    public ResponseEntity<List<Booking>> getBookingsByStatus(@PathVariable String status) {
+    @PostMapping("/bulk")
+    public ResponseEntity<List<BookingBulkResultDto>> createBookings(@RequestBody List<BookingRequestDto> bookingRequests) {
         try {
-            Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-            List<Booking> bookings = bookingService.getBookingsByStatus(bookingStatus);
-            return new ResponseEntity<>(bookings, HttpStatus.OK);
+            List<BookingBulkResultDto> results = bookingBulkService.createBookings(bookingRequests);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Query bookings by any combination of filters, one keyset page at a time
+     * GET /api/bookings/query
+     */
+    @GetMapping("/query")
+    public ResponseEntity<BookingPageDto> queryBookings(
+            @RequestParam(required = false) String status,
+            @RequestParam(required = false) Long customerId,
+            @RequestParam(required = false) String cabType,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime from,
+            @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) LocalDateTime to,
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) Integer size) {
+        try {
+            Booking.BookingStatus bookingStatus = status == null ? null : Booking.BookingStatus.valueOf(status.toUpperCase());
+            BookingQueryDto query = new BookingQueryDto(bookingStatus, customerId, cabType, from, to);
+            BookingPageDto page = bookingQueryService.queryBookings(query, cursor, size);
+            return new ResponseEntity<>(page, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    /**
+     * Get booking by ID
+     * GET /api/bookings/{id}
+     */
+    @GetMapping("/{id}")
+    public ResponseEntity<Booking> getBookingById(@PathVariable Long id) {
+        Optional<Booking> booking = bookingService.findBookingById(id);
+        return booking.map(b -> new ResponseEntity<>(b, HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
     /**
      * Update booking status
      * PUT /api/bookings/{id}/status
@@ -111,6 +173,8 @@ public class BookingController {
             return new ResponseEntity<>(updatedBooking, HttpStatus.OK);
         } catch (IllegalArgumentException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -125,6 +189,8 @@ public class BookingController {
         try {
             Booking cancelledBooking = bookingService.cancelBooking(id);
             return new ResponseEntity<>(cancelledBooking, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -139,6 +205,8 @@ public class BookingController {
         try {
             Booking confirmedBooking = bookingService.confirmBooking(id);
             return new ResponseEntity<>(confirmedBooking, HttpStatus.OK);
+        } catch (IllegalStateException e) {
+            return new ResponseEntity<>(HttpStatus.CONFLICT);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
@@ -149,8 +217,14 @@ public class BookingController {
      * GET /api/bookings/search
      */
     @GetMapping("/search")
-    public ResponseEntity<List<Booking>> searchBookings(@RequestParam String location) {
-        List<Booking> bookings = bookingService.searchBookingsByLocation(location);
-        return new ResponseEntity<>(bookings, HttpStatus.OK);
+    public ResponseEntity<List<BookingSummaryDto>> searchBookings(@RequestParam String location,
+                                                        @RequestParam(defaultValue = "0") int page,
+                                                        @RequestParam(defaultValue = "${booking.search.max-page-size:500}") int size) {
+        try {
+            List<BookingSummaryDto> bookings = bookingService.searchBookingsByLocation(location, page, size);
+            return new ResponseEntity<>(bookings, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
     }
 }
\ No newline at end of file
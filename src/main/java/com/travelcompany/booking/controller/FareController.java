@@ -1,12 +1,19 @@
 package com.travelcompany.booking.controller;
 
 import com.travelcompany.booking.dto.FareCalculationDto;
+import com.travelcompany.booking.dto.FareMatrixDto;
+import com.travelcompany.booking.dto.FareQuoteRequestDto;
+import com.travelcompany.booking.dto.FareQuoteResultDto;
+import com.travelcompany.booking.service.FareBatchService;
 import com.travelcompany.booking.service.FareCalculatorService;
+import com.travelcompany.booking.service.FareQuoteService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * REST Controller for Fare calculation operations
@@ -17,24 +24,40 @@ import java.math.BigDecimal;
 @CrossOrigin(origins = "*")
 public class FareController {
 
+    static final String QUOTE_ID_HEADER = "X-Fare-Quote-Id";
+    static final String QUOTE_EXPIRES_HEADER = "X-Fare-Quote-Expires";
+
     private final FareCalculatorService fareCalculatorService;
+    private final FareBatchService fareBatchService;
+    private final FareQuoteService fareQuoteService;
 
     @Autowired
-    public FareController(FareCalculatorService fareCalculatorService) {
+    public FareController(FareCalculatorService fareCalculatorService, FareBatchService fareBatchService,
+                          FareQuoteService fareQuoteService) {
         this.fareCalculatorService = fareCalculatorService;
+        this.fareBatchService = fareBatchService;
+        this.fareQuoteService = fareQuoteService;
     }
 
     /**
      * Calculate fare for a trip
      * POST /api/fare/calculate
+     * With quote=true the fare is also locked and its quote ID returned in the X-Fare-Quote-Id header.
      */
     @PostMapping("/calculate")
     public ResponseEntity<BigDecimal> calculateFare(@RequestParam String pickupLocation,
                                                    @RequestParam String destination,
-                                                   @RequestParam String cabType) {
+                                                   @RequestParam String cabType,
+                                                   @RequestParam(defaultValue = "false") boolean quote) {
         try {
             BigDecimal fare = fareCalculatorService.calculateFare(pickupLocation, destination, cabType);
-            return new ResponseEntity<>(fare, HttpStatus.OK);
+            HttpHeaders headers = new HttpHeaders();
+            if (quote) {
+                FareQuoteService.Quote issued = fareQuoteService.issueQuote(pickupLocation, destination, cabType, fare);
+                headers.set(QUOTE_ID_HEADER, issued.getQuoteId());
+                headers.set(QUOTE_EXPIRES_HEADER, issued.getExpiresAt().toString());
+            }
+            return new ResponseEntity<>(fare, headers, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
@@ -43,19 +66,58 @@ public class FareController {
     /**
      * Calculate detailed fare breakdown
      * POST /api/fare/detailed
+     * With quote=true the fare is also locked and its quote ID returned in the body.
      */
     @PostMapping("/detailed")
     public ResponseEntity<FareCalculationDto> calculateDetailedFare(@RequestParam String pickupLocation,
                                                                    @RequestParam String destination,
-                                                                   @RequestParam String cabType) {
+                                                                   @RequestParam String cabType,
+                                                                   @RequestParam(defaultValue = "false") boolean quote) {
         try {
             FareCalculationDto fareDetails = fareCalculatorService.calculateDetailedFare(pickupLocation, destination, cabType);
+            if (quote) {
+                attachQuote(fareDetails);
+            }
             return new ResponseEntity<>(fareDetails, HttpStatus.OK);
         } catch (RuntimeException e) {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
 
+    /**
+     * Calculate fare breakdowns for every cab type
+     * GET /api/fare/matrix
+     * With quote=true every fare is also locked and its quote ID returned in the body.
+     */
+    @GetMapping("/matrix")
+    public ResponseEntity<FareMatrixDto> calculateFareMatrix(@RequestParam String pickupLocation,
+                                                            @RequestParam String destination,
+                                                            @RequestParam(defaultValue = "false") boolean quote) {
+        try {
+            FareMatrixDto matrix = fareCalculatorService.calculateFareMatrix(pickupLocation, destination);
+            if (quote) {
+                matrix.getFares().forEach(this::attachQuote);
+            }
+            return new ResponseEntity<>(matrix, HttpStatus.OK);
+        } catch (RuntimeException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
+    /**
+     * Calculate fares for many trips in one request
+     * POST /api/fare/batch
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<List<FareQuoteResultDto>> calculateBatchFares(@RequestBody List<FareQuoteRequestDto> trips) {
+        try {
+            List<FareQuoteResultDto> results = fareBatchService.calculateFares(trips);
+            return new ResponseEntity<>(results, HttpStatus.OK);
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+    }
+
     /**
      * Get estimated trip time
      * GET /api/fare/time-estimate
@@ -70,4 +132,11 @@ public class FareController {
             return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
         }
     }
-}
\ No newline at end of file
+
+    private void attachQuote(FareCalculationDto fareDetails) {
+        FareQuoteService.Quote quote = fareQuoteService.issueQuote(fareDetails.getPickupLocation(),
+            fareDetails.getDestination(), fareDetails.getCabType(), fareDetails.getTotalFare());
+        fareDetails.setQuoteId(quote.getQuoteId());
+        fareDetails.setQuoteExpiresAt(quote.getExpiresAt());
+    }
+}
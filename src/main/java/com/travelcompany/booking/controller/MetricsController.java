@@ -0,0 +1,54 @@
+package com.travelcompany.booking.controller;
+
+import com.travelcompany.booking.service.StatsSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * REST Controller for runtime metrics
+ * Exposes cache and pipeline counters for operations and capacity monitoring; every {@link StatsSource}
+ * bean is served under its name.
+ */
+@RestController
+@RequestMapping("/api/admin/metrics")
+@CrossOrigin(origins = "*")
+public class MetricsController {
+
+    private final Map<String, StatsSource> sources = new TreeMap<>();
+
+    @Autowired
+    public MetricsController(List<StatsSource> sources) {
+        for (StatsSource source : sources) {
+            if (this.sources.putIfAbsent(source.name(), source) != null) {
+                throw new IllegalStateException("Duplicate metrics name: " + source.name());
+            }
+        }
+    }
+
+    /**
+     * Get the names statistics are served under
+     * GET /api/admin/metrics
+     */
+    @GetMapping
+    public ResponseEntity<List<String>> getStatsNames() {
+        return new ResponseEntity<>(List.copyOf(sources.keySet()), HttpStatus.OK);
+    }
+
+    /**
+     * Get the statistics of one component, e.g. fare-rates, near-cache or report-rollup
+     * GET /api/admin/metrics/{name}
+     */
+    @GetMapping("/{name}")
+    public ResponseEntity<Map<String, Object>> getStats(@PathVariable String name) {
+        StatsSource source = sources.get(name);
+        if (source == null) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(source.getStats(), HttpStatus.OK);
+    }
+}
@@ -1,5 +1,7 @@
 package com.travelcompany.booking.controller;
 
+import java.util.List;
+
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
@@ -7,9 +9,12 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
 import org.springframework.web.servlet.mvc.support.RedirectAttributes;
 
 import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
 import com.travelcompany.booking.dto.CustomerRegistrationDto;
 import com.travelcompany.booking.service.AdminService;
 import com.travelcompany.booking.service.BookingService;
@@ -18,6 +23,9 @@ import com.travelcompany.booking.service.CustomerService;
 @Controller
 public class WebController {
 
+    private static final int BOOKINGS_PAGE_SIZE = 50;
+    private static final int DASHBOARD_RECENT_BOOKINGS = 10;
+
     @Autowired
     private CustomerService customerService;
 
@@ -79,8 +87,12 @@ public class WebController {
     }
 
     @GetMapping("/bookings")
-    public String bookings(Model model) {
-        model.addAttribute("bookings", bookingService.getAllBookings());
+    public String bookings(@RequestParam(defaultValue = "0") int page, Model model) {
+        int current = Math.max(page, 0);
+        List<BookingSummaryDto> bookings = bookingService.getRecentBookingSummaries(current, BOOKINGS_PAGE_SIZE);
+        model.addAttribute("bookings", bookings);
+        model.addAttribute("page", current);
+        model.addAttribute("hasNextPage", bookings.size() == BOOKINGS_PAGE_SIZE);
         return "bookings";
     }
 
@@ -93,25 +105,32 @@ public class WebController {
     public String adminDashboard(Model model) {
         try {
             model.addAttribute("dashboard", adminService.getDashboardStats());
-            model.addAttribute("bookings", bookingService.getAllBookings());
+            model.addAttribute("bookings", bookingService.getRecentBookingSummaries(0, DASHBOARD_RECENT_BOOKINGS));
         } catch (Exception e) {
             model.addAttribute("error", "Unable to load dashboard data");
         }
         return "admin";
     }
 
+    /**
+     * Booking detail page
+     * The ETag comes from the near-cached booking, so a repeat view answers 304 without rendering
+     * or querying; otherwise the booking, customer, fare and status history are read in one query.
+     */
     @GetMapping("/booking/{id}")
-    public String viewBooking(@PathVariable Long id, Model model, RedirectAttributes redirectAttributes) {
+    public String viewBooking(@PathVariable Long id, WebRequest webRequest, Model model,
+                              RedirectAttributes redirectAttributes) {
         try {
-            // Use the existing method from BookingService
-            var bookings = bookingService.getAllBookings();
-            var booking = bookings.stream()
-                .filter(b -> b.getId().equals(id))
-                .findFirst()
-                .orElse(null);
-            
-            if (booking != null) {
-                model.addAttribute("booking", booking);
+            var booking = bookingService.findBookingById(id).orElse(null);
+            if (booking != null && webRequest.checkNotModified(bookingService.getDetailsEtag(booking))) {
+                return null;
+            }
+
+            var details = booking == null ? null : bookingService.getBookingDetails(id).orElse(null);
+            if (details != null) {
+                model.addAttribute("booking", details.getBooking());
+                model.addAttribute("fareBreakdown", details.getFareBreakdown());
+                model.addAttribute("statusHistory", details.getStatusHistory());
                 return "booking-details";
             } else {
                 redirectAttributes.addFlashAttribute("error", "Booking not found");
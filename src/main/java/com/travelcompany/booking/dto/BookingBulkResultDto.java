@@ -0,0 +1,61 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one row of a bulk booking request
+ * Exactly one of bookingId and error is set.
+ */
+public class BookingBulkResultDto {
+
+    private int index;
+    private Long customerId;
+    private String cabType;
+    private Long bookingId;
+    private BigDecimal fare;
+    private String error;
+
+    public BookingBulkResultDto() {}
+
+    public static BookingBulkResultDto created(int index, BookingRequestDto request, Long bookingId, BigDecimal fare) {
+        BookingBulkResultDto result = of(index, request);
+        result.setBookingId(bookingId);
+        result.setFare(fare);
+        return result;
+    }
+
+    public static BookingBulkResultDto failed(int index, BookingRequestDto request, String error) {
+        BookingBulkResultDto result = of(index, request);
+        result.setError(error);
+        return result;
+    }
+
+    private static BookingBulkResultDto of(int index, BookingRequestDto request) {
+        BookingBulkResultDto result = new BookingBulkResultDto();
+        result.setIndex(index);
+        if (request != null) {
+            result.setCustomerId(request.getCustomerId());
+            result.setCabType(request.getCabType());
+        }
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public String getCabType() { return cabType; }
+    public void setCabType(String cabType) { this.cabType = cabType; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public BigDecimal getFare() { return fare; }
+    public void setFare(BigDecimal fare) { this.fare = fare; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,53 @@
+package com.travelcompany.booking.dto;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Keyset position in the (createdDate DESC, id DESC) booking order
+ * Clients treat the encoded form as opaque and pass it back unchanged to fetch the next page.
+ */
+public final class BookingCursor {
+
+    private final LocalDateTime createdDate;
+    private final long id;
+
+    public BookingCursor(LocalDateTime createdDate, long id) {
+        this.createdDate = createdDate;
+        this.id = id;
+    }
+
+    public static BookingCursor after(Booking booking) {
+        return new BookingCursor(booking.getCreatedDate(), booking.getId());
+    }
+
+    /**
+     * Decode a cursor produced by {@link #encode()}
+     */
+    public static BookingCursor decode(String cursor) {
+        try {
+            String decoded = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separator = decoded.lastIndexOf('|');
+            if (separator < 0) {
+                throw new IllegalArgumentException("Invalid cursor: " + cursor);
+            }
+            return new BookingCursor(LocalDateTime.parse(decoded.substring(0, separator)),
+                Long.parseLong(decoded.substring(separator + 1)));
+        } catch (DateTimeParseException | IllegalArgumentException e) {
+            throw new IllegalArgumentException("Invalid cursor: " + cursor, e);
+        }
+    }
+
+    public String encode() {
+        String raw = createdDate + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    public LocalDateTime getCreatedDate() { return createdDate; }
+
+    public long getId() { return id; }
+}
@@ -0,0 +1,48 @@
+package com.travelcompany.booking.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Fare;
+
+/**
+ * Everything the booking detail page shows: the booking with its customer, its fare breakdown
+ * (null when none was stored) and its status history, oldest first
+ */
+public class BookingDetailsDto {
+
+    private final Booking booking;
+    private final Fare fareBreakdown;
+    private final List<StatusEntry> statusHistory;
+
+    public BookingDetailsDto(Booking booking, Fare fareBreakdown, List<StatusEntry> statusHistory) {
+        this.booking = booking;
+        this.fareBreakdown = fareBreakdown;
+        this.statusHistory = List.copyOf(statusHistory);
+    }
+
+    public Booking getBooking() { return booking; }
+
+    public Fare getFareBreakdown() { return fareBreakdown; }
+
+    public List<StatusEntry> getStatusHistory() { return statusHistory; }
+
+    /**
+     * A status the booking entered and when
+     */
+    public static class StatusEntry {
+
+        private final Booking.BookingStatus status;
+        private final LocalDateTime changedAt;
+
+        public StatusEntry(Booking.BookingStatus status, LocalDateTime changedAt) {
+            this.status = status;
+            this.changedAt = changedAt;
+        }
+
+        public Booking.BookingStatus getStatus() { return status; }
+
+        public LocalDateTime getChangedAt() { return changedAt; }
+    }
+}
@@ -0,0 +1,36 @@
+package com.travelcompany.booking.dto;
+
+import java.util.List;
+
+/**
+ * Data Transfer Object for one keyset page of bookings, newest first
+ */
+public class BookingPageDto {
+
+    private List<BookingSummaryDto> bookings;
+    private int size;
+    private boolean hasMore;
+    private String nextCursor;
+
+    public BookingPageDto() {}
+
+    public BookingPageDto(List<BookingSummaryDto> bookings, String nextCursor) {
+        this.bookings = bookings;
+        this.size = bookings.size();
+        this.hasMore = nextCursor != null;
+        this.nextCursor = nextCursor;
+    }
+
+    // Getters and Setters
+    public List<BookingSummaryDto> getBookings() { return bookings; }
+    public void setBookings(List<BookingSummaryDto> bookings) { this.bookings = bookings; }
+
+    public int getSize() { return size; }
+    public void setSize(int size) { this.size = size; }
+
+    public boolean isHasMore() { return hasMore; }
+    public void setHasMore(boolean hasMore) { this.hasMore = hasMore; }
+
+    public String getNextCursor() { return nextCursor; }
+    public void setNextCursor(String nextCursor) { this.nextCursor = nextCursor; }
+}
@@ -0,0 +1,45 @@
+package com.travelcompany.booking.dto;
+
+import java.time.LocalDateTime;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Data Transfer Object for booking query filters
+ * Every filter is optional; createdFrom is inclusive and createdTo is exclusive.
+ */
+public class BookingQueryDto {
+
+    private Booking.BookingStatus status;
+    private Long customerId;
+    private String cabType;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+
+    public BookingQueryDto() {}
+
+    public BookingQueryDto(Booking.BookingStatus status, Long customerId, String cabType,
+                           LocalDateTime createdFrom, LocalDateTime createdTo) {
+        this.status = status;
+        this.customerId = customerId;
+        this.cabType = cabType;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+    }
+
+    // Getters and Setters
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public Long getCustomerId() { return customerId; }
+    public void setCustomerId(Long customerId) { this.customerId = customerId; }
+
+    public String getCabType() { return cabType; }
+    public void setCabType(String cabType) { this.cabType = cabType; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+}
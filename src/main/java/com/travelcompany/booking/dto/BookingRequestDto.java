@@ -24,6 +24,9 @@ public class BookingRequestDto {
     @NotBlank(message = "Cab type is required")
     private String cabType;
 
+    // Optional quote from the fare endpoints; when valid its fare is used without recalculation
+    private String quoteId;
+
     public BookingRequestDto() {}
 
     public BookingRequestDto(Long customerId, String pickupLocation, String destination, 
@@ -50,4 +53,7 @@ public class BookingRequestDto {
 
     public String getCabType() { return cabType; }
     public void setCabType(String cabType) { this.cabType = cabType; }
-}
\ No newline at end of file
+
+    public String getQuoteId() { return quoteId; }
+    public void setQuoteId(String quoteId) { this.quoteId = quoteId; }
+}
@@ -0,0 +1,35 @@
+package com.travelcompany.booking.dto;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Data Transfer Object for the outcome of a status change on one booking
+ */
+public class BookingStatusResultDto {
+
+    public enum Outcome {
+        UPDATED, NOT_FOUND, ILLEGAL_TRANSITION
+    }
+
+    private Long bookingId;
+    private Outcome outcome;
+    private Booking.BookingStatus previousStatus;
+
+    public BookingStatusResultDto() {}
+
+    public BookingStatusResultDto(Long bookingId, Outcome outcome, Booking.BookingStatus previousStatus) {
+        this.bookingId = bookingId;
+        this.outcome = outcome;
+        this.previousStatus = previousStatus;
+    }
+
+    // Getters and Setters
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public Outcome getOutcome() { return outcome; }
+    public void setOutcome(Outcome outcome) { this.outcome = outcome; }
+
+    public Booking.BookingStatus getPreviousStatus() { return previousStatus; }
+    public void setPreviousStatus(Booking.BookingStatus previousStatus) { this.previousStatus = previousStatus; }
+}
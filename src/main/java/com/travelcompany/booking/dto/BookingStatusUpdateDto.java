@@ -0,0 +1,32 @@
+package com.travelcompany.booking.dto;
+
+import java.util.List;
+
+import jakarta.validation.constraints.NotBlank;
+import jakarta.validation.constraints.NotEmpty;
+
+/**
+ * Data Transfer Object for changing the status of many bookings at once
+ */
+public class BookingStatusUpdateDto {
+
+    @NotEmpty(message = "Booking IDs are required")
+    private List<Long> bookingIds;
+
+    @NotBlank(message = "Status is required")
+    private String status;
+
+    public BookingStatusUpdateDto() {}
+
+    public BookingStatusUpdateDto(List<Long> bookingIds, String status) {
+        this.bookingIds = bookingIds;
+        this.status = status;
+    }
+
+    // Getters and Setters
+    public List<Long> getBookingIds() { return bookingIds; }
+    public void setBookingIds(List<Long> bookingIds) { this.bookingIds = bookingIds; }
+
+    public String getStatus() { return status; }
+    public void setStatus(String status) { this.status = status; }
+}
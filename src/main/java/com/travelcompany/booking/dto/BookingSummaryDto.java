@@ -0,0 +1,84 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+
+/**
+ * Read-only projection of a booking with its customer's name and email, for list responses
+ * Built directly by JPQL constructor queries so no entity or lazy association is involved.
+ */
+public class BookingSummaryDto {
+
+    private final Long id;
+    private final Long customerId;
+    private final String customerName;
+    private final String customerEmail;
+    private final String pickupLocation;
+    private final String destination;
+    private final LocalDateTime bookingTime;
+    private final LocalDateTime preferredTime;
+    private final String cabType;
+    private final BigDecimal fare;
+    private final Booking.BookingStatus status;
+    private final LocalDateTime createdDate;
+
+    public BookingSummaryDto(Long id, Long customerId, String customerName, String customerEmail,
+                             String pickupLocation, String destination, LocalDateTime bookingTime,
+                             LocalDateTime preferredTime, String cabType, BigDecimal fare,
+                             Booking.BookingStatus status, LocalDateTime createdDate) {
+        this.id = id;
+        this.customerId = customerId;
+        this.customerName = customerName;
+        this.customerEmail = customerEmail;
+        this.pickupLocation = pickupLocation;
+        this.destination = destination;
+        this.bookingTime = bookingTime;
+        this.preferredTime = preferredTime;
+        this.cabType = cabType;
+        this.fare = fare;
+        this.status = status;
+        this.createdDate = createdDate;
+    }
+
+    /**
+     * Summarize a booking whose customer is already loaded (e.g. fetch-joined)
+     */
+    public static BookingSummaryDto from(Booking booking) {
+        Customer customer = booking.getCustomer();
+        return new BookingSummaryDto(booking.getId(),
+            customer == null ? null : customer.getId(),
+            customer == null ? null : customer.getName(),
+            customer == null ? null : customer.getEmail(),
+            booking.getPickupLocation(), booking.getDestination(), booking.getBookingTime(),
+            booking.getPreferredTime(), booking.getCabType(), booking.getFare(),
+            booking.getStatus(), booking.getCreatedDate());
+    }
+
+    // Getters
+    public Long getId() { return id; }
+
+    public Long getCustomerId() { return customerId; }
+
+    public String getCustomerName() { return customerName; }
+
+    public String getCustomerEmail() { return customerEmail; }
+
+    public String getPickupLocation() { return pickupLocation; }
+
+    public String getDestination() { return destination; }
+
+    public LocalDateTime getBookingTime() { return bookingTime; }
+
+    public LocalDateTime getPreferredTime() { return preferredTime; }
+
+    public String getCabType() { return cabType; }
+
+    public BigDecimal getFare() { return fare; }
+
+    public Booking.BookingStatus getStatus() { return status; }
+
+    public LocalDateTime getCreatedDate() { return createdDate; }
+}
@@ -0,0 +1,49 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+
+/**
+ * Data Transfer Object for the state of an asynchronously accepted booking
+ * bookingId and fare are set once the booking is CREATED, error once it has FAILED.
+ */
+public class BookingTicketDto {
+
+    public enum TicketStatus {
+        QUEUED, CREATED, FAILED
+    }
+
+    private String ticketId;
+    private TicketStatus status;
+    private Instant submittedAt;
+    private Long bookingId;
+    private BigDecimal fare;
+    private String error;
+
+    public BookingTicketDto() {}
+
+    public BookingTicketDto(String ticketId, TicketStatus status, Instant submittedAt) {
+        this.ticketId = ticketId;
+        this.status = status;
+        this.submittedAt = submittedAt;
+    }
+
+    // Getters and Setters
+    public String getTicketId() { return ticketId; }
+    public void setTicketId(String ticketId) { this.ticketId = ticketId; }
+
+    public TicketStatus getStatus() { return status; }
+    public void setStatus(TicketStatus status) { this.status = status; }
+
+    public Instant getSubmittedAt() { return submittedAt; }
+    public void setSubmittedAt(Instant submittedAt) { this.submittedAt = submittedAt; }
+
+    public Long getBookingId() { return bookingId; }
+    public void setBookingId(Long bookingId) { this.bookingId = bookingId; }
+
+    public BigDecimal getFare() { return fare; }
+    public void setFare(BigDecimal fare) { this.fare = fare; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
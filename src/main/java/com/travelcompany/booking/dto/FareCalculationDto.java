@@ -3,6 +3,7 @@ package com.travelcompany.booking.dto;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
+import java.time.Instant;
 
 /**
  * Data Transfer Object for Fare calculations
@@ -26,6 +27,10 @@ public class FareCalculationDto {
     private BigDecimal timeFare;
     private BigDecimal totalFare;
 
+    // Price-locked quote that can be passed to booking creation
+    private String quoteId;
+    private Instant quoteExpiresAt;
+
     public FareCalculationDto() {}
 
     public FareCalculationDto(String pickupLocation, String destination, String cabType, BigDecimal distanceKm) {
@@ -59,4 +64,10 @@ public class FareCalculationDto {
 
     public BigDecimal getTotalFare() { return totalFare; }
     public void setTotalFare(BigDecimal totalFare) { this.totalFare = totalFare; }
-}
\ No newline at end of file
+
+    public String getQuoteId() { return quoteId; }
+    public void setQuoteId(String quoteId) { this.quoteId = quoteId; }
+
+    public Instant getQuoteExpiresAt() { return quoteExpiresAt; }
+    public void setQuoteExpiresAt(Instant quoteExpiresAt) { this.quoteExpiresAt = quoteExpiresAt; }
+}
@@ -0,0 +1,40 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+import java.util.List;
+
+/**
+ * Data Transfer Object for the fares of one trip across all cab types
+ */
+public class FareMatrixDto {
+
+    private String pickupLocation;
+    private String destination;
+    private BigDecimal distanceKm;
+    private int estimatedTripMinutes;
+    private List<FareCalculationDto> fares;
+
+    public FareMatrixDto() {}
+
+    public FareMatrixDto(String pickupLocation, String destination, BigDecimal distanceKm) {
+        this.pickupLocation = pickupLocation;
+        this.destination = destination;
+        this.distanceKm = distanceKm;
+    }
+
+    // Getters and Setters
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public BigDecimal getDistanceKm() { return distanceKm; }
+    public void setDistanceKm(BigDecimal distanceKm) { this.distanceKm = distanceKm; }
+
+    public int getEstimatedTripMinutes() { return estimatedTripMinutes; }
+    public void setEstimatedTripMinutes(int estimatedTripMinutes) { this.estimatedTripMinutes = estimatedTripMinutes; }
+
+    public List<FareCalculationDto> getFares() { return fares; }
+    public void setFares(List<FareCalculationDto> fares) { this.fares = fares; }
+}
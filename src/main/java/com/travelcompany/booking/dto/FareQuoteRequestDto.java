@@ -0,0 +1,36 @@
+package com.travelcompany.booking.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+/**
+ * Data Transfer Object for a single trip in a batch fare quote
+ */
+public class FareQuoteRequestDto {
+
+    @NotBlank(message = "Pickup location is required")
+    private String pickupLocation;
+
+    @NotBlank(message = "Destination is required")
+    private String destination;
+
+    @NotBlank(message = "Cab type is required")
+    private String cabType;
+
+    public FareQuoteRequestDto() {}
+
+    public FareQuoteRequestDto(String pickupLocation, String destination, String cabType) {
+        this.pickupLocation = pickupLocation;
+        this.destination = destination;
+        this.cabType = cabType;
+    }
+
+    // Getters and Setters
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public String getCabType() { return cabType; }
+    public void setCabType(String cabType) { this.cabType = cabType; }
+}
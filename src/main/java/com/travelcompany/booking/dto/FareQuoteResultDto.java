@@ -0,0 +1,61 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one priced trip in a batch fare quote
+ * Exactly one of totalFare and error is set.
+ */
+public class FareQuoteResultDto {
+
+    private int index;
+    private String pickupLocation;
+    private String destination;
+    private String cabType;
+    private BigDecimal totalFare;
+    private String error;
+
+    public FareQuoteResultDto() {}
+
+    public static FareQuoteResultDto priced(int index, FareQuoteRequestDto request, BigDecimal totalFare) {
+        FareQuoteResultDto result = of(index, request);
+        result.setTotalFare(totalFare);
+        return result;
+    }
+
+    public static FareQuoteResultDto failed(int index, FareQuoteRequestDto request, String error) {
+        FareQuoteResultDto result = of(index, request);
+        result.setError(error);
+        return result;
+    }
+
+    private static FareQuoteResultDto of(int index, FareQuoteRequestDto request) {
+        FareQuoteResultDto result = new FareQuoteResultDto();
+        result.setIndex(index);
+        if (request != null) {
+            result.setPickupLocation(request.getPickupLocation());
+            result.setDestination(request.getDestination());
+            result.setCabType(request.getCabType());
+        }
+        return result;
+    }
+
+    // Getters and Setters
+    public int getIndex() { return index; }
+    public void setIndex(int index) { this.index = index; }
+
+    public String getPickupLocation() { return pickupLocation; }
+    public void setPickupLocation(String pickupLocation) { this.pickupLocation = pickupLocation; }
+
+    public String getDestination() { return destination; }
+    public void setDestination(String destination) { this.destination = destination; }
+
+    public String getCabType() { return cabType; }
+    public void setCabType(String cabType) { this.cabType = cabType; }
+
+    public BigDecimal getTotalFare() { return totalFare; }
+    public void setTotalFare(BigDecimal totalFare) { this.totalFare = totalFare; }
+
+    public String getError() { return error; }
+    public void setError(String error) { this.error = error; }
+}
@@ -0,0 +1,36 @@
+package com.travelcompany.booking.dto;
+
+import java.math.BigDecimal;
+
+/**
+ * Data Transfer Object for one group of a trip analytics query
+ */
+public class TripGroupDto {
+
+    private String group;
+    private long trips;
+    private BigDecimal fareTotal;
+    private BigDecimal averageFare;
+
+    public TripGroupDto() {}
+
+    public TripGroupDto(String group, long trips, BigDecimal fareTotal, BigDecimal averageFare) {
+        this.group = group;
+        this.trips = trips;
+        this.fareTotal = fareTotal;
+        this.averageFare = averageFare;
+    }
+
+    // Getters and Setters
+    public String getGroup() { return group; }
+    public void setGroup(String group) { this.group = group; }
+
+    public long getTrips() { return trips; }
+    public void setTrips(long trips) { this.trips = trips; }
+
+    public BigDecimal getFareTotal() { return fareTotal; }
+    public void setFareTotal(BigDecimal fareTotal) { this.fareTotal = fareTotal; }
+
+    public BigDecimal getAverageFare() { return averageFare; }
+    public void setAverageFare(BigDecimal averageFare) { this.averageFare = averageFare; }
+}
@@ -0,0 +1,50 @@
+package com.travelcompany.booking.dto;
+
+import java.time.LocalDateTime;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Data Transfer Object for a trip analytics query
+ * Every filter is optional; createdFrom is inclusive and createdTo is exclusive. Trips are bookings
+ * that reached a final status, so the status filter is COMPLETED or CANCELLED.
+ */
+public class TripQueryDto {
+
+    public enum GroupBy {
+        NONE, CAB_TYPE, STATUS, HOUR_OF_DAY, DAY_OF_WEEK
+    }
+
+    private Booking.BookingStatus status;
+    private String cabType;
+    private LocalDateTime createdFrom;
+    private LocalDateTime createdTo;
+    private GroupBy groupBy = GroupBy.NONE;
+
+    public TripQueryDto() {}
+
+    public TripQueryDto(Booking.BookingStatus status, String cabType, LocalDateTime createdFrom,
+                        LocalDateTime createdTo, GroupBy groupBy) {
+        this.status = status;
+        this.cabType = cabType;
+        this.createdFrom = createdFrom;
+        this.createdTo = createdTo;
+        this.groupBy = groupBy == null ? GroupBy.NONE : groupBy;
+    }
+
+    // Getters and Setters
+    public Booking.BookingStatus getStatus() { return status; }
+    public void setStatus(Booking.BookingStatus status) { this.status = status; }
+
+    public String getCabType() { return cabType; }
+    public void setCabType(String cabType) { this.cabType = cabType; }
+
+    public LocalDateTime getCreatedFrom() { return createdFrom; }
+    public void setCreatedFrom(LocalDateTime createdFrom) { this.createdFrom = createdFrom; }
+
+    public LocalDateTime getCreatedTo() { return createdTo; }
+    public void setCreatedTo(LocalDateTime createdTo) { this.createdTo = createdTo; }
+
+    public GroupBy getGroupBy() { return groupBy; }
+    public void setGroupBy(GroupBy groupBy) { this.groupBy = groupBy; }
+}
@@ -0,0 +1,22 @@
+package com.travelcompany.booking.event;
+
+import java.util.List;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Published after bookings are saved, once for a single booking or once per bulk ingest
+ * Listeners use @TransactionalEventListener so they only see bookings that were committed.
+ */
+public class BookingCreatedEvent {
+
+    private final List<Booking> bookings;
+
+    public BookingCreatedEvent(List<Booking> bookings) {
+        this.bookings = List.copyOf(bookings);
+    }
+
+    public List<Booking> getBookings() {
+        return bookings;
+    }
+}
@@ -0,0 +1,59 @@
+package com.travelcompany.booking.event;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Published after booking status transitions, once for a single update or once per bulk chunk
+ * Listeners use @TransactionalEventListener so they only see transitions that were committed.
+ */
+public class BookingStatusChangedEvent {
+
+    private final List<Change> changes;
+
+    public BookingStatusChangedEvent(List<Change> changes) {
+        this.changes = List.copyOf(changes);
+    }
+
+    public List<Change> getChanges() {
+        return changes;
+    }
+
+    /**
+     * One booking moving from one status to another, with the attributes reports group it by
+     */
+    public static class Change {
+
+        private final Long bookingId;
+        private final Booking.BookingStatus from;
+        private final Booking.BookingStatus to;
+        private final String cabType;
+        private final LocalDateTime createdDate;
+        private final BigDecimal fare;
+
+        public Change(Long bookingId, Booking.BookingStatus from, Booking.BookingStatus to,
+                      String cabType, LocalDateTime createdDate, BigDecimal fare) {
+            this.bookingId = bookingId;
+            this.from = from;
+            this.to = to;
+            this.cabType = cabType;
+            this.createdDate = createdDate;
+            this.fare = fare;
+        }
+
+        public Long getBookingId() { return bookingId; }
+
+        public Booking.BookingStatus getFrom() { return from; }
+
+        public Booking.BookingStatus getTo() { return to; }
+
+        public String getCabType() { return cabType; }
+
+        public LocalDateTime getCreatedDate() { return createdDate; }
+
+        public BigDecimal getFare() { return fare; }
+    }
+}
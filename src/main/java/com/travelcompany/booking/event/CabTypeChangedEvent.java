@@ -0,0 +1,24 @@
+package com.travelcompany.booking.event;
+
+/**
+ * Published by Spring Data whenever a cab type is saved or deleted through its repository
+ * Listeners use @TransactionalEventListener so they only see changes that were committed.
+ */
+public class CabTypeChangedEvent {
+
+    private final Long cabTypeId;
+    private final String name;
+
+    public CabTypeChangedEvent(Long cabTypeId, String name) {
+        this.cabTypeId = cabTypeId;
+        this.name = name;
+    }
+
+    public Long getCabTypeId() {
+        return cabTypeId;
+    }
+
+    public String getName() {
+        return name;
+    }
+}
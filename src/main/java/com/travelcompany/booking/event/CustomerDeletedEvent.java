@@ -0,0 +1,35 @@
+package com.travelcompany.booking.event;
+
+import java.util.List;
+
+import com.travelcompany.booking.repository.BookingRepository;
+
+/**
+ * Published when a customer is deleted, with the ids of their bookings (deleted along with them, without
+ * booking events) and what those contributed per creation hour, cab type and status, read before the delete
+ * Listeners use @TransactionalEventListener so they only see deletes that were committed.
+ */
+public class CustomerDeletedEvent {
+
+    private final Long customerId;
+    private final List<Long> bookingIds;
+    private final List<BookingRepository.RollupRowView> bookings;
+
+    public CustomerDeletedEvent(Long customerId, List<Long> bookingIds, List<BookingRepository.RollupRowView> bookings) {
+        this.customerId = customerId;
+        this.bookingIds = List.copyOf(bookingIds);
+        this.bookings = List.copyOf(bookings);
+    }
+
+    public Long getCustomerId() {
+        return customerId;
+    }
+
+    public List<Long> getBookingIds() {
+        return bookingIds;
+    }
+
+    public List<BookingRepository.RollupRowView> getBookings() {
+        return bookings;
+    }
+}
@@ -0,0 +1,30 @@
+package com.travelcompany.booking.idempotency;
+
+/**
+ * State of one idempotency key: the fingerprint and owner token of the request that claimed it and,
+ * once that request has finished, its response (null while still in progress)
+ */
+public final class IdempotencyEntry {
+
+    private final String fingerprint;
+    private final String owner;
+    private final StoredResponse response;
+
+    public IdempotencyEntry(String fingerprint, StoredResponse response) {
+        this(fingerprint, null, response);
+    }
+
+    public IdempotencyEntry(String fingerprint, String owner, StoredResponse response) {
+        this.fingerprint = fingerprint;
+        this.owner = owner;
+        this.response = response;
+    }
+
+    public String getFingerprint() { return fingerprint; }
+
+    public String getOwner() { return owner; }
+
+    public StoredResponse getResponse() { return response; }
+
+    public boolean isCompleted() { return response != null; }
+}
@@ -0,0 +1,289 @@
+package com.travelcompany.booking.idempotency;
+
+import java.io.ByteArrayInputStream;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.HexFormat;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.util.ContentCachingResponseWrapper;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletRequestWrapper;
+import jakarta.servlet.http.HttpServletResponse;
+
+/**
+ * Servlet filter that makes POST requests carrying an Idempotency-Key header safe to retry
+ * The first request with a key executes and its response is stored; repeats replay that response,
+ * concurrent repeats on this node wait for the in-flight request, and a key reused with a different
+ * body is rejected with 422. Server errors and 429 responses are not stored so the client can retry.
+ */
+public class IdempotencyFilter extends OncePerRequestFilter {
+
+    public static final String IDEMPOTENCY_KEY_HEADER = "Idempotency-Key";
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    private static final int MAX_KEY_LENGTH = 200;
+    private static final Set<String> UNSTORED_HEADERS = new TreeSet<>(String.CASE_INSENSITIVE_ORDER);
+
+    static {
+        UNSTORED_HEADERS.addAll(List.of("Content-Type", "Content-Length", "Transfer-Encoding",
+            "Date", "Connection", "Keep-Alive", "Set-Cookie"));
+    }
+
+    private final IdempotencyStore store;
+    private final Set<String> paths;
+    private final long waitTimeoutMillis;
+    private final Map<String, CompletableFuture<Void>> inFlight = new ConcurrentHashMap<>();
+
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder replayed = new LongAdder();
+    private final LongAdder collapsed = new LongAdder();
+    private final LongAdder inProgressConflicts = new LongAdder();
+    private final LongAdder mismatches = new LongAdder();
+    private final LongAdder released = new LongAdder();
+    private final LongAdder lostClaims = new LongAdder();
+
+    public IdempotencyFilter(IdempotencyStore store, Set<String> paths, long waitTimeoutMillis) {
+        this.store = store;
+        this.paths = paths;
+        this.waitTimeoutMillis = waitTimeoutMillis;
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !"POST".equals(request.getMethod())
+            || request.getHeader(IDEMPOTENCY_KEY_HEADER) == null
+            || !paths.contains(pathOf(request));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        String key = request.getHeader(IDEMPOTENCY_KEY_HEADER).trim();
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            response.sendError(HttpStatus.BAD_REQUEST.value(),
+                "Idempotency-Key must be 1 to " + MAX_KEY_LENGTH + " characters");
+            return;
+        }
+
+        CachedBodyRequest cachedRequest = new CachedBodyRequest(request);
+        String path = pathOf(request);
+        String scopedKey = path + "|" + key;
+        String fingerprint = fingerprint(request.getMethod(), path, cachedRequest.getBody());
+
+        while (true) {
+            CompletableFuture<Void> mine = new CompletableFuture<>();
+            CompletableFuture<Void> running = inFlight.putIfAbsent(scopedKey, mine);
+            if (running == null) {
+                try {
+                    handle(scopedKey, fingerprint, cachedRequest, response, chain);
+                } finally {
+                    inFlight.remove(scopedKey, mine);
+                    mine.complete(null);
+                }
+                return;
+            }
+
+            // Same key already executing on this node: wait for it, then replay (or retry if it was released)
+            collapsed.increment();
+            try {
+                running.get(waitTimeoutMillis, TimeUnit.MILLISECONDS);
+            } catch (TimeoutException e) {
+                rejectInProgress(response);
+                return;
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                rejectInProgress(response);
+                return;
+            } catch (ExecutionException e) {
+                // Never completed exceptionally; fall through and re-check the store
+            }
+        }
+    }
+
+    private void handle(String scopedKey, String fingerprint, CachedBodyRequest request,
+                        HttpServletResponse response, FilterChain chain) throws ServletException, IOException {
+        String owner = UUID.randomUUID().toString();
+        IdempotencyEntry existing = store.putIfAbsent(scopedKey, fingerprint, owner);
+        if (existing != null) {
+            if (!existing.getFingerprint().equals(fingerprint)) {
+                mismatches.increment();
+                response.sendError(HttpStatus.UNPROCESSABLE_ENTITY.value(),
+                    "Idempotency-Key was already used with a different request");
+            } else if (!existing.isCompleted()) {
+                // Claimed by a request still running on another node
+                rejectInProgress(response);
+            } else {
+                replayed.increment();
+                replay(existing.getResponse(), response);
+            }
+            return;
+        }
+
+        executed.increment();
+        ContentCachingResponseWrapper wrapper = new ContentCachingResponseWrapper(response);
+        try {
+            chain.doFilter(request, wrapper);
+        } catch (IOException | ServletException | RuntimeException e) {
+            released.increment();
+            store.release(scopedKey, owner);
+            throw e;
+        }
+
+        int status = wrapper.getStatus();
+        if (status >= 500 || status == HttpStatus.TOO_MANY_REQUESTS.value()) {
+            released.increment();
+            store.release(scopedKey, owner);
+        } else if (!store.complete(scopedKey, owner, fingerprint, capture(wrapper))) {
+            // The claim outlived its in-progress TTL and another request now holds the key
+            lostClaims.increment();
+        }
+        wrapper.copyBodyToResponse();
+    }
+
+    private StoredResponse capture(ContentCachingResponseWrapper wrapper) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        for (String name : wrapper.getHeaderNames()) {
+            if (!UNSTORED_HEADERS.contains(name)) {
+                headers.put(name, new ArrayList<>(wrapper.getHeaders(name)));
+            }
+        }
+        return new StoredResponse(wrapper.getStatus(), wrapper.getContentType(), headers,
+            wrapper.getContentAsByteArray());
+    }
+
+    private void replay(StoredResponse stored, HttpServletResponse response) throws IOException {
+        response.setStatus(stored.getStatus());
+        if (stored.getContentType() != null) {
+            response.setContentType(stored.getContentType());
+        }
+        stored.getHeaders().forEach((name, values) -> values.forEach(value -> response.addHeader(name, value)));
+        response.setHeader(REPLAYED_HEADER, "true");
+        response.setContentLength(stored.getBody().length);
+        response.getOutputStream().write(stored.getBody());
+    }
+
+    private void rejectInProgress(HttpServletResponse response) throws IOException {
+        inProgressConflicts.increment();
+        response.setHeader("Retry-After", "1");
+        response.sendError(HttpStatus.CONFLICT.value(), "A request with this Idempotency-Key is still in progress");
+    }
+
+    /**
+     * Get filter and store statistics
+     */
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("executed", executed.sum());
+        stats.put("replayed", replayed.sum());
+        stats.put("collapsed", collapsed.sum());
+        stats.put("inProgressConflicts", inProgressConflicts.sum());
+        stats.put("fingerprintMismatches", mismatches.sum());
+        stats.put("released", released.sum());
+        stats.put("lostClaims", lostClaims.sum());
+        stats.put("inFlight", inFlight.size());
+        stats.put("store", store.getStats());
+        return stats;
+    }
+
+    private static String pathOf(HttpServletRequest request) {
+        return request.getRequestURI().substring(request.getContextPath().length());
+    }
+
+    private static String fingerprint(String method, String path, byte[] body) {
+        try {
+            MessageDigest digest = MessageDigest.getInstance("SHA-256");
+            digest.update((method + ' ' + path + '\n').getBytes(StandardCharsets.UTF_8));
+            digest.update(body);
+            return HexFormat.of().formatHex(digest.digest());
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 not available", e);
+        }
+    }
+
+    /**
+     * Request wrapper that reads the body once so it can be fingerprinted and still reach the controller
+     */
+    static class CachedBodyRequest extends HttpServletRequestWrapper {
+
+        private final byte[] body;
+
+        CachedBodyRequest(HttpServletRequest request) throws IOException {
+            super(request);
+            this.body = StreamUtils.copyToByteArray(request.getInputStream());
+        }
+
+        byte[] getBody() {
+            return body;
+        }
+
+        @Override
+        public ServletInputStream getInputStream() {
+            ByteArrayInputStream input = new ByteArrayInputStream(body);
+            return new ServletInputStream() {
+                @Override
+                public int read() {
+                    return input.read();
+                }
+
+                @Override
+                public int read(byte[] buffer, int offset, int length) {
+                    return input.read(buffer, offset, length);
+                }
+
+                @Override
+                public boolean isFinished() {
+                    return input.available() == 0;
+                }
+
+                @Override
+                public boolean isReady() {
+                    return true;
+                }
+
+                @Override
+                public void setReadListener(ReadListener listener) {
+                    // The whole body is already in memory, so it is available at once
+                    try {
+                        listener.onDataAvailable();
+                        listener.onAllDataRead();
+                    } catch (IOException e) {
+                        listener.onError(e);
+                    }
+                }
+            };
+        }
+
+        @Override
+        public BufferedReader getReader() {
+            String encoding = getCharacterEncoding();
+            Charset charset = encoding != null ? Charset.forName(encoding) : StandardCharsets.UTF_8;
+            return new BufferedReader(new InputStreamReader(getInputStream(), charset));
+        }
+    }
+}
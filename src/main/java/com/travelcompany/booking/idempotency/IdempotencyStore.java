@@ -0,0 +1,32 @@
+package com.travelcompany.booking.idempotency;
+
+import java.util.Map;
+
+/**
+ * Bounded, expiring store of idempotency keys and their responses
+ */
+public interface IdempotencyStore {
+
+    /**
+     * Claim a key for a new request; owner is a token unique to that request
+     * Returns null when the key was claimed, or the existing live entry when it was already taken.
+     */
+    IdempotencyEntry putIfAbsent(String key, String fingerprint, String owner);
+
+    /**
+     * Record the response of the request that claimed the key
+     * Returns false when the claim expired and was taken over, in which case nothing is stored.
+     */
+    boolean complete(String key, String owner, String fingerprint, StoredResponse response);
+
+    /**
+     * Give up a claimed key so the request can be retried
+     * Does nothing once the claim has been taken over by another request.
+     */
+    void release(String key, String owner);
+
+    /**
+     * Get store statistics
+     */
+    Map<String, Object> getStats();
+}
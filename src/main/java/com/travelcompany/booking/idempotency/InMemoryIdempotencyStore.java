@@ -0,0 +1,52 @@
+package com.travelcompany.booking.idempotency;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+
+/**
+ * Single-node idempotency store backed by a bounded TTL cache
+ */
+public class InMemoryIdempotencyStore implements IdempotencyStore {
+
+    private final BoundedTtlCache<String, IdempotencyEntry> entries;
+
+    public InMemoryIdempotencyStore(BoundedTtlCache<String, IdempotencyEntry> entries) {
+        this.entries = entries;
+    }
+
+    @Override
+    public IdempotencyEntry putIfAbsent(String key, String fingerprint, String owner) {
+        IdempotencyEntry claim = new IdempotencyEntry(fingerprint, owner, null);
+        IdempotencyEntry winner = entries.putIfAbsent(key, claim);
+        return winner == claim ? null : winner;
+    }
+
+    @Override
+    public boolean complete(String key, String owner, String fingerprint, StoredResponse response) {
+        IdempotencyEntry claim = heldBy(key, owner);
+        return claim != null && entries.replace(key, claim, new IdempotencyEntry(fingerprint, owner, response));
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        IdempotencyEntry claim = heldBy(key, owner);
+        if (claim != null) {
+            entries.remove(key, claim);
+        }
+    }
+
+    private IdempotencyEntry heldBy(String key, String owner) {
+        IdempotencyEntry entry = entries.get(key);
+        return entry != null && !entry.isCompleted() && owner.equals(entry.getOwner()) ? entry : null;
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("store", "memory");
+        stats.putAll(entries.getStats());
+        return stats;
+    }
+}
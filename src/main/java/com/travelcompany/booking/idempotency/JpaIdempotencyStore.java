@@ -0,0 +1,110 @@
+package com.travelcompany.booking.idempotency;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import com.travelcompany.booking.model.IdempotencyRecord;
+import com.travelcompany.booking.repository.IdempotencyRecordRepository;
+
+/**
+ * Idempotency store backed by the idempotency_keys table, for running several nodes
+ * Claims race on the primary key; expired rows are reclaimed on demand and purged periodically.
+ * Each claim carries its request's owner token, so a request whose claim expired and was taken over
+ * by another node can neither overwrite nor delete the new holder's row.
+ */
+public class JpaIdempotencyStore implements IdempotencyStore {
+
+    private final IdempotencyRecordRepository repository;
+    private final Duration ttl;
+    private final Duration inProgressTtl;
+    private final Clock clock;
+
+    private final LongAdder claims = new LongAdder();
+    private final LongAdder duplicates = new LongAdder();
+    private final LongAdder lostClaims = new LongAdder();
+    private final LongAdder purged = new LongAdder();
+
+    public JpaIdempotencyStore(IdempotencyRecordRepository repository, Duration ttl, Duration inProgressTtl) {
+        this(repository, ttl, inProgressTtl, Clock.systemUTC());
+    }
+
+    JpaIdempotencyStore(IdempotencyRecordRepository repository, Duration ttl, Duration inProgressTtl, Clock clock) {
+        this.repository = repository;
+        this.ttl = ttl;
+        this.inProgressTtl = inProgressTtl;
+        this.clock = clock;
+    }
+
+    @Override
+    public IdempotencyEntry putIfAbsent(String key, String fingerprint, String owner) {
+        LocalDateTime now = LocalDateTime.now(clock);
+        // An in-progress claim expires quickly so a crashed node does not lock the key for the full TTL
+        IdempotencyRecord claim = new IdempotencyRecord(key, fingerprint, owner, now, now.plus(inProgressTtl));
+        for (int attempt = 0; attempt < 2; attempt++) {
+            try {
+                repository.saveAndFlush(claim);
+                claims.increment();
+                return null;
+            } catch (DataIntegrityViolationException e) {
+                Optional<IdempotencyRecord> existing = repository.findById(key);
+                if (existing.isPresent() && existing.get().getExpiresAt().isAfter(now)) {
+                    duplicates.increment();
+                    return toEntry(existing.get());
+                }
+                // The holder expired (or vanished) between the insert and the read; reclaim once
+                repository.deleteExpired(key, now);
+                claim = new IdempotencyRecord(key, fingerprint, owner, now, now.plus(inProgressTtl));
+            }
+        }
+        return repository.findById(key).map(this::toEntry).orElse(null);
+    }
+
+    @Override
+    public boolean complete(String key, String owner, String fingerprint, StoredResponse response) {
+        int updated = repository.complete(key, owner, fingerprint, response.getStatus(), response.getContentType(),
+            response.encodeHeaders(), response.getBody(), LocalDateTime.now(clock).plus(ttl));
+        if (updated == 0) {
+            lostClaims.increment();
+            return false;
+        }
+        return true;
+    }
+
+    @Override
+    public void release(String key, String owner) {
+        repository.release(key, owner);
+    }
+
+    @Scheduled(fixedDelayString = "${idempotency.purge-interval-ms:60000}")
+    public void purgeExpired() {
+        purged.add(repository.purgeExpired(LocalDateTime.now(clock)));
+    }
+
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("store", "jpa");
+        stats.put("ttlSeconds", ttl.getSeconds());
+        stats.put("claims", claims.sum());
+        stats.put("duplicates", duplicates.sum());
+        stats.put("lostClaims", lostClaims.sum());
+        stats.put("purged", purged.sum());
+        return stats;
+    }
+
+    private IdempotencyEntry toEntry(IdempotencyRecord record) {
+        if (record.getStatusCode() == null) {
+            return new IdempotencyEntry(record.getFingerprint(), null);
+        }
+        return new IdempotencyEntry(record.getFingerprint(), new StoredResponse(record.getStatusCode(),
+            record.getContentType(), StoredResponse.decodeHeaders(record.getHeaders()), record.getBody()));
+    }
+}
@@ -0,0 +1,57 @@
+package com.travelcompany.booking.idempotency;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Snapshot of a completed HTTP response that can be replayed for a repeated request
+ */
+public final class StoredResponse {
+
+    private final int status;
+    private final String contentType;
+    private final Map<String, List<String>> headers;
+    private final byte[] body;
+
+    public StoredResponse(int status, String contentType, Map<String, List<String>> headers, byte[] body) {
+        this.status = status;
+        this.contentType = contentType;
+        this.headers = headers;
+        this.body = body;
+    }
+
+    public int getStatus() { return status; }
+
+    public String getContentType() { return contentType; }
+
+    public Map<String, List<String>> getHeaders() { return headers; }
+
+    public byte[] getBody() { return body; }
+
+    /**
+     * Encode the headers as one "Name: value" line per value
+     */
+    public String encodeHeaders() {
+        StringBuilder encoded = new StringBuilder();
+        headers.forEach((name, values) -> values.forEach(value ->
+            encoded.append(name).append(": ").append(value).append('\n')));
+        return encoded.toString();
+    }
+
+    public static Map<String, List<String>> decodeHeaders(String encoded) {
+        Map<String, List<String>> headers = new LinkedHashMap<>();
+        if (encoded == null) {
+            return headers;
+        }
+        for (String line : encoded.split("\n")) {
+            int separator = line.indexOf(": ");
+            if (separator > 0) {
+                headers.computeIfAbsent(line.substring(0, separator), name -> new ArrayList<>())
+                    .add(line.substring(separator + 2));
+            }
+        }
+        return headers;
+    }
+}
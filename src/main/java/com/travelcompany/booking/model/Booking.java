@@ -6,15 +6,30 @@ import jakarta.validation.constraints.NotNull;
 import jakarta.validation.constraints.Positive;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
 
 /**
  * Booking entity representing a cab booking in the system
  */
 @Entity
-@Table(name = "bookings")
+@Table(name = "bookings", indexes = {
+    // Status filters and counts, newest first within a status
+    @Index(name = "idx_bookings_status_created", columnList = "status, created_date"),
+    // A customer's bookings newest first; also serves the customer_id foreign key
+    @Index(name = "idx_bookings_customer_created", columnList = "customer_id, created_date"),
+    // Date range reports and keyset pages over all bookings
+    @Index(name = "idx_bookings_created", columnList = "created_date")
+})
 public class Booking {
+    // Pooled sequence ids are assigned without an insert, so Hibernate can batch booking inserts.
+    // The sequence is the only id source: every insert must take its id from bookings_seq
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "bookings_seq", allocationSize = 50)
     private Long id;
 
     @ManyToOne(fetch = FetchType.LAZY)
@@ -48,11 +63,39 @@ public class Booking {
     @Column(nullable = false)
     private BookingStatus status;
 
-    @Column(name = "created_date")
+    @Column(name = "created_date", nullable = false)
     private LocalDateTime createdDate;
 
+    @Version
+    @Column(nullable = false)
+    private Long version;
+
+    /**
+     * Booking lifecycle; COMPLETED and CANCELLED are final
+     */
     public enum BookingStatus {
-        PENDING, CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED
+        PENDING, CONFIRMED, IN_PROGRESS, COMPLETED, CANCELLED;
+
+        private static final Map<BookingStatus, Set<BookingStatus>> PREDECESSORS = new EnumMap<>(BookingStatus.class);
+
+        static {
+            PREDECESSORS.put(PENDING, EnumSet.noneOf(BookingStatus.class));
+            PREDECESSORS.put(CONFIRMED, EnumSet.of(PENDING));
+            PREDECESSORS.put(IN_PROGRESS, EnumSet.of(CONFIRMED));
+            PREDECESSORS.put(COMPLETED, EnumSet.of(CONFIRMED, IN_PROGRESS));
+            PREDECESSORS.put(CANCELLED, EnumSet.of(PENDING, CONFIRMED, IN_PROGRESS));
+        }
+
+        /**
+         * Statuses a booking may move to this status from
+         */
+        public Set<BookingStatus> allowedPredecessors() {
+            return Collections.unmodifiableSet(PREDECESSORS.get(this));
+        }
+
+        public boolean canTransitionTo(BookingStatus target) {
+            return PREDECESSORS.get(target).contains(this);
+        }
     }
 
     public Booking() {
@@ -103,6 +146,9 @@ public class Booking {
     public LocalDateTime getCreatedDate() { return createdDate; }
     public void setCreatedDate(LocalDateTime createdDate) { this.createdDate = createdDate; }
 
+    public Long getVersion() { return version; }
+    public void setVersion(Long version) { this.version = version; }
+
     @Override
     public String toString() {
         return "Booking{" +
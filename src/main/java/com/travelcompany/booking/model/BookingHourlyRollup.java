@@ -0,0 +1,125 @@
+package com.travelcompany.booking.model;
+
+import java.io.Serializable;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Bookings and their fare total for one creation hour, cab type and status
+ * Reports sum these rows instead of scanning bookings; the key's leading hour column serves range reads.
+ */
+@Entity
+@Table(name = "booking_hourly_rollup")
+public class BookingHourlyRollup implements Persistable<BookingHourlyRollup.Key> {
+    @EmbeddedId
+    private Key id;
+
+    @Column(nullable = false)
+    private long bookings;
+
+    @Column(name = "fare_total", nullable = false, precision = 14, scale = 2)
+    private BigDecimal fareTotal;
+
+    // Keys are assigned by the caller, so always INSERT new rows instead of merging
+    @Transient
+    private boolean isNew = true;
+
+    public BookingHourlyRollup() {
+    }
+
+    public BookingHourlyRollup(Key id, long bookings, BigDecimal fareTotal) {
+        this.id = id;
+        this.bookings = bookings;
+        this.fareTotal = fareTotal;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Key getId() { return id; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public long getBookings() { return bookings; }
+    public void setBookings(long bookings) { this.bookings = bookings; }
+
+    public BigDecimal getFareTotal() { return fareTotal; }
+    public void setFareTotal(BigDecimal fareTotal) { this.fareTotal = fareTotal; }
+
+    /**
+     * Creation hour (truncated), cab type and status of the bookings a row counts
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        /**
+         * Hour first, so concurrent writers lock rows in the same order
+         */
+        public static final Comparator<Key> ORDER = Comparator.comparing(Key::getBucketHour)
+            .thenComparing(Key::getCabType)
+            .thenComparing(Key::getStatus);
+
+        @Column(name = "bucket_hour", nullable = false)
+        private LocalDateTime bucketHour;
+
+        @Column(name = "cab_type", nullable = false)
+        private String cabType;
+
+        @Enumerated(EnumType.STRING)
+        @Column(nullable = false)
+        private Booking.BookingStatus status;
+
+        public Key() {
+        }
+
+        public Key(LocalDateTime bucketHour, String cabType, Booking.BookingStatus status) {
+            this.bucketHour = bucketHour;
+            this.cabType = cabType;
+            this.status = status;
+        }
+
+        public LocalDateTime getBucketHour() { return bucketHour; }
+
+        public String getCabType() { return cabType; }
+
+        public Booking.BookingStatus getStatus() { return status; }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return Objects.equals(bucketHour, key.bucketHour) && Objects.equals(cabType, key.cabType)
+                && status == key.status;
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(bucketHour, cabType, status);
+        }
+    }
+}
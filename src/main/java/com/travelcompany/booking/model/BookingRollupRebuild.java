@@ -0,0 +1,59 @@
+package com.travelcompany.booking.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * When the hourly rollup of one day was last rebuilt from the bookings table, or null before the first rebuild
+ * Changes every node observed committing up to that time are in the rebuilt rows, so their
+ * unflushed deltas must be dropped rather than added again.
+ */
+@Entity
+@Table(name = "booking_rollup_rebuilds")
+public class BookingRollupRebuild implements Persistable<LocalDate> {
+    @Id
+    @Column(name = "rebuild_day", nullable = false)
+    private LocalDate day;
+
+    @Column(name = "rebuilt_at")
+    private LocalDateTime rebuiltAt;
+
+    // Days are assigned by the caller, so always INSERT new rows instead of merging
+    @Transient
+    private boolean isNew = true;
+
+    public BookingRollupRebuild() {
+    }
+
+    public BookingRollupRebuild(LocalDate day) {
+        this.day = day;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public LocalDate getId() { return day; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public LocalDate getDay() { return day; }
+
+    public LocalDateTime getRebuiltAt() { return rebuiltAt; }
+
+    public void setRebuiltAt(LocalDateTime rebuiltAt) { this.rebuiltAt = rebuiltAt; }
+}
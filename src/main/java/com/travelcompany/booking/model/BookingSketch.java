@@ -0,0 +1,112 @@
+package com.travelcompany.booking.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Objects;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Lob;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Serialized analytics sketch of one day's bookings, e.g. the distinct riders or the fares of one cab type
+ * Sketches of the same name merge, so every node adds its own bookings to the shared row.
+ */
+@Entity
+@Table(name = "booking_sketches")
+public class BookingSketch implements Persistable<BookingSketch.Key> {
+    @EmbeddedId
+    private Key id;
+
+    @Lob
+    @Column(nullable = false, columnDefinition = "LONGBLOB")
+    private byte[] data;
+
+    @Column(name = "updated_at", nullable = false)
+    private LocalDateTime updatedAt;
+
+    // Keys are assigned by the caller, so always INSERT new rows instead of merging
+    @Transient
+    private boolean isNew = true;
+
+    public BookingSketch() {
+    }
+
+    public BookingSketch(Key id, byte[] data) {
+        this.id = id;
+        this.data = data;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public Key getId() { return id; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public byte[] getData() { return data; }
+
+    public void setData(byte[] data) {
+        this.data = data;
+        this.updatedAt = LocalDateTime.now();
+    }
+
+    public LocalDateTime getUpdatedAt() { return updatedAt; }
+
+    /**
+     * Booking creation day and sketch name
+     */
+    @Embeddable
+    public static class Key implements Serializable {
+
+        @Column(name = "sketch_day", nullable = false)
+        private LocalDate day;
+
+        @Column(nullable = false)
+        private String name;
+
+        public Key() {
+        }
+
+        public Key(LocalDate day, String name) {
+            this.day = day;
+            this.name = name;
+        }
+
+        public LocalDate getDay() { return day; }
+
+        public String getName() { return name; }
+
+        @Override
+        public boolean equals(Object other) {
+            if (this == other) {
+                return true;
+            }
+            if (!(other instanceof Key)) {
+                return false;
+            }
+            Key key = (Key) other;
+            return Objects.equals(day, key.day) && Objects.equals(name, key.name);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(day, name);
+        }
+    }
+}
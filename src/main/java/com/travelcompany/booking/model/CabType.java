@@ -1,9 +1,12 @@
 package com.travelcompany.booking.model;
 
+import com.travelcompany.booking.event.CabTypeChangedEvent;
 import jakarta.persistence.*;
 import jakarta.validation.constraints.NotBlank;
 import jakarta.validation.constraints.Positive;
+import org.springframework.data.domain.DomainEvents;
 import java.math.BigDecimal;
+import java.util.List;
 
 /**
  * CabType entity representing different types of cabs available
@@ -39,6 +42,14 @@ public class CabType {
         this.description = description;
     }
 
+    /**
+     * Announce every save or delete through the repository, so rate caches can reload
+     */
+    @DomainEvents
+    List<CabTypeChangedEvent> changeEvents() {
+        return List.of(new CabTypeChangedEvent(id, name));
+    }
+
     // Getters and Setters
     public Long getId() { return id; }
     public void setId(Long id) { this.id = id; }
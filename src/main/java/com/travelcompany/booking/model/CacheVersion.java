@@ -0,0 +1,56 @@
+package com.travelcompany.booking.model;
+
+import org.springframework.data.domain.Persistable;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.PostLoad;
+import jakarta.persistence.PostPersist;
+import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+
+/**
+ * Version counter of one near-cache bucket, shared by every application node
+ * A node that writes an entity bumps the counter of the entity's bucket; the other nodes poll the
+ * counters and drop the buckets whose version moved.
+ */
+@Entity
+@Table(name = "cache_versions")
+public class CacheVersion implements Persistable<String> {
+    @Id
+    @Column(name = "name", length = 64)
+    private String name;
+
+    @Column(nullable = false)
+    private long version;
+
+    // Names are assigned by the caller, so always INSERT new rows instead of merging
+    @Transient
+    private boolean isNew = true;
+
+    public CacheVersion() {
+    }
+
+    public CacheVersion(String name) {
+        this.name = name;
+    }
+
+    @PostLoad
+    @PostPersist
+    void markNotNew() {
+        this.isNew = false;
+    }
+
+    @Override
+    public String getId() { return name; }
+
+    @Override
+    public boolean isNew() { return isNew; }
+
+    public String getName() { return name; }
+    public void setName(String name) { this.name = name; }
+
+    public long getVersion() { return version; }
+    public void setVersion(long version) { this.version = version; }
+}
@@ -3,6 +3,9 @@ package com.travelcompany.booking.model;
 import java.time.LocalDateTime;
 import java.util.List;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
@@ -10,6 +13,7 @@ import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
 import jakarta.validation.constraints.Email;
@@ -20,7 +24,10 @@ import jakarta.validation.constraints.Pattern;
  * Customer entity representing a customer in the booking system
  */
 @Entity
-@Table(name = "customers")
+@JsonIgnoreProperties({"hibernateLazyInitializer", "handler"})
+@Table(name = "customers", indexes = {
+    @Index(name = "idx_customers_phone", columnList = "phone")
+})
 public class Customer {
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
@@ -45,6 +52,7 @@ public class Customer {
     @Column(name = "registration_date")
     private LocalDateTime registrationDate;
 
+    @JsonIgnore
     @OneToMany(mappedBy = "customer", cascade = CascadeType.ALL, fetch = FetchType.LAZY)
     private List<Booking> bookings;
 
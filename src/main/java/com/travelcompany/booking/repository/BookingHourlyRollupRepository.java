@@ -0,0 +1,56 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingHourlyRollup;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Repository interface for BookingHourlyRollup entity
+ */
+@Repository
+public interface BookingHourlyRollupRepository extends JpaRepository<BookingHourlyRollup, BookingHourlyRollup.Key> {
+
+    /**
+     * Add to an existing rollup row; returns 0 when the row does not exist yet
+     */
+    @Modifying
+    @Query("UPDATE BookingHourlyRollup r SET r.bookings = r.bookings + :bookings, r.fareTotal = r.fareTotal + :fareTotal "
+        + "WHERE r.id.bucketHour = :hour AND r.id.cabType = :cabType AND r.id.status = :status")
+    int adjust(@Param("hour") LocalDateTime hour,
+               @Param("cabType") String cabType,
+               @Param("status") Booking.BookingStatus status,
+               @Param("bookings") long bookings,
+               @Param("fareTotal") BigDecimal fareTotal);
+
+    /**
+     * Remove the rollup rows of the hours in [from, to), before they are rebuilt
+     */
+    @Modifying
+    @Query("DELETE FROM BookingHourlyRollup r WHERE r.id.bucketHour >= ?1 AND r.id.bucketHour < ?2")
+    int deleteHoursBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Bookings and fare totals per cab type and status over the hours in [from, to)
+     */
+    @Query("SELECT r.id.cabType AS cabType, r.id.status AS status, SUM(r.bookings) AS bookings, "
+        + "SUM(r.fareTotal) AS fareTotal FROM BookingHourlyRollup r "
+        + "WHERE r.id.bucketHour >= ?1 AND r.id.bucketHour < ?2 GROUP BY r.id.cabType, r.id.status")
+    List<TotalView> sumBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Bookings and fare total for one cab type and status
+     */
+    interface TotalView {
+        String getCabType();
+        Booking.BookingStatus getStatus();
+        long getBookings();
+        BigDecimal getFareTotal();
+    }
+}
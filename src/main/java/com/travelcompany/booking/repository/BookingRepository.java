@@ -1,19 +1,40 @@
 package com.travelcompany.booking.repository;
 
+import com.travelcompany.booking.dto.BookingSummaryDto;
 import com.travelcompany.booking.model.Booking;
 import com.travelcompany.booking.model.Customer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 /**
  * Repository interface for Booking entity
  * Provides CRUD operations and custom queries for Booking management
  */
 @Repository
-public interface BookingRepository extends JpaRepository<Booking, Long> {
+public interface BookingRepository extends JpaRepository<Booking, Long>, BookingRepositoryCustom {
+
+    // Summary projection with the customer joined in the same statement. customer_id is never null,
+    // so the left join returns the same rows and keeps bookings as the driving table.
+    String SUMMARY_SELECT = "SELECT new com.travelcompany.booking.dto.BookingSummaryDto("
+        + "b.id, c.id, c.name, c.email, b.pickupLocation, b.destination, b.bookingTime, b.preferredTime, "
+        + "b.cabType, b.fare, b.status, b.createdDate) FROM Booking b LEFT JOIN b.customer c ";
+
+    String SUMMARY_ORDER = " ORDER BY b.createdDate DESC, b.id DESC";
 
     List<Booking> findByCustomer(Customer customer);
 
@@ -26,9 +47,209 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     @Query("SELECT b FROM Booking b WHERE b.customer.id = ?1 ORDER BY b.createdDate DESC")
     List<Booking> findByCustomerIdOrderByCreatedDateDesc(Long customerId);
 
+    @Query("SELECT b.id FROM Booking b WHERE b.customer.id = ?1")
+    List<Long> findIdsByCustomerId(Long customerId);
+
     @Query("SELECT COUNT(b) FROM Booking b WHERE b.status = ?1")
     long countByStatus(Booking.BookingStatus status);
 
-    @Query("SELECT b FROM Booking b WHERE b.pickupLocation LIKE %?1% OR b.destination LIKE %?1%")
-    List<Booking> findByLocationContaining(String location);
-}
\ No newline at end of file
+    /**
+     * Count bookings per status in one statement
+     */
+    @Query("SELECT b.status AS status, COUNT(b) AS bookings FROM Booking b GROUP BY b.status")
+    List<StatusCountView> countGroupedByStatus();
+
+    /**
+     * Count bookings created at or after the given time, per hour of creation
+     */
+    @Query("SELECT extract(year from b.createdDate) AS year, extract(month from b.createdDate) AS month, "
+        + "extract(day from b.createdDate) AS day, extract(hour from b.createdDate) AS hour, COUNT(b) AS bookings "
+        + "FROM Booking b WHERE b.createdDate >= ?1 GROUP BY extract(year from b.createdDate), "
+        + "extract(month from b.createdDate), extract(day from b.createdDate), extract(hour from b.createdDate)")
+    List<HourCountView> countCreatedPerHourSince(LocalDateTime since);
+
+    /**
+     * Booking counts and fare totals per creation hour, cab type and status, for rebuilding the hourly rollup
+     */
+    @Query("SELECT extract(year from b.createdDate) AS year, extract(month from b.createdDate) AS month, "
+        + "extract(day from b.createdDate) AS day, extract(hour from b.createdDate) AS hour, b.cabType AS cabType, "
+        + "b.status AS status, COUNT(b) AS bookings, SUM(b.fare) AS fareTotal "
+        + "FROM Booking b WHERE b.createdDate >= ?1 AND b.createdDate < ?2 GROUP BY extract(year from b.createdDate), "
+        + "extract(month from b.createdDate), extract(day from b.createdDate), extract(hour from b.createdDate), "
+        + "b.cabType, b.status")
+    List<RollupRowView> sumForRollupBetween(LocalDateTime from, LocalDateTime to);
+
+    /**
+     * Same grouping as {@link #sumForRollupBetween} over one customer's bookings, taken out of the rollup
+     * when the customer is deleted
+     */
+    @Query("SELECT extract(year from b.createdDate) AS year, extract(month from b.createdDate) AS month, "
+        + "extract(day from b.createdDate) AS day, extract(hour from b.createdDate) AS hour, b.cabType AS cabType, "
+        + "b.status AS status, COUNT(b) AS bookings, SUM(b.fare) AS fareTotal "
+        + "FROM Booking b WHERE b.customer.id = ?1 GROUP BY extract(year from b.createdDate), "
+        + "extract(month from b.createdDate), extract(day from b.createdDate), extract(hour from b.createdDate), "
+        + "b.cabType, b.status")
+    List<RollupRowView> sumForRollupByCustomerId(Long customerId);
+
+    /**
+     * Creation date of the oldest booking, where a full rollup backfill starts
+     */
+    @Query("SELECT MIN(b.createdDate) FROM Booking b")
+    Optional<LocalDateTime> findEarliestCreatedDate();
+
+    /**
+     * Stream the bookings in the given statuses with the attributes trip analytics are grouped by
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.status AS status, b.cabType AS cabType, b.createdDate AS createdDate, b.fare AS fare "
+        + "FROM Booking b WHERE b.status IN :statuses")
+    Stream<BookingStatusView> streamByStatusIn(@Param("statuses") Collection<Booking.BookingStatus> statuses);
+
+    /**
+     * Stream the id and locations of every booking, for building the location search index
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id AS id, b.pickupLocation AS pickupLocation, b.destination AS destination, "
+        + "b.createdDate AS createdDate FROM Booking b")
+    Stream<BookingLocationView> streamAllLocations();
+
+    /**
+     * Id and locations of the bookings created at or after the given time, after the given (createdDate, id)
+     * position, in that order, for catching the location index up
+     */
+    @Query("SELECT b.id AS id, b.pickupLocation AS pickupLocation, b.destination AS destination, "
+        + "b.createdDate AS createdDate FROM Booking b "
+        + "WHERE b.createdDate >= ?1 AND (b.createdDate > ?1 OR b.id > ?2) ORDER BY b.createdDate, b.id")
+    List<BookingLocationView> findLocationsCreatedSince(LocalDateTime createdDate, Long afterId, Pageable page);
+
+    /**
+     * Stream every booking id in id order, for dropping deleted bookings from the location index
+     */
+    @QueryHints({
+        @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "1000"),
+        @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("SELECT b.id FROM Booking b ORDER BY b.id")
+    Stream<Long> streamAllIds();
+
+    /**
+     * One page of the newest bookings
+     */
+    @Query(SUMMARY_SELECT + SUMMARY_ORDER)
+    List<BookingSummaryDto> findRecentSummaries(Pageable page);
+
+    /**
+     * One page of the newest bookings whose pickup location or destination contains the text
+     * Walks bookings newest first until the page is filled, so it is only used for queries too short
+     * for the location index or while the index is being built.
+     */
+    @Query(SUMMARY_SELECT + "WHERE b.pickupLocation LIKE %?1% OR b.destination LIKE %?1%" + SUMMARY_ORDER)
+    List<BookingSummaryDto> findRecentSummariesByLocationContaining(String location, Pageable page);
+
+    @Query(SUMMARY_SELECT + "WHERE b.id IN ?1")
+    List<BookingSummaryDto> findSummariesByIdIn(Collection<Long> ids);
+
+    @Query("SELECT b FROM Booking b LEFT JOIN FETCH b.customer WHERE b.id = ?1")
+    Optional<Booking> findWithCustomerById(Long id);
+
+    /**
+     * Read a booking with its customer, fare breakdown and status history in one statement
+     * Returns one row per history entry (at least one): the booking, its fare or null, and the entry or null.
+     */
+    @Query("SELECT b, f, h FROM Booking b LEFT JOIN FETCH b.customer "
+        + "LEFT JOIN Fare f ON f.booking = b LEFT JOIN BookingStatusChange h ON h.booking = b "
+        + "WHERE b.id = ?1 ORDER BY h.changedAt, h.id")
+    List<Object[]> findDetailRows(Long id);
+
+    @Query("SELECT b.status FROM Booking b WHERE b.id = ?1")
+    Optional<Booking.BookingStatus> findStatusById(Long id);
+
+    /**
+     * Move a booking to the target status only if it is currently in one of the given statuses
+     * Returns the number of rows changed (0 or 1); bumps the version so stale entity writes fail.
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :target, b.version = b.version + 1 "
+        + "WHERE b.id = :id AND b.status IN :predecessors")
+    int transitionStatus(@Param("id") Long id,
+                         @Param("predecessors") Collection<Booking.BookingStatus> predecessors,
+                         @Param("target") Booking.BookingStatus target);
+
+    /**
+     * Lock the given bookings and read their current status, with what reports group them by
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT b.id AS id, b.status AS status, b.cabType AS cabType, b.createdDate AS createdDate, b.fare AS fare "
+        + "FROM Booking b WHERE b.id IN :ids")
+    List<BookingStatusView> findStatusesForUpdate(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Set-based variant of {@link #transitionStatus} for many bookings in one statement
+     */
+    @Modifying(flushAutomatically = true, clearAutomatically = true)
+    @Query("UPDATE Booking b SET b.status = :target, b.version = b.version + 1 "
+        + "WHERE b.id IN :ids AND b.status IN :predecessors")
+    int transitionStatuses(@Param("ids") Collection<Long> ids,
+                           @Param("predecessors") Collection<Booking.BookingStatus> predecessors,
+                           @Param("target") Booking.BookingStatus target);
+
+    /**
+     * Id and locations projection of a booking
+     */
+    interface BookingLocationView {
+        Long getId();
+        String getPickupLocation();
+        String getDestination();
+        LocalDateTime getCreatedDate();
+    }
+
+    /**
+     * Number of bookings in one status
+     */
+    interface StatusCountView {
+        Booking.BookingStatus getStatus();
+        long getBookings();
+    }
+
+    /**
+     * Number of bookings created in one hour
+     */
+    interface HourCountView {
+        int getYear();
+        int getMonth();
+        int getDay();
+        int getHour();
+        long getBookings();
+    }
+
+    /**
+     * Bookings and fare total for one creation hour, cab type and status
+     */
+    interface RollupRowView {
+        int getYear();
+        int getMonth();
+        int getDay();
+        int getHour();
+        String getCabType();
+        Booking.BookingStatus getStatus();
+        long getBookings();
+        BigDecimal getFareTotal();
+    }
+
+    /**
+     * Id and status projection of a booking, with the attributes reports and trip analytics group by
+     */
+    interface BookingStatusView {
+        Long getId();
+        Booking.BookingStatus getStatus();
+        String getCabType();
+        LocalDateTime getCreatedDate();
+        BigDecimal getFare();
+    }
+}
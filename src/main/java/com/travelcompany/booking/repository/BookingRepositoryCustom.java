@@ -0,0 +1,26 @@
+package com.travelcompany.booking.repository;
+
+import java.util.List;
+import java.util.stream.Stream;
+
+import com.travelcompany.booking.dto.BookingCursor;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Custom repository fragment for Booking queries that derived methods cannot express
+ */
+public interface BookingRepositoryCustom {
+
+    /**
+     * Find up to limit bookings matching the query, ordered by createdDate DESC, id DESC,
+     * starting strictly after the given cursor (or from the newest booking when it is null)
+     */
+    List<Booking> findPage(BookingQueryDto query, BookingCursor after, int limit);
+
+    /**
+     * Stream every booking with its customer in id order over a forward-only, read-only cursor
+     * Must be consumed inside a transaction and closed by the caller.
+     */
+    Stream<Booking> streamAllForExport(int fetchSize);
+}
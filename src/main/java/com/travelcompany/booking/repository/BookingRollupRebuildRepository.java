@@ -0,0 +1,33 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.BookingRollupRebuild;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for BookingRollupRebuild entity
+ */
+@Repository
+public interface BookingRollupRebuildRepository extends JpaRepository<BookingRollupRebuild, LocalDate> {
+
+    /**
+     * Lock one day's rebuild row so rebuilds of the day, and flushes into it, run one after another
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT r FROM BookingRollupRebuild r WHERE r.day = ?1")
+    Optional<BookingRollupRebuild> findForUpdate(LocalDate day);
+
+    /**
+     * Read the rebuild rows of the given days, waiting for rebuilds of them in progress
+     */
+    @Lock(LockModeType.PESSIMISTIC_READ)
+    @Query("SELECT r FROM BookingRollupRebuild r WHERE r.day IN ?1 ORDER BY r.day")
+    List<BookingRollupRebuild> findForShare(Collection<LocalDate> days);
+}
@@ -0,0 +1,39 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.BookingSketch;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Repository interface for BookingSketch entity
+ */
+@Repository
+public interface BookingSketchRepository extends JpaRepository<BookingSketch, BookingSketch.Key> {
+
+    /**
+     * Lock one sketch row so concurrent nodes merge into it one after another
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM BookingSketch s WHERE s.id.day = ?1 AND s.id.name = ?2")
+    Optional<BookingSketch> findForUpdate(LocalDate day, String name);
+
+    /**
+     * Sketches of the given day and later
+     */
+    @Query("SELECT s FROM BookingSketch s WHERE s.id.day >= ?1")
+    List<BookingSketch> findSince(LocalDate day);
+
+    /**
+     * Remove sketches older than the given day
+     */
+    @Modifying
+    @Query("DELETE FROM BookingSketch s WHERE s.id.day < ?1")
+    int deleteBefore(LocalDate day);
+}
@@ -0,0 +1,28 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import java.time.LocalDateTime;
+import java.util.Collection;
+
+/**
+ * Repository interface for BookingStatusChange entity
+ */
+@Repository
+public interface BookingStatusChangeRepository extends JpaRepository<BookingStatusChange, Long> {
+
+    /**
+     * Record that the given bookings moved to a status, in one INSERT ... SELECT statement
+     */
+    @Modifying
+    @Query("INSERT INTO BookingStatusChange (booking, status, changedAt) "
+        + "SELECT b, :status, :changedAt FROM Booking b WHERE b.id IN :ids")
+    int recordTransitions(@Param("ids") Collection<Long> ids,
+                          @Param("status") Booking.BookingStatus status,
+                          @Param("changedAt") LocalDateTime changedAt);
+}
@@ -0,0 +1,27 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.CacheVersion;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.util.Collection;
+
+/**
+ * Repository interface for CacheVersion entity
+ */
+@Repository
+public interface CacheVersionRepository extends JpaRepository<CacheVersion, String> {
+
+    /**
+     * Bump the given bucket counters in a transaction of their own
+     * Called after the data change has committed, so the counter rows are only locked for this statement.
+     */
+    @Transactional(propagation = Propagation.REQUIRES_NEW)
+    @Modifying
+    @Query("UPDATE CacheVersion v SET v.version = v.version + 1 WHERE v.name IN :names")
+    int bump(@Param("names") Collection<String> names);
+}
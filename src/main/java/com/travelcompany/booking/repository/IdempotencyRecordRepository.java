@@ -0,0 +1,43 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.model.IdempotencyRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+import java.time.LocalDateTime;
+
+/**
+ * Repository interface for IdempotencyRecord entity
+ * Claims are plain inserts, so the primary key decides which node wins a key.
+ */
+@Repository
+public interface IdempotencyRecordRepository extends JpaRepository<IdempotencyRecord, String> {
+
+    @Transactional
+    @Modifying
+    @Query("UPDATE IdempotencyRecord r SET r.statusCode = :statusCode, r.contentType = :contentType, " +
+           "r.headers = :headers, r.body = :body, r.expiresAt = :expiresAt " +
+           "WHERE r.key = :key AND r.claimToken = :claimToken AND r.fingerprint = :fingerprint")
+    int complete(@Param("key") String key, @Param("claimToken") String claimToken, @Param("fingerprint") String fingerprint,
+                 @Param("statusCode") int statusCode, @Param("contentType") String contentType,
+                 @Param("headers") String headers, @Param("body") byte[] body,
+                 @Param("expiresAt") LocalDateTime expiresAt);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.claimToken = :claimToken AND r.statusCode IS NULL")
+    int release(@Param("key") String key, @Param("claimToken") String claimToken);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.key = :key AND r.expiresAt <= :now")
+    int deleteExpired(@Param("key") String key, @Param("now") LocalDateTime now);
+
+    @Transactional
+    @Modifying
+    @Query("DELETE FROM IdempotencyRecord r WHERE r.expiresAt <= :now")
+    int purgeExpired(@Param("now") LocalDateTime now);
+}
@@ -1,10 +1,18 @@
 package com.travelcompany.booking.service;
 
+import com.travelcompany.booking.cache.SnapshotCache;
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.dto.BookingStatusResultDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.dto.TripGroupDto;
+import com.travelcompany.booking.dto.TripQueryDto;
 import com.travelcompany.booking.model.Booking;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
-import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 
@@ -15,46 +23,53 @@ import java.util.Map;
 @Service
 public class AdminService {
 
+    private static final String DASHBOARD_SNAPSHOT = "dashboard";
+    private static final String MONTHLY_REPORT_SNAPSHOT = "monthly-report";
+
     private final BookingService bookingService;
+    private final BookingQueryService bookingQueryService;
     private final CustomerService customerService;
+    private final SurgePricingService surgePricingService;
+    private final BookingBulkService bookingBulkService;
+    private final DashboardCounters dashboardCounters;
+    private final BookingRollupService bookingRollupService;
+    private final TripAnalyticsStore tripAnalyticsStore;
+    private final BookingSketchService bookingSketchService;
+    private final SnapshotCache<String, Map<String, Object>> reportSnapshots;
 
     @Autowired
-    public AdminService(BookingService bookingService, CustomerService customerService) {
+    public AdminService(BookingService bookingService, BookingQueryService bookingQueryService,
+                        CustomerService customerService,
+                        SurgePricingService surgePricingService, BookingBulkService bookingBulkService,
+                        DashboardCounters dashboardCounters, BookingRollupService bookingRollupService,
+                        TripAnalyticsStore tripAnalyticsStore, BookingSketchService bookingSketchService,
+                        SnapshotCache<String, Map<String, Object>> reportSnapshots) {
         this.bookingService = bookingService;
+        this.bookingQueryService = bookingQueryService;
         this.customerService = customerService;
+        this.surgePricingService = surgePricingService;
+        this.bookingBulkService = bookingBulkService;
+        this.dashboardCounters = dashboardCounters;
+        this.bookingRollupService = bookingRollupService;
+        this.tripAnalyticsStore = tripAnalyticsStore;
+        this.bookingSketchService = bookingSketchService;
+        this.reportSnapshots = reportSnapshots;
     }
 
     /**
      * Get dashboard statistics
+     * Served from a snapshot of the in-memory counters; asOf tells when it was taken.
      */
     public Map<String, Object> getDashboardStats() {
-        Map<String, Object> stats = new HashMap<>();
-
-        // Total counts
-        stats.put("totalCustomers", customerService.getTotalCustomerCount());
-        stats.put("totalBookings", bookingService.getAllBookings().size());
-
-        // Booking status counts
-        stats.put("pendingBookings", bookingService.getBookingsCountByStatus(Booking.BookingStatus.PENDING));
-        stats.put("confirmedBookings", bookingService.getBookingsCountByStatus(Booking.BookingStatus.CONFIRMED));
-        stats.put("inProgressBookings", bookingService.getBookingsCountByStatus(Booking.BookingStatus.IN_PROGRESS));
-        stats.put("completedBookings", bookingService.getBookingsCountByStatus(Booking.BookingStatus.COMPLETED));
-        stats.put("cancelledBookings", bookingService.getBookingsCountByStatus(Booking.BookingStatus.CANCELLED));
-
-        // Recent bookings (last 7 days)
-        LocalDateTime weekAgo = LocalDateTime.now().minusDays(7);
-        LocalDateTime now = LocalDateTime.now();
-        List<Booking> recentBookings = bookingService.getBookingsBetweenDates(weekAgo, now);
-        stats.put("recentBookingsCount", recentBookings.size());
-
-        return stats;
+        return withAsOf(reportSnapshots.get(DASHBOARD_SNAPSHOT, dashboardCounters::getDashboardStats));
     }
 
     /**
-     * Get all bookings for admin view
+     * Get bookings for admin view, newest first, a page at a time
+     * The page size is capped at the booking query maximum.
      */
-    public List<Booking> getAllBookingsForAdmin() {
-        return bookingService.getAllBookings();
+    public List<BookingSummaryDto> getAllBookingsForAdmin(int page, int size) {
+        return bookingService.getRecentBookingSummaries(page, Math.min(size, bookingQueryService.getMaxPageSize()));
     }
 
     /**
@@ -66,47 +81,104 @@ public class AdminService {
     }
 
     /**
-     * Get bookings by status for admin filtering
+     * Update the status of many bookings at once (admin function)
+     */
+    public List<BookingStatusResultDto> updateBookingStatuses(List<Long> bookingIds, String status) {
+        Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
+        return bookingBulkService.updateStatuses(bookingIds, bookingStatus);
+    }
+
+    /**
+     * Get one keyset page of bookings with a status for admin filtering, newest first
      */
-    public List<Booking> getBookingsByStatus(String status) {
+    public BookingPageDto getBookingsByStatus(String status, String cursor, Integer size) {
         Booking.BookingStatus bookingStatus = Booking.BookingStatus.valueOf(status.toUpperCase());
-        return bookingService.getBookingsByStatus(bookingStatus);
+        return bookingQueryService.queryBookings(new BookingQueryDto(bookingStatus, null, null, null, null), cursor, size);
     }
 
     /**
      * Search bookings by location
+     * An empty search lists the newest bookings a page at a time.
      */
-    public List<Booking> searchBookings(String location) {
-        if (location == null || location.trim().isEmpty()) {
-            return bookingService.getAllBookings();
-        }
-        return bookingService.searchBookingsByLocation(location);
+    public List<BookingSummaryDto> searchBookings(String location, int page, int size) {
+        return bookingService.searchBookingsByLocation(location == null ? "" : location, page, size);
+    }
+
+    /**
+     * Get surge pricing demand window state
+     */
+    public Map<String, Object> getSurgeState() {
+        return surgePricingService.getWindowState();
     }
 
     /**
      * Get monthly booking report
+     * Served from a snapshot refreshed in the background, so auto-refreshing tabs share one computation.
      */
     public Map<String, Object> getMonthlyReport() {
-        Map<String, Object> report = new HashMap<>();
+        return withAsOf(reportSnapshots.get(MONTHLY_REPORT_SNAPSHOT, this::computeMonthlyReport));
+    }
 
-        LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
+    /**
+     * Sum the current month from the hourly rollup, a few hundred rows however many bookings the month has
+     */
+    private Map<String, Object> computeMonthlyReport() {
+        LocalDateTime monthStart = LocalDate.now().withDayOfMonth(1).atStartOfDay();
         LocalDateTime monthEnd = LocalDateTime.now();
 
-        List<Booking> monthlyBookings = bookingService.getBookingsBetweenDates(monthStart, monthEnd);
+        Map<String, Object> report = new LinkedHashMap<>();
+        Map<String, Object> totals = bookingRollupService.getReport(monthStart, monthEnd);
+        report.put("monthlyBookings", totals.get("bookings"));
+        report.put("monthlyRevenue", totals.get("revenue"));
+        report.putAll(totals);
+        return report;
+    }
 
-        report.put("monthlyBookings", monthlyBookings.size());
-        report.put("monthlyRevenue", calculateRevenue(monthlyBookings));
+    /**
+     * Get booking report for one day
+     */
+    public Map<String, Object> getDailyReport(LocalDate day) {
+        return bookingRollupService.getDailyReport(day);
+    }
 
-        return report;
+    /**
+     * Get booking report for the hours overlapping a time range
+     */
+    public Map<String, Object> getReport(LocalDateTime from, LocalDateTime to) {
+        return bookingRollupService.getReport(from, to);
     }
 
     /**
-     * Calculate total revenue from bookings
+     * Rebuild the report rollup for a range of days from the bookings table
      */
-    private double calculateRevenue(List<Booking> bookings) {
-        return bookings.stream()
-            .filter(booking -> booking.getStatus() == Booking.BookingStatus.COMPLETED)
-            .mapToDouble(booking -> booking.getFare().doubleValue())
-            .sum();
+    public Map<String, Object> backfillReports(LocalDate from, LocalDate to) {
+        return bookingRollupService.backfill(from, to);
+    }
+
+    /**
+     * Count and sum finished trips by any combination of filters and one grouping
+     */
+    public List<TripGroupDto> getTripAnalytics(TripQueryDto query) {
+        return tripAnalyticsStore.query(query);
+    }
+
+    /**
+     * Estimate distinct customers with bookings per day and over a window of days
+     */
+    public Map<String, Object> getUniqueRiders(LocalDate from, LocalDate to) {
+        return bookingSketchService.getUniqueRiders(from, to);
+    }
+
+    /**
+     * Estimate fare and trip time percentiles per cab type over a window of days
+     */
+    public Map<String, Object> getFarePercentiles(LocalDate from, LocalDate to) {
+        return bookingSketchService.getPercentiles(from, to);
+    }
+
+    private static Map<String, Object> withAsOf(SnapshotCache.Snapshot<Map<String, Object>> snapshot) {
+        Map<String, Object> response = new LinkedHashMap<>(snapshot.getValue());
+        response.put("asOf", snapshot.getAsOf());
+        return response;
     }
-}
\ No newline at end of file
+}
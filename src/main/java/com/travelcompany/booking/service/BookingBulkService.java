@@ -0,0 +1,286 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingStatusResultDto;
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.BookingStatusChangeRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+
+import jakarta.persistence.EntityManager;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+
+/**
+ * Service class for bulk booking operations
+ * Ingest resolves all customers in one query, prices every trip against one rate snapshot and
+ * inserts the accepted bookings in JDBC batches, one short transaction per batch.
+ * Status changes are applied as set-based updates, one short transaction per chunk of IDs.
+ */
+@Service
+public class BookingBulkService {
+
+    private final BookingRepository bookingRepository;
+    private final BookingStatusChangeRepository statusChangeRepository;
+    private final CustomerRepository customerRepository;
+    private final FareCalculatorService fareCalculatorService;
+    private final CabTypeRateCache cabTypeRateCache;
+    private final FareQuoteService fareQuoteService;
+    private final EntityManager entityManager;
+    private final Validator validator;
+    private final TransactionTemplate transactionTemplate;
+    private final ApplicationEventPublisher eventPublisher;
+    private final EntityNearCache entityNearCache;
+    private final int maxSize;
+    private final int batchSize;
+    private final int maxStatusIds;
+    private final int statusChunkSize;
+
+    @Autowired
+    public BookingBulkService(BookingRepository bookingRepository,
+                              BookingStatusChangeRepository statusChangeRepository,
+                              CustomerRepository customerRepository,
+                              FareCalculatorService fareCalculatorService,
+                              CabTypeRateCache cabTypeRateCache,
+                              FareQuoteService fareQuoteService,
+                              EntityManager entityManager,
+                              Validator validator,
+                              PlatformTransactionManager transactionManager,
+                              ApplicationEventPublisher eventPublisher,
+                              EntityNearCache entityNearCache,
+                              @Value("${booking.bulk.max-size:1000}") int maxSize,
+                              @Value("${booking.bulk.batch-size:50}") int batchSize,
+                              @Value("${booking.bulk.max-status-ids:20000}") int maxStatusIds,
+                              @Value("${booking.bulk.status-chunk-size:2000}") int statusChunkSize) {
+        this.bookingRepository = bookingRepository;
+        this.statusChangeRepository = statusChangeRepository;
+        this.customerRepository = customerRepository;
+        this.fareCalculatorService = fareCalculatorService;
+        this.cabTypeRateCache = cabTypeRateCache;
+        this.fareQuoteService = fareQuoteService;
+        this.entityManager = entityManager;
+        this.validator = validator;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.eventPublisher = eventPublisher;
+        this.entityNearCache = entityNearCache;
+        this.maxSize = maxSize;
+        this.batchSize = batchSize;
+        this.maxStatusIds = maxStatusIds;
+        this.statusChunkSize = statusChunkSize;
+    }
+
+    /**
+     * Create many bookings at once
+     * Results keep the request order; an invalid row is reported on its own and does not stop the others.
+     * Each batch commits on its own; when a batch fails in the database its rows are retried one at a time,
+     * so only the rows the database rejects are reported as failed.
+     */
+    public List<BookingBulkResultDto> createBookings(List<BookingRequestDto> requests) {
+        return createBookings(requests, batchSize);
+    }
+
+    /**
+     * Create many bookings in a single transaction
+     * Either every valid row commits together, or the transaction rolls back and the rows are retried one at
+     * a time, so no row is ever committed twice. An exception only escapes before anything was inserted.
+     */
+    public List<BookingBulkResultDto> createBookingsInOneTransaction(List<BookingRequestDto> requests) {
+        return createBookings(requests, Math.max(1, requests.size()));
+    }
+
+    private List<BookingBulkResultDto> createBookings(List<BookingRequestDto> requests, int transactionSize) {
+        if (requests.size() > maxSize) {
+            throw new IllegalArgumentException("Bulk size " + requests.size() + " exceeds limit of " + maxSize);
+        }
+
+        // Resolve every referenced customer in one query
+        Set<Long> customerIds = requests.stream()
+            .filter(Objects::nonNull)
+            .map(BookingRequestDto::getCustomerId)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<Long, Customer> customers = customerRepository.findAllById(customerIds).stream()
+            .collect(Collectors.toMap(Customer::getId, Function.identity()));
+
+        CabTypeRateCache.Snapshot rates = cabTypeRateCache.currentSnapshot();
+
+        BookingBulkResultDto[] results = new BookingBulkResultDto[requests.size()];
+        List<Integer> validIndexes = new ArrayList<>();
+        for (int i = 0; i < requests.size(); i++) {
+            String error = validate(requests.get(i), customers);
+            if (error != null) {
+                results[i] = BookingBulkResultDto.failed(i, requests.get(i), error);
+            } else {
+                validIndexes.add(i);
+            }
+        }
+
+        for (int from = 0; from < validIndexes.size(); from += transactionSize) {
+            List<Integer> batch = validIndexes.subList(from, Math.min(from + transactionSize, validIndexes.size()));
+            try {
+                insertBatch(batch, requests, customers, rates, results);
+            } catch (RuntimeException e) {
+                // The batch rolled back, quotes included; find the rows the database rejects
+                for (Integer index : batch) {
+                    try {
+                        insertBatch(List.of(index), requests, customers, rates, results);
+                    } catch (RuntimeException rowError) {
+                        results[index] = BookingBulkResultDto.failed(index, requests.get(index),
+                            "Booking could not be saved: " + NestedExceptionUtils.getMostSpecificCause(rowError).getMessage());
+                    }
+                }
+            }
+        }
+        return Arrays.asList(results);
+    }
+
+    /**
+     * Price and insert one batch in its own transaction, flushed as one JDBC batch
+     * Quotes are redeemed inside the transaction, so they are given back if it rolls back.
+     */
+    private void insertBatch(List<Integer> indexes, List<BookingRequestDto> requests, Map<Long, Customer> customers,
+                             CabTypeRateCache.Snapshot rates, BookingBulkResultDto[] results) {
+        transactionTemplate.executeWithoutResult(status -> {
+            List<Integer> acceptedIndexes = new ArrayList<>();
+            List<Booking> accepted = new ArrayList<>();
+            for (Integer index : indexes) {
+                BookingRequestDto request = requests.get(index);
+                try {
+                    BigDecimal fare = price(rates, request);
+                    accepted.add(new Booking(customers.get(request.getCustomerId()), request.getPickupLocation(),
+                        request.getDestination(), request.getPreferredTime(), request.getCabType(), fare));
+                    acceptedIndexes.add(index);
+                } catch (RuntimeException e) {
+                    results[index] = BookingBulkResultDto.failed(index, request, e.getMessage());
+                }
+            }
+            if (accepted.isEmpty()) {
+                return;
+            }
+
+            bookingRepository.saveAll(accepted);
+            // Flush and clear so a failure surfaces here and the session does not grow with the request
+            entityManager.flush();
+            entityManager.clear();
+
+            for (int j = 0; j < accepted.size(); j++) {
+                Booking booking = accepted.get(j);
+                int index = acceptedIndexes.get(j);
+                results[index] = BookingBulkResultDto.created(index, requests.get(index), booking.getId(), booking.getFare());
+            }
+            eventPublisher.publishEvent(new BookingCreatedEvent(accepted));
+        });
+    }
+
+    /**
+     * Largest number of bookings accepted by one createBookings call
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * Move many bookings to the target status
+     * Each chunk locks its bookings, reads their status and updates all legal ones in a single statement,
+     * so every ID gets an exact outcome. Duplicate IDs are reported once, in first-seen order.
+     */
+    public List<BookingStatusResultDto> updateStatuses(List<Long> bookingIds, Booking.BookingStatus target) {
+        List<Long> ids = new ArrayList<>(new LinkedHashSet<>(bookingIds));
+        if (ids.size() > maxStatusIds) {
+            throw new IllegalArgumentException("Bulk size " + ids.size() + " exceeds limit of " + maxStatusIds);
+        }
+
+        Set<Booking.BookingStatus> predecessors = target.allowedPredecessors();
+        List<BookingStatusResultDto> results = new ArrayList<>(ids.size());
+        for (int from = 0; from < ids.size(); from += statusChunkSize) {
+            List<Long> chunk = ids.subList(from, Math.min(from + statusChunkSize, ids.size()));
+            results.addAll(transactionTemplate.execute(status -> updateChunk(chunk, predecessors, target)));
+        }
+        return results;
+    }
+
+    private List<BookingStatusResultDto> updateChunk(List<Long> chunk, Set<Booking.BookingStatus> predecessors,
+                                                     Booking.BookingStatus target) {
+        Map<Long, BookingRepository.BookingStatusView> locked = bookingRepository.findStatusesForUpdate(chunk).stream()
+            .collect(Collectors.toMap(BookingRepository.BookingStatusView::getId, view -> view));
+        Map<Long, Booking.BookingStatus> current = locked.values().stream()
+            .collect(Collectors.toMap(BookingRepository.BookingStatusView::getId,
+                BookingRepository.BookingStatusView::getStatus));
+
+        List<Long> movable = chunk.stream()
+            .filter(id -> predecessors.contains(current.get(id)))
+            .toList();
+        if (!movable.isEmpty()) {
+            int updated = bookingRepository.transitionStatuses(movable, predecessors, target);
+            if (updated != movable.size()) {
+                // Rows are locked, so this only happens if the database disagrees with what we just read
+                throw new IllegalStateException("Expected to update " + movable.size() + " bookings but updated " + updated);
+            }
+            statusChangeRepository.recordTransitions(movable, target, LocalDateTime.now());
+            entityNearCache.bookingsChanged(movable);
+            eventPublisher.publishEvent(new BookingStatusChangedEvent(movable.stream()
+                .map(locked::get)
+                .map(view -> new BookingStatusChangedEvent.Change(view.getId(), view.getStatus(), target,
+                    view.getCabType(), view.getCreatedDate(), view.getFare()))
+                .toList()));
+        }
+
+        List<BookingStatusResultDto> results = new ArrayList<>(chunk.size());
+        for (Long id : chunk) {
+            Booking.BookingStatus previous = current.get(id);
+            BookingStatusResultDto.Outcome outcome = previous == null ? BookingStatusResultDto.Outcome.NOT_FOUND
+                : predecessors.contains(previous) ? BookingStatusResultDto.Outcome.UPDATED
+                : BookingStatusResultDto.Outcome.ILLEGAL_TRANSITION;
+            results.add(new BookingStatusResultDto(id, outcome, previous));
+        }
+        return results;
+    }
+
+    private String validate(BookingRequestDto request, Map<Long, Customer> customers) {
+        if (request == null) {
+            return "Booking request is required";
+        }
+        Set<ConstraintViolation<BookingRequestDto>> violations = validator.validate(request);
+        if (!violations.isEmpty()) {
+            return violations.stream()
+                .map(ConstraintViolation::getMessage)
+                .sorted()
+                .collect(Collectors.joining("; "));
+        }
+        if (!customers.containsKey(request.getCustomerId())) {
+            return "Customer not found with id: " + request.getCustomerId();
+        }
+        return null;
+    }
+
+    private BigDecimal price(CabTypeRateCache.Snapshot rates, BookingRequestDto request) {
+        return fareQuoteService.redeemQuote(request.getQuoteId(), request.getPickupLocation(),
+                request.getDestination(), request.getCabType())
+            .orElseGet(() -> fareCalculatorService.calculateFare(rates, request.getPickupLocation(),
+                request.getDestination(), request.getCabType()));
+    }
+}
@@ -0,0 +1,81 @@
+package com.travelcompany.booking.service;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Service class for bulk booking export
+ * Streams bookings as newline-delimited JSON from a database cursor, clearing the persistence
+ * context every few rows so memory stays flat regardless of table size.
+ */
+@Service
+public class BookingExportService {
+
+    private static final int BUFFER_SIZE = 64 * 1024;
+
+    private final BookingRepository bookingRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ObjectWriter bookingWriter;
+    private final int fetchSize;
+    private final int clearEvery;
+
+    @Autowired
+    public BookingExportService(BookingRepository bookingRepository,
+                                EntityManager entityManager,
+                                PlatformTransactionManager transactionManager,
+                                ObjectMapper objectMapper,
+                                @Value("${booking.export.fetch-size:1000}") int fetchSize,
+                                @Value("${booking.export.clear-every:1000}") int clearEvery) {
+        this.bookingRepository = bookingRepository;
+        this.entityManager = entityManager;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setReadOnly(true);
+        this.bookingWriter = objectMapper.writerFor(Booking.class);
+        this.fetchSize = fetchSize;
+        this.clearEvery = clearEvery;
+    }
+
+    /**
+     * Write every booking to the stream as one JSON object per line
+     * Returns the number of bookings written; the stream is flushed but not closed.
+     */
+    public long exportBookings(OutputStream out) {
+        return transactionTemplate.execute(status -> {
+            OutputStream buffered = new BufferedOutputStream(out, BUFFER_SIZE);
+            long written = 0;
+            try (Stream<Booking> bookings = bookingRepository.streamAllForExport(fetchSize)) {
+                Iterator<Booking> iterator = bookings.iterator();
+                while (iterator.hasNext()) {
+                    buffered.write(bookingWriter.writeValueAsBytes(iterator.next()));
+                    buffered.write('\n');
+                    if (++written % clearEvery == 0) {
+                        // Drop exported entities so the session does not grow with the export
+                        entityManager.clear();
+                    }
+                }
+                buffered.flush();
+            } catch (IOException e) {
+                throw new UncheckedIOException("Booking export failed after " + written + " rows", e);
+            }
+            return written;
+        });
+    }
+}
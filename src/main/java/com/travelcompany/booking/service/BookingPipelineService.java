@@ -0,0 +1,303 @@
+package com.travelcompany.booking.service;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.stereotype.Service;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingTicketDto;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service class for asynchronous booking acceptance
+ * Requests are queued on a bounded in-process queue and answered with a ticket straight away.
+ * A single drainer task on a one-thread executor persists them in micro-batches through
+ * {@link BookingBulkService}, flushing when a batch is full or the flush interval has passed since its
+ * first request. Each micro-batch is inserted in one transaction; the bulk service retries the rows of a
+ * rejected batch one at a time, so one bad request only fails itself and no request is created twice.
+ */
+@Service
+public class BookingPipelineService implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingPipelineService.class);
+
+    private final BookingBulkService bookingBulkService;
+    private final BlockingQueue<Ticket> queue;
+    private final BoundedTtlCache<String, Ticket> tickets;
+    private final int queueCapacity;
+    private final int batchSize;
+    private final long flushIntervalMs;
+    private final long waitTimeoutMs;
+
+    private final LongAdder accepted = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder created = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder batches = new LongAdder();
+    private final LongAdder drainLatencyTotalMs = new LongAdder();
+    private final AtomicLong drainLatencyMaxMs = new AtomicLong();
+
+    private volatile boolean running;
+    private volatile CountDownLatch drainerStopped;
+    private ThreadPoolTaskExecutor executor;
+
+    @Autowired
+    public BookingPipelineService(BookingBulkService bookingBulkService,
+                                  @Value("${booking.async.queue-capacity:10000}") int queueCapacity,
+                                  @Value("${booking.async.batch-size:100}") int batchSize,
+                                  @Value("${booking.async.flush-interval-ms:50}") long flushIntervalMs,
+                                  @Value("${booking.async.ticket-ttl-minutes:15}") long ticketTtlMinutes,
+                                  @Value("${booking.async.max-tickets:100000}") int maxTickets,
+                                  @Value("${booking.async.wait-timeout-ms:10000}") long waitTimeoutMs) {
+        if (batchSize > bookingBulkService.getMaxSize()) {
+            throw new IllegalArgumentException("booking.async.batch-size " + batchSize
+                + " exceeds booking.bulk.max-size " + bookingBulkService.getMaxSize());
+        }
+        this.bookingBulkService = bookingBulkService;
+        this.queue = new ArrayBlockingQueue<>(queueCapacity);
+        this.tickets = new BoundedTtlCache<>(maxTickets, ticketTtlMinutes, TimeUnit.MINUTES);
+        this.queueCapacity = queueCapacity;
+        this.batchSize = batchSize;
+        this.flushIntervalMs = flushIntervalMs;
+        this.waitTimeoutMs = waitTimeoutMs;
+    }
+
+    @PostConstruct
+    public void start() {
+        running = true;
+        drainerStopped = new CountDownLatch(1);
+        // Not a bean, so it does not replace the application's default task executor
+        executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(1);
+        executor.setMaxPoolSize(1);
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("booking-pipeline-");
+        executor.setDaemon(true);
+        executor.initialize();
+        executor.execute(this::drainLoop);
+    }
+
+    /**
+     * Stop the drainer once its current batch is persisted, then persist whatever is still queued
+     */
+    @PreDestroy
+    public void shutdown() throws InterruptedException {
+        running = false;
+        CountDownLatch stopped = drainerStopped;
+        if (stopped != null && !stopped.await(30, TimeUnit.SECONDS)) {
+            log.warn("Booking pipeline drainer did not stop within 30 seconds");
+        }
+        if (executor != null) {
+            executor.shutdown();
+        }
+        List<Ticket> remaining = new ArrayList<>();
+        while (queue.drainTo(remaining, batchSize) > 0) {
+            persist(remaining);
+            remaining.clear();
+        }
+    }
+
+    /**
+     * Queue a validated booking request
+     * Returns empty when the queue is full so the caller can apply backpressure.
+     */
+    public Optional<BookingTicketDto> submit(BookingRequestDto request) {
+        Ticket ticket = new Ticket(UUID.randomUUID().toString(), request);
+        tickets.put(ticket.ticketId, ticket);
+        if (!queue.offer(ticket)) {
+            tickets.remove(ticket.ticketId);
+            rejected.increment();
+            return Optional.empty();
+        }
+        accepted.increment();
+        return Optional.of(ticket.toDto());
+    }
+
+    /**
+     * Get the current state of a ticket
+     */
+    public Optional<BookingTicketDto> getTicket(String ticketId) {
+        return Optional.ofNullable(tickets.get(ticketId)).map(Ticket::toDto);
+    }
+
+    /**
+     * Wait for a ticket to be processed
+     * The future completes with the final state, or with the still-queued state after the wait timeout.
+     */
+    public Optional<CompletableFuture<BookingTicketDto>> awaitTicket(String ticketId) {
+        Ticket ticket = tickets.get(ticketId);
+        if (ticket == null) {
+            return Optional.empty();
+        }
+        return Optional.of(ticket.result
+            .thenApply(result -> ticket.toDto())
+            .completeOnTimeout(ticket.toDto(), waitTimeoutMs, TimeUnit.MILLISECONDS));
+    }
+
+    @Override
+    public String name() {
+        return "booking-pipeline";
+    }
+
+    /**
+     * Get queue depth, throughput and drain latency statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long batchCount = batches.sum();
+        long processed = created.sum() + failed.sum();
+        stats.put("queueDepth", queue.size());
+        stats.put("queueCapacity", queueCapacity);
+        stats.put("accepted", accepted.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("created", created.sum());
+        stats.put("failed", failed.sum());
+        stats.put("batches", batchCount);
+        stats.put("averageBatchSize", batchCount == 0 ? 0.0 : (double) processed / batchCount);
+        stats.put("averageDrainLatencyMs", processed == 0 ? 0.0 : (double) drainLatencyTotalMs.sum() / processed);
+        stats.put("maxDrainLatencyMs", drainLatencyMaxMs.get());
+        return stats;
+    }
+
+    private void drainLoop() {
+        try {
+            drain();
+        } finally {
+            drainerStopped.countDown();
+        }
+    }
+
+    private void drain() {
+        List<Ticket> batch = new ArrayList<>(batchSize);
+        while (running) {
+            try {
+                // Wake up at least once per flush interval to notice shutdown
+                Ticket first = queue.poll(flushIntervalMs, TimeUnit.MILLISECONDS);
+                if (first == null) {
+                    continue;
+                }
+                batch.add(first);
+                // Collect more requests until the batch is full or the flush interval is up
+                long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(flushIntervalMs);
+                while (batch.size() < batchSize) {
+                    if (queue.drainTo(batch, batchSize - batch.size()) > 0) {
+                        continue;
+                    }
+                    long remainingNanos = deadline - System.nanoTime();
+                    if (remainingNanos <= 0) {
+                        break;
+                    }
+                    Ticket next = queue.poll(remainingNanos, TimeUnit.NANOSECONDS);
+                    if (next == null) {
+                        break;
+                    }
+                    batch.add(next);
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                running = false;
+            }
+            if (!batch.isEmpty()) {
+                persist(batch);
+                batch.clear();
+            }
+        }
+    }
+
+    private void persist(List<Ticket> batch) {
+        List<BookingRequestDto> requests = new ArrayList<>(batch.size());
+        for (Ticket ticket : batch) {
+            requests.add(ticket.request);
+        }
+
+        List<BookingBulkResultDto> results = createBookings(requests);
+
+        batches.increment();
+        long now = System.nanoTime();
+        for (int i = 0; i < batch.size(); i++) {
+            Ticket ticket = batch.get(i);
+            BookingBulkResultDto result = results.get(i);
+            if (result.getError() == null) {
+                created.increment();
+            } else {
+                failed.increment();
+            }
+            long latencyMs = TimeUnit.NANOSECONDS.toMillis(now - ticket.submittedNanos);
+            drainLatencyTotalMs.add(latencyMs);
+            drainLatencyMaxMs.accumulateAndGet(latencyMs, Math::max);
+            ticket.result.complete(result);
+        }
+    }
+
+    /**
+     * Create the bookings of one micro-batch in a single transaction
+     * The bulk service only throws before inserting anything, so every request of the batch fails then.
+     */
+    private List<BookingBulkResultDto> createBookings(List<BookingRequestDto> requests) {
+        try {
+            return bookingBulkService.createBookingsInOneTransaction(requests);
+        } catch (RuntimeException e) {
+            log.warn("Could not persist {} queued bookings: {}", requests.size(), e.getMessage());
+            List<BookingBulkResultDto> results = new ArrayList<>(requests.size());
+            for (int i = 0; i < requests.size(); i++) {
+                results.add(BookingBulkResultDto.failed(i, requests.get(i), "Booking could not be saved: " + e.getMessage()));
+            }
+            return results;
+        }
+    }
+
+    /**
+     * A queued booking request and its eventual outcome
+     */
+    private static final class Ticket {
+        private final String ticketId;
+        private final BookingRequestDto request;
+        private final Instant submittedAt = Instant.now();
+        private final long submittedNanos = System.nanoTime();
+        private final CompletableFuture<BookingBulkResultDto> result = new CompletableFuture<>();
+
+        private Ticket(String ticketId, BookingRequestDto request) {
+            this.ticketId = ticketId;
+            this.request = request;
+        }
+
+        private BookingTicketDto toDto() {
+            BookingBulkResultDto outcome = result.getNow(null);
+            if (outcome == null) {
+                return new BookingTicketDto(ticketId, BookingTicketDto.TicketStatus.QUEUED, submittedAt);
+            }
+            if (outcome.getError() != null) {
+                BookingTicketDto dto = new BookingTicketDto(ticketId, BookingTicketDto.TicketStatus.FAILED, submittedAt);
+                dto.setError(outcome.getError());
+                return dto;
+            }
+            BookingTicketDto dto = new BookingTicketDto(ticketId, BookingTicketDto.TicketStatus.CREATED, submittedAt);
+            dto.setBookingId(outcome.getBookingId());
+            dto.setFare(outcome.getFare());
+            return dto;
+        }
+    }
+}
@@ -0,0 +1,86 @@
+package com.travelcompany.booking.service;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.travelcompany.booking.dto.BookingCursor;
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+
+/**
+ * Service class for filtered, keyset-paginated booking queries
+ * A page never reads more than one row past the requested page size.
+ */
+@Service
+public class BookingQueryService {
+
+    private final BookingRepository bookingRepository;
+    private final CabTypeRateCache cabTypeRateCache;
+    private final int defaultPageSize;
+    private final int maxPageSize;
+
+    @Autowired
+    public BookingQueryService(BookingRepository bookingRepository, CabTypeRateCache cabTypeRateCache,
+                               @Value("${booking.query.default-page-size:50}") int defaultPageSize,
+                               @Value("${booking.query.max-page-size:500}") int maxPageSize) {
+        this.bookingRepository = bookingRepository;
+        this.cabTypeRateCache = cabTypeRateCache;
+        this.defaultPageSize = defaultPageSize;
+        this.maxPageSize = maxPageSize;
+    }
+
+    /**
+     * Get one page of bookings matching the query, newest first
+     * The page size defaults when null and is capped at the configured maximum.
+     */
+    public BookingPageDto queryBookings(BookingQueryDto query, String cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.min(size, maxPageSize);
+        if (pageSize < 1) {
+            throw new IllegalArgumentException("Page size must be positive: " + size);
+        }
+        BookingCursor after = cursor == null || cursor.isBlank() ? null : BookingCursor.decode(cursor);
+        query.setCabType(canonicalCabType(query.getCabType()));
+
+        // Read one extra row to learn whether another page exists
+        List<Booking> bookings = bookingRepository.findPage(query, after, pageSize + 1);
+        if (bookings.size() <= pageSize) {
+            return new BookingPageDto(summarize(bookings), null);
+        }
+        List<Booking> page = bookings.subList(0, pageSize);
+        return new BookingPageDto(summarize(page), BookingCursor.after(page.get(pageSize - 1)).encode());
+    }
+
+    /**
+     * Bookings store the cab type's exact name, so match the filter to that name here rather than
+     * comparing lower-cased columns, which would keep the query off the indexes
+     */
+    private String canonicalCabType(String cabType) {
+        if (cabType == null || cabType.isBlank()) {
+            return null;
+        }
+        String trimmed = cabType.trim();
+        return cabTypeRateCache.currentSnapshot().getRates().stream()
+            .map(CabTypeRateCache.Rate::getName)
+            .filter(name -> name.equalsIgnoreCase(trimmed))
+            .findFirst()
+            .orElse(trimmed);
+    }
+
+    /**
+     * Largest page size any listing may return
+     */
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    private static List<BookingSummaryDto> summarize(List<Booking> bookings) {
+        return bookings.stream().map(BookingSummaryDto::from).collect(Collectors.toList());
+    }
+}
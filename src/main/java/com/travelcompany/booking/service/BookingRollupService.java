@@ -0,0 +1,416 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingHourlyRollup;
+import com.travelcompany.booking.model.BookingRollupRebuild;
+import com.travelcompany.booking.repository.BookingHourlyRollupRepository;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.BookingRollupRebuildRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps the hourly booking rollup current and answers revenue reports from it
+ * Committed booking writes are collected as per-row deltas and added to the rollup in one short
+ * transaction per flush, so booking transactions never wait on the shared rollup rows. Reports therefore
+ * lag writes by up to one flush interval. The backfill rebuilds whole days from the bookings table, and the
+ * last two days are rebuilt periodically to restore deltas lost when a node stopped without flushing.
+ * Each rebuild records when it read the day, and every node drops its deltas of the day observed by then.
+ */
+@Service
+public class BookingRollupService implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(BookingRollupService.class);
+
+    private final BookingHourlyRollupRepository rollupRepository;
+    private final BookingRepository bookingRepository;
+    private final BookingRollupRebuildRepository rebuildRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private final ConcurrentLinkedQueue<Observed> pending = new ConcurrentLinkedQueue<>();
+
+    private final LongAdder flushes = new LongAdder();
+    private final LongAdder flushedRows = new LongAdder();
+    private final LongAdder flushFailures = new LongAdder();
+    private final LongAdder backfilledDays = new LongAdder();
+    private final LongAdder droppedDeltas = new LongAdder();
+    private final LongAdder reconciles = new LongAdder();
+
+    @Autowired
+    public BookingRollupService(BookingHourlyRollupRepository rollupRepository, BookingRepository bookingRepository,
+                                BookingRollupRebuildRepository rebuildRepository,
+                                PlatformTransactionManager transactionManager) {
+        this.rollupRepository = rollupRepository;
+        this.bookingRepository = bookingRepository;
+        this.rebuildRepository = rebuildRepository;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingCreatedEvent event) {
+        for (Booking booking : event.getBookings()) {
+            add(booking.getCreatedDate(), booking.getCabType(), booking.getStatus(), 1, booking.getFare());
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        for (BookingStatusChangedEvent.Change change : event.getChanges()) {
+            BigDecimal fare = change.getFare() == null ? null : change.getFare().negate();
+            add(change.getCreatedDate(), change.getCabType(), change.getFrom(), -1, fare);
+            add(change.getCreatedDate(), change.getCabType(), change.getTo(), 1, change.getFare());
+        }
+    }
+
+    /**
+     * Read what a customer's bookings contribute to the rollup
+     * Deleting a customer cascades to their bookings without booking events, so read this before the
+     * delete and publish it with the {@link CustomerDeletedEvent}.
+     */
+    public List<BookingRepository.RollupRowView> customerRows(Long customerId) {
+        return bookingRepository.sumForRollupByCustomerId(customerId);
+    }
+
+    /**
+     * Take a deleted customer's bookings out of the rollup once the delete has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerDeleted(CustomerDeletedEvent event) {
+        for (BookingRepository.RollupRowView row : event.getBookings()) {
+            BigDecimal fare = row.getFareTotal() == null ? null : row.getFareTotal().negate();
+            add(key(row), new Delta(-row.getBookings(), fare));
+        }
+    }
+
+    /**
+     * Add the collected deltas to the rollup table
+     * Deltas observed before the last rebuild of their day are dropped, whichever node rebuilt it: the rebuilt
+     * rows already count them. The rebuild rows are read with a shared lock, so a rebuild in progress finishes
+     * first. A failed flush keeps its deltas for the next one; that includes losing an insert race for a new
+     * row to another node, which the next flush turns into an update.
+     */
+    @Scheduled(fixedDelayString = "${reports.rollup.flush-interval-ms:5000}")
+    @PreDestroy
+    public synchronized void flush() {
+        List<Observed> drained = new ArrayList<>();
+        for (Observed observed = pending.poll(); observed != null; observed = pending.poll()) {
+            drained.add(observed);
+        }
+        if (drained.isEmpty()) {
+            return;
+        }
+        try {
+            long[] dropped = new long[1];
+            Integer rows = transactionTemplate.execute(status -> {
+                Map<LocalDate, LocalDateTime> rebuiltAt = new HashMap<>();
+                TreeSet<LocalDate> days = new TreeSet<>();
+                drained.forEach(observed -> days.add(observed.day()));
+                for (BookingRollupRebuild rebuild : rebuildRepository.findForShare(days)) {
+                    if (rebuild.getRebuiltAt() != null) {
+                        rebuiltAt.put(rebuild.getDay(), rebuild.getRebuiltAt());
+                    }
+                }
+                Map<BookingHourlyRollup.Key, Delta> batch = new TreeMap<>(BookingHourlyRollup.Key.ORDER);
+                for (Observed observed : drained) {
+                    LocalDateTime rebuilt = rebuiltAt.get(observed.day());
+                    if (rebuilt != null && !observed.at.isAfter(rebuilt)) {
+                        dropped[0]++;
+                    } else {
+                        batch.merge(observed.key, observed.delta, Delta::plus);
+                    }
+                }
+                batch.values().removeIf(Delta::isEmpty);
+                batch.forEach((key, delta) -> {
+                    if (rollupRepository.adjust(key.getBucketHour(), key.getCabType(), key.getStatus(),
+                            delta.bookings, delta.fareTotal) == 0) {
+                        rollupRepository.saveAndFlush(new BookingHourlyRollup(key, delta.bookings, delta.fareTotal));
+                    }
+                });
+                return batch.size();
+            });
+            flushes.increment();
+            flushedRows.add(rows);
+            droppedDeltas.add(dropped[0]);
+        } catch (RuntimeException e) {
+            pending.addAll(drained);
+            flushFailures.increment();
+            log.warn("Could not flush {} booking rollup deltas, retrying on the next flush: {}", drained.size(), e.getMessage());
+        }
+    }
+
+    /**
+     * Rebuild the rollup of every day in [from, to] from the bookings table, one day per transaction
+     * Each day's rebuild row is created if missing, then locked and stamped with the time just before the
+     * bookings are read.
+     * A change that committed before the read is observed by then and dropped by the node holding its delta;
+     * one that commits after the read is observed later and added on top. This relies on node clocks agreeing:
+     * a change committing within the clock skew of the read may be counted twice or missed until the day is
+     * rebuilt again.
+     */
+    public Map<String, Object> backfill(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Backfill end " + to + " is before its start " + from);
+        }
+        long rows = 0;
+        long days = 0;
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            LocalDateTime start = day.atStartOfDay();
+            LocalDateTime end = start.plusDays(1);
+            LocalDate rebuiltDay = day;
+            if (!rebuildRepository.existsById(rebuiltDay)) {
+                insertRebuildRow(rebuiltDay);
+            }
+            rows += transactionTemplate.execute(status -> {
+                BookingRollupRebuild rebuild = rebuildRepository.findForUpdate(rebuiltDay)
+                    .orElseThrow(() -> new IllegalStateException("No rollup rebuild row for " + rebuiltDay));
+                rollupRepository.deleteHoursBetween(start, end);
+                // The read below is the transaction's first plain read, which fixes what it sees
+                rebuild.setRebuiltAt(LocalDateTime.now());
+                List<BookingHourlyRollup> rebuilt = new ArrayList<>();
+                for (BookingRepository.RollupRowView row : bookingRepository.sumForRollupBetween(start, end)) {
+                    rebuilt.add(new BookingHourlyRollup(key(row), row.getBookings(), zeroIfNull(row.getFareTotal())));
+                }
+                rollupRepository.saveAll(rebuilt);
+                return (long) rebuilt.size();
+            });
+            days++;
+            backfilledDays.increment();
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("days", days);
+        result.put("rows", rows);
+        return result;
+    }
+
+    /**
+     * Start filling an empty rollup once the application has started, without holding up startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void startBackfillIfEmpty() {
+        Thread thread = new Thread(() -> {
+            try {
+                backfillIfEmpty();
+            } catch (RuntimeException e) {
+                log.warn("Could not backfill the booking rollup: {}", e.getMessage());
+            }
+        }, "booking-rollup-backfill");
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    /**
+     * Build the rollup from all booking history when the table is still empty, e.g. right after it was added
+     * Nodes starting together race to insert the rebuild row of the earliest day; only the winner backfills.
+     */
+    public void backfillIfEmpty() {
+        if (rollupRepository.count() > 0) {
+            return;
+        }
+        bookingRepository.findEarliestCreatedDate().ifPresent(earliest -> {
+            LocalDate from = earliest.toLocalDate();
+            if (!insertRebuildRow(from)) {
+                log.info("Booking rollup backfill already claimed by another node");
+                return;
+            }
+            Map<String, Object> result = backfill(from, LocalDate.now());
+            log.info("Backfilled booking rollup: {}", result);
+        });
+    }
+
+    /**
+     * Rebuild yesterday and today from the bookings table
+     * Deltas only live in memory until the next flush, so this bounds how long a crash or a missed delta
+     * can leave recent reports off. Older days can be rebuilt with the backfill.
+     */
+    @Scheduled(fixedDelayString = "${reports.rollup.reconcile-interval-ms:3600000}",
+               initialDelayString = "${reports.rollup.reconcile-interval-ms:3600000}")
+    public void reconcileRecent() {
+        LocalDate today = LocalDate.now();
+        backfill(today.minusDays(1), today);
+        reconciles.increment();
+    }
+
+    /**
+     * Booking and revenue totals for the hours overlapping [from, to)
+     * Revenue is the fare total of completed bookings, as in the monthly report.
+     */
+    public Map<String, Object> getReport(LocalDateTime from, LocalDateTime to) {
+        if (!to.isAfter(from)) {
+            throw new IllegalArgumentException("Report end " + to + " must be after its start " + from);
+        }
+        LocalDateTime firstHour = from.truncatedTo(ChronoUnit.HOURS);
+        LocalDateTime endHour = to.truncatedTo(ChronoUnit.HOURS);
+        if (endHour.isBefore(to)) {
+            endHour = endHour.plusHours(1);
+        }
+
+        long bookings = 0;
+        BigDecimal revenue = BigDecimal.ZERO;
+        Map<Booking.BookingStatus, Map<String, Object>> byStatus = new TreeMap<>();
+        Map<String, Map<String, Object>> byCabType = new TreeMap<>();
+        for (BookingHourlyRollupRepository.TotalView total : rollupRepository.sumBetween(firstHour, endHour)) {
+            BigDecimal fareTotal = zeroIfNull(total.getFareTotal());
+            BigDecimal completedFare = total.getStatus() == Booking.BookingStatus.COMPLETED ? fareTotal : BigDecimal.ZERO;
+            bookings += total.getBookings();
+            revenue = revenue.add(completedFare);
+            accumulate(byStatus.computeIfAbsent(total.getStatus(), status -> totals("fareTotal")),
+                total.getBookings(), "fareTotal", fareTotal);
+            accumulate(byCabType.computeIfAbsent(total.getCabType(), cabType -> totals("revenue")),
+                total.getBookings(), "revenue", completedFare);
+        }
+
+        Map<String, Object> report = new LinkedHashMap<>();
+        report.put("from", firstHour);
+        report.put("to", endHour);
+        report.put("bookings", bookings);
+        report.put("revenue", revenue);
+        report.put("byStatus", byStatus);
+        report.put("byCabType", byCabType);
+        return report;
+    }
+
+    /**
+     * Booking and revenue totals for one calendar day
+     */
+    public Map<String, Object> getDailyReport(LocalDate day) {
+        return getReport(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+    }
+
+    @Override
+    public String name() {
+        return "report-rollup";
+    }
+
+    /**
+     * Get flush and backfill statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("pendingDeltas", pending.size());
+        stats.put("flushes", flushes.sum());
+        stats.put("flushedRows", flushedRows.sum());
+        stats.put("flushFailures", flushFailures.sum());
+        stats.put("backfilledDays", backfilledDays.sum());
+        stats.put("droppedDeltas", droppedDeltas.sum());
+        stats.put("reconciles", reconciles.sum());
+        return stats;
+    }
+
+    private void add(LocalDateTime createdDate, String cabType, Booking.BookingStatus status, long bookings,
+                     BigDecimal fare) {
+        if (createdDate == null || cabType == null || status == null) {
+            return;
+        }
+        add(new BookingHourlyRollup.Key(createdDate.truncatedTo(ChronoUnit.HOURS), cabType, status), new Delta(bookings, fare));
+    }
+
+    private void add(BookingHourlyRollup.Key key, Delta delta) {
+        pending.add(new Observed(key, LocalDateTime.now(), delta));
+    }
+
+    /**
+     * Insert a day's rebuild row, not yet rebuilt, in its own transaction; false if it already exists
+     * Creating it ahead of the rebuild means the rebuild only ever locks an existing row.
+     */
+    private boolean insertRebuildRow(LocalDate day) {
+        try {
+            transactionTemplate.executeWithoutResult(status -> rebuildRepository.saveAndFlush(new BookingRollupRebuild(day)));
+            return true;
+        } catch (DataIntegrityViolationException e) {
+            return false;
+        }
+    }
+
+    private static Map<String, Object> totals(String amountKey) {
+        Map<String, Object> totals = new LinkedHashMap<>();
+        totals.put("bookings", 0L);
+        totals.put(amountKey, BigDecimal.ZERO);
+        return totals;
+    }
+
+    private static void accumulate(Map<String, Object> totals, long bookings, String amountKey, BigDecimal amount) {
+        totals.put("bookings", (Long) totals.get("bookings") + bookings);
+        totals.put(amountKey, ((BigDecimal) totals.get(amountKey)).add(amount));
+    }
+
+    private static BookingHourlyRollup.Key key(BookingRepository.RollupRowView row) {
+        return new BookingHourlyRollup.Key(LocalDateTime.of(row.getYear(), row.getMonth(), row.getDay(), row.getHour(), 0),
+            row.getCabType(), row.getStatus());
+    }
+
+    private static BigDecimal zeroIfNull(BigDecimal amount) {
+        return amount == null ? BigDecimal.ZERO : amount;
+    }
+
+    /**
+     * Delta to one rollup row and when its change was seen committed, for comparing with the day's rebuild
+     */
+    private static final class Observed {
+        private final BookingHourlyRollup.Key key;
+        private final LocalDateTime at;
+        private final Delta delta;
+
+        private Observed(BookingHourlyRollup.Key key, LocalDateTime at, Delta delta) {
+            this.key = key;
+            this.at = at;
+            this.delta = delta;
+        }
+
+        private LocalDate day() {
+            return key.getBucketHour().toLocalDate();
+        }
+    }
+
+    /**
+     * Change to one rollup row that has not been written yet
+     */
+    private static final class Delta {
+        private final long bookings;
+        private final BigDecimal fareTotal;
+
+        private Delta(long bookings, BigDecimal fareTotal) {
+            this.bookings = bookings;
+            this.fareTotal = zeroIfNull(fareTotal);
+        }
+
+        private Delta plus(Delta other) {
+            return new Delta(bookings + other.bookings, fareTotal.add(other.fareTotal));
+        }
+
+        private boolean isEmpty() {
+            return bookings == 0 && fareTotal.signum() == 0;
+        }
+    }
+}
@@ -1,16 +1,31 @@
 package com.travelcompany.booking.service;
 
+import com.travelcompany.booking.dto.BookingDetailsDto;
 import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
 import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
 import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.model.Fare;
 import com.travelcompany.booking.repository.BookingRepository;
-import com.travelcompany.booking.repository.CustomerRepository;
+import com.travelcompany.booking.repository.BookingStatusChangeRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 /**
  * Service class for Booking operations
@@ -20,32 +35,51 @@ import java.util.Optional;
 public class BookingService {
 
     private final BookingRepository bookingRepository;
-    private final CustomerRepository customerRepository;
+    private final BookingStatusChangeRepository statusChangeRepository;
     private final FareCalculatorService fareCalculatorService;
+    private final FareQuoteService fareQuoteService;
+    private final LocationSearchIndex locationSearchIndex;
+    private final EntityNearCache entityNearCache;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public BookingService(BookingRepository bookingRepository, 
-                         CustomerRepository customerRepository,
-                         FareCalculatorService fareCalculatorService) {
+    public BookingService(BookingRepository bookingRepository,
+                         BookingStatusChangeRepository statusChangeRepository,
+                         FareCalculatorService fareCalculatorService,
+                         FareQuoteService fareQuoteService,
+                         LocationSearchIndex locationSearchIndex,
+                         EntityNearCache entityNearCache,
+                         ApplicationEventPublisher eventPublisher) {
         this.bookingRepository = bookingRepository;
-        this.customerRepository = customerRepository;
+        this.statusChangeRepository = statusChangeRepository;
         this.fareCalculatorService = fareCalculatorService;
+        this.fareQuoteService = fareQuoteService;
+        this.locationSearchIndex = locationSearchIndex;
+        this.entityNearCache = entityNearCache;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
      * Create a new booking
+     * Runs in one transaction, so a redeemed quote is given back if the booking cannot be saved.
      */
+    @Transactional
     public Booking createBooking(BookingRequestDto bookingRequest) {
         // Find customer
-        Customer customer = customerRepository.findById(bookingRequest.getCustomerId())
+        Customer customer = entityNearCache.findCustomer(bookingRequest.getCustomerId())
             .orElseThrow(() -> new RuntimeException("Customer not found with id: " + bookingRequest.getCustomerId()));
 
-        // Calculate fare
-        BigDecimal fare = fareCalculatorService.calculateFare(
-            bookingRequest.getPickupLocation(),
-            bookingRequest.getDestination(),
-            bookingRequest.getCabType()
-        );
+        // Use the locked fare of a valid quote, otherwise calculate it
+        BigDecimal fare = fareQuoteService.redeemQuote(
+                bookingRequest.getQuoteId(),
+                bookingRequest.getPickupLocation(),
+                bookingRequest.getDestination(),
+                bookingRequest.getCabType())
+            .orElseGet(() -> fareCalculatorService.calculateFare(
+                bookingRequest.getPickupLocation(),
+                bookingRequest.getDestination(),
+                bookingRequest.getCabType()
+            ));
 
         // Create booking
         Booking booking = new Booking(
@@ -57,60 +91,123 @@ public class BookingService {
             fare
         );
 
-        return bookingRepository.save(booking);
+        Booking savedBooking = bookingRepository.save(booking);
+        eventPublisher.publishEvent(new BookingCreatedEvent(List.of(savedBooking)));
+
+        return savedBooking;
     }
 
     /**
-     * Get all bookings
+     * Get one page of booking summaries, newest first, in one query
      */
-    public List<Booking> getAllBookings() {
-        return bookingRepository.findAll();
+    public List<BookingSummaryDto> getRecentBookingSummaries(int page, int size) {
+        return bookingRepository.findRecentSummaries(PageRequest.of(page, size));
     }
 
     /**
-     * Find booking by ID
+     * Find booking by ID, with its customer, from the near-cache
      */
     public Optional<Booking> findBookingById(Long id) {
-        return bookingRepository.findById(id);
+        return entityNearCache.findBooking(id);
     }
 
     /**
-     * Get bookings by customer ID
+     * Get a booking with its customer, fare breakdown and status history, read in one query
      */
-    public List<Booking> getBookingsByCustomerId(Long customerId) {
-        return bookingRepository.findByCustomerIdOrderByCreatedDateDesc(customerId);
+    public Optional<BookingDetailsDto> getBookingDetails(Long id) {
+        List<Object[]> rows = bookingRepository.findDetailRows(id);
+        if (rows.isEmpty()) {
+            return Optional.empty();
+        }
+
+        Booking booking = (Booking) rows.get(0)[0];
+        Fare fare = (Fare) rows.get(0)[1];
+        List<BookingDetailsDto.StatusEntry> history = new ArrayList<>(rows.size() + 1);
+        history.add(new BookingDetailsDto.StatusEntry(Booking.BookingStatus.PENDING, booking.getCreatedDate()));
+        for (Object[] row : rows) {
+            BookingStatusChange change = (BookingStatusChange) row[2];
+            if (change != null) {
+                history.add(new BookingDetailsDto.StatusEntry(change.getStatus(), change.getChangedAt()));
+            }
+        }
+        return Optional.of(new BookingDetailsDto(booking, fare, history));
     }
 
     /**
-     * Get bookings by status
+     * Entity tag of a booking's detail view
+     * Every status change bumps the booking version and customer edits evict the cached booking,
+     * so the tag changes whenever the page would; fare breakdowns are never modified.
      */
-    public List<Booking> getBookingsByStatus(Booking.BookingStatus status) {
-        return bookingRepository.findByStatus(status);
+    public String getDetailsEtag(Booking booking) {
+        Customer customer = booking.getCustomer();
+        int customerHash = Objects.hash(customer.getName(), customer.getEmail(), customer.getPhone());
+        return "\"booking-" + booking.getId() + "-v" + booking.getVersion() + "-" + Integer.toHexString(customerHash) + "\"";
     }
 
     /**
      * Update booking status
+     * The update only applies while the booking is still in the status it was read in, so concurrent
+     * updates cannot overwrite each other or make an illegal move, and the status it left is known exactly.
      */
+    @Transactional
     public Booking updateBookingStatus(Long bookingId, Booking.BookingStatus status) {
-        Booking booking = bookingRepository.findById(bookingId)
-            .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
-
-        booking.setStatus(status);
-        return bookingRepository.save(booking);
+        return transition(bookingId, status);
     }
 
     /**
      * Cancel booking
      */
+    @Transactional
     public Booking cancelBooking(Long bookingId) {
-        return updateBookingStatus(bookingId, Booking.BookingStatus.CANCELLED);
+        return transition(bookingId, Booking.BookingStatus.CANCELLED);
     }
 
     /**
      * Confirm booking
      */
+    @Transactional
     public Booking confirmBooking(Long bookingId) {
-        return updateBookingStatus(bookingId, Booking.BookingStatus.CONFIRMED);
+        return transition(bookingId, Booking.BookingStatus.CONFIRMED);
+    }
+
+    /**
+     * Apply a status change inside the caller's transaction
+     * Public entry points call this rather than each other, since calls on this bypass the
+     * transactional proxy.
+     */
+    private Booking transition(Long bookingId, Booking.BookingStatus status) {
+        Booking booking = bookingRepository.findWithCustomerById(bookingId)
+            .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+        Booking.BookingStatus previous = booking.getStatus();
+        if (!status.allowedPredecessors().contains(previous)) {
+            throw new IllegalStateException("Cannot change booking " + bookingId + " from " + previous + " to " + status);
+        }
+        // Conditional on the status just read: one changed row confirms the status the booking left,
+        // which the event needs and which MySQL cannot return from the UPDATE itself
+        if (bookingRepository.transitionStatus(bookingId, Set.of(previous), status) != 1) {
+            // Another transaction moved the booking since the read. Take its status as it is now, under
+            // the row lock, so a move that is still legal goes through instead of failing as a conflict
+            BookingRepository.BookingStatusView current = bookingRepository.findStatusesForUpdate(List.of(bookingId))
+                .stream().findFirst()
+                .orElseThrow(() -> new RuntimeException("Booking not found with id: " + bookingId));
+            previous = current.getStatus();
+            if (!status.allowedPredecessors().contains(previous)) {
+                throw new IllegalStateException("Cannot change booking " + bookingId + " from " + previous + " to " + status);
+            }
+            bookingRepository.transitionStatus(bookingId, Set.of(previous), status);
+            booking = bookingRepository.findWithCustomerById(bookingId).orElseThrow();
+        } else {
+            // The update detached the booking (its customer was fetched with it); apply the change to it
+            // rather than reading the row again
+            booking.setStatus(status);
+            booking.setVersion(booking.getVersion() + 1);
+        }
+        statusChangeRepository.recordTransitions(List.of(bookingId), status, LocalDateTime.now());
+        entityNearCache.bookingsChanged(List.of(bookingId));
+        eventPublisher.publishEvent(new BookingStatusChangedEvent(
+            List.of(new BookingStatusChangedEvent.Change(bookingId, previous, status,
+                booking.getCabType(), booking.getCreatedDate(), booking.getFare()))));
+        return booking;
     }
 
     /**
@@ -122,9 +219,25 @@ public class BookingService {
 
     /**
      * Search bookings by location
+     * Ranked matching IDs come from the in-memory trigram index; only that page of bookings is loaded.
+     * An empty search lists the newest bookings. Queries shorter than the index's grams, and searches
+     * before the index is built, read the newest matching bookings from the database instead.
      */
-    public List<Booking> searchBookingsByLocation(String location) {
-        return bookingRepository.findByLocationContaining(location);
+    public List<BookingSummaryDto> searchBookingsByLocation(String location, int page, int size) {
+        String text = location == null ? "" : location.trim();
+        if (!locationSearchIndex.canSearch(text)) {
+            PageRequest pageRequest = PageRequest.of(page, Math.min(size, locationSearchIndex.getMaxPageSize()));
+            return text.isEmpty()
+                ? bookingRepository.findRecentSummaries(pageRequest)
+                : bookingRepository.findRecentSummariesByLocationContaining(text, pageRequest);
+        }
+        List<Long> ids = locationSearchIndex.search(location, page, size);
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        Map<Long, BookingSummaryDto> bookings = bookingRepository.findSummariesByIdIn(ids).stream()
+            .collect(Collectors.toMap(BookingSummaryDto::getId, Function.identity()));
+        return ids.stream().map(bookings::get).filter(Objects::nonNull).collect(Collectors.toList());
     }
 
     /**
@@ -0,0 +1,362 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingSketch;
+import com.travelcompany.booking.repository.BookingSketchRepository;
+import com.travelcompany.booking.sketch.HyperLogLog;
+import com.travelcompany.booking.sketch.LogHistogram;
+import com.travelcompany.booking.sketch.MergeableSketch;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Keeps per-day sketches of new bookings for distinct-rider counts and fare/trip-time percentiles
+ * Each created booking adds its customer to the day's HyperLogLog and its fare and estimated trip time to
+ * its cab type's histograms. Only the days within the retention period are kept, so memory stays bounded
+ * at about 16 KB per day plus a few KB per cab type and day. New data is merged into the shared database
+ * rows periodically; a merged row also brings in what other nodes recorded.
+ */
+@Service
+public class BookingSketchService implements StatsSource {
+
+    static final String RIDERS = "riders";
+    static final String FARE_CENTS = "fare-cents:";
+    static final String TRIP_MINUTES = "trip-minutes:";
+
+    private static final Logger log = LoggerFactory.getLogger(BookingSketchService.class);
+
+    private final BookingSketchRepository sketchRepository;
+    private final FareCalculatorService fareCalculatorService;
+    private final TransactionTemplate transactionTemplate;
+    private final int retentionDays;
+
+    private final Map<BookingSketch.Key, Entry<?>> entries = new ConcurrentHashMap<>();
+
+    private final LongAdder recordedBookings = new LongAdder();
+    private final LongAdder persists = new LongAdder();
+    private final LongAdder persistedSketches = new LongAdder();
+    private final LongAdder persistFailures = new LongAdder();
+
+    @Autowired
+    public BookingSketchService(BookingSketchRepository sketchRepository, FareCalculatorService fareCalculatorService,
+                                PlatformTransactionManager transactionManager,
+                                @Value("${analytics.sketches.retention-days:90}") int retentionDays) {
+        if (retentionDays < 1) {
+            throw new IllegalArgumentException("analytics.sketches.retention-days must be at least 1");
+        }
+        this.sketchRepository = sketchRepository;
+        this.fareCalculatorService = fareCalculatorService;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.retentionDays = retentionDays;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingCreatedEvent event) {
+        LocalDate oldest = oldestRetainedDay();
+        for (Booking booking : event.getBookings()) {
+            if (booking.getCreatedDate() == null || booking.getCreatedDate().toLocalDate().isBefore(oldest)) {
+                continue;
+            }
+            LocalDate day = booking.getCreatedDate().toLocalDate();
+            if (booking.getCustomer() != null && booking.getCustomer().getId() != null) {
+                long customerId = booking.getCustomer().getId();
+                riders(day).update(sketch -> sketch.add(customerId));
+            }
+            if (booking.getCabType() != null && booking.getFare() != null) {
+                long fareCents = booking.getFare().movePointRight(2).longValue();
+                if (fareCents >= 0) {
+                    histogram(day, FARE_CENTS + booking.getCabType()).update(sketch -> sketch.record(fareCents));
+                }
+                recordTripMinutes(day, booking);
+            }
+            recordedBookings.increment();
+        }
+    }
+
+    /**
+     * Merge what was recorded since the last persist into the stored sketches, one row per transaction
+     * A failed row keeps its data for the next persist. Days past the retention period are dropped.
+     */
+    @Scheduled(fixedDelayString = "${analytics.sketches.persist-interval-ms:60000}")
+    @PreDestroy
+    public synchronized void persist() {
+        for (Map.Entry<BookingSketch.Key, Entry<?>> dirty : entries.entrySet()) {
+            if (persistEntry(dirty.getKey(), dirty.getValue())) {
+                persistedSketches.increment();
+            }
+        }
+        persists.increment();
+        LocalDate oldest = oldestRetainedDay();
+        entries.keySet().removeIf(key -> key.getDay().isBefore(oldest));
+        try {
+            transactionTemplate.executeWithoutResult(status -> sketchRepository.deleteBefore(oldest));
+        } catch (RuntimeException e) {
+            log.warn("Could not delete booking sketches before {}: {}", oldest, e.getMessage());
+        }
+    }
+
+    /**
+     * Load the stored sketches of the retention period, including what other nodes recorded
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void load() {
+        for (BookingSketch stored : sketchRepository.findSince(oldestRetainedDay())) {
+            try {
+                entry(stored.getId()).refresh(stored.getData());
+            } catch (IllegalArgumentException e) {
+                log.warn("Skipping unreadable booking sketch {} {}: {}", stored.getId().getDay(), stored.getId().getName(),
+                    e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * Estimated distinct customers with bookings created in [from, to], per day and over the whole window
+     */
+    public Map<String, Object> getUniqueRiders(LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        HyperLogLog window = new HyperLogLog();
+        List<Map<String, Object>> daily = new ArrayList<>();
+        for (LocalDate day = from; !day.isAfter(to); day = day.plusDays(1)) {
+            HyperLogLog sketch = snapshot(new BookingSketch.Key(day, RIDERS), HyperLogLog.class);
+            long riders = sketch == null ? 0 : sketch.estimate();
+            if (sketch != null) {
+                window.merge(sketch);
+            }
+            Map<String, Object> row = new LinkedHashMap<>();
+            row.put("day", day);
+            row.put("uniqueRiders", riders);
+            daily.add(row);
+        }
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("uniqueRiders", window.estimate());
+        result.put("relativeStandardError", HyperLogLog.RELATIVE_STANDARD_ERROR);
+        result.put("daily", daily);
+        return result;
+    }
+
+    /**
+     * Fare and estimated trip time percentiles per cab type for bookings created in [from, to]
+     */
+    public Map<String, Object> getPercentiles(LocalDate from, LocalDate to) {
+        checkWindow(from, to);
+        Map<String, LogHistogram> fares = new TreeMap<>();
+        Map<String, LogHistogram> tripMinutes = new TreeMap<>();
+        for (BookingSketch.Key key : entries.keySet()) {
+            if (RIDERS.equals(key.getName()) || key.getDay().isBefore(from) || key.getDay().isAfter(to)) {
+                continue;
+            }
+            LogHistogram sketch = snapshot(key, LogHistogram.class);
+            if (sketch == null) {
+                continue;
+            }
+            if (key.getName().startsWith(FARE_CENTS)) {
+                fares.merge(key.getName().substring(FARE_CENTS.length()), sketch, BookingSketchService::combine);
+            } else if (key.getName().startsWith(TRIP_MINUTES)) {
+                tripMinutes.merge(key.getName().substring(TRIP_MINUTES.length()), sketch, BookingSketchService::combine);
+            }
+        }
+        Map<String, Object> fareStats = new TreeMap<>();
+        fares.forEach((cabType, histogram) -> fareStats.put(cabType, summary(histogram, value -> BigDecimal.valueOf(value, 2))));
+        Map<String, Object> tripStats = new TreeMap<>();
+        tripMinutes.forEach((cabType, histogram) -> tripStats.put(cabType, summary(histogram, value -> value)));
+
+        Map<String, Object> result = new LinkedHashMap<>();
+        result.put("from", from);
+        result.put("to", to);
+        result.put("maxRelativeError", LogHistogram.MAX_RELATIVE_ERROR);
+        result.put("fares", fareStats);
+        result.put("tripMinutes", tripStats);
+        return result;
+    }
+
+    @Override
+    public String name() {
+        return "booking-sketches";
+    }
+
+    /**
+     * Get recording and persist statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("sketches", entries.size());
+        stats.put("retentionDays", retentionDays);
+        stats.put("recordedBookings", recordedBookings.sum());
+        stats.put("persists", persists.sum());
+        stats.put("persistedSketches", persistedSketches.sum());
+        stats.put("persistFailures", persistFailures.sum());
+        return stats;
+    }
+
+    private void recordTripMinutes(LocalDate day, Booking booking) {
+        try {
+            long minutes = fareCalculatorService.getEstimatedTripTime(booking.getPickupLocation(), booking.getDestination());
+            if (minutes >= 0) {
+                histogram(day, TRIP_MINUTES + booking.getCabType()).update(sketch -> sketch.record(minutes));
+            }
+        } catch (RuntimeException e) {
+            log.debug("No trip time estimate for booking {}: {}", booking.getId(), e.getMessage());
+        }
+    }
+
+    private <S extends MergeableSketch<S>> boolean persistEntry(BookingSketch.Key key, Entry<S> entry) {
+        S delta = entry.takeDelta();
+        if (delta == null) {
+            return false;
+        }
+        try {
+            byte[] stored = transactionTemplate.execute(status -> {
+                BookingSketch row = sketchRepository.findForUpdate(key.getDay(), key.getName()).orElse(null);
+                S merged = delta.copy();
+                if (row == null) {
+                    sketchRepository.save(new BookingSketch(key, merged.toBytes()));
+                    return merged.toBytes();
+                }
+                merged.merge(entry.reader.apply(row.getData()));
+                row.setData(merged.toBytes());
+                sketchRepository.save(row);
+                return row.getData();
+            });
+            entry.refresh(stored);
+            return true;
+        } catch (RuntimeException e) {
+            entry.restoreDelta(delta);
+            persistFailures.increment();
+            log.warn("Could not persist booking sketch {} {}, retrying on the next persist: {}", key.getDay(),
+                key.getName(), e.getMessage());
+            return false;
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<HyperLogLog> riders(LocalDate day) {
+        return (Entry<HyperLogLog>) entry(new BookingSketch.Key(day, RIDERS));
+    }
+
+    @SuppressWarnings("unchecked")
+    private Entry<LogHistogram> histogram(LocalDate day, String name) {
+        return (Entry<LogHistogram>) entry(new BookingSketch.Key(day, name));
+    }
+
+    private Entry<?> entry(BookingSketch.Key key) {
+        return entries.computeIfAbsent(key, k -> RIDERS.equals(k.getName())
+            ? new Entry<>(HyperLogLog::new, HyperLogLog::fromBytes)
+            : new Entry<>(LogHistogram::new, LogHistogram::fromBytes));
+    }
+
+    private <S extends MergeableSketch<S>> S snapshot(BookingSketch.Key key, Class<S> type) {
+        Entry<?> entry = entries.get(key);
+        return entry == null ? null : type.cast(entry.snapshot());
+    }
+
+    private void checkWindow(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            throw new IllegalArgumentException("Window end " + to + " is before its start " + from);
+        }
+        if (from.isBefore(oldestRetainedDay()) || to.isAfter(LocalDate.now())) {
+            throw new IllegalArgumentException("Sketches only cover the last " + retentionDays + " days");
+        }
+    }
+
+    private LocalDate oldestRetainedDay() {
+        return LocalDate.now().minusDays(retentionDays - 1L);
+    }
+
+    private static Map<String, Object> summary(LogHistogram histogram, Function<Long, Object> unit) {
+        Map<String, Object> summary = new LinkedHashMap<>();
+        summary.put("count", histogram.getCount());
+        summary.put("p50", unit.apply(histogram.percentile(50)));
+        summary.put("p95", unit.apply(histogram.percentile(95)));
+        summary.put("p99", unit.apply(histogram.percentile(99)));
+        summary.put("min", unit.apply(histogram.getMin()));
+        summary.put("max", unit.apply(histogram.getMax()));
+        summary.put("mean", unit.apply(Math.round(histogram.getMean())));
+        return summary;
+    }
+
+    private static LogHistogram combine(LogHistogram left, LogHistogram right) {
+        left.merge(right);
+        return left;
+    }
+
+    /**
+     * One day's sketch: everything known so far, plus what was recorded since the last persist
+     */
+    private static final class Entry<S extends MergeableSketch<S>> {
+        private final Supplier<S> factory;
+        private final Function<byte[], S> reader;
+        private S merged;
+        private S delta;
+
+        private Entry(Supplier<S> factory, Function<byte[], S> reader) {
+            this.factory = factory;
+            this.reader = reader;
+            this.merged = factory.get();
+        }
+
+        private synchronized void update(Consumer<S> update) {
+            if (delta == null) {
+                delta = factory.get();
+            }
+            update.accept(delta);
+            update.accept(merged);
+        }
+
+        private synchronized S takeDelta() {
+            S taken = delta;
+            delta = null;
+            return taken;
+        }
+
+        private synchronized void restoreDelta(S restored) {
+            if (delta == null) {
+                delta = restored;
+            } else {
+                delta.merge(restored);
+            }
+        }
+
+        // The stored sketch already holds every persisted delta, so only the newer one is added back
+        private synchronized void refresh(byte[] stored) {
+            S fresh = reader.apply(stored);
+            if (delta != null) {
+                fresh.merge(delta);
+            }
+            merged = fresh;
+        }
+
+        private synchronized S snapshot() {
+            return merged.copy();
+        }
+    }
+}
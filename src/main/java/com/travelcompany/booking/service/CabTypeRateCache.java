@@ -0,0 +1,182 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.travelcompany.booking.event.CabTypeChangedEvent;
+import com.travelcompany.booking.model.CabType;
+import com.travelcompany.booking.repository.CabTypeRepository;
+
+/**
+ * In-memory rate table for cab types
+ * Holds an immutable snapshot indexed by cab type name so fare quotes never query the database.
+ * The snapshot is loaded at startup and reloaded atomically after any CabType save or delete commits.
+ * Names match exactly, as the repository's findByName did.
+ */
+@Component
+public class CabTypeRateCache implements StatsSource, SmartInitializingSingleton {
+
+    private final CabTypeRepository cabTypeRepository;
+
+    private volatile Snapshot snapshot;
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder reloads = new LongAdder();
+
+    @Autowired
+    public CabTypeRateCache(CabTypeRepository cabTypeRepository) {
+        this.cabTypeRepository = cabTypeRepository;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        reload();
+    }
+
+    /**
+     * Find the rate for a cab type, throwing when the cab type is unknown
+     */
+    public Rate getRate(String cabTypeName) {
+        return getRate(currentSnapshot(), cabTypeName);
+    }
+
+    /**
+     * Find the rate for a cab type in a previously obtained snapshot
+     */
+    public Rate getRate(Snapshot rates, String cabTypeName) {
+        Rate rate = cabTypeName == null ? null : rates.rates.get(cabTypeName);
+        if (rate == null) {
+            misses.increment();
+            throw new RuntimeException("Cab type not found: " + cabTypeName);
+        }
+        hits.increment();
+        return rate;
+    }
+
+    /**
+     * Get the current snapshot, loading it on first use
+     */
+    public Snapshot currentSnapshot() {
+        Snapshot current = snapshot;
+        if (current == null) {
+            synchronized (this) {
+                current = snapshot;
+                if (current == null) {
+                    current = reload();
+                }
+            }
+        }
+        return current;
+    }
+
+    /**
+     * Reload the whole rate table from the database
+     */
+    public synchronized Snapshot reload() {
+        List<CabType> cabTypes = cabTypeRepository.findAll();
+        Map<String, Rate> rates = new HashMap<>();
+        for (CabType cabType : cabTypes) {
+            Rate rate = Rate.of(cabType);
+            rates.put(rate.getName(), rate);
+        }
+        Snapshot loaded = new Snapshot(rates);
+        snapshot = loaded;
+        reloads.increment();
+        return loaded;
+    }
+
+    /**
+     * Reload once a cab type change has committed; the table is small and rarely written
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCabTypeChanged(CabTypeChangedEvent event) {
+        reload();
+    }
+
+    @Override
+    public String name() {
+        return "fare-rates";
+    }
+
+    /**
+     * Get cache statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Snapshot current = snapshot;
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("hits", hits.sum());
+        stats.put("misses", misses.sum());
+        stats.put("reloads", reloads.sum());
+        stats.put("cabTypes", current == null ? 0 : current.rates.size());
+        stats.put("loadedAt", current == null ? null : current.loadedAt);
+        return stats;
+    }
+
+    /**
+     * Immutable view of every cab type rate at one point in time
+     */
+    public static final class Snapshot {
+        private final Map<String, Rate> rates;
+        private final LocalDateTime loadedAt;
+
+        private Snapshot(Map<String, Rate> rates) {
+            this.rates = Map.copyOf(rates);
+            this.loadedAt = LocalDateTime.now();
+        }
+
+        public List<Rate> getRates() {
+            return List.copyOf(rates.values());
+        }
+
+        public LocalDateTime getLoadedAt() { return loadedAt; }
+    }
+
+    /**
+     * Immutable pricing data for a single cab type
+     */
+    public static final class Rate {
+        private final Long id;
+        private final String name;
+        private final BigDecimal baseFare;
+        private final BigDecimal perKmRate;
+        private final long baseFareCents;
+        private final long perKmRateCents;
+
+        public Rate(Long id, String name, BigDecimal baseFare, BigDecimal perKmRate) {
+            this.id = id;
+            this.name = name;
+            this.baseFare = baseFare;
+            this.perKmRate = perKmRate;
+            this.baseFareCents = FareEngine.toHundredths(baseFare);
+            this.perKmRateCents = FareEngine.toHundredths(perKmRate);
+        }
+
+        static Rate of(CabType cabType) {
+            return new Rate(cabType.getId(), cabType.getName(), cabType.getBaseFare(), cabType.getPerKmRate());
+        }
+
+        public Long getId() { return id; }
+
+        public String getName() { return name; }
+
+        public BigDecimal getBaseFare() { return baseFare; }
+
+        public BigDecimal getPerKmRate() { return perKmRate; }
+
+        public long getBaseFareCents() { return baseFareCents; }
+
+        public long getPerKmRateCents() { return perKmRateCents; }
+    }
+}
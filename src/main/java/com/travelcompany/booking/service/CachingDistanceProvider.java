@@ -0,0 +1,167 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.BiFunction;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+
+/**
+ * Distance provider decorator adding a bounded route cache, per-call timeouts and a fallback estimate
+ * A slow or failing provider costs a caller at most the timeout; the simulated estimate is returned instead
+ * and is not cached, so the real distance is fetched again on the next request. Local providers are called
+ * directly on a miss, since handing a cheap lookup to a worker thread costs more than the lookup itself.
+ * The cache key is built by the given route key function, and the provider and the estimate are asked for the
+ * key's normalized locations, so every spelling of a route gets the distance of the first one that was cached.
+ */
+public class CachingDistanceProvider implements DistanceProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(CachingDistanceProvider.class);
+
+    private final DistanceProvider delegate;
+    private final BiFunction<String, String, RouteKey> routeKey;
+    private final BoundedTtlCache<RouteKey, Long> cache;
+    private final long timeoutMillis;
+    private final ThreadPoolExecutor executor;
+
+    private final LongAdder providerCalls = new LongAdder();
+    private final LongAdder providerNanos = new LongAdder();
+    private final AtomicLong providerMaxNanos = new AtomicLong();
+    private final LongAdder timeouts = new LongAdder();
+    private final LongAdder failures = new LongAdder();
+    private final LongAdder fallbacks = new LongAdder();
+
+    public CachingDistanceProvider(DistanceProvider delegate, BiFunction<String, String, RouteKey> routeKey,
+                                   BoundedTtlCache<RouteKey, Long> cache, long timeoutMillis, int threads, int queueSize) {
+        this.delegate = delegate;
+        this.routeKey = routeKey;
+        this.cache = cache;
+        this.timeoutMillis = timeoutMillis;
+        this.executor = delegate.isLocal() ? null : lookupExecutor(threads, queueSize);
+    }
+
+    @Override
+    public BigDecimal getDistanceKm(String pickupLocation, String destination) {
+        return FareEngine.fromHundredths(getDistanceHundredthsKm(pickupLocation, destination));
+    }
+
+    /**
+     * Get the route distance in hundredths of a km, cached so repeated quotes do not call the provider
+     */
+    @Override
+    public long getDistanceHundredthsKm(String pickupLocation, String destination) {
+        RouteKey key = routeKey.apply(pickupLocation, destination);
+        Long cached = cache.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        if (executor == null) {
+            return localLookup(key);
+        }
+        String pickup = key.getPickup();
+        String drop = key.getDestination();
+
+        Future<BigDecimal> lookup;
+        try {
+            lookup = executor.submit(() -> timedLookup(pickup, drop));
+        } catch (RejectedExecutionException e) {
+            log.warn("Distance provider queue full, using estimate for {}", key);
+            return fallback(pickup, drop);
+        }
+
+        try {
+            long distance = FareEngine.roundToHundredths(lookup.get(timeoutMillis, TimeUnit.MILLISECONDS));
+            cache.put(key, distance);
+            return distance;
+        } catch (TimeoutException e) {
+            lookup.cancel(true);
+            timeouts.increment();
+            log.warn("Distance provider timed out after {} ms for {}", timeoutMillis, key);
+        } catch (ExecutionException e) {
+            failures.increment();
+            log.warn("Distance provider failed for {}: {}", key, e.getCause().getMessage());
+        } catch (InterruptedException e) {
+            lookup.cancel(true);
+            Thread.currentThread().interrupt();
+        }
+        return fallback(pickup, drop);
+    }
+
+    private long localLookup(RouteKey key) {
+        String pickup = key.getPickup();
+        String drop = key.getDestination();
+        try {
+            long distance = FareEngine.roundToHundredths(timedLookup(pickup, drop));
+            cache.put(key, distance);
+            return distance;
+        } catch (RuntimeException e) {
+            failures.increment();
+            log.warn("Distance provider failed for {}: {}", key, e.getMessage());
+            return fallback(pickup, drop);
+        }
+    }
+
+    private BigDecimal timedLookup(String pickupLocation, String destination) {
+        long start = System.nanoTime();
+        try {
+            return delegate.getDistanceKm(pickupLocation, destination);
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            providerCalls.increment();
+            providerNanos.add(elapsed);
+            providerMaxNanos.accumulateAndGet(elapsed, Math::max);
+        }
+    }
+
+    private long fallback(String pickupLocation, String destination) {
+        fallbacks.increment();
+        return FareEngine.toHundredths(SimulatedDistanceProvider.estimate(pickupLocation, destination));
+    }
+
+    /**
+     * Get cache and provider statistics
+     */
+    public Map<String, Object> getStats() {
+        long calls = providerCalls.sum();
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("cache", cache.getStats());
+        stats.put("providerCalls", calls);
+        stats.put("providerLatencyAvgMs", calls == 0 ? 0.0 : providerNanos.sum() / (double) calls / 1_000_000);
+        stats.put("providerLatencyMaxMs", providerMaxNanos.get() / 1_000_000.0);
+        stats.put("timeouts", timeouts.sum());
+        stats.put("failures", failures.sum());
+        stats.put("fallbacks", fallbacks.sum());
+        stats.put("queuedLookups", executor == null ? 0 : executor.getQueue().size());
+        return stats;
+    }
+
+    public void shutdown() {
+        if (executor != null) {
+            executor.shutdownNow();
+        }
+    }
+
+    private static ThreadPoolExecutor lookupExecutor(int threads, int queueSize) {
+        AtomicInteger threadCount = new AtomicInteger();
+        return new ThreadPoolExecutor(threads, threads, 0L, TimeUnit.MILLISECONDS,
+            new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "distance-provider-" + threadCount.incrementAndGet());
+                thread.setDaemon(true);
+                return thread;
+            });
+    }
+}
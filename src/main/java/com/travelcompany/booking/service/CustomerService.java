@@ -1,10 +1,14 @@
 package com.travelcompany.booking.service;
 
 import com.travelcompany.booking.dto.CustomerRegistrationDto;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
 import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
 import com.travelcompany.booking.repository.CustomerRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import java.util.List;
 import java.util.Optional;
 
@@ -16,10 +20,22 @@ import java.util.Optional;
 public class CustomerService {
 
     private final CustomerRepository customerRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityNearCache entityNearCache;
+    private final DashboardCounters dashboardCounters;
+    private final BookingRollupService bookingRollupService;
+    private final ApplicationEventPublisher eventPublisher;
 
     @Autowired
-    public CustomerService(CustomerRepository customerRepository) {
+    public CustomerService(CustomerRepository customerRepository, BookingRepository bookingRepository,
+                           EntityNearCache entityNearCache, DashboardCounters dashboardCounters,
+                           BookingRollupService bookingRollupService, ApplicationEventPublisher eventPublisher) {
         this.customerRepository = customerRepository;
+        this.bookingRepository = bookingRepository;
+        this.entityNearCache = entityNearCache;
+        this.dashboardCounters = dashboardCounters;
+        this.bookingRollupService = bookingRollupService;
+        this.eventPublisher = eventPublisher;
     }
 
     /**
@@ -38,7 +54,9 @@ public class CustomerService {
             registrationDto.getAddress()
         );
 
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        dashboardCounters.customerRegistered();
+        return saved;
     }
 
     /**
@@ -52,18 +70,19 @@ public class CustomerService {
      * Find customer by ID
      */
     public Optional<Customer> findCustomerById(Long id) {
-        return customerRepository.findById(id);
+        return entityNearCache.findCustomer(id);
     }
 
     /**
      * Find customer by email
      */
     public Optional<Customer> findCustomerByEmail(String email) {
-        return customerRepository.findByEmail(email);
+        return entityNearCache.findCustomerByEmail(email);
     }
 
     /**
      * Update customer information
+     * Reads the customer from the database, never from the near-cache, because it is modified.
      */
     public Customer updateCustomer(Long id, CustomerRegistrationDto updateDto) {
         Customer customer = customerRepository.findById(id)
@@ -73,17 +92,25 @@ public class CustomerService {
         customer.setPhone(updateDto.getPhone());
         customer.setAddress(updateDto.getAddress());
 
-        return customerRepository.save(customer);
+        Customer saved = customerRepository.save(customer);
+        entityNearCache.customerChanged(id);
+        return saved;
     }
 
     /**
      * Delete customer
+     * The customer's bookings go with it, without booking events, so their ids and what they contributed
+     * to the dashboard counts and the hourly rollup are read first and taken out of each after commit.
      */
+    @Transactional
     public void deleteCustomer(Long id) {
-        if (!customerRepository.existsById(id)) {
-            throw new RuntimeException("Customer not found with id: " + id);
-        }
-        customerRepository.deleteById(id);
+        Customer customer = customerRepository.findById(id)
+            .orElseThrow(() -> new RuntimeException("Customer not found with id: " + id));
+        List<Long> bookingIds = bookingRepository.findIdsByCustomerId(id);
+        List<BookingRepository.RollupRowView> rollupRows = bookingRollupService.customerRows(id);
+        entityNearCache.customerDeleted(id, customer.getEmail());
+        customerRepository.delete(customer);
+        eventPublisher.publishEvent(new CustomerDeletedEvent(id, bookingIds, rollupRows));
     }
 
     /**
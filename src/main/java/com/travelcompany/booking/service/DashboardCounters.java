@@ -0,0 +1,213 @@
+package com.travelcompany.booking.service;
+
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+
+/**
+ * In-memory totals behind the admin dashboard, so reading it runs no queries
+ * Counts are seeded at startup from one GROUP BY per figure and kept current from booking create and
+ * status change events. They are rebuilt from the database periodically, which also corrects events
+ * that raced a rebuild. Recent bookings are counted per hour of creation, so the seven day window
+ * moves forward an hour at a time.
+ */
+@Component
+public class DashboardCounters implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(DashboardCounters.class);
+
+    private static final int RECENT_DAYS = 7;
+
+    private final BookingRepository bookingRepository;
+    private final CustomerRepository customerRepository;
+    private final Clock clock;
+
+    private volatile Counts counts = new Counts();
+
+    private final LongAdder reconciliations = new LongAdder();
+    private volatile long lastDrift;
+    private volatile LocalDateTime lastReconciledAt;
+
+    @Autowired
+    public DashboardCounters(BookingRepository bookingRepository, CustomerRepository customerRepository) {
+        this(bookingRepository, customerRepository, Clock.systemDefaultZone());
+    }
+
+    DashboardCounters(BookingRepository bookingRepository, CustomerRepository customerRepository, Clock clock) {
+        this.bookingRepository = bookingRepository;
+        this.customerRepository = customerRepository;
+        this.clock = clock;
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingCreatedEvent event) {
+        Counts current = counts;
+        for (Booking booking : event.getBookings()) {
+            current.byStatus.get(booking.getStatus()).increment();
+            if (booking.getCreatedDate() != null) {
+                current.hour(hourOf(booking.getCreatedDate())).increment();
+            }
+        }
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        Counts current = counts;
+        for (BookingStatusChangedEvent.Change change : event.getChanges()) {
+            current.byStatus.get(change.getFrom()).decrement();
+            current.byStatus.get(change.getTo()).increment();
+        }
+    }
+
+    /**
+     * Take a deleted customer and their bookings out of the counts once the delete has committed
+     * Hours that have left the recent window are no longer tracked and are skipped.
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerDeleted(CustomerDeletedEvent event) {
+        Counts current = counts;
+        current.customers.decrement();
+        for (BookingRepository.RollupRowView row : event.getBookings()) {
+            current.byStatus.get(row.getStatus()).add(-row.getBookings());
+            LongAdder hour = current.perHour.get(
+                hourOf(LocalDateTime.of(row.getYear(), row.getMonth(), row.getDay(), row.getHour(), 0)));
+            if (hour != null) {
+                hour.add(-row.getBookings());
+            }
+        }
+    }
+
+    /**
+     * Count a newly registered customer
+     */
+    public void customerRegistered() {
+        counts.customers.increment();
+    }
+
+    /**
+     * Get the dashboard figures
+     */
+    public Map<String, Object> getDashboardStats() {
+        Counts current = counts;
+        long oldestHour = hourOf(LocalDateTime.now(clock).minusDays(RECENT_DAYS));
+        current.perHour.headMap(oldestHour).clear();
+
+        long total = 0;
+        Map<Booking.BookingStatus, Long> byStatus = new EnumMap<>(Booking.BookingStatus.class);
+        for (Map.Entry<Booking.BookingStatus, LongAdder> entry : current.byStatus.entrySet()) {
+            long count = entry.getValue().sum();
+            byStatus.put(entry.getKey(), count);
+            total += count;
+        }
+        long recent = current.perHour.values().stream().mapToLong(LongAdder::sum).sum();
+
+        Map<String, Object> stats = new HashMap<>();
+        stats.put("totalCustomers", current.customers.sum());
+        stats.put("totalBookings", total);
+        stats.put("pendingBookings", byStatus.get(Booking.BookingStatus.PENDING));
+        stats.put("confirmedBookings", byStatus.get(Booking.BookingStatus.CONFIRMED));
+        stats.put("inProgressBookings", byStatus.get(Booking.BookingStatus.IN_PROGRESS));
+        stats.put("completedBookings", byStatus.get(Booking.BookingStatus.COMPLETED));
+        stats.put("cancelledBookings", byStatus.get(Booking.BookingStatus.CANCELLED));
+        stats.put("recentBookingsCount", recent);
+        return stats;
+    }
+
+    /**
+     * Rebuild every count from the database and swap it in
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${admin.dashboard.reconcile-interval-ms:300000}",
+               initialDelayString = "${admin.dashboard.reconcile-interval-ms:300000}")
+    public synchronized void reconcile() {
+        Counts rebuilt = new Counts();
+        for (BookingRepository.StatusCountView row : bookingRepository.countGroupedByStatus()) {
+            rebuilt.byStatus.get(row.getStatus()).add(row.getBookings());
+        }
+        LocalDateTime since = LocalDateTime.now(clock).minusDays(RECENT_DAYS).truncatedTo(ChronoUnit.HOURS);
+        for (BookingRepository.HourCountView row : bookingRepository.countCreatedPerHourSince(since)) {
+            LocalDateTime hour = LocalDateTime.of(row.getYear(), row.getMonth(), row.getDay(), row.getHour(), 0);
+            rebuilt.hour(hourOf(hour)).add(row.getBookings());
+        }
+        rebuilt.customers.add(customerRepository.countAllCustomers());
+
+        Counts previous = counts;
+        counts = rebuilt;
+
+        long drift = 0;
+        for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+            drift += Math.abs(previous.byStatus.get(status).sum() - rebuilt.byStatus.get(status).sum());
+        }
+        drift += Math.abs(previous.customers.sum() - rebuilt.customers.sum());
+        if (drift != 0 && lastReconciledAt != null) {
+            log.info("Dashboard counters were off by {} and have been reconciled", drift);
+        }
+        lastDrift = lastReconciledAt == null ? 0 : drift;
+        lastReconciledAt = LocalDateTime.now(clock);
+        reconciliations.increment();
+    }
+
+    @Override
+    public String name() {
+        return "dashboard";
+    }
+
+    /**
+     * Get reconciliation statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("reconciliations", reconciliations.sum());
+        stats.put("lastReconciledAt", lastReconciledAt);
+        stats.put("lastDrift", lastDrift);
+        stats.put("trackedHours", counts.perHour.size());
+        return stats;
+    }
+
+    private static long hourOf(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) / 3600;
+    }
+
+    /**
+     * One generation of counters; replaced as a whole on reconciliation
+     */
+    private static final class Counts {
+        private final Map<Booking.BookingStatus, LongAdder> byStatus = new EnumMap<>(Booking.BookingStatus.class);
+        private final ConcurrentSkipListMap<Long, LongAdder> perHour = new ConcurrentSkipListMap<>();
+        private final LongAdder customers = new LongAdder();
+
+        private Counts() {
+            for (Booking.BookingStatus status : Booking.BookingStatus.values()) {
+                byStatus.put(status, new LongAdder());
+            }
+        }
+
+        private LongAdder hour(long hour) {
+            return perHour.computeIfAbsent(hour, key -> new LongAdder());
+        }
+    }
+}
@@ -0,0 +1,70 @@
+package com.travelcompany.booking.service;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free sliding-window event counter
+ * The window is a ring of fixed-width buckets. Each slot packs the bucket number (high 40 bits)
+ * and its count (low 24 bits) into one long, so a stale slot is reset and incremented by a single
+ * CAS and concurrent writers never lose an increment.
+ */
+public class DemandWindow {
+
+    private static final int COUNT_BITS = 24;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+
+    private final long bucketMillis;
+    private final AtomicLongArray slots;
+
+    public DemandWindow(int buckets, long bucketMillis) {
+        if (buckets <= 0 || bucketMillis <= 0) {
+            throw new IllegalArgumentException("Window needs at least one bucket of positive width");
+        }
+        this.bucketMillis = bucketMillis;
+        this.slots = new AtomicLongArray(buckets);
+    }
+
+    /**
+     * Record one event at the given time
+     */
+    public void record(long nowMillis) {
+        long bucket = nowMillis / bucketMillis;
+        int index = (int) (bucket % slots.length());
+        while (true) {
+            long slot = slots.get(index);
+            long updated;
+            if ((slot >>> COUNT_BITS) == bucket) {
+                if ((slot & COUNT_MASK) == COUNT_MASK) {
+                    return; // Saturated; a bucket never realistically holds 16M events
+                }
+                updated = slot + 1;
+            } else {
+                updated = (bucket << COUNT_BITS) | 1;
+            }
+            if (slots.compareAndSet(index, slot, updated)) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Count the events recorded in the window ending at the given time
+     */
+    public long count(long nowMillis) {
+        long currentBucket = nowMillis / bucketMillis;
+        long oldestBucket = currentBucket - slots.length() + 1;
+        long total = 0;
+        for (int i = 0; i < slots.length(); i++) {
+            long slot = slots.get(i);
+            long bucket = slot >>> COUNT_BITS;
+            if (bucket >= oldestBucket && bucket <= currentBucket) {
+                total += slot & COUNT_MASK;
+            }
+        }
+        return total;
+    }
+
+    public long getWindowMillis() {
+        return bucketMillis * slots.length();
+    }
+}
@@ -0,0 +1,30 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+
+/**
+ * Source of road distances between two locations
+ * Implementations may be remote, so callers should go through the caching provider.
+ */
+public interface DistanceProvider {
+
+    /**
+     * Get the route distance in kilometres, scaled to two decimal places
+     */
+    BigDecimal getDistanceKm(String pickupLocation, String destination);
+
+    /**
+     * Get the route distance in hundredths of a kilometre for fixed-point fare arithmetic
+     * Finer fractions from the provider are rounded HALF_UP.
+     */
+    default long getDistanceHundredthsKm(String pickupLocation, String destination) {
+        return FareEngine.roundToHundredths(getDistanceKm(pickupLocation, destination));
+    }
+
+    /**
+     * Whether lookups are cheap in-process calls that need no timeout or worker thread
+     */
+    default boolean isLocal() {
+        return false;
+    }
+}
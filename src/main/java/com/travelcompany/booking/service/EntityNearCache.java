@@ -0,0 +1,306 @@
+package com.travelcompany.booking.service;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.travelcompany.booking.cache.NearCacheRegion;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.CacheVersion;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.CacheVersionRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+
+import jakarta.persistence.EntityManager;
+
+/**
+ * Per-node cache of customers by ID and email and of bookings (with their customer) by ID
+ * Cached entities are detached copies shared between requests and must not be modified.
+ * Writes drop the affected keys once their transaction commits and bump the version counter of each
+ * affected bucket in the cache_versions table; every node polls those counters and drops the buckets
+ * whose version moved, so other nodes serve stale entries for at most one poll interval.
+ */
+@Service
+public class EntityNearCache implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(EntityNearCache.class);
+
+    static final String CUSTOMERS = "customers";
+    static final String CUSTOMER_EMAILS = "customer-emails";
+    static final String BOOKINGS = "bookings";
+
+    private final CustomerRepository customerRepository;
+    private final BookingRepository bookingRepository;
+    private final CacheVersionRepository cacheVersionRepository;
+    private final EntityManager entityManager;
+
+    private final NearCacheRegion<Long, Customer> customers;
+    // Email to customer ID; emails never change, and a stale ID is detected on the lookup by ID
+    private final NearCacheRegion<String, Long> customerEmails;
+    private final NearCacheRegion<Long, Booking> bookings;
+    private final Map<String, NearCacheRegion<?, ?>> versionedRegions = new LinkedHashMap<>();
+
+    private final Map<String, Long> seenVersions = new ConcurrentHashMap<>();
+    private final LongAdder polls = new LongAdder();
+    private final LongAdder remoteFlushes = new LongAdder();
+    private final LongAdder publishFailures = new LongAdder();
+
+    @Autowired
+    public EntityNearCache(CustomerRepository customerRepository,
+                           BookingRepository bookingRepository,
+                           CacheVersionRepository cacheVersionRepository,
+                           EntityManager entityManager,
+                           @Value("${cache.near.buckets:64}") int buckets,
+                           @Value("${cache.near.ttl-seconds:300}") long ttlSeconds,
+                           @Value("${cache.near.customer-max-size:10000}") int customerMaxSize,
+                           @Value("${cache.near.booking-max-size:50000}") int bookingMaxSize) {
+        this.customerRepository = customerRepository;
+        this.bookingRepository = bookingRepository;
+        this.cacheVersionRepository = cacheVersionRepository;
+        this.entityManager = entityManager;
+        this.customers = new NearCacheRegion<>(CUSTOMERS, buckets, customerMaxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.customerEmails = new NearCacheRegion<>(CUSTOMER_EMAILS, buckets, customerMaxSize, ttlSeconds, TimeUnit.SECONDS);
+        this.bookings = new NearCacheRegion<>(BOOKINGS, buckets, bookingMaxSize, ttlSeconds, TimeUnit.SECONDS);
+        versionedRegions.put(CUSTOMERS, customers);
+        versionedRegions.put(BOOKINGS, bookings);
+    }
+
+    /**
+     * Find a customer by ID
+     */
+    public Optional<Customer> findCustomer(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(customers.get(id, key -> detach(customerRepository.findById(key).orElse(null))));
+    }
+
+    /**
+     * Find a customer by email
+     */
+    public Optional<Customer> findCustomerByEmail(String email) {
+        if (email == null) {
+            return Optional.empty();
+        }
+        Long id = customerEmails.get(email, key -> customerRepository.findByEmail(key)
+            .map(customer -> customers.get(customer.getId(), ignored -> detach(customer)).getId())
+            .orElse(null));
+        if (id == null) {
+            return Optional.empty();
+        }
+
+        Optional<Customer> customer = findCustomer(id).filter(found -> email.equals(found.getEmail()));
+        if (customer.isEmpty()) {
+            // The customer was deleted, possibly re-registered under a new ID
+            customerEmails.invalidate(email);
+            return customerRepository.findByEmail(email);
+        }
+        return customer;
+    }
+
+    /**
+     * Find a booking by ID, with its customer loaded
+     */
+    public Optional<Booking> findBooking(Long id) {
+        if (id == null) {
+            return Optional.empty();
+        }
+        return Optional.ofNullable(bookings.get(id, key -> {
+            Booking booking = bookingRepository.findWithCustomerById(key).orElse(null);
+            if (booking != null) {
+                detach(booking.getCustomer());
+            }
+            return detach(booking);
+        }));
+    }
+
+    /**
+     * Drop a changed customer, and the bookings that embed it, once the current transaction commits
+     * The customer's booking IDs are read now, so only their buckets are bumped on other nodes; call it
+     * before deleting the customer's bookings.
+     */
+    public void customerChanged(Long id) {
+        List<Long> bookingIds = bookingRepository.findIdsByCustomerId(id);
+        afterCommit(() -> {
+            Set<String> names = new LinkedHashSet<>();
+            customers.invalidate(id);
+            names.add(versionName(customers, customers.bucketOf(id)));
+            for (Long bookingId : bookingIds) {
+                bookings.invalidate(bookingId);
+                names.add(versionName(bookings, bookings.bucketOf(bookingId)));
+            }
+            publish(names);
+        });
+    }
+
+    /**
+     * Drop a deleted customer and their bookings once the current transaction commits
+     * Must be called in the deleting transaction, before the delete.
+     */
+    public void customerDeleted(Long id, String email) {
+        if (email != null) {
+            afterCommit(() -> customerEmails.invalidate(email));
+        }
+        customerChanged(id);
+    }
+
+    /**
+     * Drop changed bookings once the current transaction commits
+     */
+    public void bookingsChanged(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return;
+        }
+        List<Long> changed = List.copyOf(ids);
+        afterCommit(() -> {
+            Set<String> names = new LinkedHashSet<>();
+            for (Long id : changed) {
+                bookings.invalidate(id);
+                names.add(versionName(bookings, bookings.bucketOf(id)));
+            }
+            publish(names);
+        });
+    }
+
+    /**
+     * Create missing version counters and take the current versions as the baseline
+     * Nodes starting together may race to insert the same counter; the loser just skips it.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void registerVersions() {
+        List<String> names = new ArrayList<>();
+        versionedRegions.values().forEach(region -> names.addAll(versionNames(region)));
+        Set<String> existing = new LinkedHashSet<>();
+        cacheVersionRepository.findAllById(names).forEach(version -> existing.add(version.getName()));
+        for (String name : names) {
+            if (!existing.contains(name)) {
+                try {
+                    cacheVersionRepository.saveAndFlush(new CacheVersion(name));
+                } catch (DataIntegrityViolationException e) {
+                    log.debug("Cache version {} was created by another node", name);
+                }
+            }
+        }
+        pollVersions();
+    }
+
+    /**
+     * Drop the buckets whose version was bumped since the last poll
+     */
+    @Scheduled(fixedDelayString = "${cache.near.poll-interval-ms:1000}")
+    public void pollVersions() {
+        List<CacheVersion> versions;
+        try {
+            versions = cacheVersionRepository.findAll();
+        } catch (RuntimeException e) {
+            log.warn("Could not poll near-cache versions: {}", e.getMessage());
+            return;
+        }
+        for (CacheVersion version : versions) {
+            Long previous = seenVersions.put(version.getName(), version.getVersion());
+            if (previous != null && previous != version.getVersion()) {
+                flush(version.getName());
+            }
+        }
+        polls.increment();
+    }
+
+    @Override
+    public String name() {
+        return "near-cache";
+    }
+
+    /**
+     * Get hit ratios and invalidation counters per region
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put(CUSTOMERS, customers.getStats());
+        stats.put(CUSTOMER_EMAILS, customerEmails.getStats());
+        stats.put(BOOKINGS, bookings.getStats());
+        stats.put("versionPolls", polls.sum());
+        stats.put("remoteBucketFlushes", remoteFlushes.sum());
+        stats.put("versionPublishFailures", publishFailures.sum());
+        return stats;
+    }
+
+    private void flush(String versionName) {
+        int separator = versionName.lastIndexOf(':');
+        NearCacheRegion<?, ?> region = separator < 0 ? null : versionedRegions.get(versionName.substring(0, separator));
+        if (region == null) {
+            return;
+        }
+        int bucket = Integer.parseInt(versionName.substring(separator + 1));
+        if (bucket < region.getBucketCount()) {
+            region.invalidateBucket(bucket);
+        } else {
+            // Another node runs with a different bucket count
+            region.invalidateAll();
+        }
+        remoteFlushes.increment();
+    }
+
+    private void publish(Collection<String> names) {
+        try {
+            cacheVersionRepository.bump(names);
+        } catch (RuntimeException e) {
+            // Other nodes catch up when their entries expire
+            publishFailures.increment();
+            log.warn("Could not publish near-cache invalidation of {}: {}", names, e.getMessage());
+        }
+    }
+
+    private <T> T detach(T entity) {
+        if (entity != null && entityManager.contains(entity)) {
+            entityManager.detach(entity);
+        }
+        return entity;
+    }
+
+    private static List<String> versionNames(NearCacheRegion<?, ?> region) {
+        List<String> names = new ArrayList<>(region.getBucketCount());
+        for (int bucket = 0; bucket < region.getBucketCount(); bucket++) {
+            names.add(versionName(region, bucket));
+        }
+        return names;
+    }
+
+    private static String versionName(NearCacheRegion<?, ?> region, int bucket) {
+        return region.getName() + ":" + bucket;
+    }
+
+    private static void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+}
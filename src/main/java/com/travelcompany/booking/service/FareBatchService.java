@@ -0,0 +1,93 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import com.travelcompany.booking.dto.FareQuoteRequestDto;
+import com.travelcompany.booking.dto.FareQuoteResultDto;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Service class for batch fare quotes
+ * Prices many trips against one rate snapshot, in parallel for large batches
+ */
+@Service
+public class FareBatchService {
+
+    private final FareCalculatorService fareCalculatorService;
+    private final CabTypeRateCache cabTypeRateCache;
+    private final ForkJoinPool pricingPool;
+    private final int maxBatchSize;
+    private final int parallelThreshold;
+
+    @Autowired
+    public FareBatchService(FareCalculatorService fareCalculatorService,
+                            CabTypeRateCache cabTypeRateCache,
+                            @Value("${fare.batch.max-size:5000}") int maxBatchSize,
+                            @Value("${fare.batch.parallel-threshold:256}") int parallelThreshold,
+                            @Value("${fare.batch.parallelism:4}") int parallelism) {
+        this.fareCalculatorService = fareCalculatorService;
+        this.cabTypeRateCache = cabTypeRateCache;
+        this.maxBatchSize = maxBatchSize;
+        this.parallelThreshold = parallelThreshold;
+        this.pricingPool = new ForkJoinPool(parallelism);
+    }
+
+    /**
+     * Price every trip in a batch
+     * Results keep the request order; a failing trip is reported on its own row.
+     */
+    public List<FareQuoteResultDto> calculateFares(List<FareQuoteRequestDto> trips) {
+        if (trips.size() > maxBatchSize) {
+            throw new IllegalArgumentException("Batch size " + trips.size() + " exceeds limit of " + maxBatchSize);
+        }
+
+        CabTypeRateCache.Snapshot rates = cabTypeRateCache.currentSnapshot();
+
+        if (trips.size() < parallelThreshold) {
+            List<FareQuoteResultDto> results = new ArrayList<>(trips.size());
+            for (int i = 0; i < trips.size(); i++) {
+                results.add(price(rates, i, trips.get(i)));
+            }
+            return results;
+        }
+
+        // Parallel streams run in the pool that submits them, which keeps batch work off the common pool
+        return pricingPool.submit(() -> IntStream.range(0, trips.size())
+                .parallel()
+                .mapToObj(i -> price(rates, i, trips.get(i)))
+                .toList())
+            .join();
+    }
+
+    private FareQuoteResultDto price(CabTypeRateCache.Snapshot rates, int index, FareQuoteRequestDto trip) {
+        if (trip == null || isBlank(trip.getPickupLocation()) || isBlank(trip.getDestination())
+                || isBlank(trip.getCabType())) {
+            return FareQuoteResultDto.failed(index, trip, "Pickup location, destination and cab type are required");
+        }
+        try {
+            BigDecimal fare = fareCalculatorService.calculateFare(
+                rates, trip.getPickupLocation(), trip.getDestination(), trip.getCabType());
+            return FareQuoteResultDto.priced(index, trip, fare);
+        } catch (RuntimeException e) {
+            return FareQuoteResultDto.failed(index, trip, e.getMessage());
+        }
+    }
+
+    private static boolean isBlank(String value) {
+        return value == null || value.isBlank();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pricingPool.shutdown();
+    }
+}
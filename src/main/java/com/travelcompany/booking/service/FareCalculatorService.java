@@ -1,14 +1,15 @@
 package com.travelcompany.booking.service;
 
 import java.math.BigDecimal;
-import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
 import com.travelcompany.booking.dto.FareCalculationDto;
-import com.travelcompany.booking.model.CabType;
-import com.travelcompany.booking.repository.CabTypeRepository;
+import com.travelcompany.booking.dto.FareMatrixDto;
 
 /**
  * Service class for Fare calculation
@@ -17,91 +18,112 @@ import com.travelcompany.booking.repository.CabTypeRepository;
 @Service
 public class FareCalculatorService {
 
-    private final CabTypeRepository cabTypeRepository;
+    private final CabTypeRateCache cabTypeRateCache;
+    private final DistanceProvider distanceProvider;
+    private final SurgePricingService surgePricingService;
 
     @Autowired
-    public FareCalculatorService(CabTypeRepository cabTypeRepository) {
-        this.cabTypeRepository = cabTypeRepository;
+    public FareCalculatorService(CabTypeRateCache cabTypeRateCache, DistanceProvider distanceProvider,
+                                 SurgePricingService surgePricingService) {
+        this.cabTypeRateCache = cabTypeRateCache;
+        this.distanceProvider = distanceProvider;
+        this.surgePricingService = surgePricingService;
     }
 
     /**
      * Calculate fare for a trip
      */
     public BigDecimal calculateFare(String pickupLocation, String destination, String cabTypeName) {
-        // Find cab type
-        CabType cabType = cabTypeRepository.findByName(cabTypeName)
-            .orElseThrow(() -> new RuntimeException("Cab type not found: " + cabTypeName));
+        return calculateFare(cabTypeRateCache.currentSnapshot(), pickupLocation, destination, cabTypeName);
+    }
 
-        // Simulate distance calculation (in real app, use maps API)
-        BigDecimal distanceKm = simulateDistance(pickupLocation, destination);
+    /**
+     * Calculate fare for a trip against an already resolved rate snapshot
+     * Used by batch pricing so every trip in a batch sees the same rates.
+     */
+    public BigDecimal calculateFare(CabTypeRateCache.Snapshot rates, String pickupLocation,
+                                    String destination, String cabTypeName) {
+        // Find cab type rates in the in-memory snapshot
+        CabTypeRateCache.Rate rate = cabTypeRateCache.getRate(rates, cabTypeName);
 
-        // Calculate fare components
-        BigDecimal baseFare = cabType.getBaseFare();
-        BigDecimal distanceFare = distanceKm.multiply(cabType.getPerKmRate());
-        BigDecimal timeFare = calculateTimeFare(); // Surge pricing based on time
+        // Look up route distance (cached, with fallback estimate)
+        long distance = lookupDistance(pickupLocation, destination);
 
-        BigDecimal totalFare = baseFare.add(distanceFare).add(timeFare);
+        // Calculate fare components in minor units
+        long distanceFare = FareEngine.distanceFare(distance, rate.getPerKmRateCents());
+        long timeFare = calculateSurgeFareCents(rate, distanceFare); // Demand-driven surge pricing
 
-        return totalFare.setScale(2, RoundingMode.HALF_UP);
+        return FareEngine.fromHundredths(FareEngine.totalFareCents(rate.getBaseFareCents(), distanceFare, timeFare));
     }
 
     /**
      * Calculate detailed fare breakdown
      */
     public FareCalculationDto calculateDetailedFare(String pickupLocation, String destination, String cabTypeName) {
-        CabType cabType = cabTypeRepository.findByName(cabTypeName)
-            .orElseThrow(() -> new RuntimeException("Cab type not found: " + cabTypeName));
+        CabTypeRateCache.Rate rate = cabTypeRateCache.getRate(cabTypeName);
 
-        BigDecimal distanceKm = simulateDistance(pickupLocation, destination);
+        long distance = lookupDistance(pickupLocation, destination);
 
-        FareCalculationDto fareDto = new FareCalculationDto(pickupLocation, destination, cabTypeName, distanceKm);
+        return buildBreakdown(rate, pickupLocation, destination, cabTypeName, distance);
+    }
 
-        fareDto.setBaseFare(cabType.getBaseFare());
-        fareDto.setDistanceFare(distanceKm.multiply(cabType.getPerKmRate()));
-        fareDto.setTimeFare(calculateTimeFare());
+    /**
+     * Calculate the fare breakdown of a trip for every cab type
+     * Distance and trip time are computed once and shared by all cab types.
+     */
+    public FareMatrixDto calculateFareMatrix(String pickupLocation, String destination) {
+        CabTypeRateCache.Snapshot rates = cabTypeRateCache.currentSnapshot();
 
-        BigDecimal totalFare = fareDto.getBaseFare()
-            .add(fareDto.getDistanceFare())
-            .add(fareDto.getTimeFare());
+        long distance = lookupDistance(pickupLocation, destination);
 
-        fareDto.setTotalFare(totalFare.setScale(2, RoundingMode.HALF_UP));
+        List<FareCalculationDto> fares = new ArrayList<>();
+        for (CabTypeRateCache.Rate rate : rates.getRates()) {
+            fares.add(buildBreakdown(rate, pickupLocation, destination, rate.getName(), distance));
+        }
+        fares.sort(Comparator.comparing(FareCalculationDto::getTotalFare));
+
+        FareMatrixDto matrix = new FareMatrixDto(pickupLocation, destination, FareEngine.fromHundredths(distance));
+        matrix.setEstimatedTripMinutes(FareEngine.estimatedTripMinutes(distance));
+        matrix.setFares(fares);
+        return matrix;
+    }
+
+    private FareCalculationDto buildBreakdown(CabTypeRateCache.Rate rate, String pickupLocation, String destination,
+                                              String cabTypeName, long distance) {
+        long distanceFare = FareEngine.distanceFare(distance, rate.getPerKmRateCents());
+        long timeFare = calculateSurgeFareCents(rate, distanceFare);
+        long totalFare = FareEngine.totalFareCents(rate.getBaseFareCents(), distanceFare, timeFare);
+
+        FareCalculationDto fareDto = new FareCalculationDto(pickupLocation, destination, cabTypeName,
+            FareEngine.fromHundredths(distance));
+
+        fareDto.setBaseFare(FareEngine.fromHundredths(rate.getBaseFareCents()));
+        fareDto.setDistanceFare(FareEngine.fromDistanceFare(distanceFare));
+        fareDto.setTimeFare(FareEngine.fromHundredths(timeFare));
+        fareDto.setTotalFare(FareEngine.fromHundredths(totalFare));
 
         return fareDto;
     }
 
     /**
-     * Simulate distance calculation
-     * In real application, integrate with Google Maps API or similar service
+     * Get the route distance in hundredths of a km from the configured distance provider
      */
-    private BigDecimal simulateDistance(String pickup, String destination) {
-        // Simple simulation based on string hash (for demo purposes)
-        int hash = Math.abs((pickup + destination).hashCode());
-        double distance = 2.0 + (hash % 20); // Distance between 2-22 km
-        return BigDecimal.valueOf(distance).setScale(2, RoundingMode.HALF_UP);
+    private long lookupDistance(String pickup, String destination) {
+        return distanceProvider.getDistanceHundredthsKm(pickup, destination);
     }
 
     /**
-     * Calculate time-based fare (surge pricing)
+     * Calculate the surge fare in cents from the current demand multiplier of the cab type
      */
-    private BigDecimal calculateTimeFare() {
-        // Simple surge pricing simulation
-        java.time.LocalTime now = java.time.LocalTime.now();
-        int hour = now.getHour();
-
-        // Peak hours: 7-9 AM and 6-8 PM
-        if ((hour >= 7 && hour <= 9) || (hour >= 18 && hour <= 20)) {
-            return BigDecimal.valueOf(5.00); // Surge pricing
-        } else {
-            return BigDecimal.ZERO; // No surge pricing
-        }
+    private long calculateSurgeFareCents(CabTypeRateCache.Rate rate, long distanceFare) {
+        long multiplier = surgePricingService.getMultiplierBasisPoints(rate.getName());
+        return FareEngine.surgeFareCents(rate.getBaseFareCents(), distanceFare, multiplier);
     }
 
     /**
      * Get estimated time for trip
      */
     public int getEstimatedTripTime(String pickupLocation, String destination) {
-        BigDecimal distance = simulateDistance(pickupLocation, destination);
-        // Assume average speed of 30 km/h in city
-        return distance.multiply(BigDecimal.valueOf(2)).intValue(); // minutes
+        return FareEngine.estimatedTripMinutes(lookupDistance(pickupLocation, destination));
     }
-}
\ No newline at end of file
+}
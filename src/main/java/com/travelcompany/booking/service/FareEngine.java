@@ -0,0 +1,91 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Fixed-point fare arithmetic in long minor units
+ * Money is held in cents, distances in hundredths of a kilometre and the distance fare in
+ * ten-thousandths of the currency unit (cents times hundredths of a km), so every intermediate
+ * value is exact. The only rounding is HALF_UP from ten-thousandths to cents on the total,
+ * which matches BigDecimal.setScale(2, RoundingMode.HALF_UP) on the old BigDecimal formula.
+ * Nothing here allocates; conversion to BigDecimal happens only at the DTO and entity boundary.
+ */
+public final class FareEngine {
+
+    /** Scale of amounts in cents and distances in hundredths of a kilometre */
+    public static final int MINOR_SCALE = 2;
+
+    /** Scale of the unrounded distance fare */
+    public static final int DISTANCE_FARE_SCALE = 4;
+
+    private FareEngine() {}
+
+    /**
+     * Distance fare in ten-thousandths: hundredths of a km times cents per km
+     */
+    public static long distanceFare(long distanceHundredthsKm, long perKmRateCents) {
+        return Math.multiplyExact(distanceHundredthsKm, perKmRateCents);
+    }
+
+    /**
+     * Total fare in cents, rounding the distance fare HALF_UP once
+     */
+    public static long totalFareCents(long baseFareCents, long distanceFare, long timeFareCents) {
+        long exactTotal = Math.addExact(Math.addExact(Math.multiplyExact(baseFareCents, 100L), distanceFare),
+            Math.multiplyExact(timeFareCents, 100L));
+        if (exactTotal < 0) {
+            throw new IllegalArgumentException("Fare cannot be negative");
+        }
+        return (exactTotal + 50L) / 100L;
+    }
+
+    /**
+     * Surge fare in cents for a multiplier in basis points applied to the base and distance fare
+     * The surcharge is rounded HALF_UP to cents on its own so it can be shown as a separate line.
+     */
+    public static long surgeFareCents(long baseFareCents, long distanceFare, long multiplierBasisPoints) {
+        long extraBasisPoints = multiplierBasisPoints - 10_000L;
+        if (extraBasisPoints <= 0) {
+            return 0L;
+        }
+        long fareBeforeSurge = Math.addExact(Math.multiplyExact(baseFareCents, 100L), distanceFare);
+        return (Math.multiplyExact(fareBeforeSurge, extraBasisPoints) + 500_000L) / 1_000_000L;
+    }
+
+    /**
+     * Estimated trip time in whole minutes at an average of 30 km/h, truncated
+     */
+    public static int estimatedTripMinutes(long distanceHundredthsKm) {
+        return Math.toIntExact(Math.multiplyExact(distanceHundredthsKm, 2L) / 100L);
+    }
+
+    /**
+     * Convert an amount or distance that has at most two decimal places to hundredths
+     * Throws ArithmeticException instead of rounding away a finer fraction.
+     */
+    public static long toHundredths(BigDecimal value) {
+        return value.setScale(MINOR_SCALE, RoundingMode.UNNECESSARY).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Round a distance from a routing source to hundredths of a km, HALF_UP
+     */
+    public static long roundToHundredths(BigDecimal value) {
+        return value.setScale(MINOR_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    /**
+     * Convert cents or hundredths of a km back to a BigDecimal with two decimal places
+     */
+    public static BigDecimal fromHundredths(long value) {
+        return BigDecimal.valueOf(value, MINOR_SCALE);
+    }
+
+    /**
+     * Convert an unrounded distance fare back to a BigDecimal with four decimal places
+     */
+    public static BigDecimal fromDistanceFare(long distanceFare) {
+        return BigDecimal.valueOf(distanceFare, DISTANCE_FARE_SCALE);
+    }
+}
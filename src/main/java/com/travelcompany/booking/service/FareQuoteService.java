@@ -0,0 +1,177 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.security.SecureRandom;
+import java.time.Instant;
+import java.util.Base64;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+
+/**
+ * Service class for price-locked fare quotes
+ * Each quoted fare gets a short-lived, random 128-bit quote ID held in an expiring in-memory store.
+ * Booking creation redeems the ID instead of pricing the trip again; expired, unknown or
+ * mismatching quotes are rejected so the caller falls back to a fresh calculation.
+ */
+@Service
+public class FareQuoteService implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(FareQuoteService.class);
+    private static final int QUOTE_ID_BYTES = 16;
+
+    private final SecureRandom random = new SecureRandom();
+    private final Base64.Encoder encoder = Base64.getUrlEncoder().withoutPadding();
+    private final long ttlSeconds;
+    private final BoundedTtlCache<String, Quote> quotes;
+
+    private final LongAdder issued = new LongAdder();
+    private final LongAdder redeemed = new LongAdder();
+    private final LongAdder rejected = new LongAdder();
+    private final LongAdder restored = new LongAdder();
+
+    @Autowired
+    public FareQuoteService(@Value("${fare.quote.ttl-seconds:300}") long ttlSeconds,
+                            @Value("${fare.quote.max-quotes:100000}") int maxQuotes) {
+        this.ttlSeconds = ttlSeconds;
+        this.quotes = new BoundedTtlCache<>(maxQuotes, ttlSeconds, TimeUnit.SECONDS);
+    }
+
+    /**
+     * Issue a quote for a priced trip
+     */
+    public Quote issueQuote(String pickupLocation, String destination, String cabType, BigDecimal totalFare) {
+        byte[] idBytes = new byte[QUOTE_ID_BYTES];
+        random.nextBytes(idBytes);
+        String quoteId = encoder.encodeToString(idBytes);
+
+        Quote quote = new Quote(quoteId, pickupLocation, destination, cabType, totalFare,
+            Instant.now().plusSeconds(ttlSeconds));
+        quotes.put(quoteId, quote);
+        issued.increment();
+        return quote;
+    }
+
+    /**
+     * Redeem a quote for the given trip, consuming it
+     * Returns the locked fare, or empty when the quote is expired, unknown, already redeemed or for a
+     * different trip. A rejected request leaves the quote in place so a corrected retry can still use it,
+     * and a quote redeemed inside a transaction is given back if that transaction does not commit.
+     */
+    public Optional<BigDecimal> redeemQuote(String quoteId, String pickupLocation, String destination, String cabType) {
+        if (quoteId == null || quoteId.isBlank()) {
+            return Optional.empty();
+        }
+        Quote quote = quotes.get(quoteId);
+        if (quote == null) {
+            return reject("unknown or expired");
+        }
+        if (!quote.getExpiresAt().isAfter(Instant.now())) {
+            return reject("expired");
+        }
+        if (!quote.matches(pickupLocation, destination, cabType)) {
+            return reject("trip mismatch");
+        }
+        if (!quotes.remove(quoteId, quote)) {
+            return reject("already redeemed");
+        }
+        redeemed.increment();
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status != STATUS_COMMITTED) {
+                        restore(quote);
+                    }
+                }
+            });
+        }
+        return Optional.of(quote.getTotalFare());
+    }
+
+    @Override
+    public String name() {
+        return "fare-quotes";
+    }
+
+    /**
+     * Get quote store statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        stats.put("issued", issued.sum());
+        stats.put("redeemed", redeemed.sum());
+        stats.put("rejected", rejected.sum());
+        stats.put("restored", restored.sum());
+        stats.put("store", quotes.getStats());
+        return stats;
+    }
+
+    private void restore(Quote quote) {
+        quotes.putIfAbsent(quote.getQuoteId(), quote);
+        redeemed.decrement();
+        restored.increment();
+    }
+
+    private Optional<BigDecimal> reject(String reason) {
+        rejected.increment();
+        log.debug("Fare quote rejected: {}", reason);
+        return Optional.empty();
+    }
+
+    /**
+     * A fare locked for one trip until it expires
+     */
+    public static final class Quote {
+        private final String quoteId;
+        private final String pickupLocation;
+        private final String destination;
+        private final String cabType;
+        private final BigDecimal totalFare;
+        private final Instant expiresAt;
+
+        private Quote(String quoteId, String pickupLocation, String destination, String cabType,
+                      BigDecimal totalFare, Instant expiresAt) {
+            this.quoteId = quoteId;
+            this.pickupLocation = pickupLocation;
+            this.destination = destination;
+            this.cabType = cabType;
+            this.totalFare = totalFare;
+            this.expiresAt = expiresAt;
+        }
+
+        /**
+         * Locations match ignoring case and surrounding whitespace; the cab type must be the exact name it was
+         * quoted for, since the booking stores the requested name as given
+         */
+        private boolean matches(String pickup, String dest, String cab) {
+            return normalize(pickupLocation).equals(normalize(pickup))
+                && normalize(destination).equals(normalize(dest))
+                && cabType.equals(cab);
+        }
+
+        private static String normalize(String value) {
+            return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+        }
+
+        public String getQuoteId() { return quoteId; }
+
+        public BigDecimal getTotalFare() { return totalFare; }
+
+        public Instant getExpiresAt() { return expiresAt; }
+    }
+}
@@ -0,0 +1,82 @@
+package com.travelcompany.booking.service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.core.io.Resource;
+
+/**
+ * Local stand-in for a routing service backed by a CSV file of known routes
+ * Each line holds pickup,destination,distanceKm; routes missing from the file use the simulated estimate.
+ * Distances are held in hundredths of a km under prebuilt route keys, so a known route is answered
+ * without allocating.
+ */
+public class FileDistanceProvider implements DistanceProvider {
+
+    private static final Logger log = LoggerFactory.getLogger(FileDistanceProvider.class);
+
+    private final Map<RouteKey, Long> routes;
+
+    public FileDistanceProvider(Resource routeFile) {
+        this.routes = load(routeFile);
+    }
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public BigDecimal getDistanceKm(String pickupLocation, String destination) {
+        return FareEngine.fromHundredths(getDistanceHundredthsKm(pickupLocation, destination));
+    }
+
+    @Override
+    public long getDistanceHundredthsKm(String pickupLocation, String destination) {
+        RouteKey key = new RouteKey(pickupLocation, destination);
+        Long distance = routes.get(key);
+        if (distance != null) {
+            return distance;
+        }
+        return FareEngine.toHundredths(SimulatedDistanceProvider.estimate(key.getPickup(), key.getDestination()));
+    }
+
+    private static Map<RouteKey, Long> load(Resource routeFile) {
+        Map<RouteKey, Long> routes = new HashMap<>();
+        if (routeFile == null || !routeFile.exists()) {
+            log.warn("Route file not found, using simulated distances only");
+            return routes;
+        }
+        try (BufferedReader reader = new BufferedReader(
+                new InputStreamReader(routeFile.getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (line.isBlank() || line.startsWith("#")) {
+                    continue;
+                }
+                String[] columns = line.split(",");
+                if (columns.length != 3) {
+                    log.warn("Skipping malformed route line: {}", line);
+                    continue;
+                }
+                try {
+                    long distance = FareEngine.roundToHundredths(new BigDecimal(columns[2].trim()));
+                    routes.put(new RouteKey(columns[0], columns[1]), distance);
+                } catch (NumberFormatException e) {
+                    log.warn("Skipping route with invalid distance: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to read route file " + routeFile, e);
+        }
+        log.info("Loaded {} routes from {}", routes.size(), routeFile);
+        return Map.copyOf(routes);
+    }
+}
@@ -0,0 +1,470 @@
+package com.travelcompany.booking.service;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+
+/**
+ * In-process inverted trigram index over booking pickup locations and destinations
+ * Every lower-cased location is split into overlapping 3-character grams; a search intersects the
+ * posting lists of the query's grams (smallest first) and verifies the few remaining candidates,
+ * so no booking row is read. Built once at startup, extended as this node creates bookings and
+ * caught up periodically from the table for bookings created by other nodes. Bookings deleted with their
+ * customer are dropped on this node's delete and, less often, by comparing the index with the table.
+ * Queries shorter than one gram cannot use the postings and are left to the database, as are searches
+ * before the first build.
+ */
+@Service
+public class LocationSearchIndex implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(LocationSearchIndex.class);
+
+    private static final int GRAM = 3;
+    private static final int CATCH_UP_BATCH = 1000;
+
+    private final BookingRepository bookingRepository;
+    private final int maxPageSize;
+    private final Duration catchUpOverlap;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<Long, String[]> documents = new HashMap<>();
+    private final Map<Integer, Postings> postings = new HashMap<>();
+    private volatile boolean ready;
+    // Latest creation time read from the table by a catch-up, or when the startup load began
+    private volatile LocalDateTime scannedUntil;
+
+    private final LongAdder searches = new LongAdder();
+    private final LongAdder searchNanos = new LongAdder();
+    private final LongAdder candidatesVerified = new LongAdder();
+    private final LongAdder caughtUp = new LongAdder();
+    private final LongAdder evicted = new LongAdder();
+
+    @Autowired
+    public LocationSearchIndex(BookingRepository bookingRepository,
+                               @Value("${booking.search.max-page-size:500}") int maxPageSize,
+                               @Value("${booking.search.catch-up-overlap-seconds:120}") long catchUpOverlapSeconds) {
+        this.bookingRepository = bookingRepository;
+        this.maxPageSize = maxPageSize;
+        this.catchUpOverlap = Duration.ofSeconds(catchUpOverlapSeconds);
+    }
+
+    /**
+     * Load every booking location once the application has started
+     * Adds are idempotent, so bookings created while loading are not lost or duplicated.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void rebuild() {
+        long started = System.nanoTime();
+        LocalDateTime loadStarted = LocalDateTime.now();
+        try (Stream<BookingRepository.BookingLocationView> rows = bookingRepository.streamAllLocations()) {
+            rows.forEach(row -> add(row.getId(), row.getPickupLocation(), row.getDestination()));
+        }
+        scannedUntil = loadStarted;
+        ready = true;
+        log.info("Location index built with {} bookings in {} ms", size(), (System.nanoTime() - started) / 1_000_000);
+    }
+
+    /**
+     * Index bookings once their insert has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingCreatedEvent event) {
+        for (Booking booking : event.getBookings()) {
+            add(booking.getId(), booking.getPickupLocation(), booking.getDestination());
+        }
+    }
+
+    /**
+     * Drop a deleted customer's bookings once the delete has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onCustomerDeleted(CustomerDeletedEvent event) {
+        evicted.add(removeAll(event.getBookingIds()));
+    }
+
+    /**
+     * Index bookings other nodes created since the last load, reading forward by creation time
+     * The scan restarts an overlap window before the latest creation time read: booking ids come from
+     * blocks pooled per node and a booking only becomes visible at commit, so neither ids nor creation
+     * times arrive in order. The window must cover the longest create transaction plus the clock skew
+     * between nodes; re-adds are no-ops.
+     */
+    @Scheduled(fixedDelayString = "${booking.search.catch-up-interval-ms:10000}",
+               initialDelayString = "${booking.search.catch-up-interval-ms:10000}")
+    public void catchUp() {
+        if (!ready) {
+            return;
+        }
+        LocalDateTime since = scannedUntil.minus(catchUpOverlap);
+        long afterId = 0;
+        List<BookingRepository.BookingLocationView> rows;
+        do {
+            rows = bookingRepository.findLocationsCreatedSince(since, afterId, PageRequest.of(0, CATCH_UP_BATCH));
+            for (BookingRepository.BookingLocationView row : rows) {
+                if (add(row.getId(), row.getPickupLocation(), row.getDestination())) {
+                    caughtUp.increment();
+                }
+                since = row.getCreatedDate();
+                afterId = row.getId();
+            }
+        } while (rows.size() == CATCH_UP_BATCH);
+        if (since.isAfter(scannedUntil)) {
+            scannedUntil = since;
+        }
+    }
+
+    /**
+     * Drop indexed bookings that are no longer in the table, such as those deleted on other nodes
+     * Only bookings indexed before the ids are read are checked: those have committed, so a missing
+     * id was deleted and not merely created after the read began.
+     */
+    @Scheduled(fixedDelayString = "${booking.search.evict-interval-ms:600000}",
+               initialDelayString = "${booking.search.evict-interval-ms:600000}")
+    @Transactional(readOnly = true)
+    public void evictDeleted() {
+        if (!ready) {
+            return;
+        }
+        long[] indexed;
+        lock.readLock().lock();
+        try {
+            indexed = documents.keySet().stream().mapToLong(Long::longValue).sorted().toArray();
+        } finally {
+            lock.readLock().unlock();
+        }
+        boolean[] present = new boolean[indexed.length];
+        try (Stream<Long> ids = bookingRepository.streamAllIds()) {
+            ids.forEach(id -> {
+                int index = Arrays.binarySearch(indexed, id);
+                if (index >= 0) {
+                    present[index] = true;
+                }
+            });
+        }
+        List<Long> deleted = new ArrayList<>();
+        for (int i = 0; i < indexed.length; i++) {
+            if (!present[i]) {
+                deleted.add(indexed[i]);
+            }
+        }
+        evicted.add(removeAll(deleted));
+    }
+
+    /**
+     * Add one booking's locations to the index
+     * Returns false if the booking was already indexed.
+     */
+    public boolean add(Long id, String pickupLocation, String destination) {
+        if (id == null) {
+            return false;
+        }
+        String[] fields = { normalize(pickupLocation), normalize(destination) };
+        lock.writeLock().lock();
+        try {
+            if (documents.putIfAbsent(id, fields) != null) {
+                return false;
+            }
+            for (int gram : distinctGrams(fields)) {
+                postings.computeIfAbsent(gram, g -> new Postings()).add(id);
+            }
+            return true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Remove bookings from the index, compacting each affected posting list once
+     * Returns how many of them were indexed.
+     */
+    public int removeAll(Collection<Long> ids) {
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        lock.writeLock().lock();
+        try {
+            Set<Long> removed = new HashSet<>();
+            Set<Integer> grams = new HashSet<>();
+            for (Long id : ids) {
+                String[] fields = documents.remove(id);
+                if (fields != null) {
+                    removed.add(id);
+                    for (int gram : distinctGrams(fields)) {
+                        grams.add(gram);
+                    }
+                }
+            }
+            for (int gram : grams) {
+                Postings list = postings.get(gram);
+                if (list != null && list.removeAll(removed) == 0) {
+                    postings.remove(gram);
+                }
+            }
+            return removed.size();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Whether the index can answer the query: it has been built and the query is at least one gram long
+     */
+    public boolean canSearch(String query) {
+        return ready && normalize(query).length() >= GRAM;
+    }
+
+    /**
+     * Find bookings whose pickup location or destination contains the query, best matches first
+     * A field equal to the query ranks above one starting with it, then a match at a word start,
+     * then any other substring; ties go to the newest booking. The query must be at least 3 characters.
+     */
+    public List<Long> search(String query, int page, int size) {
+        if (page < 0 || size < 1) {
+            throw new IllegalArgumentException("Page must be >= 0 and size >= 1");
+        }
+        String needle = normalize(query);
+        if (needle.length() < GRAM) {
+            throw new IllegalArgumentException("Query must be at least " + GRAM + " characters");
+        }
+        size = Math.min(size, maxPageSize);
+        long started = System.nanoTime();
+        lock.readLock().lock();
+        try {
+            List<long[]> ranked = new ArrayList<>();
+            long[] candidates = candidates(needle);
+            for (long id : candidates) {
+                int score = score(documents.get(id), needle);
+                if (score > 0) {
+                    ranked.add(new long[] { score, id });
+                }
+            }
+            candidatesVerified.add(candidates.length);
+            ranked.sort((a, b) -> a[0] != b[0] ? Long.compare(b[0], a[0]) : Long.compare(b[1], a[1]));
+
+            int from = (int) Math.min((long) page * size, ranked.size());
+            int to = Math.min(from + size, ranked.size());
+            List<Long> ids = new ArrayList<>(to - from);
+            for (long[] entry : ranked.subList(from, to)) {
+                ids.add(entry[1]);
+            }
+            return ids;
+        } finally {
+            lock.readLock().unlock();
+            searches.increment();
+            searchNanos.add(System.nanoTime() - started);
+        }
+    }
+
+    public boolean isReady() {
+        return ready;
+    }
+
+    public int getMaxPageSize() {
+        return maxPageSize;
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return documents.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    @Override
+    public String name() {
+        return "location-index";
+    }
+
+    /**
+     * Get index size and search latency statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        lock.readLock().lock();
+        try {
+            stats.put("documents", documents.size());
+            stats.put("grams", postings.size());
+        } finally {
+            lock.readLock().unlock();
+        }
+        long count = searches.sum();
+        stats.put("ready", ready);
+        stats.put("searches", count);
+        stats.put("avgSearchMicros", count == 0 ? 0.0 : searchNanos.sum() / 1000.0 / count);
+        stats.put("candidatesVerified", candidatesVerified.sum());
+        stats.put("caughtUp", caughtUp.sum());
+        stats.put("evicted", evicted.sum());
+        return stats;
+    }
+
+    /**
+     * IDs that may match: the intersection of the posting lists of the query's grams
+     */
+    private long[] candidates(String needle) {
+        List<Postings> lists = new ArrayList<>();
+        for (int gram : distinctGrams(new String[] { needle })) {
+            Postings list = postings.get(gram);
+            if (list == null) {
+                return new long[0];
+            }
+            lists.add(list);
+        }
+        lists.sort((a, b) -> Integer.compare(a.size, b.size));
+        Postings smallest = lists.get(0);
+        smallest.ensureSorted();
+        long[] result = Arrays.copyOf(smallest.ids, smallest.size);
+        for (int i = 1; i < lists.size() && result.length > 0; i++) {
+            Postings list = lists.get(i);
+            list.ensureSorted();
+            result = intersect(result, list.ids, list.size);
+        }
+        return result;
+    }
+
+    private static int score(String[] fields, String needle) {
+        int best = 0;
+        for (String field : fields) {
+            int index = field.indexOf(needle);
+            int score;
+            if (index < 0) {
+                score = 0;
+            } else if (field.length() == needle.length()) {
+                score = 4;
+            } else if (index == 0) {
+                score = 3;
+            } else if (!Character.isLetterOrDigit(field.charAt(index - 1))) {
+                score = 2;
+            } else {
+                score = 1;
+            }
+            best = Math.max(best, score);
+        }
+        return best;
+    }
+
+    /**
+     * Keep the candidates present in a (usually much longer) sorted posting list,
+     * binary searching forward from the last match instead of walking the whole list
+     */
+    private static long[] intersect(long[] candidates, long[] ids, int size) {
+        long[] out = new long[candidates.length];
+        int n = 0;
+        int from = 0;
+        for (long id : candidates) {
+            int index = Arrays.binarySearch(ids, from, size, id);
+            if (index >= 0) {
+                out[n++] = id;
+                from = index + 1;
+            } else {
+                from = -index - 1;
+            }
+            if (from >= size) {
+                break;
+            }
+        }
+        return Arrays.copyOf(out, n);
+    }
+
+    private static int[] distinctGrams(String[] fields) {
+        int[] grams = new int[0];
+        int n = 0;
+        for (String field : fields) {
+            if (field.length() < GRAM) {
+                continue;
+            }
+            grams = Arrays.copyOf(grams, n + field.length() - GRAM + 1);
+            for (int i = 0; i + GRAM <= field.length(); i++) {
+                grams[n++] = gram(field, i);
+            }
+        }
+        return Arrays.stream(grams, 0, n).distinct().toArray();
+    }
+
+    /**
+     * Pack three chars into one int key; distinct grams may share a key, which only adds candidates
+     */
+    private static int gram(String text, int offset) {
+        return (text.charAt(offset) & 0x3FF) << 20 | (text.charAt(offset + 1) & 0x3FF) << 10 | (text.charAt(offset + 2) & 0x3FF);
+    }
+
+    private static String normalize(String text) {
+        return text == null ? "" : text.trim().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Growable list of booking IDs, sorted lazily because IDs are not always added in order: creates on this
+     * node race with the startup load and catch-ups, and each node takes its IDs from its own pooled block
+     */
+    private static final class Postings {
+        private long[] ids = new long[4];
+        private int size;
+        private boolean sorted = true;
+
+        void add(long id) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+            }
+            if (size > 0 && ids[size - 1] > id) {
+                sorted = false;
+            }
+            ids[size++] = id;
+        }
+
+        /**
+         * Called under the write lock; keeps the order of the remaining IDs and returns how many remain
+         */
+        int removeAll(Set<Long> removed) {
+            int kept = 0;
+            for (int i = 0; i < size; i++) {
+                if (!removed.contains(ids[i])) {
+                    ids[kept++] = ids[i];
+                }
+            }
+            size = kept;
+            return size;
+        }
+
+        /**
+         * Called under the read lock by concurrent searches, so the in-place sort is synchronized
+         */
+        synchronized void ensureSorted() {
+            if (!sorted) {
+                Arrays.sort(ids, 0, size);
+                sorted = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package com.travelcompany.booking.service;
+
+/**
+ * Route lookup key: a (pickup, destination) pair compared ignoring case, surrounding and repeated whitespace
+ * The caller's strings are kept as given. Hashing and equality walk their normalized characters in place,
+ * so building a key for a lookup never trims, lower-cases or concatenates a string. The normalized
+ * locations are only built when asked for, i.e. when the route has to be looked up from a provider.
+ */
+public final class RouteKey {
+
+    private final String pickup;
+    private final String destination;
+    private final int hash;
+
+    public RouteKey(String pickup, String destination) {
+        this.pickup = pickup == null ? "" : pickup;
+        this.destination = destination == null ? "" : destination;
+        this.hash = 31 * normalizedHash(this.pickup) + normalizedHash(this.destination);
+    }
+
+    /**
+     * Get the pickup location as the key compares it: lower case, trimmed, inner whitespace runs as one space
+     */
+    public String getPickup() {
+        return normalize(pickup);
+    }
+
+    /**
+     * Get the destination as the key compares it
+     */
+    public String getDestination() {
+        return normalize(destination);
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        if (this == other) {
+            return true;
+        }
+        if (!(other instanceof RouteKey)) {
+            return false;
+        }
+        RouteKey key = (RouteKey) other;
+        return hash == key.hash && sameLocation(pickup, key.pickup) && sameLocation(destination, key.destination);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return pickup.trim() + " -> " + destination.trim();
+    }
+
+    private static String normalize(String location) {
+        StringBuilder normalized = new StringBuilder(location.length());
+        boolean pendingSpace = false;
+        for (int i = 0; i < location.length(); i++) {
+            char c = location.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = normalized.length() > 0;
+                continue;
+            }
+            if (pendingSpace) {
+                normalized.append(' ');
+                pendingSpace = false;
+            }
+            normalized.append(Character.toLowerCase(c));
+        }
+        return normalized.toString();
+    }
+
+    private static int normalizedHash(String location) {
+        int hash = 0;
+        boolean started = false;
+        boolean pendingSpace = false;
+        for (int i = 0; i < location.length(); i++) {
+            char c = location.charAt(i);
+            if (Character.isWhitespace(c)) {
+                pendingSpace = started;
+                continue;
+            }
+            if (pendingSpace) {
+                hash = 31 * hash + ' ';
+                pendingSpace = false;
+            }
+            hash = 31 * hash + Character.toLowerCase(c);
+            started = true;
+        }
+        return hash;
+    }
+
+    private static boolean sameLocation(String a, String b) {
+        int i = skipWhitespace(a, 0);
+        int j = skipWhitespace(b, 0);
+        while (i < a.length() && j < b.length()) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(j);
+            boolean spaceA = Character.isWhitespace(ca);
+            boolean spaceB = Character.isWhitespace(cb);
+            if (spaceA || spaceB) {
+                if (!spaceA || !spaceB) {
+                    return false;
+                }
+                i = skipWhitespace(a, i);
+                j = skipWhitespace(b, j);
+            } else if (Character.toLowerCase(ca) != Character.toLowerCase(cb)) {
+                return false;
+            } else {
+                i++;
+                j++;
+            }
+        }
+        // Whatever is left on either side must be trailing whitespace
+        return skipWhitespace(a, i) == a.length() && skipWhitespace(b, j) == b.length();
+    }
+
+    private static int skipWhitespace(String location, int from) {
+        int i = from;
+        while (i < location.length() && Character.isWhitespace(location.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+}
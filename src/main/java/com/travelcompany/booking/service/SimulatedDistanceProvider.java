@@ -0,0 +1,32 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Distance provider that derives a stable pseudo distance from the location names
+ * Used for demos and as the fallback estimate when the real provider is slow or unavailable.
+ */
+public class SimulatedDistanceProvider implements DistanceProvider {
+
+    @Override
+    public boolean isLocal() {
+        return true;
+    }
+
+    @Override
+    public BigDecimal getDistanceKm(String pickupLocation, String destination) {
+        RouteKey key = new RouteKey(pickupLocation, destination);
+        return estimate(key.getPickup(), key.getDestination());
+    }
+
+    /**
+     * Simulate distance calculation
+     */
+    public static BigDecimal estimate(String pickup, String destination) {
+        // Simple simulation based on string hash (for demo purposes)
+        int hash = Math.abs((pickup + destination).hashCode());
+        double distance = 2.0 + (hash % 20); // Distance between 2-22 km
+        return BigDecimal.valueOf(distance).setScale(2, RoundingMode.HALF_UP);
+    }
+}
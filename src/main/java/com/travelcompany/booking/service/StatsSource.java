@@ -0,0 +1,37 @@
+package com.travelcompany.booking.service;
+
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Component whose runtime statistics are served under /api/admin/metrics/{name}
+ */
+public interface StatsSource {
+
+    /**
+     * Get the path segment the statistics are served under, unique among all sources
+     */
+    String name();
+
+    /**
+     * Get a snapshot of the current statistics
+     */
+    Map<String, Object> getStats();
+
+    /**
+     * Expose the statistics of a component that does not implement this interface itself
+     */
+    static StatsSource of(String name, Supplier<Map<String, Object>> stats) {
+        return new StatsSource() {
+            @Override
+            public String name() {
+                return name;
+            }
+
+            @Override
+            public Map<String, Object> getStats() {
+                return stats.get();
+            }
+        };
+    }
+}
@@ -0,0 +1,156 @@
+package com.travelcompany.booking.service;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.env.Environment;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.model.Booking;
+
+/**
+ * Service class for demand-driven surge pricing
+ * Bookings feed a per-cab-type sliding window; a scheduled refresh turns demand against configured
+ * supply into a capped multiplier and publishes an immutable table, so quotes read surge with one map lookup.
+ * Cab types are keyed by their exact name, as stored on the cab type and its bookings, so a quote never
+ * rewrites the name it looks up. Supply is configured per lower-case cab type name.
+ */
+@Service
+public class SurgePricingService {
+
+    /** Multipliers are held in basis points: 10000 means no surge */
+    public static final long NO_SURGE = 10_000L;
+
+    private final Environment environment;
+    private final LongSupplier clock;
+    private final int windowMinutes;
+    private final int defaultSupply;
+    private final double ratioThreshold;
+    private final double slope;
+    private final long maxMultiplier;
+
+    private final ConcurrentHashMap<String, DemandWindow> windows = new ConcurrentHashMap<>();
+    private volatile Map<String, SurgeState> published = Map.of();
+
+    @Autowired
+    public SurgePricingService(Environment environment,
+                               @Value("${fare.surge.window-minutes:15}") int windowMinutes,
+                               @Value("${fare.surge.default-supply:20}") int defaultSupply,
+                               @Value("${fare.surge.ratio-threshold:1.0}") double ratioThreshold,
+                               @Value("${fare.surge.slope:0.5}") double slope,
+                               @Value("${fare.surge.max-multiplier:2.0}") double maxMultiplier) {
+        this(environment, System::currentTimeMillis, windowMinutes, defaultSupply, ratioThreshold, slope, maxMultiplier);
+    }
+
+    SurgePricingService(Environment environment, LongSupplier clock, int windowMinutes, int defaultSupply,
+                        double ratioThreshold, double slope, double maxMultiplier) {
+        this.environment = environment;
+        this.clock = clock;
+        this.windowMinutes = windowMinutes;
+        this.defaultSupply = defaultSupply;
+        this.ratioThreshold = ratioThreshold;
+        this.slope = slope;
+        this.maxMultiplier = Math.round(maxMultiplier * NO_SURGE);
+    }
+
+    /**
+     * Count committed bookings as demand, so rolled back and rejected bookings never raise surge
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingsCreated(BookingCreatedEvent event) {
+        for (Booking booking : event.getBookings()) {
+            recordBooking(booking.getCabType());
+        }
+    }
+
+    /**
+     * Record a booking for a cab type
+     */
+    public void recordBooking(String cabTypeName) {
+        if (cabTypeName == null) {
+            return;
+        }
+        windows.computeIfAbsent(cabTypeName, name -> new DemandWindow(windowMinutes, TimeUnit.MINUTES.toMillis(1)))
+            .record(clock.getAsLong());
+    }
+
+    /**
+     * Get the current surge multiplier for a cab type in basis points
+     */
+    public long getMultiplierBasisPoints(String cabTypeName) {
+        SurgeState state = cabTypeName == null ? null : published.get(cabTypeName);
+        return state == null ? NO_SURGE : state.multiplier;
+    }
+
+    /**
+     * Recompute multipliers from the demand windows and publish them
+     */
+    @Scheduled(fixedDelayString = "${fare.surge.refresh-ms:5000}")
+    public void refresh() {
+        long now = clock.getAsLong();
+        Map<String, SurgeState> states = new HashMap<>();
+        windows.forEach((cabType, window) -> {
+            long demand = window.count(now);
+            int supply = getSupply(cabType);
+            double ratio = supply <= 0 ? 0.0 : (double) demand / supply;
+            states.put(cabType, new SurgeState(demand, supply, ratio, toMultiplier(ratio)));
+        });
+        published = Map.copyOf(states);
+    }
+
+    /**
+     * Get the published window state per cab type
+     */
+    public Map<String, Object> getWindowState() {
+        Map<String, Object> state = new LinkedHashMap<>();
+        state.put("windowMinutes", windowMinutes);
+        Map<String, Object> cabTypes = new LinkedHashMap<>();
+        published.forEach((cabType, surge) -> {
+            Map<String, Object> entry = new LinkedHashMap<>();
+            entry.put("bookingsInWindow", surge.demand);
+            entry.put("supply", surge.supply);
+            entry.put("demandToSupplyRatio", surge.ratio);
+            entry.put("multiplier", surge.multiplier / (double) NO_SURGE);
+            cabTypes.put(cabType, entry);
+        });
+        state.put("cabTypes", cabTypes);
+        return state;
+    }
+
+    long toMultiplier(double ratio) {
+        if (ratio <= ratioThreshold) {
+            return NO_SURGE;
+        }
+        long multiplier = NO_SURGE + Math.round((ratio - ratioThreshold) * slope * NO_SURGE);
+        return Math.min(multiplier, maxMultiplier);
+    }
+
+    private int getSupply(String cabType) {
+        return environment.getProperty("fare.surge.supply." + cabType.toLowerCase(Locale.ROOT), Integer.class,
+            defaultSupply);
+    }
+
+    private static final class SurgeState {
+        private final long demand;
+        private final int supply;
+        private final double ratio;
+        private final long multiplier;
+
+        private SurgeState(long demand, int supply, double ratio, long multiplier) {
+            this.demand = demand;
+            this.supply = supply;
+            this.ratio = ratio;
+            this.multiplier = multiplier;
+        }
+    }
+}
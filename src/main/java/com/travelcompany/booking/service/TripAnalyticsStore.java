@@ -0,0 +1,483 @@
+package com.travelcompany.booking.service;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import com.travelcompany.booking.dto.TripGroupDto;
+import com.travelcompany.booking.dto.TripQueryDto;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Read-optimized columnar copy of finished trips (bookings that reached COMPLETED or CANCELLED)
+ * Each trip is 22 bytes across primitive column arrays: booking id, creation time in epoch minutes,
+ * dictionary-encoded cab type and status, and fare in cents. Final statuses never change, so the store
+ * is append-only: it is loaded at startup, appended to as bookings finish, and reloaded periodically to
+ * drop the trips of deleted customers. Queries filter, group and sum the columns in parallel fork-join
+ * scans without creating any objects per trip.
+ */
+@Service
+public class TripAnalyticsStore implements StatsSource {
+
+    private static final Logger log = LoggerFactory.getLogger(TripAnalyticsStore.class);
+
+    static final int CHUNK_BITS = 16;
+    static final int CHUNK_SIZE = 1 << CHUNK_BITS;
+
+    private static final Set<Booking.BookingStatus> FINAL_STATUSES =
+        EnumSet.of(Booking.BookingStatus.COMPLETED, Booking.BookingStatus.CANCELLED);
+    private static final Booking.BookingStatus[] STATUSES = Booking.BookingStatus.values();
+    private static final int MAX_CAB_TYPES = 256;
+    private static final int MINUTES_PER_DAY = 24 * 60;
+
+    private final BookingRepository bookingRepository;
+    private final ForkJoinPool pool;
+
+    private final Map<String, Integer> cabTypeCodes = new ConcurrentHashMap<>();
+    private volatile String[] cabTypeNames = new String[0];
+
+    private volatile Columns columns = new Columns();
+    // Trips appended while a reload streams the table; guarded by this
+    private List<Trip> reloadBuffer;
+
+    private final LongAdder reloads = new LongAdder();
+    private final LongAdder scans = new LongAdder();
+    private final LongAdder rowsScanned = new LongAdder();
+    private final LongAdder scanNanos = new LongAdder();
+    private volatile LocalDateTime lastReloadedAt;
+    private volatile long lastReloadMillis;
+
+    @Autowired
+    public TripAnalyticsStore(BookingRepository bookingRepository,
+                              @Value("${analytics.trips.parallelism:0}") int parallelism) {
+        this.bookingRepository = bookingRepository;
+        this.pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Load every finished trip and swap the new columns in
+     * Trips that finish while loading are appended to the live columns and replayed into the new ones
+     * unless the load already read them.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    @Scheduled(fixedDelayString = "${analytics.trips.reload-interval-ms:3600000}",
+               initialDelayString = "${analytics.trips.reload-interval-ms:3600000}")
+    @Transactional(readOnly = true)
+    public void reload() {
+        long started = System.nanoTime();
+        List<Trip> buffered = new ArrayList<>();
+        synchronized (this) {
+            if (reloadBuffer != null) {
+                return;
+            }
+            reloadBuffer = buffered;
+        }
+        try {
+            Columns loaded = new Columns();
+            try (Stream<BookingRepository.BookingStatusView> rows = bookingRepository.streamByStatusIn(FINAL_STATUSES)) {
+                rows.forEach(row -> {
+                    Trip trip = encode(row.getId(), row.getCreatedDate(), row.getCabType(), row.getStatus(), row.getFare());
+                    if (trip != null) {
+                        loaded.append(trip);
+                    }
+                });
+            }
+            synchronized (this) {
+                replayMissing(loaded, buffered);
+                columns = loaded;
+            }
+        } finally {
+            synchronized (this) {
+                reloadBuffer = null;
+            }
+        }
+        reloads.increment();
+        lastReloadedAt = LocalDateTime.now();
+        lastReloadMillis = (System.nanoTime() - started) / 1_000_000;
+        log.info("Trip analytics store loaded {} trips in {} ms", size(), lastReloadMillis);
+    }
+
+    /**
+     * Append bookings that reached a final status once the change has committed
+     */
+    @TransactionalEventListener(fallbackExecution = true)
+    public void onBookingStatusChanged(BookingStatusChangedEvent event) {
+        for (BookingStatusChangedEvent.Change change : event.getChanges()) {
+            if (FINAL_STATUSES.contains(change.getTo())) {
+                append(change.getBookingId(), change.getCreatedDate(), change.getCabType(), change.getTo(), change.getFare());
+            }
+        }
+    }
+
+    /**
+     * Append one finished trip; bookings in other statuses are ignored
+     */
+    public void append(Long bookingId, LocalDateTime createdDate, String cabType, Booking.BookingStatus status,
+                       BigDecimal fare) {
+        if (!FINAL_STATUSES.contains(status)) {
+            return;
+        }
+        Trip trip = encode(bookingId, createdDate, cabType, status, fare);
+        if (trip == null) {
+            return;
+        }
+        synchronized (this) {
+            columns.append(trip);
+            if (reloadBuffer != null) {
+                reloadBuffer.add(trip);
+            }
+        }
+    }
+
+    /**
+     * Count trips and sum their fares per group, for the trips matching every filter
+     * Time filters have minute resolution. Groups without trips are left out.
+     */
+    public List<TripGroupDto> query(TripQueryDto query) {
+        TripQueryDto.GroupBy groupBy = query.getGroupBy() == null ? TripQueryDto.GroupBy.NONE : query.getGroupBy();
+        if (query.getStatus() != null && !FINAL_STATUSES.contains(query.getStatus())) {
+            return List.of();
+        }
+
+        // Size first: it publishes the rows, and every cab type code they use
+        Columns snapshot = columns;
+        int rows = snapshot.size;
+        String[] names = cabTypeNames;
+
+        boolean[] statusMask = new boolean[STATUSES.length];
+        for (Booking.BookingStatus status : FINAL_STATUSES) {
+            statusMask[status.ordinal()] = query.getStatus() == null || query.getStatus() == status;
+        }
+        boolean[] cabTypeMask = new boolean[MAX_CAB_TYPES];
+        for (int code = 0; code < names.length; code++) {
+            cabTypeMask[code] = query.getCabType() == null || names[code].equalsIgnoreCase(query.getCabType());
+        }
+        Filter filter = new Filter(
+            query.getCreatedFrom() == null ? Integer.MIN_VALUE : minuteOf(query.getCreatedFrom()),
+            query.getCreatedTo() == null ? Integer.MAX_VALUE : minuteOf(query.getCreatedTo()),
+            statusMask, cabTypeMask, groupBy.ordinal(), groupCount(groupBy));
+
+        long started = System.nanoTime();
+        long[][] totals = pool.invoke(new ScanTask(snapshot, rows, filter, 0, chunkCount(rows)));
+        scanNanos.add(System.nanoTime() - started);
+        rowsScanned.add(rows);
+        scans.increment();
+
+        List<TripGroupDto> groups = new ArrayList<>();
+        for (int group = 0; group < filter.groups; group++) {
+            long trips = totals[0][group];
+            if (trips > 0) {
+                BigDecimal fareTotal = BigDecimal.valueOf(totals[1][group], 2);
+                groups.add(new TripGroupDto(label(groupBy, group, names), trips, fareTotal,
+                    fareTotal.divide(BigDecimal.valueOf(trips), 2, RoundingMode.HALF_UP)));
+            }
+        }
+        return groups;
+    }
+
+    /**
+     * Number of trips held
+     */
+    public int size() {
+        return columns.size;
+    }
+
+    @Override
+    public String name() {
+        return "trip-analytics";
+    }
+
+    /**
+     * Get size, reload and scan throughput statistics
+     */
+    @Override
+    public Map<String, Object> getStats() {
+        Map<String, Object> stats = new LinkedHashMap<>();
+        long nanos = scanNanos.sum();
+        stats.put("trips", size());
+        stats.put("cabTypes", cabTypeNames.length);
+        stats.put("parallelism", pool.getParallelism());
+        stats.put("reloads", reloads.sum());
+        stats.put("lastReloadedAt", lastReloadedAt);
+        stats.put("lastReloadMillis", lastReloadMillis);
+        stats.put("scans", scans.sum());
+        stats.put("rowsScanned", rowsScanned.sum());
+        stats.put("rowsPerSecond", nanos == 0 ? 0 : rowsScanned.sum() * 1_000_000_000L / nanos);
+        return stats;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    private void replayMissing(Columns loaded, List<Trip> buffered) {
+        if (buffered.isEmpty()) {
+            return;
+        }
+        Set<Long> missing = new HashSet<>();
+        buffered.forEach(trip -> missing.add(trip.bookingId));
+        for (int chunk = 0; chunk < chunkCount(loaded.size) && !missing.isEmpty(); chunk++) {
+            long[] ids = loaded.bookingIds[chunk];
+            int rows = Math.min(CHUNK_SIZE, loaded.size - (chunk << CHUNK_BITS));
+            for (int i = 0; i < rows; i++) {
+                missing.remove(ids[i]);
+            }
+        }
+        for (Trip trip : buffered) {
+            if (missing.remove(trip.bookingId)) {
+                loaded.append(trip);
+            }
+        }
+    }
+
+    private Trip encode(Long bookingId, LocalDateTime createdDate, String cabType, Booking.BookingStatus status,
+                        BigDecimal fare) {
+        if (bookingId == null || createdDate == null || status == null) {
+            return null;
+        }
+        long fareCents = fare == null ? 0 : fare.setScale(2, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+        return new Trip(bookingId, minuteOf(createdDate), (byte) cabTypeCode(cabType == null ? "" : cabType),
+            (byte) status.ordinal(), fareCents);
+    }
+
+    private int cabTypeCode(String cabType) {
+        Integer code = cabTypeCodes.get(cabType);
+        if (code != null) {
+            return code;
+        }
+        synchronized (cabTypeCodes) {
+            code = cabTypeCodes.get(cabType);
+            if (code == null) {
+                String[] names = cabTypeNames;
+                if (names.length == MAX_CAB_TYPES) {
+                    throw new IllegalStateException("Trip analytics supports at most " + MAX_CAB_TYPES + " cab types");
+                }
+                code = names.length;
+                String[] extended = Arrays.copyOf(names, names.length + 1);
+                extended[code] = cabType;
+                cabTypeNames = extended;
+                cabTypeCodes.put(cabType, code);
+            }
+            return code;
+        }
+    }
+
+    private static int groupCount(TripQueryDto.GroupBy groupBy) {
+        switch (groupBy) {
+            case CAB_TYPE: return MAX_CAB_TYPES;
+            case STATUS: return STATUSES.length;
+            case HOUR_OF_DAY: return 24;
+            case DAY_OF_WEEK: return 7;
+            default: return 1;
+        }
+    }
+
+    private static String label(TripQueryDto.GroupBy groupBy, int group, String[] cabTypeNames) {
+        switch (groupBy) {
+            case CAB_TYPE: return cabTypeNames[group];
+            case STATUS: return STATUSES[group].name();
+            case HOUR_OF_DAY: return String.format("%02d:00", group);
+            case DAY_OF_WEEK: return DayOfWeek.of(group + 1).name();
+            default: return "ALL";
+        }
+    }
+
+    private static int minuteOf(LocalDateTime time) {
+        return Math.toIntExact(Math.floorDiv(time.toEpochSecond(ZoneOffset.UTC), 60));
+    }
+
+    private static int chunkCount(int rows) {
+        return (rows + CHUNK_SIZE - 1) >>> CHUNK_BITS;
+    }
+
+    /**
+     * One trip on its way into the columns
+     */
+    private static final class Trip {
+        private final long bookingId;
+        private final int minute;
+        private final byte cabType;
+        private final byte status;
+        private final long fareCents;
+
+        private Trip(long bookingId, int minute, byte cabType, byte status, long fareCents) {
+            this.bookingId = bookingId;
+            this.minute = minute;
+            this.cabType = cabType;
+            this.status = status;
+            this.fareCents = fareCents;
+        }
+    }
+
+    /**
+     * Column arrays in fixed-size chunks, so appending never copies rows
+     * A single writer appends under the store's lock; readers take size first and only read rows below it.
+     */
+    private static final class Columns {
+        private long[][] bookingIds = new long[0][];
+        private int[][] minutes = new int[0][];
+        private byte[][] cabTypes = new byte[0][];
+        private byte[][] statuses = new byte[0][];
+        private long[][] fareCents = new long[0][];
+        private volatile int size;
+
+        private void append(Trip trip) {
+            int row = size;
+            int chunk = row >>> CHUNK_BITS;
+            int offset = row & (CHUNK_SIZE - 1);
+            if (chunk == minutes.length) {
+                bookingIds = Arrays.copyOf(bookingIds, chunk + 1);
+                minutes = Arrays.copyOf(minutes, chunk + 1);
+                cabTypes = Arrays.copyOf(cabTypes, chunk + 1);
+                statuses = Arrays.copyOf(statuses, chunk + 1);
+                fareCents = Arrays.copyOf(fareCents, chunk + 1);
+                bookingIds[chunk] = new long[CHUNK_SIZE];
+                minutes[chunk] = new int[CHUNK_SIZE];
+                cabTypes[chunk] = new byte[CHUNK_SIZE];
+                statuses[chunk] = new byte[CHUNK_SIZE];
+                fareCents[chunk] = new long[CHUNK_SIZE];
+            }
+            bookingIds[chunk][offset] = trip.bookingId;
+            minutes[chunk][offset] = trip.minute;
+            cabTypes[chunk][offset] = trip.cabType;
+            statuses[chunk][offset] = trip.status;
+            fareCents[chunk][offset] = trip.fareCents;
+            size = row + 1;
+        }
+    }
+
+    /**
+     * Predicates and grouping of one query, flattened for the scan loop
+     */
+    private static final class Filter {
+        private final int fromMinute;
+        private final int toMinute;
+        private final boolean[] statusMask;
+        private final boolean[] cabTypeMask;
+        private final int groupBy;
+        private final int groups;
+
+        private Filter(int fromMinute, int toMinute, boolean[] statusMask, boolean[] cabTypeMask, int groupBy, int groups) {
+            this.fromMinute = fromMinute;
+            this.toMinute = toMinute;
+            this.statusMask = statusMask;
+            this.cabTypeMask = cabTypeMask;
+            this.groupBy = groupBy;
+            this.groups = groups;
+        }
+    }
+
+    /**
+     * Scans a range of chunks, splitting it in half until one chunk is left
+     * Returns trip counts and fare cents per group.
+     */
+    private static final class ScanTask extends RecursiveTask<long[][]> {
+        private static final int NONE = TripQueryDto.GroupBy.NONE.ordinal();
+        private static final int CAB_TYPE = TripQueryDto.GroupBy.CAB_TYPE.ordinal();
+        private static final int STATUS = TripQueryDto.GroupBy.STATUS.ordinal();
+        private static final int HOUR_OF_DAY = TripQueryDto.GroupBy.HOUR_OF_DAY.ordinal();
+
+        private final Columns columns;
+        private final int rows;
+        private final Filter filter;
+        private final int fromChunk;
+        private final int toChunk;
+
+        private ScanTask(Columns columns, int rows, Filter filter, int fromChunk, int toChunk) {
+            this.columns = columns;
+            this.rows = rows;
+            this.filter = filter;
+            this.fromChunk = fromChunk;
+            this.toChunk = toChunk;
+        }
+
+        @Override
+        protected long[][] compute() {
+            if (toChunk - fromChunk > 1) {
+                int middle = (fromChunk + toChunk) >>> 1;
+                ScanTask left = new ScanTask(columns, rows, filter, fromChunk, middle);
+                left.fork();
+                long[][] right = new ScanTask(columns, rows, filter, middle, toChunk).compute();
+                long[][] merged = left.join();
+                for (int group = 0; group < filter.groups; group++) {
+                    merged[0][group] += right[0][group];
+                    merged[1][group] += right[1][group];
+                }
+                return merged;
+            }
+            long[] trips = new long[filter.groups];
+            long[] cents = new long[filter.groups];
+            if (fromChunk < toChunk) {
+                scan(fromChunk, trips, cents);
+            }
+            return new long[][] { trips, cents };
+        }
+
+        private void scan(int chunk, long[] trips, long[] cents) {
+            int[] minutes = columns.minutes[chunk];
+            byte[] cabTypes = columns.cabTypes[chunk];
+            byte[] statuses = columns.statuses[chunk];
+            long[] fares = columns.fareCents[chunk];
+            int count = Math.min(CHUNK_SIZE, rows - (chunk << CHUNK_BITS));
+            int from = filter.fromMinute;
+            int to = filter.toMinute;
+            boolean[] statusMask = filter.statusMask;
+            boolean[] cabTypeMask = filter.cabTypeMask;
+            int groupBy = filter.groupBy;
+            for (int i = 0; i < count; i++) {
+                int minute = minutes[i];
+                int status = statuses[i];
+                int cabType = cabTypes[i] & 0xFF;
+                if (minute < from || minute >= to || !statusMask[status] || !cabTypeMask[cabType]) {
+                    continue;
+                }
+                int group;
+                if (groupBy == NONE) {
+                    group = 0;
+                } else if (groupBy == CAB_TYPE) {
+                    group = cabType;
+                } else if (groupBy == STATUS) {
+                    group = status;
+                } else if (groupBy == HOUR_OF_DAY) {
+                    group = Math.floorMod(minute, MINUTES_PER_DAY) / 60;
+                } else {
+                    // Epoch day 0 was a Thursday; Monday is group 0
+                    group = Math.floorMod(Math.floorDiv(minute, MINUTES_PER_DAY) + 3, 7);
+                }
+                trips[group]++;
+                cents[group] += fares[i];
+            }
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.travelcompany.booking.sketch;
+
+import java.util.Arrays;
+
+/**
+ * HyperLogLog distinct-value counter over 64-bit hashed longs
+ * 2^14 one-byte registers (16 KB) give a relative standard error of 1.04 / sqrt(2^14), about 0.81%:
+ * two thirds of estimates land within 0.81% of the true count and practically all within 2.5%.
+ * Small counts use linear counting, which is near exact. Merging takes the register-wise maximum, so it
+ * is idempotent and the merge of per-day sketches estimates the distinct count over the whole window.
+ */
+public final class HyperLogLog implements MergeableSketch<HyperLogLog> {
+
+    public static final int PRECISION = 14;
+    public static final int REGISTERS = 1 << PRECISION;
+    public static final double RELATIVE_STANDARD_ERROR = 1.04 / Math.sqrt(REGISTERS);
+
+    private static final double ALPHA = 0.7213 / (1 + 1.079 / REGISTERS);
+
+    private final byte[] registers;
+
+    public HyperLogLog() {
+        this(new byte[REGISTERS]);
+    }
+
+    private HyperLogLog(byte[] registers) {
+        this.registers = registers;
+    }
+
+    /**
+     * Read a sketch written by {@link #toBytes()}
+     */
+    public static HyperLogLog fromBytes(byte[] bytes) {
+        if (bytes.length != REGISTERS) {
+            throw new IllegalArgumentException("Expected " + REGISTERS + " HyperLogLog registers but got " + bytes.length);
+        }
+        return new HyperLogLog(bytes.clone());
+    }
+
+    /**
+     * Count a value; adding the same value again changes nothing
+     */
+    public void add(long value) {
+        long hash = mix(value);
+        int register = (int) (hash >>> (64 - PRECISION));
+        // The sentinel bit caps the rank at 64 - PRECISION + 1
+        byte rank = (byte) (Long.numberOfLeadingZeros((hash << PRECISION) | (1L << (PRECISION - 1))) + 1);
+        if (rank > registers[register]) {
+            registers[register] = rank;
+        }
+    }
+
+    /**
+     * Estimated number of distinct values added
+     */
+    public long estimate() {
+        double sum = 0;
+        int zeros = 0;
+        for (byte rank : registers) {
+            sum += Math.scalb(1.0, -rank);
+            if (rank == 0) {
+                zeros++;
+            }
+        }
+        double estimate = ALPHA * REGISTERS * REGISTERS / sum;
+        if (estimate <= 2.5 * REGISTERS && zeros > 0) {
+            estimate = REGISTERS * Math.log((double) REGISTERS / zeros);
+        }
+        return Math.round(estimate);
+    }
+
+    @Override
+    public void merge(HyperLogLog other) {
+        for (int i = 0; i < REGISTERS; i++) {
+            if (other.registers[i] > registers[i]) {
+                registers[i] = other.registers[i];
+            }
+        }
+    }
+
+    @Override
+    public HyperLogLog copy() {
+        return new HyperLogLog(registers.clone());
+    }
+
+    @Override
+    public byte[] toBytes() {
+        return registers.clone();
+    }
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof HyperLogLog && Arrays.equals(registers, ((HyperLogLog) other).registers);
+    }
+
+    @Override
+    public int hashCode() {
+        return Arrays.hashCode(registers);
+    }
+
+    // SplitMix64 finalizer: spreads sequential ids over all 64 bits
+    private static long mix(long value) {
+        long z = value + 0x9E3779B97F4A7C15L;
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,166 @@
+package com.travelcompany.booking.sketch;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+
+/**
+ * Histogram of non-negative longs with log-linear buckets, in the style of HDR histograms
+ * Values below 128 get a bucket each; above that every power of two is split into 128 equal buckets.
+ * Percentiles report the middle of their bucket, so they are exact below 128 and otherwise within
+ * 1/256 (about 0.4%) of a value the percentile rank actually falls on. The bucket array only grows to
+ * the largest value seen: about 3.6K buckets (29 KB) for values up to 10^10. Merging adds counts.
+ */
+public final class LogHistogram implements MergeableSketch<LogHistogram> {
+
+    public static final double MAX_RELATIVE_ERROR = 1.0 / 256;
+
+    private static final int SUB_BUCKET_BITS = 7;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int FORMAT = 1;
+
+    private long[] counts = new long[SUB_BUCKETS];
+    private long total;
+    private long sum;
+    private long min = Long.MAX_VALUE;
+    private long max = Long.MIN_VALUE;
+
+    /**
+     * Read a histogram written by {@link #toBytes()}
+     */
+    public static LogHistogram fromBytes(byte[] bytes) {
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes))) {
+            int format = in.readInt();
+            if (format != FORMAT) {
+                throw new IllegalArgumentException("Unknown histogram format " + format);
+            }
+            LogHistogram histogram = new LogHistogram();
+            histogram.total = in.readLong();
+            histogram.sum = in.readLong();
+            histogram.min = in.readLong();
+            histogram.max = in.readLong();
+            int buckets = in.readInt();
+            for (int i = 0; i < buckets; i++) {
+                int index = in.readInt();
+                histogram.grow(index);
+                histogram.counts[index] = in.readLong();
+            }
+            return histogram;
+        } catch (IOException e) {
+            throw new IllegalArgumentException("Corrupt histogram", e);
+        }
+    }
+
+    /**
+     * Record one value
+     */
+    public void record(long value) {
+        if (value < 0) {
+            throw new IllegalArgumentException("Histogram values must not be negative: " + value);
+        }
+        int index = indexOf(value);
+        grow(index);
+        counts[index]++;
+        total++;
+        sum += value;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Value at the given percentile (0 to 100], or 0 when nothing was recorded
+     */
+    public long percentile(double percentile) {
+        if (percentile <= 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be in (0, 100]: " + percentile);
+        }
+        if (total == 0) {
+            return 0;
+        }
+        long rank = Math.max(1, (long) Math.ceil(percentile / 100 * total));
+        long seen = 0;
+        for (int index = 0; index < counts.length; index++) {
+            seen += counts[index];
+            if (seen >= rank) {
+                return Math.min(max, Math.max(min, midpoint(index)));
+            }
+        }
+        return max;
+    }
+
+    public long getCount() { return total; }
+
+    public long getMin() { return total == 0 ? 0 : min; }
+
+    public long getMax() { return total == 0 ? 0 : max; }
+
+    public double getMean() { return total == 0 ? 0 : (double) sum / total; }
+
+    @Override
+    public void merge(LogHistogram other) {
+        grow(other.counts.length - 1);
+        for (int index = 0; index < other.counts.length; index++) {
+            counts[index] += other.counts[index];
+        }
+        total += other.total;
+        sum += other.sum;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+    }
+
+    @Override
+    public LogHistogram copy() {
+        LogHistogram copy = new LogHistogram();
+        copy.merge(this);
+        return copy;
+    }
+
+    @Override
+    public byte[] toBytes() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(FORMAT);
+            out.writeLong(total);
+            out.writeLong(sum);
+            out.writeLong(min);
+            out.writeLong(max);
+            out.writeInt((int) Arrays.stream(counts).filter(count -> count != 0).count());
+            for (int index = 0; index < counts.length; index++) {
+                if (counts[index] != 0) {
+                    out.writeInt(index);
+                    out.writeLong(counts[index]);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return bytes.toByteArray();
+    }
+
+    static int indexOf(long value) {
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int shift = (63 - Long.numberOfLeadingZeros(value)) - SUB_BUCKET_BITS;
+        return (int) (SUB_BUCKETS + ((long) shift << SUB_BUCKET_BITS) + (value >>> shift) - SUB_BUCKETS);
+    }
+
+    private static long midpoint(int index) {
+        if (index < SUB_BUCKETS) {
+            return index;
+        }
+        int shift = (index - SUB_BUCKETS) >>> SUB_BUCKET_BITS;
+        long lower = (long) ((index & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+        return lower + ((1L << shift) - 1) / 2;
+    }
+
+    private void grow(int index) {
+        if (index >= counts.length) {
+            counts = Arrays.copyOf(counts, Math.max(index + 1, counts.length + SUB_BUCKETS));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package com.travelcompany.booking.sketch;
+
+/**
+ * Fixed-size summary of a stream that can be combined with summaries of other streams
+ * Sketches are not thread-safe; callers synchronize access.
+ */
+public interface MergeableSketch<S extends MergeableSketch<S>> {
+
+    /**
+     * Fold another sketch of the same kind into this one
+     */
+    void merge(S other);
+
+    /**
+     * Independent copy of this sketch
+     */
+    S copy();
+
+    /**
+     * Compact binary form, read back by the sketch's fromBytes factory
+     */
+    byte[] toBytes();
+}
@@ -0,0 +1,81 @@
+package com.travelcompany.booking.cache;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for BoundedTtlCache
+ */
+class BoundedTtlCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+
+    @Test
+    void testLeastRecentlyUsedEntryIsEvicted() {
+        // Given
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(2, 1, TimeUnit.MINUTES, now::get);
+        cache.put("a", 1);
+        cache.put("b", 2);
+        cache.get("a");
+
+        // When
+        cache.put("c", 3);
+
+        // Then
+        assertEquals(1, cache.get("a"));
+        assertNull(cache.get("b"));
+        assertEquals(3, cache.get("c"));
+        assertEquals(1L, cache.getStats().get("evictions"));
+    }
+
+    @Test
+    void testEntriesExpireAfterTtl() {
+        // Given
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 1, TimeUnit.MINUTES, now::get);
+        cache.put("a", 1);
+
+        // When
+        now.addAndGet(TimeUnit.SECONDS.toNanos(61));
+
+        // Then
+        assertNull(cache.get("a"));
+        assertEquals(0, cache.size());
+        assertEquals(1L, cache.getStats().get("expirations"));
+    }
+
+    @Test
+    void testPutIfAbsentKeepsLiveEntry() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 1, TimeUnit.MINUTES, now::get);
+
+        assertEquals(1, cache.putIfAbsent("a", 1));
+        assertEquals(1, cache.putIfAbsent("a", 2));
+
+        now.addAndGet(TimeUnit.MINUTES.toNanos(2));
+        assertEquals(3, cache.putIfAbsent("a", 3));
+    }
+
+    @Test
+    void testConditionalRemoveOnlyRemovesMatchingValue() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 1, TimeUnit.MINUTES, now::get);
+        cache.put("a", 1);
+
+        assertFalse(cache.remove("a", 2));
+        assertTrue(cache.remove("a", 1));
+        assertFalse(cache.remove("a", 1));
+        assertNull(cache.get("a"));
+    }
+
+    @Test
+    void testConditionalReplaceOnlyReplacesMatchingValue() {
+        BoundedTtlCache<String, Integer> cache = new BoundedTtlCache<>(10, 1, TimeUnit.MINUTES, now::get);
+        cache.put("a", 1);
+
+        assertFalse(cache.replace("a", 2, 3));
+        assertTrue(cache.replace("a", 1, 3));
+        assertEquals(3, cache.get("a"));
+        assertFalse(cache.replace("b", 1, 3));
+    }
+}
@@ -0,0 +1,70 @@
+package com.travelcompany.booking.cache;
+
+import org.junit.jupiter.api.Test;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for NearCacheRegion
+ */
+class NearCacheRegionTest {
+
+    private final NearCacheRegion<Long, String> region = new NearCacheRegion<>("test", 4, 100, 1, TimeUnit.MINUTES);
+
+    @Test
+    void testLoadsOnceAndCountsHits() {
+        // Given
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        String first = region.get(1L, id -> "value-" + loads.incrementAndGet());
+        String second = region.get(1L, id -> "value-" + loads.incrementAndGet());
+
+        // Then
+        assertEquals("value-1", first);
+        assertEquals("value-1", second);
+        assertEquals(1L, region.getStats().get("hits"));
+        assertEquals(1L, region.getStats().get("misses"));
+        assertEquals(0.5, region.getStats().get("hitRatio"));
+    }
+
+    @Test
+    void testNullIsNotCached() {
+        AtomicInteger loads = new AtomicInteger();
+
+        assertNull(region.get(1L, id -> { loads.incrementAndGet(); return null; }));
+        assertNull(region.get(1L, id -> { loads.incrementAndGet(); return null; }));
+
+        assertEquals(2, loads.get());
+        assertEquals(0, region.size());
+    }
+
+    @Test
+    void testInvalidateBucketOnlyDropsThatBucket() {
+        // Given - keys 1 and 2 land in different buckets
+        region.get(1L, id -> "one");
+        region.get(2L, id -> "two");
+
+        // When
+        region.invalidateBucket(region.bucketOf(1L));
+
+        // Then
+        assertEquals("reloaded", region.get(1L, id -> "reloaded"));
+        assertEquals("two", region.get(2L, id -> "reloaded"));
+    }
+
+    @Test
+    void testLoadStartedBeforeInvalidationIsNotCached() {
+        // Given - the key is invalidated while its value is being loaded
+        String loaded = region.get(1L, id -> {
+            region.invalidate(id);
+            return "stale";
+        });
+
+        // Then - the caller gets the value, but it is not kept
+        assertEquals("stale", loaded);
+        assertEquals("fresh", region.get(1L, id -> "fresh"));
+    }
+}
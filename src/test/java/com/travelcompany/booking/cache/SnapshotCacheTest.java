@@ -0,0 +1,125 @@
+package com.travelcompany.booking.cache;
+
+import org.junit.jupiter.api.Test;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SnapshotCache
+ */
+class SnapshotCacheTest {
+
+    private final AtomicLong now = new AtomicLong();
+    private final List<Runnable> queued = new ArrayList<>();
+
+    @Test
+    void testServesFreshSnapshotWithoutRecomputing() {
+        // Given
+        SnapshotCache<String, Integer> cache = new SnapshotCache<>(10, TimeUnit.SECONDS, queued::add, now::get);
+        AtomicInteger loads = new AtomicInteger();
+
+        // When
+        SnapshotCache.Snapshot<Integer> first = cache.get("dashboard", loads::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(9));
+        SnapshotCache.Snapshot<Integer> second = cache.get("dashboard", loads::incrementAndGet);
+
+        // Then
+        assertEquals(1, first.getValue());
+        assertSame(first, second);
+        assertNotNull(first.getAsOf());
+        assertTrue(queued.isEmpty());
+        assertEquals(1L, cache.getStats().get("freshHits"));
+    }
+
+    @Test
+    void testStaleSnapshotIsServedWhileOneRefreshRuns() {
+        // Given
+        SnapshotCache<String, Integer> cache = new SnapshotCache<>(10, TimeUnit.SECONDS, queued::add, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        cache.get("dashboard", loads::incrementAndGet);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        // When - three stale reads before the refresh runs
+        for (int i = 0; i < 3; i++) {
+            assertEquals(1, cache.get("dashboard", loads::incrementAndGet).getValue());
+        }
+        assertEquals(1, queued.size());
+        queued.remove(0).run();
+
+        // Then
+        assertEquals(2, cache.get("dashboard", loads::incrementAndGet).getValue());
+        assertEquals(2, loads.get());
+        assertEquals(3L, cache.getStats().get("staleHits"));
+        assertEquals(1L, cache.getStats().get("refreshes"));
+    }
+
+    @Test
+    void testFailedRefreshKeepsPreviousSnapshot() {
+        // Given
+        SnapshotCache<String, Integer> cache = new SnapshotCache<>(10, TimeUnit.SECONDS, Runnable::run, now::get);
+        cache.get("monthly-report", () -> 7);
+        now.addAndGet(TimeUnit.SECONDS.toNanos(11));
+
+        // When
+        SnapshotCache.Snapshot<Integer> served = cache.get("monthly-report", () -> {
+            throw new IllegalStateException("database down");
+        });
+
+        // Then - the next call retries and succeeds
+        assertEquals(7, served.getValue());
+        assertEquals(1L, cache.getStats().get("refreshFailures"));
+        cache.get("monthly-report", () -> 8);
+        assertEquals(8, cache.get("monthly-report", () -> 9).getValue());
+    }
+
+    @Test
+    void testConcurrentFirstCallersShareOneLoad() throws Exception {
+        // Given
+        SnapshotCache<String, Integer> cache = new SnapshotCache<>(10, TimeUnit.SECONDS, queued::add, now::get);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch loading = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService callers = Executors.newFixedThreadPool(4);
+
+        try {
+            // When
+            Future<Integer> first = callers.submit(() -> cache.get("dashboard", () -> {
+                loading.countDown();
+                await(release);
+                return loads.incrementAndGet();
+            }).getValue());
+            loading.await();
+            List<Future<Integer>> others = new ArrayList<>();
+            for (int i = 0; i < 3; i++) {
+                others.add(callers.submit(() -> cache.get("dashboard", loads::incrementAndGet).getValue()));
+            }
+            release.countDown();
+
+            // Then
+            assertEquals(1, first.get(5, TimeUnit.SECONDS));
+            for (Future<Integer> other : others) {
+                assertEquals(1, other.get(5, TimeUnit.SECONDS));
+            }
+            assertEquals(1, loads.get());
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package com.travelcompany.booking.controller;
+
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.service.AdminService;
+import com.travelcompany.booking.service.BookingExportService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Unit tests for AdminController
+ */
+@WebMvcTest(AdminController.class)
+class AdminControllerTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private AdminService adminService;
+
+    @MockBean
+    private BookingExportService bookingExportService;
+
+    @Test
+    void testExportIsGzippedWhenAccepted() throws Exception {
+        mockMvc.perform(get("/api/admin/bookings/export").header(HttpHeaders.ACCEPT_ENCODING, "deflate, GZIP"))
+                .andExpect(header().string(HttpHeaders.CONTENT_ENCODING, "gzip"));
+    }
+
+    @Test
+    void testExportIsPlainWhenGzipIsRefused() throws Exception {
+        mockMvc.perform(get("/api/admin/bookings/export").header(HttpHeaders.ACCEPT_ENCODING, "gzip;q=0, *"))
+                .andExpect(header().doesNotExist(HttpHeaders.CONTENT_ENCODING));
+    }
+
+    @Test
+    void testBookingsByStatusArePagedWithCursor() throws Exception {
+        given(adminService.getBookingsByStatus("pending", "abc", 20)).willReturn(new BookingPageDto(List.of(), "next"));
+
+        mockMvc.perform(get("/api/admin/bookings/status/pending").param("cursor", "abc").param("size", "20"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.nextCursor").value("next"));
+    }
+
+    @Test
+    void testAcceptEncodingQualityValues() {
+        assertTrue(AdminController.acceptsGzip("gzip"));
+        assertTrue(AdminController.acceptsGzip("br;q=1.0, gzip;q=0.5"));
+        assertTrue(AdminController.acceptsGzip("*"));
+        assertFalse(AdminController.acceptsGzip("gzip;q=0"));
+        assertFalse(AdminController.acceptsGzip("gzip; q=0.0, *;q=1"));
+        assertFalse(AdminController.acceptsGzip("identity, *;q=0"));
+        assertFalse(AdminController.acceptsGzip("deflate"));
+        assertFalse(AdminController.acceptsGzip(null));
+    }
+}
@@ -1,15 +1,19 @@
 package com.travelcompany.booking.controller;
 
 import java.math.BigDecimal;
+import java.time.Instant;
 import java.time.LocalDateTime;
-import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verifyNoInteractions;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
@@ -18,13 +22,22 @@ import org.springframework.test.web.servlet.MockMvc;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.dto.BookingQueryDto;
 import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingTicketDto;
 import com.travelcompany.booking.model.Booking;
 import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.service.BookingBulkService;
+import com.travelcompany.booking.service.BookingPipelineService;
+import com.travelcompany.booking.service.BookingQueryService;
 import com.travelcompany.booking.service.BookingService;
 
 /**
@@ -39,6 +52,15 @@ class BookingControllerTest {
     @MockBean
     private BookingService bookingService;
 
+    @MockBean
+    private BookingQueryService bookingQueryService;
+
+    @MockBean
+    private BookingBulkService bookingBulkService;
+
+    @MockBean
+    private BookingPipelineService bookingPipelineService;
+
     @Autowired
     private ObjectMapper objectMapper;
 
@@ -84,14 +106,77 @@ class BookingControllerTest {
     }
 
     @Test
-    void testGetAllBookings() throws Exception {
-        List<Booking> bookings = Arrays.asList(testBooking);
-        given(bookingService.getAllBookings()).willReturn(bookings);
+    void testSubmitBookingAsync() throws Exception {
+        BookingTicketDto ticket = new BookingTicketDto("t-1", BookingTicketDto.TicketStatus.QUEUED, Instant.now());
+        given(bookingPipelineService.submit(any(BookingRequestDto.class))).willReturn(Optional.of(ticket));
+
+        mockMvc.perform(post("/api/bookings/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBookingRequest)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Location", "/api/bookings/tickets/t-1"))
+                .andExpect(jsonPath("$.status").value("QUEUED"));
+    }
+
+    @Test
+    void testSubmitBookingAsyncWhenQueueIsFull() throws Exception {
+        given(bookingPipelineService.submit(any(BookingRequestDto.class))).willReturn(Optional.empty());
+
+        mockMvc.perform(post("/api/bookings/async")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(testBookingRequest)))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string("Retry-After", "1"));
+    }
+
+    @Test
+    void testCreateBookingsInBulk() throws Exception {
+        List<BookingBulkResultDto> results = List.of(
+            BookingBulkResultDto.created(0, testBookingRequest, 1L, new BigDecimal("15.50")),
+            BookingBulkResultDto.failed(1, testBookingRequest, "Customer not found with id: 1"));
+        given(bookingBulkService.createBookings(anyList())).willReturn(results);
+
+        mockMvc.perform(post("/api/bookings/bulk")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content(objectMapper.writeValueAsString(List.of(testBookingRequest, testBookingRequest))))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].bookingId").value(1L))
+                .andExpect(jsonPath("$[1].error").value("Customer not found with id: 1"));
+    }
 
+    @Test
+    void testListingEveryBookingIsNotSupported() throws Exception {
+        // Unbounded listings are served a page at a time by GET /api/bookings/query
         mockMvc.perform(get("/api/bookings"))
+                .andExpect(status().isMethodNotAllowed());
+        verifyNoInteractions(bookingService);
+    }
+
+    @Test
+    void testQueryBookings() throws Exception {
+        BookingPageDto page = new BookingPageDto(List.of(BookingSummaryDto.from(testBooking)), "next-page");
+        given(bookingQueryService.queryBookings(argThat((BookingQueryDto query) ->
+                query.getStatus() == Booking.BookingStatus.PENDING
+                    && query.getCustomerId() == 1L
+                    && query.getCreatedFrom().equals(LocalDateTime.of(2026, 1, 1, 0, 0))),
+                eq("abc"), eq(20))).willReturn(page);
+
+        mockMvc.perform(get("/api/bookings/query")
+                .param("status", "pending")
+                .param("customerId", "1")
+                .param("from", "2026-01-01T00:00:00")
+                .param("cursor", "abc")
+                .param("size", "20"))
                 .andExpect(status().isOk())
-                .andExpect(jsonPath("$").isArray())
-                .andExpect(jsonPath("$[0].id").value(1L));
+                .andExpect(jsonPath("$.bookings[0].id").value(1L))
+                .andExpect(jsonPath("$.hasMore").value(true))
+                .andExpect(jsonPath("$.nextCursor").value("next-page"));
+    }
+
+    @Test
+    void testQueryBookingsInvalidStatus() throws Exception {
+        mockMvc.perform(get("/api/bookings/query").param("status", "LOST"))
+                .andExpect(status().isBadRequest());
     }
 
     @Test
@@ -123,6 +208,16 @@ class BookingControllerTest {
                 .andExpect(jsonPath("$.status").value("CONFIRMED"));
     }
 
+    @Test
+    void testUpdateBookingStatusIllegalTransition() throws Exception {
+        given(bookingService.updateBookingStatus(1L, Booking.BookingStatus.PENDING))
+            .willThrow(new IllegalStateException("Cannot change booking 1 from CONFIRMED to PENDING"));
+
+        mockMvc.perform(put("/api/bookings/1/status")
+                .param("status", "PENDING"))
+                .andExpect(status().isConflict());
+    }
+
     @Test
     void testCancelBooking() throws Exception {
         testBooking.setStatus(Booking.BookingStatus.CANCELLED);
@@ -1,14 +1,23 @@
 package com.travelcompany.booking.controller;
 
 import com.travelcompany.booking.dto.FareCalculationDto;
+import com.travelcompany.booking.dto.FareMatrixDto;
+import com.travelcompany.booking.dto.FareQuoteRequestDto;
+import com.travelcompany.booking.dto.FareQuoteResultDto;
+import com.travelcompany.booking.service.FareBatchService;
 import com.travelcompany.booking.service.FareCalculatorService;
+import com.travelcompany.booking.service.FareQuoteService;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import java.math.BigDecimal;
+import java.util.List;
 
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.BDDMockito.given;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
@@ -17,6 +26,7 @@ import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.
  * Unit tests for FareController
  */
 @WebMvcTest(FareController.class)
+@Import(FareQuoteService.class)
 class FareControllerTest {
 
     @Autowired
@@ -25,17 +35,36 @@ class FareControllerTest {
     @MockBean
     private FareCalculatorService fareCalculatorService;
 
+    @MockBean
+    private FareBatchService fareBatchService;
+
     @Test
     void testCalculateFare() throws Exception {
         BigDecimal expectedFare = new BigDecimal("15.50");
         given(fareCalculatorService.calculateFare("123 Main St", "456 Oak Ave", "Economy"))
             .willReturn(expectedFare);
 
+        mockMvc.perform(post("/api/fare/calculate")
+                .param("pickupLocation", "123 Main St")
+                .param("destination", "456 Oak Ave")
+                .param("cabType", "Economy")
+                .param("quote", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("X-Fare-Quote-Id"))
+                .andExpect(content().string("15.50"));
+    }
+
+    @Test
+    void testCalculateFareWithoutQuoteIssuesNone() throws Exception {
+        given(fareCalculatorService.calculateFare("123 Main St", "456 Oak Ave", "Economy"))
+            .willReturn(new BigDecimal("15.50"));
+
         mockMvc.perform(post("/api/fare/calculate")
                 .param("pickupLocation", "123 Main St")
                 .param("destination", "456 Oak Ave")
                 .param("cabType", "Economy"))
                 .andExpect(status().isOk())
+                .andExpect(header().doesNotExist("X-Fare-Quote-Id"))
                 .andExpect(content().string("15.50"));
     }
 
@@ -53,11 +82,34 @@ class FareControllerTest {
         mockMvc.perform(post("/api/fare/detailed")
                 .param("pickupLocation", "123 Main St")
                 .param("destination", "456 Oak Ave")
-                .param("cabType", "Economy"))
+                .param("cabType", "Economy")
+                .param("quote", "true"))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.totalFare").value(15.50))
                 .andExpect(jsonPath("$.baseFare").value(5.00))
-                .andExpect(jsonPath("$.distanceFare").value(7.50));
+                .andExpect(jsonPath("$.distanceFare").value(7.50))
+                .andExpect(jsonPath("$.quoteId").isNotEmpty());
+    }
+
+    @Test
+    void testCalculateFareMatrix() throws Exception {
+        FareCalculationDto economy = new FareCalculationDto("123 Main St", "456 Oak Ave", "Economy", new BigDecimal("5.00"));
+        economy.setTotalFare(new BigDecimal("12.50"));
+        FareMatrixDto matrix = new FareMatrixDto("123 Main St", "456 Oak Ave", new BigDecimal("5.00"));
+        matrix.setEstimatedTripMinutes(10);
+        matrix.setFares(List.of(economy));
+
+        given(fareCalculatorService.calculateFareMatrix("123 Main St", "456 Oak Ave")).willReturn(matrix);
+
+        mockMvc.perform(get("/api/fare/matrix")
+                .param("pickupLocation", "123 Main St")
+                .param("destination", "456 Oak Ave")
+                .param("quote", "true"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.estimatedTripMinutes").value(10))
+                .andExpect(jsonPath("$.fares[0].cabType").value("Economy"))
+                .andExpect(jsonPath("$.fares[0].totalFare").value(12.50))
+                .andExpect(jsonPath("$.fares[0].quoteId").isNotEmpty());
     }
 
     @Test
@@ -71,4 +123,21 @@ class FareControllerTest {
                 .andExpect(status().isOk())
                 .andExpect(content().string("20"));
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculateBatchFares() throws Exception {
+        FareQuoteRequestDto economyTrip = new FareQuoteRequestDto("123 Main St", "456 Oak Ave", "Economy");
+        FareQuoteRequestDto unknownTrip = new FareQuoteRequestDto("123 Main St", "456 Oak Ave", "Limousine");
+        given(fareBatchService.calculateFares(anyList())).willReturn(List.of(
+            FareQuoteResultDto.priced(0, economyTrip, new BigDecimal("15.50")),
+            FareQuoteResultDto.failed(1, unknownTrip, "Cab type not found: Limousine")));
+
+        mockMvc.perform(post("/api/fare/batch")
+                .contentType(MediaType.APPLICATION_JSON)
+                .content("[{\"pickupLocation\":\"123 Main St\",\"destination\":\"456 Oak Ave\",\"cabType\":\"Economy\"},"
+                    + "{\"pickupLocation\":\"123 Main St\",\"destination\":\"456 Oak Ave\",\"cabType\":\"Limousine\"}]"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$[0].totalFare").value(15.50))
+                .andExpect(jsonPath("$[1].error").value("Cab type not found: Limousine"));
+    }
+}
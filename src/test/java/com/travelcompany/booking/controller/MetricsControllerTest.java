@@ -0,0 +1,39 @@
+package com.travelcompany.booking.controller;
+
+import com.travelcompany.booking.service.StatsSource;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for MetricsController
+ */
+class MetricsControllerTest {
+
+    @Test
+    void testStatsAreServedByName() {
+        // Given
+        MetricsController controller = new MetricsController(List.of(
+            StatsSource.of("near-cache", () -> Map.of("hits", 3L)),
+            StatsSource.of("dashboard", () -> Map.of("reconciliations", 1L))));
+
+        // When
+        ResponseEntity<Map<String, Object>> response = controller.getStats("near-cache");
+
+        // Then
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(Map.of("hits", 3L), response.getBody());
+        assertEquals(List.of("dashboard", "near-cache"), controller.getStatsNames().getBody());
+        assertEquals(HttpStatus.NOT_FOUND, controller.getStats("unknown").getStatusCode());
+    }
+
+    @Test
+    void testDuplicateNamesAreRejected() {
+        List<StatsSource> sources = List.of(StatsSource.of("dashboard", Map::of), StatsSource.of("dashboard", Map::of));
+        assertThrows(IllegalStateException.class, () -> new MetricsController(sources));
+    }
+}
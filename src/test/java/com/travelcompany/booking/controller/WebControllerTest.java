@@ -0,0 +1,147 @@
+package com.travelcompany.booking.controller;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.web.servlet.MockMvc;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.redirectedUrl;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.view;
+
+import static org.hamcrest.Matchers.containsString;
+
+import com.travelcompany.booking.dto.BookingDetailsDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.service.AdminService;
+import com.travelcompany.booking.service.BookingService;
+import com.travelcompany.booking.service.CustomerService;
+
+/**
+ * Unit tests for WebController
+ */
+@WebMvcTest(WebController.class)
+class WebControllerTest {
+
+    private static final String ETAG = "\"booking-1-v2-abc\"";
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @MockBean
+    private CustomerService customerService;
+
+    @MockBean
+    private BookingService bookingService;
+
+    @MockBean
+    private AdminService adminService;
+
+    private Booking testBooking;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        customer.setId(1L);
+        testBooking = new Booking(customer, "123 Main St", "456 Oak Ave", LocalDateTime.now().plusHours(2),
+            "Economy", new BigDecimal("15.50"));
+        testBooking.setId(1L);
+        testBooking.setVersion(2L);
+    }
+
+    @Test
+    void testAdminDashboardRendersRecentBookings() throws Exception {
+        // Given
+        Booking unpriced = new Booking(testBooking.getCustomer(), "Airport", "Harbour View",
+            LocalDateTime.now().plusHours(3), "SUV", null);
+        unpriced.setId(2L);
+        Map<String, Object> dashboard = new HashMap<>(Map.of("totalCustomers", 1L, "totalBookings", 2L,
+            "pendingBookings", 2L, "confirmedBookings", 0L, "inProgressBookings", 0L, "completedBookings", 0L,
+            "cancelledBookings", 0L, "recentBookingsCount", 2L));
+        dashboard.put("asOf", LocalDateTime.now());
+        given(adminService.getDashboardStats()).willReturn(dashboard);
+        given(bookingService.getRecentBookingSummaries(0, 10))
+            .willReturn(List.of(BookingSummaryDto.from(unpriced), BookingSummaryDto.from(testBooking)));
+
+        // When & Then
+        mockMvc.perform(get("/admin"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("admin"))
+            .andExpect(content().string(containsString("$15.50")))
+            .andExpect(content().string(containsString("TBD")))
+            .andExpect(content().string(containsString("Airport → Harbour View")));
+    }
+
+    @Test
+    void testBookingsPageLinksToOlderBookings() throws Exception {
+        // Given
+        List<BookingSummaryDto> fullPage = Collections.nCopies(50, BookingSummaryDto.from(testBooking));
+        given(bookingService.getRecentBookingSummaries(1, 50)).willReturn(fullPage);
+
+        // When & Then
+        mockMvc.perform(get("/bookings").param("page", "1"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("bookings"))
+            .andExpect(content().string(containsString("/bookings?page=0")))
+            .andExpect(content().string(containsString("/bookings?page=2")));
+    }
+
+    @Test
+    void testViewBookingRendersDetailsWithEtag() throws Exception {
+        // Given
+        given(bookingService.findBookingById(1L)).willReturn(Optional.of(testBooking));
+        given(bookingService.getDetailsEtag(testBooking)).willReturn(ETAG);
+        given(bookingService.getBookingDetails(1L)).willReturn(Optional.of(new BookingDetailsDto(testBooking, null,
+            List.of(new BookingDetailsDto.StatusEntry(Booking.BookingStatus.PENDING, testBooking.getCreatedDate())))));
+
+        // When & Then
+        mockMvc.perform(get("/booking/1"))
+            .andExpect(status().isOk())
+            .andExpect(view().name("booking-details"))
+            .andExpect(header().string(HttpHeaders.ETAG, ETAG))
+            .andExpect(content().string(containsString("John Doe")));
+    }
+
+    @Test
+    void testViewBookingReturnsNotModifiedWithoutLoadingDetails() throws Exception {
+        // Given
+        given(bookingService.findBookingById(1L)).willReturn(Optional.of(testBooking));
+        given(bookingService.getDetailsEtag(testBooking)).willReturn(ETAG);
+
+        // When & Then
+        mockMvc.perform(get("/booking/1").header(HttpHeaders.IF_NONE_MATCH, ETAG))
+            .andExpect(status().isNotModified());
+        verify(bookingService, never()).getBookingDetails(any());
+    }
+
+    @Test
+    void testViewMissingBookingRedirects() throws Exception {
+        // Given
+        given(bookingService.findBookingById(999L)).willReturn(Optional.empty());
+
+        // When & Then
+        mockMvc.perform(get("/booking/999"))
+            .andExpect(status().is3xxRedirection())
+            .andExpect(redirectedUrl("/bookings"));
+        verify(bookingService, never()).getBookingDetails(any());
+    }
+}
@@ -0,0 +1,210 @@
+package com.travelcompany.booking.idempotency;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ReadListener;
+import jakarta.servlet.ServletInputStream;
+import jakarta.servlet.http.HttpServletResponse;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+import org.springframework.util.StreamUtils;
+import java.nio.charset.StandardCharsets;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for IdempotencyFilter with the in-memory store
+ */
+class IdempotencyFilterTest {
+
+    private IdempotencyFilter filter;
+    private final AtomicInteger executions = new AtomicInteger();
+
+    @BeforeEach
+    void setUp() {
+        IdempotencyStore store = new InMemoryIdempotencyStore(new BoundedTtlCache<>(100, 1, TimeUnit.MINUTES));
+        filter = new IdempotencyFilter(store, Set.of("/api/bookings", "/api/customers"), 5000);
+    }
+
+    @Test
+    void testRepeatedRequestReplaysStoredResponse() throws Exception {
+        // Given
+        FilterChain chain = createdChain(201);
+        filter.doFilter(request("key-1", "{\"customerId\":1}"), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse replay = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"customerId\":1}"), replay, chain);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(201, replay.getStatus());
+        assertEquals("{\"id\":1}", replay.getContentAsString());
+        assertEquals("application/json", replay.getContentType());
+        assertEquals("/api/bookings/1", replay.getHeader("Location"));
+        assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+        assertEquals(1L, filter.getStats().get("replayed"));
+    }
+
+    @Test
+    void testKeyReusedWithDifferentBodyIsRejected() throws Exception {
+        // Given
+        FilterChain chain = createdChain(201);
+        filter.doFilter(request("key-1", "{\"customerId\":1}"), new MockHttpServletResponse(), chain);
+
+        // When
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{\"customerId\":2}"), response, chain);
+
+        // Then
+        assertEquals(1, executions.get());
+        assertEquals(422, response.getStatus());
+    }
+
+    @Test
+    void testServerErrorReleasesKeyForRetry() throws Exception {
+        // Given
+        filter.doFilter(request("key-1", "{}"), new MockHttpServletResponse(), createdChain(500));
+
+        // When
+        MockHttpServletResponse retry = new MockHttpServletResponse();
+        filter.doFilter(request("key-1", "{}"), retry, createdChain(201));
+
+        // Then
+        assertEquals(2, executions.get());
+        assertEquals(201, retry.getStatus());
+        assertNull(retry.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+    }
+
+    @Test
+    void testRequestsWithoutKeyOrOutsidePathsPassThrough() throws Exception {
+        // Given
+        FilterChain chain = createdChain(201);
+
+        // When
+        for (int i = 0; i < 2; i++) {
+            MockHttpServletRequest otherPath = request("key-1", "{}");
+            otherPath.setRequestURI("/api/fare/calculate");
+            filter.doFilter(request(null, "{}"), new MockHttpServletResponse(), chain);
+            filter.doFilter(otherPath, new MockHttpServletResponse(), chain);
+        }
+
+        // Then
+        assertEquals(4, executions.get());
+        assertEquals(0L, filter.getStats().get("executed"));
+    }
+
+    @Test
+    void testConcurrentDuplicatesCollapseOntoInFlightRequest() throws Exception {
+        // Given
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        FilterChain slowChain = (req, res) -> {
+            executions.incrementAndGet();
+            started.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            writeCreated((HttpServletResponse) res, 201);
+        };
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            // When
+            Future<MockHttpServletResponse> first = executor.submit(() -> execute("key-1", slowChain));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+            Future<MockHttpServletResponse> duplicate = executor.submit(() -> execute("key-1", slowChain));
+            while ((Long) filter.getStats().get("collapsed") == 0L) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+
+            // Then
+            assertEquals(201, first.get(5, TimeUnit.SECONDS).getStatus());
+            MockHttpServletResponse replay = duplicate.get(5, TimeUnit.SECONDS);
+            assertEquals(201, replay.getStatus());
+            assertEquals("true", replay.getHeader(IdempotencyFilter.REPLAYED_HEADER));
+            assertEquals(1, executions.get());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private MockHttpServletResponse execute(String key, FilterChain chain) throws Exception {
+        MockHttpServletResponse response = new MockHttpServletResponse();
+        filter.doFilter(request(key, "{}"), response, chain);
+        return response;
+    }
+
+    private FilterChain createdChain(int status) {
+        return (req, res) -> {
+            // The controller must still see the body the filter already read
+            assertFalse(StreamUtils.copyToString(req.getInputStream(), StandardCharsets.UTF_8).isEmpty());
+            executions.incrementAndGet();
+            writeCreated((HttpServletResponse) res, status);
+        };
+    }
+
+    @Test
+    void testCachedBodyCanBeReadWithReadListener() throws Exception {
+        // Given
+        IdempotencyFilter.CachedBodyRequest request =
+            new IdempotencyFilter.CachedBodyRequest(request("key-1", "{\"customerId\":1}"));
+        ServletInputStream input = request.getInputStream();
+        StringBuilder read = new StringBuilder();
+        AtomicBoolean allRead = new AtomicBoolean();
+
+        // When
+        input.setReadListener(new ReadListener() {
+            @Override
+            public void onDataAvailable() throws java.io.IOException {
+                while (input.isReady() && !input.isFinished()) {
+                    read.append((char) input.read());
+                }
+            }
+
+            @Override
+            public void onAllDataRead() {
+                allRead.set(true);
+            }
+
+            @Override
+            public void onError(Throwable t) {
+                fail(t);
+            }
+        });
+
+        // Then
+        assertEquals("{\"customerId\":1}", read.toString());
+        assertTrue(allRead.get());
+    }
+
+    private static void writeCreated(HttpServletResponse response, int status) throws java.io.IOException {
+        response.setStatus(status);
+        response.setContentType("application/json");
+        response.setHeader("Location", "/api/bookings/1");
+        response.getOutputStream().write("{\"id\":1}".getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static MockHttpServletRequest request(String key, String body) {
+        MockHttpServletRequest request = new MockHttpServletRequest("POST", "/api/bookings");
+        if (key != null) {
+            request.addHeader(IdempotencyFilter.IDEMPOTENCY_KEY_HEADER, key);
+        }
+        request.setContentType("application/json");
+        request.setContent(body.getBytes(StandardCharsets.UTF_8));
+        return request;
+    }
+}
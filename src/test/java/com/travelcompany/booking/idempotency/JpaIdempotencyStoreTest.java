@@ -0,0 +1,158 @@
+package com.travelcompany.booking.idempotency;
+
+import com.travelcompany.booking.repository.IdempotencyRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for JpaIdempotencyStore against an embedded database
+ * Runs outside a test transaction because a lost claim is a failed insert.
+ */
+@DataJpaTest
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never"
+})
+class JpaIdempotencyStoreTest {
+
+    @Autowired
+    private IdempotencyRecordRepository repository;
+
+    private MutableClock clock;
+    private JpaIdempotencyStore store;
+
+    @BeforeEach
+    void setUp() {
+        clock = new MutableClock(Instant.parse("2024-01-01T00:00:00Z"));
+        store = new JpaIdempotencyStore(repository, Duration.ofHours(1), Duration.ofMinutes(1), clock);
+    }
+
+    @AfterEach
+    void tearDown() {
+        repository.deleteAll();
+    }
+
+    @Test
+    void testFirstClaimWinsAndDuplicateSeesInProgressEntry() {
+        // When
+        IdempotencyEntry first = store.putIfAbsent("/api/bookings|key-1", "abc", "owner-1");
+        IdempotencyEntry second = store.putIfAbsent("/api/bookings|key-1", "abc", "owner-2");
+
+        // Then
+        assertNull(first);
+        assertNotNull(second);
+        assertEquals("abc", second.getFingerprint());
+        assertFalse(second.isCompleted());
+    }
+
+    @Test
+    void testCompletedResponseIsReturnedToDuplicates() {
+        // Given
+        store.putIfAbsent("/api/bookings|key-1", "abc", "owner-1");
+        StoredResponse response = new StoredResponse(201, "application/json",
+            Map.of("Location", List.of("/api/bookings/7")), "{\"id\":7}".getBytes(StandardCharsets.UTF_8));
+
+        // When
+        assertTrue(store.complete("/api/bookings|key-1", "owner-1", "abc", response));
+        IdempotencyEntry duplicate = store.putIfAbsent("/api/bookings|key-1", "abc", "owner-2");
+
+        // Then
+        assertTrue(duplicate.isCompleted());
+        assertEquals(201, duplicate.getResponse().getStatus());
+        assertEquals("application/json", duplicate.getResponse().getContentType());
+        assertEquals(List.of("/api/bookings/7"), duplicate.getResponse().getHeaders().get("Location"));
+        assertEquals("{\"id\":7}", new String(duplicate.getResponse().getBody(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testExpiredAndReleasedKeysCanBeClaimedAgain() {
+        // Given
+        store.putIfAbsent("/api/bookings|expired", "abc", "owner-1");
+        store.putIfAbsent("/api/bookings|released", "abc", "owner-2");
+        store.release("/api/bookings|released", "owner-2");
+
+        // When
+        clock.advance(Duration.ofMinutes(2));
+
+        // Then
+        assertNull(store.putIfAbsent("/api/bookings|expired", "def", "owner-3"));
+        assertNull(store.putIfAbsent("/api/bookings|released", "def", "owner-4"));
+    }
+
+    @Test
+    void testExpiredClaimTakenOverCannotBeReleasedOrCompletedByItsFormerOwner() {
+        // Given - owner-1's claim expires and owner-2 takes the key over
+        store.putIfAbsent("/api/bookings|key-1", "abc", "owner-1");
+        clock.advance(Duration.ofMinutes(2));
+        assertNull(store.putIfAbsent("/api/bookings|key-1", "abc", "owner-2"));
+        StoredResponse response = new StoredResponse(201, "application/json", Map.of(), new byte[0]);
+
+        // When - the slow first request finishes
+        store.release("/api/bookings|key-1", "owner-1");
+        boolean completed = store.complete("/api/bookings|key-1", "owner-1", "abc", response);
+
+        // Then - owner-2 still holds the key
+        assertFalse(completed);
+        IdempotencyEntry entry = store.putIfAbsent("/api/bookings|key-1", "abc", "owner-3");
+        assertNotNull(entry);
+        assertFalse(entry.isCompleted());
+        assertTrue(store.complete("/api/bookings|key-1", "owner-2", "abc", response));
+        assertEquals(1L, store.getStats().get("lostClaims"));
+    }
+
+    @Test
+    void testPurgeRemovesExpiredRows() {
+        // Given
+        store.putIfAbsent("/api/bookings|key-1", "abc", "owner-1");
+        clock.advance(Duration.ofMinutes(2));
+
+        // When
+        store.purgeExpired();
+
+        // Then
+        assertEquals(0, repository.count());
+        assertEquals(1L, store.getStats().get("purged"));
+    }
+
+    private static class MutableClock extends Clock {
+        private Instant now;
+
+        MutableClock(Instant now) {
+            this.now = now;
+        }
+
+        void advance(Duration duration) {
+            now = now.plus(duration);
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+
+        @Override
+        public java.time.ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(java.time.ZoneId zone) {
+            return this;
+        }
+    }
+}
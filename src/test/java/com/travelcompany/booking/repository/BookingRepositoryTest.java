@@ -0,0 +1,206 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.dto.BookingCursor;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.model.Fare;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Repository tests for BookingRepository keyset queries on an embedded database
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never"
+})
+class BookingRepositoryTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    private Customer john;
+    private Customer jane;
+    private final LocalDateTime base = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        john = entityManager.persist(new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St"));
+        jane = entityManager.persist(new Customer("Jane Smith", "jane@example.com", "+1987654321", "456 Oak Ave"));
+
+        // Ten bookings, with pairs sharing a created date so the id tie-breaker matters
+        for (int i = 0; i < 10; i++) {
+            Booking booking = new Booking(i % 2 == 0 ? john : jane, "Pickup " + i, "Drop " + i,
+                base.plusHours(1), i % 3 == 0 ? "SUV" : "Economy", new BigDecimal("15.50"));
+            booking.setCreatedDate(base.minusMinutes(i / 2));
+            booking.setStatus(i < 6 ? Booking.BookingStatus.PENDING : Booking.BookingStatus.COMPLETED);
+            entityManager.persist(booking);
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    private List<Booking> readAllPages(BookingQueryDto query, int pageSize) {
+        List<Booking> all = new ArrayList<>();
+        BookingCursor cursor = null;
+        while (true) {
+            List<Booking> page = bookingRepository.findPage(query, cursor, pageSize);
+            all.addAll(page);
+            if (page.size() < pageSize) {
+                return all;
+            }
+            cursor = BookingCursor.after(page.get(page.size() - 1));
+        }
+    }
+
+    @Test
+    void testFindPageWalksEveryRowOnceNewestFirst() {
+        // When
+        List<Booking> all = readAllPages(new BookingQueryDto(), 3);
+
+        // Then
+        assertEquals(10, all.size());
+        assertEquals(10, all.stream().map(Booking::getId).distinct().count());
+        for (int i = 1; i < all.size(); i++) {
+            Booking previous = all.get(i - 1);
+            Booking current = all.get(i);
+            int byDate = previous.getCreatedDate().compareTo(current.getCreatedDate());
+            assertTrue(byDate > 0 || (byDate == 0 && previous.getId() > current.getId()));
+        }
+    }
+
+    @Test
+    void testFindPageCombinesFilters() {
+        // Given
+        BookingQueryDto query = new BookingQueryDto(Booking.BookingStatus.PENDING, john.getId(), "Economy",
+            base.minusMinutes(2), base.plusMinutes(1));
+
+        // When
+        List<Booking> all = readAllPages(query, 1);
+
+        // Then - john's PENDING Economy bookings are i = 2 and 4; i = 0 is an SUV
+        assertEquals(2, all.size());
+        assertTrue(all.stream().allMatch(b -> b.getCustomer().getId().equals(john.getId())));
+        assertTrue(all.stream().allMatch(b -> b.getStatus() == Booking.BookingStatus.PENDING));
+        assertEquals(List.of("Pickup 2", "Pickup 4"), all.stream().map(Booking::getPickupLocation).toList());
+    }
+
+    @Test
+    void testSummariesCarryCustomerFieldsNewestFirst() {
+        // When
+        List<BookingSummaryDto> summaries = bookingRepository.findRecentSummaries(PageRequest.of(0, 20)).stream()
+            .filter(s -> s.getCustomerId().equals(jane.getId()))
+            .toList();
+
+        // Then - jane has the odd bookings; pairs share a created date, so ids break the tie
+        assertEquals(List.of("Pickup 1", "Pickup 3", "Pickup 5", "Pickup 7", "Pickup 9"),
+            summaries.stream().map(BookingSummaryDto::getPickupLocation).toList());
+        assertTrue(summaries.stream().allMatch(s -> s.getCustomerId().equals(jane.getId())
+            && s.getCustomerName().equals("Jane Smith") && s.getCustomerEmail().equals("jane@example.com")));
+        assertEquals(10, bookingRepository.findRecentSummaries(PageRequest.of(0, 20)).size());
+    }
+
+    @Test
+    void testTransitionStatusOnlyMatchesAllowedPredecessors() {
+        // Given
+        Booking pending = bookingRepository.findPage(
+            new BookingQueryDto(Booking.BookingStatus.PENDING, null, null, null, null), null, 1).get(0);
+        Long id = pending.getId();
+        Long version = pending.getVersion();
+
+        // When
+        int confirmed = bookingRepository.transitionStatus(id,
+            Booking.BookingStatus.CONFIRMED.allowedPredecessors(), Booking.BookingStatus.CONFIRMED);
+        int confirmedAgain = bookingRepository.transitionStatus(id,
+            Booking.BookingStatus.CONFIRMED.allowedPredecessors(), Booking.BookingStatus.CONFIRMED);
+
+        // Then
+        assertEquals(1, confirmed);
+        assertEquals(0, confirmedAgain);
+        Booking reloaded = bookingRepository.findById(id).orElseThrow();
+        assertEquals(Booking.BookingStatus.CONFIRMED, reloaded.getStatus());
+        assertEquals(version + 1, reloaded.getVersion());
+        assertEquals(Booking.BookingStatus.CONFIRMED, bookingRepository.findStatusById(id).orElseThrow());
+    }
+
+    @Test
+    void testTransitionStatusesUpdatesOnlyLegalRowsInOneStatement() {
+        // Given
+        List<Long> ids = bookingRepository.findAll().stream().map(Booking::getId).toList();
+        Map<Long, Booking.BookingStatus> before = bookingRepository.findStatusesForUpdate(ids).stream()
+            .collect(Collectors.toMap(BookingRepository.BookingStatusView::getId,
+                BookingRepository.BookingStatusView::getStatus));
+
+        // When
+        int updated = bookingRepository.transitionStatuses(ids,
+            Booking.BookingStatus.CANCELLED.allowedPredecessors(), Booking.BookingStatus.CANCELLED);
+
+        // Then - the six PENDING bookings are cancelled, the four COMPLETED ones are untouched
+        assertEquals(10, before.size());
+        assertEquals(6, updated);
+        assertEquals(6, bookingRepository.countByStatus(Booking.BookingStatus.CANCELLED));
+        assertEquals(4, bookingRepository.countByStatus(Booking.BookingStatus.COMPLETED));
+    }
+
+    @Test
+    void testDetailRowsCarryCustomerFareAndHistoryInOrder() {
+        // Given - a fare breakdown and two recorded transitions for one booking
+        Booking booking = entityManager.find(Booking.class, bookingRepository.findIdsByCustomerId(john.getId()).get(0));
+        entityManager.persist(new Fare(booking, new BigDecimal("5.00"), new BigDecimal("10.50"), BigDecimal.ZERO,
+            new BigDecimal("15.50"), new BigDecimal("7.00")));
+        assertEquals(1, statusChangeRepository.recordTransitions(List.of(booking.getId()),
+            Booking.BookingStatus.IN_PROGRESS, base.plusMinutes(30)));
+        assertEquals(1, statusChangeRepository.recordTransitions(List.of(booking.getId()),
+            Booking.BookingStatus.CONFIRMED, base.plusMinutes(5)));
+        entityManager.flush();
+        entityManager.clear();
+
+        // When
+        List<Object[]> rows = bookingRepository.findDetailRows(booking.getId());
+
+        // Then
+        assertEquals(2, rows.size());
+        Booking loaded = (Booking) rows.get(0)[0];
+        assertEquals("John Doe", loaded.getCustomer().getName());
+        assertEquals(new BigDecimal("15.50"), ((Fare) rows.get(0)[1]).getTotalFare());
+        assertEquals(List.of(Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS),
+            rows.stream().map(row -> ((BookingStatusChange) row[2]).getStatus()).toList());
+        assertTrue(bookingRepository.findDetailRows(-1L).isEmpty());
+    }
+
+    @Test
+    void testDetailRowsWithoutFareOrHistory() {
+        // Given
+        Long id = bookingRepository.findRecentSummaries(PageRequest.of(0, 1)).get(0).getId();
+
+        // When
+        List<Object[]> rows = bookingRepository.findDetailRows(id);
+
+        // Then - a single row with no fare and no history entry
+        assertEquals(1, rows.size());
+        assertNull(rows.get(0)[1]);
+        assertNull(rows.get(0)[2]);
+    }
+}
@@ -0,0 +1,420 @@
+package com.travelcompany.booking.repository;
+
+import com.travelcompany.booking.dto.BookingCursor;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
+import com.travelcompany.booking.model.CabType;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.model.Fare;
+import com.travelcompany.booking.model.IdempotencyRecord;
+import org.hibernate.Session;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DynamicTest;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.TestPropertySource;
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Query plan regression tests for every repository query
+ * Each repository method is run against seeded data while the SQL it sends (with its bound parameters)
+ * is recorded; every statement is then passed to H2's EXPLAIN and must not fall back to a table scan.
+ * New repository methods must be added to {@link #queries()} or, if they read every row on purpose,
+ * to {@link #INTENTIONAL_FULL_SCANS}.
+ */
+@DataJpaTest
+@Import(QueryPlanTest.RecordingDataSourceConfig.class)
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never"
+})
+class QueryPlanTest {
+
+    private static final List<Class<?>> REPOSITORIES = List.of(BookingRepository.class, BookingRepositoryCustom.class,
+        CustomerRepository.class, CabTypeRepository.class, IdempotencyRecordRepository.class, CacheVersionRepository.class,
+        BookingStatusChangeRepository.class, BookingHourlyRollupRepository.class, BookingSketchRepository.class,
+        BookingRollupRebuildRepository.class);
+
+    /**
+     * Methods that read every row by design (index build and pruning, export and total counts), plus the
+     * newest-first pages without a filter, which H2 plans as a sorted scan (MySQL walks idx_bookings_created)
+     */
+    private static final Set<String> INTENTIONAL_FULL_SCANS = Set.of(
+        "BookingRepository.streamAllLocations",
+        "BookingRepository.streamAllIds",
+        "BookingRepository.findRecentSummaries",
+        "BookingRepository.findRecentSummariesByLocationContaining",
+        "BookingRepository.countGroupedByStatus",
+        "BookingRepositoryCustom.streamAllForExport",
+        "CustomerRepository.countAllCustomers");
+
+    private static final int CUSTOMERS = 200;
+    private static final int BOOKINGS = 5000;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private CabTypeRepository cabTypeRepository;
+
+    @Autowired
+    private IdempotencyRecordRepository idempotencyRecordRepository;
+
+    @Autowired
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Autowired
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    @Autowired
+    private BookingHourlyRollupRepository rollupRepository;
+
+    @Autowired
+    private BookingSketchRepository sketchRepository;
+
+    @Autowired
+    private BookingRollupRebuildRepository rebuildRepository;
+
+    @Autowired
+    private StatementRecorder recorder;
+
+    private final LocalDateTime base = LocalDateTime.of(2026, 1, 1, 0, 0);
+    private final List<Customer> customers = new ArrayList<>();
+    private final List<Long> bookingIds = new ArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        entityManager.persist(new CabType("Economy", new BigDecimal("5.00"), new BigDecimal("1.50"), "Standard"));
+        entityManager.persist(new CabType("Premium", new BigDecimal("8.00"), new BigDecimal("2.00"), "Premium"));
+        entityManager.persist(new CabType("SUV", new BigDecimal("12.00"), new BigDecimal("2.50"), "Large"));
+        for (int i = 0; i < CUSTOMERS; i++) {
+            customers.add(entityManager.persist(new Customer("Customer " + i, "customer" + i + "@example.com",
+                "+1555" + String.format("%07d", i), i + " Main St")));
+        }
+
+        String[] cabTypes = { "Economy", "Premium", "SUV" };
+        Booking.BookingStatus[] statuses = Booking.BookingStatus.values();
+        for (int i = 0; i < BOOKINGS; i++) {
+            Booking booking = new Booking(customers.get(i % CUSTOMERS), "Pickup " + i, "Drop " + i,
+                base.plusHours(i), cabTypes[i % cabTypes.length], new BigDecimal("15.50"));
+            booking.setCreatedDate(base.plusMinutes(i * 7L));
+            booking.setStatus(statuses[i % statuses.length]);
+            bookingIds.add(entityManager.persist(booking).getId());
+            if (i % 2 == 0) {
+                entityManager.persist(new Fare(booking, new BigDecimal("5.00"), new BigDecimal("10.50"),
+                    BigDecimal.ZERO, new BigDecimal("15.50"), new BigDecimal("7.00")));
+                entityManager.persist(new BookingStatusChange(booking, Booking.BookingStatus.CONFIRMED, base.plusHours(i)));
+            }
+        }
+        for (int i = 0; i < 100; i++) {
+            entityManager.persist(new IdempotencyRecord("/api/bookings|key-" + i, "fp", "owner-" + i, base, base.plusMinutes(i)));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    /**
+     * One representative call per repository method; keyed by Interface.method
+     */
+    private Map<String, List<Runnable>> queries() {
+        Customer customer = customers.get(7);
+        Long bookingId = bookingIds.get(42);
+        List<Long> someIds = bookingIds.subList(100, 110);
+        LocalDateTime from = base.plusDays(3);
+        LocalDateTime to = base.plusDays(4);
+        BookingCursor cursor = new BookingCursor(base.plusDays(10), bookingIds.get(2000));
+
+        Map<String, List<Runnable>> queries = new LinkedHashMap<>();
+        queries.put("BookingRepository.findByCustomer", List.of(() -> bookingRepository.findByCustomer(customer)));
+        queries.put("BookingRepository.findIdsByCustomerId",
+            List.of(() -> bookingRepository.findIdsByCustomerId(customer.getId())));
+        queries.put("BookingRepository.findByCustomerId", List.of(() -> bookingRepository.findByCustomerId(customer.getId())));
+        queries.put("BookingRepository.findByStatus",
+            List.of(() -> bookingRepository.findByStatus(Booking.BookingStatus.IN_PROGRESS)));
+        queries.put("BookingRepository.findByCreatedDateBetween",
+            List.of(() -> bookingRepository.findByCreatedDateBetween(from, to)));
+        queries.put("BookingRepository.findByCustomerIdOrderByCreatedDateDesc",
+            List.of(() -> bookingRepository.findByCustomerIdOrderByCreatedDateDesc(customer.getId())));
+        queries.put("BookingRepository.countByStatus",
+            List.of(() -> bookingRepository.countByStatus(Booking.BookingStatus.PENDING)));
+        queries.put("BookingRepository.findLocationsCreatedSince",
+            List.of(() -> bookingRepository.findLocationsCreatedSince(base.plusMinutes(4000 * 7L), bookingIds.get(4000),
+                PageRequest.of(0, 1000))));
+        queries.put("BookingRepository.findSummariesByIdIn", List.of(() -> bookingRepository.findSummariesByIdIn(someIds)));
+        queries.put("BookingRepository.findWithCustomerById",
+            List.of(() -> bookingRepository.findWithCustomerById(bookingId)));
+        queries.put("BookingRepository.findDetailRows", List.of(() -> bookingRepository.findDetailRows(bookingId)));
+        queries.put("BookingRepository.countCreatedPerHourSince",
+            List.of(() -> bookingRepository.countCreatedPerHourSince(base.plusDays(20))));
+        queries.put("BookingRepository.sumForRollupBetween",
+            List.of(() -> bookingRepository.sumForRollupBetween(from, to)));
+        queries.put("BookingRepository.sumForRollupByCustomerId",
+            List.of(() -> bookingRepository.sumForRollupByCustomerId(customer.getId())));
+        queries.put("BookingRepository.findEarliestCreatedDate", List.of(bookingRepository::findEarliestCreatedDate));
+        queries.put("BookingRepository.streamByStatusIn", List.of(() -> {
+            try (Stream<BookingRepository.BookingStatusView> trips =
+                     bookingRepository.streamByStatusIn(EnumSet.of(Booking.BookingStatus.COMPLETED))) {
+                trips.count();
+            }
+        }));
+        queries.put("BookingRepository.findStatusById", List.of(() -> bookingRepository.findStatusById(bookingId)));
+        queries.put("BookingRepository.transitionStatus", List.of(() -> bookingRepository.transitionStatus(bookingId,
+            Booking.BookingStatus.CONFIRMED.allowedPredecessors(), Booking.BookingStatus.CONFIRMED)));
+        queries.put("BookingRepository.findStatusesForUpdate",
+            List.of(() -> bookingRepository.findStatusesForUpdate(someIds)));
+        queries.put("BookingRepository.transitionStatuses", List.of(() -> bookingRepository.transitionStatuses(someIds,
+            Booking.BookingStatus.CANCELLED.allowedPredecessors(), Booking.BookingStatus.CANCELLED)));
+        queries.put("BookingRepositoryCustom.findPage", List.of(
+            () -> bookingRepository.findPage(new BookingQueryDto(Booking.BookingStatus.COMPLETED, null, null, null, null), null, 50),
+            () -> bookingRepository.findPage(new BookingQueryDto(null, customer.getId(), null, null, null), cursor, 50),
+            () -> bookingRepository.findPage(new BookingQueryDto(null, null, null, from, to), null, 50),
+            () -> bookingRepository.findPage(new BookingQueryDto(null, null, "suv", from, null), cursor, 50)));
+        queries.put("CustomerRepository.findByEmail", List.of(() -> customerRepository.findByEmail("customer9@example.com")));
+        queries.put("CustomerRepository.existsByEmail", List.of(() -> customerRepository.existsByEmail("customer9@example.com")));
+        queries.put("CustomerRepository.findByPhone", List.of(() -> customerRepository.findByPhone("+15550000009")));
+        queries.put("CabTypeRepository.findByName", List.of(() -> cabTypeRepository.findByName("SUV")));
+        queries.put("CabTypeRepository.existsByName", List.of(() -> cabTypeRepository.existsByName("SUV")));
+        queries.put("IdempotencyRecordRepository.complete", List.of(() -> idempotencyRecordRepository.complete(
+            "/api/bookings|key-1", "owner-1", "fp", 201, "application/json", "", new byte[0], base)));
+        queries.put("IdempotencyRecordRepository.release",
+            List.of(() -> idempotencyRecordRepository.release("/api/bookings|key-3", "owner-3")));
+        queries.put("IdempotencyRecordRepository.deleteExpired",
+            List.of(() -> idempotencyRecordRepository.deleteExpired("/api/bookings|key-2", base.plusDays(1))));
+        queries.put("IdempotencyRecordRepository.purgeExpired",
+            List.of(() -> idempotencyRecordRepository.purgeExpired(base.plusMinutes(5))));
+        queries.put("BookingStatusChangeRepository.recordTransitions", List.of(() -> statusChangeRepository.recordTransitions(
+            someIds, Booking.BookingStatus.CANCELLED, base.plusDays(30))));
+        queries.put("BookingHourlyRollupRepository.adjust", List.of(() -> rollupRepository.adjust(
+            from, "SUV", Booking.BookingStatus.COMPLETED, 1, new BigDecimal("15.50"))));
+        queries.put("BookingHourlyRollupRepository.deleteHoursBetween",
+            List.of(() -> rollupRepository.deleteHoursBetween(from, to)));
+        queries.put("BookingHourlyRollupRepository.sumBetween", List.of(() -> rollupRepository.sumBetween(from, to)));
+        queries.put("BookingSketchRepository.findForUpdate",
+            List.of(() -> sketchRepository.findForUpdate(from.toLocalDate(), "riders")));
+        queries.put("BookingSketchRepository.findSince", List.of(() -> sketchRepository.findSince(to.toLocalDate())));
+        queries.put("BookingSketchRepository.deleteBefore", List.of(() -> sketchRepository.deleteBefore(from.toLocalDate())));
+        queries.put("BookingRollupRebuildRepository.findForUpdate",
+            List.of(() -> rebuildRepository.findForUpdate(from.toLocalDate())));
+        queries.put("BookingRollupRebuildRepository.findForShare",
+            List.of(() -> rebuildRepository.findForShare(List.of(from.toLocalDate(), to.toLocalDate()))));
+        // Runs in its own transaction, so it must not touch rows inserted by the test transaction
+        queries.put("CacheVersionRepository.bump",
+            List.of(() -> cacheVersionRepository.bump(List.of("bookings:3", "customers:5"))));
+        return queries;
+    }
+
+    @Test
+    void testEveryRepositoryQueryIsPlanChecked() {
+        // Given
+        Set<String> declared = new TreeSet<>();
+        for (Class<?> repository : REPOSITORIES) {
+            for (Method method : repository.getDeclaredMethods()) {
+                if (!method.isDefault() && !method.isSynthetic() && !java.lang.reflect.Modifier.isStatic(method.getModifiers())) {
+                    declared.add(repository.getSimpleName() + "." + method.getName());
+                }
+            }
+        }
+
+        // When
+        Set<String> checked = new TreeSet<>(queries().keySet());
+        checked.addAll(INTENTIONAL_FULL_SCANS);
+
+        // Then
+        assertEquals(declared, checked, "Add new repository methods to QueryPlanTest.queries()");
+    }
+
+    @Test
+    void testBookingDetailsAreReadInOneStatement() {
+        // Booking 42 has a fare and a status change (even positions do), plus its customer
+        List<RecordedStatement> statements = record(() -> bookingRepository.findDetailRows(bookingIds.get(42)).forEach(row ->
+            ((Booking) row[0]).getCustomer().getName()));
+
+        assertEquals(1, statements.size(), "Detail read issued extra statements: " + statements.size());
+    }
+
+    @TestFactory
+    Stream<DynamicTest> repositoryQueriesUseIndexes() {
+        return queries().entrySet().stream().map(entry -> DynamicTest.dynamicTest(entry.getKey(), () -> {
+            for (Runnable invocation : entry.getValue()) {
+                List<RecordedStatement> statements = record(invocation);
+                assertFalse(statements.isEmpty(), entry.getKey() + " issued no SQL");
+                for (RecordedStatement statement : statements) {
+                    String plan = explain(statement);
+                    assertFalse(plan.contains(".tableScan"),
+                        entry.getKey() + " falls back to a full table scan:\n" + plan);
+                }
+            }
+        }));
+    }
+
+    private List<RecordedStatement> record(Runnable invocation) {
+        entityManager.flush();
+        entityManager.clear();
+        recorder.start();
+        try {
+            invocation.run();
+            entityManager.flush();
+        } finally {
+            recorder.stop();
+        }
+        return recorder.drain();
+    }
+
+    private String explain(RecordedStatement statement) {
+        return session().doReturningWork(connection -> {
+            try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + statement.sql)) {
+                for (Map.Entry<Integer, Object> parameter : statement.parameters.entrySet()) {
+                    explain.setObject(parameter.getKey(), parameter.getValue());
+                }
+                try (ResultSet rows = explain.executeQuery()) {
+                    StringBuilder plan = new StringBuilder();
+                    while (rows.next()) {
+                        plan.append(rows.getString(1)).append('\n');
+                    }
+                    return plan.toString();
+                }
+            }
+        });
+    }
+
+    private Session session() {
+        return entityManager.getEntityManager().unwrap(Session.class);
+    }
+
+    /**
+     * A prepared statement as sent by Hibernate, with the parameters bound when it was executed
+     */
+    static final class RecordedStatement {
+        final String sql;
+        final Map<Integer, Object> parameters;
+
+        RecordedStatement(String sql, Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+
+    /**
+     * Collects the prepared statements executed while recording is switched on
+     */
+    static final class StatementRecorder {
+        private final List<RecordedStatement> statements = new CopyOnWriteArrayList<>();
+        private volatile boolean recording;
+
+        void start() {
+            statements.clear();
+            recording = true;
+        }
+
+        void stop() {
+            recording = false;
+        }
+
+        List<RecordedStatement> drain() {
+            List<RecordedStatement> drained = new ArrayList<>(statements);
+            statements.clear();
+            return drained;
+        }
+
+        DataSource wrap(DataSource dataSource) {
+            return proxy(DataSource.class, dataSource, (method, args, result) ->
+                result instanceof Connection connection ? wrapConnection(connection) : result);
+        }
+
+        private Connection wrapConnection(Connection connection) {
+            return proxy(Connection.class, connection, (method, args, result) ->
+                method.getName().equals("prepareStatement") && result instanceof PreparedStatement statement
+                    ? wrapStatement(statement, (String) args[0]) : result);
+        }
+
+        private PreparedStatement wrapStatement(PreparedStatement statement, String sql) {
+            Map<Integer, Object> parameters = new HashMap<>();
+            return (PreparedStatement) Proxy.newProxyInstance(PreparedStatement.class.getClassLoader(),
+                new Class<?>[] { PreparedStatement.class }, (proxy, method, args) -> {
+                    String name = method.getName();
+                    if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer index) {
+                        parameters.put(index, name.equals("setNull") ? null : args[1]);
+                    } else if (name.equals("clearParameters")) {
+                        parameters.clear();
+                    } else if (recording && (name.startsWith("execute") || name.equals("addBatch"))) {
+                        statements.add(new RecordedStatement(sql, new HashMap<>(parameters)));
+                    }
+                    return invoke(method, statement, args);
+                });
+        }
+
+        private interface ResultWrapper {
+            Object wrap(Method method, Object[] args, Object result) throws SQLException;
+        }
+
+        private static <T> T proxy(Class<T> type, T target, ResultWrapper wrapper) {
+            return type.cast(Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type },
+                (proxy, method, args) -> wrapper.wrap(method, args, invoke(method, target, args))));
+        }
+
+        private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+            try {
+                return method.invoke(target, args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        }
+    }
+
+    /**
+     * Wraps the test DataSource so statements can be recorded
+     */
+    @TestConfiguration
+    static class RecordingDataSourceConfig {
+
+        @Bean
+        StatementRecorder statementRecorder() {
+            return new StatementRecorder();
+        }
+
+        @Bean
+        static BeanPostProcessor recordingDataSourcePostProcessor(org.springframework.beans.factory.ObjectProvider<StatementRecorder> recorder) {
+            return new BeanPostProcessor() {
+                @Override
+                public Object postProcessAfterInitialization(Object bean, String beanName) {
+                    return bean instanceof DataSource dataSource ? recorder.getObject().wrap(dataSource) : bean;
+                }
+            };
+        }
+    }
+}
@@ -0,0 +1,297 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingStatusResultDto;
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.BookingStatusChangeRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.validation.Validation;
+import jakarta.validation.Validator;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.atLeastOnce;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for BookingBulkService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingBulkServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private FareCalculatorService fareCalculatorService;
+
+    @Mock
+    private CabTypeRateCache cabTypeRateCache;
+
+    @Mock
+    private FareQuoteService fareQuoteService;
+
+    @Mock
+    private EntityManager entityManager;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
+    @Mock
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    @Mock
+    private EntityNearCache entityNearCache;
+
+    private final Validator validator = Validation.buildDefaultValidatorFactory().getValidator();
+
+    private BookingBulkService bookingBulkService;
+
+    private Customer testCustomer;
+
+    @BeforeEach
+    void setUp() {
+        bookingBulkService = new BookingBulkService(bookingRepository, statusChangeRepository, customerRepository, fareCalculatorService,
+            cabTypeRateCache, fareQuoteService, entityManager, validator, transactionManager,
+            eventPublisher, entityNearCache, 5, 2, 4, 2);
+
+        testCustomer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        testCustomer.setId(1L);
+    }
+
+    private BookingRequestDto request(Long customerId, String cabType) {
+        return new BookingRequestDto(customerId, "123 Main St", "456 Oak Ave", LocalDateTime.now().plusHours(2), cabType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenSaveAssignsIds() {
+        AtomicLong ids = new AtomicLong(100);
+        given(bookingRepository.saveAll(anyIterable())).willAnswer(invocation -> {
+            List<Booking> saved = new ArrayList<>();
+            for (Booking booking : (Iterable<Booking>) invocation.getArgument(0)) {
+                booking.setId(ids.incrementAndGet());
+                saved.add(booking);
+            }
+            return saved;
+        });
+    }
+
+    @Test
+    void testCreateBookingsInsertsValidRowsInBatches() {
+        // Given
+        CabTypeRateCache.Snapshot snapshot = mock(CabTypeRateCache.Snapshot.class);
+        given(cabTypeRateCache.currentSnapshot()).willReturn(snapshot);
+        given(customerRepository.findAllById(any())).willReturn(List.of(testCustomer));
+        given(fareQuoteService.redeemQuote(isNull(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        given(fareCalculatorService.calculateFare(eq(snapshot), anyString(), anyString(), anyString()))
+            .willReturn(new BigDecimal("15.50"));
+        givenSaveAssignsIds();
+
+        List<BookingRequestDto> requests = List.of(
+            request(1L, "Economy"), request(1L, "Premium"), request(1L, "SUV"));
+
+        // When
+        List<BookingBulkResultDto> results = bookingBulkService.createBookings(requests);
+
+        // Then - one customer query, two JDBC batches of at most 2 rows
+        assertEquals(3, results.size());
+        assertEquals(List.of(101L, 102L, 103L), results.stream().map(BookingBulkResultDto::getBookingId).toList());
+        assertTrue(results.stream().allMatch(r -> r.getError() == null));
+        verify(customerRepository).findAllById(any());
+        verify(bookingRepository, times(2)).saveAll(anyIterable());
+        verify(entityManager, times(2)).flush();
+        assertEquals(3, createdBookings().size());
+    }
+
+    @Test
+    void testCreateBookingsInOneTransactionIgnoresTheBatchSize() {
+        // Given
+        CabTypeRateCache.Snapshot snapshot = mock(CabTypeRateCache.Snapshot.class);
+        given(cabTypeRateCache.currentSnapshot()).willReturn(snapshot);
+        given(customerRepository.findAllById(any())).willReturn(List.of(testCustomer));
+        given(fareQuoteService.redeemQuote(isNull(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        given(fareCalculatorService.calculateFare(eq(snapshot), anyString(), anyString(), anyString()))
+            .willReturn(new BigDecimal("15.50"));
+        givenSaveAssignsIds();
+
+        // When - three rows against a batch size of 2
+        List<BookingBulkResultDto> results = bookingBulkService.createBookingsInOneTransaction(
+            List.of(request(1L, "Economy"), request(1L, "Premium"), request(1L, "SUV")));
+
+        // Then - one transaction, one insert of all three rows
+        assertTrue(results.stream().allMatch(r -> r.getError() == null));
+        verify(bookingRepository).saveAll(anyIterable());
+        verify(transactionManager).commit(any());
+        assertEquals(3, createdBookings().size());
+    }
+
+    @Test
+    void testCreateBookingsReportsFailedRowsWithoutStoppingOthers() {
+        // Given
+        CabTypeRateCache.Snapshot snapshot = mock(CabTypeRateCache.Snapshot.class);
+        given(cabTypeRateCache.currentSnapshot()).willReturn(snapshot);
+        given(customerRepository.findAllById(any())).willReturn(List.of(testCustomer));
+        given(fareQuoteService.redeemQuote(isNull(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        given(fareCalculatorService.calculateFare(eq(snapshot), anyString(), anyString(), eq("Economy")))
+            .willReturn(new BigDecimal("15.50"));
+        given(fareCalculatorService.calculateFare(eq(snapshot), anyString(), anyString(), eq("Rickshaw")))
+            .willThrow(new RuntimeException("Cab type not found: Rickshaw"));
+        givenSaveAssignsIds();
+
+        List<BookingRequestDto> requests = List.of(
+            request(1L, "Economy"), request(2L, "Economy"), request(1L, "Rickshaw"), request(1L, ""));
+
+        // When
+        List<BookingBulkResultDto> results = bookingBulkService.createBookings(requests);
+
+        // Then
+        assertEquals(101L, results.get(0).getBookingId());
+        assertEquals("Customer not found with id: 2", results.get(1).getError());
+        assertEquals("Cab type not found: Rickshaw", results.get(2).getError());
+        assertEquals("Cab type is required", results.get(3).getError());
+        assertEquals(List.of(0, 1, 2, 3), results.stream().map(BookingBulkResultDto::getIndex).toList());
+        assertEquals(List.of("Economy"), createdBookings().stream().map(Booking::getCabType).toList());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void testCreateBookingsRetriesFailedBatchRowByRow() {
+        // Given - the database rejects any batch holding the "Bad" pickup
+        CabTypeRateCache.Snapshot snapshot = mock(CabTypeRateCache.Snapshot.class);
+        given(cabTypeRateCache.currentSnapshot()).willReturn(snapshot);
+        given(customerRepository.findAllById(any())).willReturn(List.of(testCustomer));
+        given(fareQuoteService.redeemQuote(isNull(), anyString(), anyString(), anyString())).willReturn(Optional.empty());
+        given(fareCalculatorService.calculateFare(eq(snapshot), anyString(), anyString(), anyString()))
+            .willReturn(new BigDecimal("15.50"));
+        AtomicLong ids = new AtomicLong(100);
+        given(bookingRepository.saveAll(anyIterable())).willAnswer(invocation -> {
+            List<Booking> saved = new ArrayList<>();
+            for (Booking booking : (Iterable<Booking>) invocation.getArgument(0)) {
+                if (booking.getPickupLocation().equals("Bad")) {
+                    throw new DataIntegrityViolationException("constraint", new SQLException("Duplicate entry"));
+                }
+                booking.setId(ids.incrementAndGet());
+                saved.add(booking);
+            }
+            return saved;
+        });
+
+        BookingRequestDto bad = new BookingRequestDto(1L, "Bad", "456 Oak Ave", LocalDateTime.now().plusHours(2), "Economy");
+        List<BookingRequestDto> requests = List.of(request(1L, "Economy"), bad, request(1L, "SUV"));
+
+        // When
+        List<BookingBulkResultDto> results = bookingBulkService.createBookings(requests);
+
+        // Then - the first batch fails and is retried one row at a time; the second batch goes through
+        assertNotNull(results.get(0).getBookingId());
+        assertEquals("Booking could not be saved: Duplicate entry", results.get(1).getError());
+        assertNotNull(results.get(2).getBookingId());
+        verify(transactionManager, times(2)).rollback(any());
+        assertEquals(2, createdBookings().size());
+    }
+
+    @Test
+    void testCreateBookingsRejectsOversizedRequest() {
+        List<BookingRequestDto> requests = new ArrayList<>();
+        for (int i = 0; i < 6; i++) {
+            requests.add(request(1L, "Economy"));
+        }
+
+        assertThrows(IllegalArgumentException.class, () -> bookingBulkService.createBookings(requests));
+        verifyNoInteractions(customerRepository, bookingRepository);
+    }
+
+    private BookingRepository.BookingStatusView statusView(Long id, Booking.BookingStatus status) {
+        return new BookingRepository.BookingStatusView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public String getCabType() { return "Economy"; }
+
+            @Override
+            public LocalDateTime getCreatedDate() { return LocalDateTime.of(2026, 1, 1, 9, 15); }
+
+            @Override
+            public BigDecimal getFare() { return new BigDecimal("15.50"); }
+        };
+    }
+
+    @Test
+    void testUpdateStatusesReportsOutcomePerBookingInChunks() {
+        // Given - chunk size 2, so ids 1 and 2 go together and 3 on its own
+        Set<Booking.BookingStatus> predecessors = Booking.BookingStatus.CONFIRMED.allowedPredecessors();
+        given(bookingRepository.findStatusesForUpdate(List.of(1L, 2L))).willReturn(List.of(
+            statusView(1L, Booking.BookingStatus.PENDING), statusView(2L, Booking.BookingStatus.COMPLETED)));
+        given(bookingRepository.findStatusesForUpdate(List.of(3L))).willReturn(List.of());
+        given(bookingRepository.transitionStatuses(List.of(1L), predecessors, Booking.BookingStatus.CONFIRMED))
+            .willReturn(1);
+
+        // When
+        List<BookingStatusResultDto> results = bookingBulkService.updateStatuses(
+            List.of(1L, 2L, 1L, 3L), Booking.BookingStatus.CONFIRMED);
+
+        // Then
+        assertEquals(List.of(1L, 2L, 3L), results.stream().map(BookingStatusResultDto::getBookingId).toList());
+        assertEquals(BookingStatusResultDto.Outcome.UPDATED, results.get(0).getOutcome());
+        assertEquals(Booking.BookingStatus.PENDING, results.get(0).getPreviousStatus());
+        assertEquals(BookingStatusResultDto.Outcome.ILLEGAL_TRANSITION, results.get(1).getOutcome());
+        assertEquals(Booking.BookingStatus.COMPLETED, results.get(1).getPreviousStatus());
+        assertEquals(BookingStatusResultDto.Outcome.NOT_FOUND, results.get(2).getOutcome());
+        verify(bookingRepository, times(1)).transitionStatuses(any(), any(), any());
+        verify(statusChangeRepository).recordTransitions(eq(List.of(1L)), eq(Booking.BookingStatus.CONFIRMED), any());
+        verify(entityNearCache).bookingsChanged(List.of(1L));
+    }
+
+    @Test
+    void testUpdateStatusesRejectsOversizedRequest() {
+        assertThrows(IllegalArgumentException.class, () -> bookingBulkService.updateStatuses(
+            List.of(1L, 2L, 3L, 4L, 5L), Booking.BookingStatus.CANCELLED));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    private List<Booking> createdBookings() {
+        ArgumentCaptor<BookingCreatedEvent> events = ArgumentCaptor.forClass(BookingCreatedEvent.class);
+        verify(eventPublisher, atLeastOnce()).publishEvent(events.capture());
+        return events.getAllValues().stream().flatMap(event -> event.getBookings().stream()).toList();
+    }
+}
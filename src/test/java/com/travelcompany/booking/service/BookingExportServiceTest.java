@@ -0,0 +1,80 @@
+package com.travelcompany.booking.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.io.ByteArrayOutputStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BookingExportService against an embedded database
+ */
+@DataJpaTest
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never"
+})
+class BookingExportServiceTest {
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json().build();
+
+    private BookingExportService bookingExportService;
+
+    @BeforeEach
+    void setUp() {
+        // Clear every 2 rows so the export crosses several persistence context resets
+        bookingExportService = new BookingExportService(bookingRepository, entityManager.getEntityManager(),
+            transactionManager, objectMapper, 2, 2);
+
+        Customer customer = entityManager.persist(
+            new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St"));
+        for (int i = 0; i < 5; i++) {
+            entityManager.persist(new Booking(customer, "Pickup " + i, "Drop " + i,
+                LocalDateTime.now().plusHours(1), "Economy", new BigDecimal("15.50")));
+        }
+        entityManager.flush();
+        entityManager.clear();
+    }
+
+    @Test
+    void testExportWritesOneJsonObjectPerLine() throws Exception {
+        // Given
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        // When
+        long rows = bookingExportService.exportBookings(out);
+
+        // Then
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(5, rows);
+        assertEquals(5, lines.length);
+        for (int i = 0; i < lines.length; i++) {
+            JsonNode booking = objectMapper.readTree(lines[i]);
+            assertEquals("Pickup " + i, booking.get("pickupLocation").asText());
+            assertEquals("John Doe", booking.get("customer").get("name").asText());
+        }
+        assertTrue(out.toString(StandardCharsets.UTF_8).endsWith("\n"));
+    }
+}
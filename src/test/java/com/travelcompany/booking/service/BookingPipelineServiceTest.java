@@ -0,0 +1,149 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.dto.BookingBulkResultDto;
+import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingTicketDto;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for BookingPipelineService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingPipelineServiceTest {
+
+    @Mock
+    private BookingBulkService bookingBulkService;
+
+    private BookingPipelineService bookingPipelineService;
+
+    @AfterEach
+    void tearDown() throws InterruptedException {
+        if (bookingPipelineService != null) {
+            bookingPipelineService.shutdown();
+        }
+    }
+
+    private BookingPipelineService pipeline(int queueCapacity, int batchSize, long flushIntervalMs) {
+        given(bookingBulkService.getMaxSize()).willReturn(1000);
+        return new BookingPipelineService(bookingBulkService, queueCapacity, batchSize, flushIntervalMs, 15, 100, 5_000);
+    }
+
+    private BookingRequestDto request(String cabType) {
+        return new BookingRequestDto(1L, "123 Main St", "456 Oak Ave", LocalDateTime.now().plusHours(2), cabType);
+    }
+
+    @SuppressWarnings("unchecked")
+    private void givenBulkServiceCreatesBookings() {
+        given(bookingBulkService.createBookingsInOneTransaction(anyList())).willAnswer(invocation -> {
+            List<BookingRequestDto> requests = invocation.getArgument(0);
+            List<BookingBulkResultDto> results = new ArrayList<>();
+            for (int i = 0; i < requests.size(); i++) {
+                BookingRequestDto request = requests.get(i);
+                results.add("Rickshaw".equals(request.getCabType())
+                    ? BookingBulkResultDto.failed(i, request, "Cab type not found: Rickshaw")
+                    : BookingBulkResultDto.created(i, request, 100L + i, new BigDecimal("15.50")));
+            }
+            return results;
+        });
+    }
+
+    @Test
+    void testSubmittedBookingsArePersistedInOneBatch() throws Exception {
+        // Given - a long flush interval so both requests land in the same batch
+        bookingPipelineService = pipeline(10, 2, 5_000);
+        givenBulkServiceCreatesBookings();
+        bookingPipelineService.start();
+
+        // When
+        BookingTicketDto first = bookingPipelineService.submit(request("Economy")).orElseThrow();
+        BookingTicketDto second = bookingPipelineService.submit(request("Rickshaw")).orElseThrow();
+
+        // Then
+        assertEquals(BookingTicketDto.TicketStatus.QUEUED, first.getStatus());
+        BookingTicketDto created = bookingPipelineService.awaitTicket(first.getTicketId()).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+        BookingTicketDto failed = bookingPipelineService.awaitTicket(second.getTicketId()).orElseThrow()
+            .get(5, TimeUnit.SECONDS);
+        assertEquals(BookingTicketDto.TicketStatus.CREATED, created.getStatus());
+        assertEquals(100L, created.getBookingId());
+        assertEquals(BookingTicketDto.TicketStatus.FAILED, failed.getStatus());
+        assertEquals("Cab type not found: Rickshaw", failed.getError());
+        assertEquals(BookingTicketDto.TicketStatus.CREATED,
+            bookingPipelineService.getTicket(first.getTicketId()).orElseThrow().getStatus());
+        verify(bookingBulkService).createBookingsInOneTransaction(anyList());
+
+        Map<String, Object> stats = bookingPipelineService.getStats();
+        assertEquals(1L, stats.get("batches"));
+        assertEquals(1L, stats.get("created"));
+        assertEquals(1L, stats.get("failed"));
+    }
+
+    @Test
+    void testSubmitAppliesBackpressureWhenQueueIsFull() throws Exception {
+        // Given - drainer not started, so the queue only fills up
+        bookingPipelineService = pipeline(2, 10, 50);
+
+        // When
+        Optional<BookingTicketDto> first = bookingPipelineService.submit(request("Economy"));
+        Optional<BookingTicketDto> second = bookingPipelineService.submit(request("Economy"));
+        Optional<BookingTicketDto> third = bookingPipelineService.submit(request("Economy"));
+
+        // Then
+        assertTrue(first.isPresent());
+        assertTrue(second.isPresent());
+        assertTrue(third.isEmpty());
+        Map<String, Object> stats = bookingPipelineService.getStats();
+        assertEquals(2, stats.get("queueDepth"));
+        assertEquals(1L, stats.get("rejected"));
+
+        // Queued requests are still persisted on shutdown
+        givenBulkServiceCreatesBookings();
+        bookingPipelineService.shutdown();
+        assertEquals(BookingTicketDto.TicketStatus.CREATED,
+            bookingPipelineService.getTicket(first.get().getTicketId()).orElseThrow().getStatus());
+    }
+
+    @Test
+    void testBatchThatCannotBePersistedFailsEveryRequestOnce() throws Exception {
+        // Given - the database is unreachable, so the bulk service fails before inserting anything
+        bookingPipelineService = pipeline(10, 4, 5_000);
+        given(bookingBulkService.createBookingsInOneTransaction(anyList()))
+            .willThrow(new IllegalStateException("Connection reset"));
+        BookingTicketDto first = bookingPipelineService.submit(request("Economy")).orElseThrow();
+        BookingTicketDto second = bookingPipelineService.submit(request("SUV")).orElseThrow();
+
+        // When - shutdown persists the queued requests as one batch
+        bookingPipelineService.shutdown();
+
+        // Then - nothing is retried, since a retry could only repeat the same failure
+        assertEquals("Booking could not be saved: Connection reset",
+            bookingPipelineService.getTicket(first.getTicketId()).orElseThrow().getError());
+        assertEquals(BookingTicketDto.TicketStatus.FAILED,
+            bookingPipelineService.getTicket(second.getTicketId()).orElseThrow().getStatus());
+        verify(bookingBulkService).createBookingsInOneTransaction(anyList());
+    }
+
+    @Test
+    void testBatchLargerThanBulkLimitIsRejectedAtStartup() {
+        given(bookingBulkService.getMaxSize()).willReturn(50);
+
+        assertThrows(IllegalArgumentException.class,
+            () -> new BookingPipelineService(bookingBulkService, 10, 100, 50, 15, 100, 5_000));
+    }
+}
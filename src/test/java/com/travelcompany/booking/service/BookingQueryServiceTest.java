@@ -0,0 +1,137 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.dto.BookingCursor;
+import com.travelcompany.booking.dto.BookingPageDto;
+import com.travelcompany.booking.dto.BookingQueryDto;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.CabType;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.CabTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+/**
+ * Unit tests for BookingQueryService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingQueryServiceTest {
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CabTypeRepository cabTypeRepository;
+
+    private BookingQueryService bookingQueryService;
+
+    private final BookingQueryDto query = new BookingQueryDto();
+    private final LocalDateTime now = LocalDateTime.of(2026, 1, 15, 12, 0);
+
+    @BeforeEach
+    void setUp() {
+        bookingQueryService = new BookingQueryService(bookingRepository, new CabTypeRateCache(cabTypeRepository), 2, 3);
+    }
+
+    private List<Booking> bookings(int count) {
+        Customer customer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        customer.setId(1L);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            Booking booking = new Booking(customer, "123 Main St", "456 Oak Ave", now, "Economy", new BigDecimal("15.50"));
+            booking.setId(100L - i);
+            booking.setCreatedDate(now.minusMinutes(i));
+            bookings.add(booking);
+        }
+        return bookings;
+    }
+
+    @Test
+    void testQueryReturnsCursorWhenMoreRowsExist() {
+        // Given - one row more than the default page size
+        given(bookingRepository.findPage(eq(query), isNull(), eq(3))).willReturn(bookings(3));
+
+        // When
+        BookingPageDto page = bookingQueryService.queryBookings(query, null, null);
+
+        // Then
+        assertEquals(2, page.getSize());
+        assertTrue(page.isHasMore());
+        BookingCursor cursor = BookingCursor.decode(page.getNextCursor());
+        assertEquals(99L, cursor.getId());
+        assertEquals(now.minusMinutes(1), cursor.getCreatedDate());
+    }
+
+    @Test
+    void testQueryLastPageHasNoCursor() {
+        // Given
+        given(bookingRepository.findPage(eq(query), isNull(), eq(3))).willReturn(bookings(2));
+
+        // When
+        BookingPageDto page = bookingQueryService.queryBookings(query, null, 2);
+
+        // Then
+        assertEquals(2, page.getSize());
+        assertFalse(page.isHasMore());
+        assertNull(page.getNextCursor());
+    }
+
+    @Test
+    void testQueryPassesDecodedCursorAndCapsPageSize() {
+        // Given
+        String cursor = new BookingCursor(now, 42L).encode();
+        given(bookingRepository.findPage(eq(query), any(BookingCursor.class), anyInt())).willReturn(List.of());
+
+        // When
+        bookingQueryService.queryBookings(query, cursor, 1000);
+
+        // Then - capped at 3, plus the look-ahead row
+        ArgumentCaptor<BookingCursor> after = ArgumentCaptor.forClass(BookingCursor.class);
+        verify(bookingRepository).findPage(eq(query), after.capture(), eq(4));
+        assertEquals(42L, after.getValue().getId());
+        assertEquals(now, after.getValue().getCreatedDate());
+    }
+
+    @Test
+    void testQueryRejectsInvalidCursorAndSize() {
+        assertThrows(IllegalArgumentException.class, () -> bookingQueryService.queryBookings(query, "not-a-cursor", null));
+        assertThrows(IllegalArgumentException.class, () -> bookingQueryService.queryBookings(query, null, 0));
+        verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    void testCabTypeFilterIsMatchedToTheStoredName() {
+        // Given
+        given(cabTypeRepository.findAll()).willReturn(List.of(
+            new CabType("Economy", new BigDecimal("5.00"), new BigDecimal("1.50"), "Standard cab")));
+        given(bookingRepository.findPage(any(BookingQueryDto.class), isNull(), eq(3))).willReturn(List.of());
+
+        // When
+        bookingQueryService.queryBookings(new BookingQueryDto(null, null, " ECONOMY ", null, null), null, null);
+        bookingQueryService.queryBookings(new BookingQueryDto(null, null, "Limo", null, null), null, null);
+
+        // Then
+        ArgumentCaptor<BookingQueryDto> queries = ArgumentCaptor.forClass(BookingQueryDto.class);
+        verify(bookingRepository, times(2)).findPage(queries.capture(), isNull(), eq(3));
+        assertEquals("Economy", queries.getAllValues().get(0).getCabType());
+        assertEquals("Limo", queries.getAllValues().get(1).getCabType());
+    }
+}
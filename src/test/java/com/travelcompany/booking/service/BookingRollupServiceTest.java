@@ -0,0 +1,294 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingHourlyRollup;
+import com.travelcompany.booking.model.BookingRollupRebuild;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingHourlyRollupRepository;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.BookingRollupRebuildRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeSet;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingRollupService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingRollupServiceTest {
+
+    private static final LocalDateTime HOUR = LocalDateTime.of(2026, 1, 15, 9, 0);
+
+    @Mock
+    private BookingHourlyRollupRepository rollupRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private BookingRollupRebuildRepository rebuildRepository;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingRollupService bookingRollupService;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        bookingRollupService = new BookingRollupService(rollupRepository, bookingRepository, rebuildRepository,
+            transactionManager);
+        customer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        customer.setId(1L);
+    }
+
+    @Test
+    void testFlushAddsCommittedChangesPerRollupRow() {
+        // Given - two bookings in the same hour, one of them completed afterwards
+        Booking first = booking(HOUR.plusMinutes(5), "12.50");
+        Booking second = booking(HOUR.plusMinutes(40), "20.00");
+        given(rollupRepository.adjust(any(), any(), any(), anyLong(), any())).willReturn(1);
+
+        // When
+        bookingRollupService.onBookingsCreated(new BookingCreatedEvent(List.of(first, second)));
+        bookingRollupService.onBookingStatusChanged(new BookingStatusChangedEvent(List.of(
+            new BookingStatusChangedEvent.Change(1L, Booking.BookingStatus.PENDING, Booking.BookingStatus.COMPLETED,
+                "Economy", first.getCreatedDate(), first.getFare()))));
+        bookingRollupService.flush();
+
+        // Then
+        verify(rollupRepository).adjust(HOUR, "Economy", Booking.BookingStatus.PENDING, 1, new BigDecimal("20.00"));
+        verify(rollupRepository).adjust(HOUR, "Economy", Booking.BookingStatus.COMPLETED, 1, new BigDecimal("12.50"));
+        verify(rollupRepository, never()).saveAndFlush(any());
+        assertEquals(0, bookingRollupService.getStats().get("pendingDeltas"));
+        assertEquals(2L, bookingRollupService.getStats().get("flushedRows"));
+    }
+
+    @Test
+    void testFlushInsertsMissingRowAndKeepsDeltasWhenItFails() {
+        // Given
+        bookingRollupService.onBookingsCreated(new BookingCreatedEvent(List.of(booking(HOUR, "10.00"))));
+        given(rollupRepository.adjust(any(), any(), any(), anyLong(), any())).willReturn(0);
+        given(rollupRepository.saveAndFlush(any()))
+            .willThrow(new DataIntegrityViolationException("duplicate key"))
+            .willAnswer(invocation -> invocation.getArgument(0));
+
+        // When - another node inserted the row first, so the first flush fails and the second retries
+        bookingRollupService.flush();
+        assertEquals(1, bookingRollupService.getStats().get("pendingDeltas"));
+        bookingRollupService.flush();
+
+        // Then
+        ArgumentCaptor<BookingHourlyRollup> inserted = ArgumentCaptor.forClass(BookingHourlyRollup.class);
+        verify(rollupRepository, times(2)).saveAndFlush(inserted.capture());
+        assertEquals(new BookingHourlyRollup.Key(HOUR, "Economy", Booking.BookingStatus.PENDING),
+            inserted.getValue().getId());
+        assertEquals(1, inserted.getValue().getBookings());
+        assertEquals(new BigDecimal("10.00"), inserted.getValue().getFareTotal());
+        assertEquals(1L, bookingRollupService.getStats().get("flushFailures"));
+        assertEquals(0, bookingRollupService.getStats().get("pendingDeltas"));
+    }
+
+    @Test
+    void testReportSumsRollupTotalsWithExactRevenue() {
+        // Given
+        given(rollupRepository.sumBetween(LocalDateTime.of(2026, 1, 1, 0, 0), LocalDateTime.of(2026, 1, 15, 10, 0)))
+            .willReturn(List.of(
+                total("Economy", Booking.BookingStatus.COMPLETED, 3, "0.10"),
+                total("Economy", Booking.BookingStatus.COMPLETED, 0, "0.20"),
+                total("SUV", Booking.BookingStatus.CANCELLED, 2, "40.00")));
+
+        // When
+        Map<String, Object> report = bookingRollupService.getReport(LocalDateTime.of(2026, 1, 1, 0, 0),
+            LocalDateTime.of(2026, 1, 15, 9, 30));
+
+        // Then
+        assertEquals(5L, report.get("bookings"));
+        assertEquals(new BigDecimal("0.30"), report.get("revenue"));
+        Map<?, ?> byCabType = (Map<?, ?>) report.get("byCabType");
+        assertEquals(Map.of("bookings", 2L, "revenue", BigDecimal.ZERO), byCabType.get("SUV"));
+        Map<?, ?> byStatus = (Map<?, ?>) report.get("byStatus");
+        assertEquals(new BigDecimal("40.00"), ((Map<?, ?>) byStatus.get(Booking.BookingStatus.CANCELLED)).get("fareTotal"));
+    }
+
+    @Test
+    void testBackfillRebuildsEachDayFromBookings() {
+        // Given
+        LocalDate day = HOUR.toLocalDate();
+        BookingRollupRebuild rebuild = new BookingRollupRebuild(day);
+        given(rebuildRepository.existsById(day.minusDays(1))).willReturn(false);
+        given(rebuildRepository.existsById(day)).willReturn(true);
+        given(rebuildRepository.findForUpdate(day.minusDays(1)))
+            .willReturn(Optional.of(new BookingRollupRebuild(day.minusDays(1))));
+        given(rebuildRepository.findForUpdate(day)).willReturn(Optional.of(rebuild));
+        given(bookingRepository.sumForRollupBetween(day.minusDays(1).atStartOfDay(), day.atStartOfDay()))
+            .willReturn(List.of());
+        given(bookingRepository.sumForRollupBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay()))
+            .willReturn(List.of(row(HOUR, "SUV", Booking.BookingStatus.COMPLETED, 4, "80.00")));
+        LocalDateTime started = LocalDateTime.now();
+
+        // When
+        Map<String, Object> result = bookingRollupService.backfill(day.minusDays(1), day);
+
+        // Then - the missing rebuild row was created first and both days are stamped with their read
+        ArgumentCaptor<BookingRollupRebuild> inserted = ArgumentCaptor.forClass(BookingRollupRebuild.class);
+        verify(rebuildRepository).saveAndFlush(inserted.capture());
+        assertEquals(day.minusDays(1), inserted.getValue().getDay());
+        assertFalse(rebuild.getRebuiltAt().isBefore(started));
+        verify(rollupRepository).deleteHoursBetween(day.minusDays(1).atStartOfDay(), day.atStartOfDay());
+        verify(rollupRepository).deleteHoursBetween(day.atStartOfDay(), day.plusDays(1).atStartOfDay());
+        verify(rollupRepository).saveAll(eq(List.of()));
+        assertEquals(2L, result.get("days"));
+        assertEquals(1L, result.get("rows"));
+    }
+
+    @Test
+    void testFlushDropsDeltasObservedBeforeTheDayWasRebuilt() throws InterruptedException {
+        // Given - a node rebuilt the day after the first booking was seen committing and before the second
+        LocalDate day = HOUR.toLocalDate();
+        bookingRollupService.onBookingsCreated(new BookingCreatedEvent(List.of(booking(HOUR.plusMinutes(10), "15.00"))));
+        BookingRollupRebuild rebuild = new BookingRollupRebuild(day);
+        rebuild.setRebuiltAt(LocalDateTime.now());
+        Thread.sleep(1);
+        bookingRollupService.onBookingsCreated(new BookingCreatedEvent(List.of(
+            booking(HOUR.plusMinutes(20), "25.00"), booking(HOUR.plusDays(1), "30.00"))));
+        given(rebuildRepository.findForShare(any())).willReturn(List.of(rebuild));
+        given(rollupRepository.adjust(any(), any(), any(), anyLong(), any())).willReturn(1);
+
+        // When
+        bookingRollupService.flush();
+
+        // Then - only the changes the rebuild could not have read are added
+        verify(rebuildRepository).findForShare(new TreeSet<>(List.of(day, day.plusDays(1))));
+        verify(rollupRepository).adjust(HOUR, "Economy", Booking.BookingStatus.PENDING, 1, new BigDecimal("25.00"));
+        verify(rollupRepository).adjust(HOUR.plusDays(1), "Economy", Booking.BookingStatus.PENDING, 1,
+            new BigDecimal("30.00"));
+        verifyNoMoreInteractions(rollupRepository);
+        assertEquals(1L, bookingRollupService.getStats().get("droppedDeltas"));
+    }
+
+    @Test
+    void testBackfillIfEmptyOnlyRunsOnTheNodeThatClaimsIt() {
+        // Given - another node inserted the rebuild row of the earliest day first
+        given(rollupRepository.count()).willReturn(0L);
+        given(bookingRepository.findEarliestCreatedDate()).willReturn(Optional.of(HOUR));
+        given(rebuildRepository.saveAndFlush(any())).willThrow(new DataIntegrityViolationException("duplicate key"));
+
+        // When
+        bookingRollupService.backfillIfEmpty();
+
+        // Then
+        verify(rollupRepository, never()).deleteHoursBetween(any(), any());
+        verify(bookingRepository, never()).sumForRollupBetween(any(), any());
+        assertEquals(0L, bookingRollupService.getStats().get("backfilledDays"));
+    }
+
+    @Test
+    void testReconcileRebuildsYesterdayAndToday() {
+        // Given
+        LocalDate today = LocalDate.now();
+        given(rebuildRepository.existsById(any())).willReturn(true);
+        given(rebuildRepository.findForUpdate(any()))
+            .willAnswer(invocation -> Optional.of(new BookingRollupRebuild(invocation.getArgument(0))));
+        given(bookingRepository.sumForRollupBetween(any(), any())).willReturn(List.of());
+
+        // When
+        bookingRollupService.reconcileRecent();
+
+        // Then
+        verify(rollupRepository).deleteHoursBetween(today.minusDays(1).atStartOfDay(), today.atStartOfDay());
+        verify(rollupRepository).deleteHoursBetween(today.atStartOfDay(), today.plusDays(1).atStartOfDay());
+        assertEquals(1L, bookingRollupService.getStats().get("reconciles"));
+    }
+
+    @Test
+    void testDeletedCustomerBookingsAreSubtracted() {
+        // Given
+        given(bookingRepository.sumForRollupByCustomerId(1L))
+            .willReturn(List.of(row(HOUR, "SUV", Booking.BookingStatus.COMPLETED, 2, "30.00")));
+        given(rollupRepository.adjust(any(), any(), any(), anyLong(), any())).willReturn(1);
+
+        // When
+        bookingRollupService.onCustomerDeleted(new CustomerDeletedEvent(1L, List.of(), bookingRollupService.customerRows(1L)));
+        bookingRollupService.flush();
+
+        // Then
+        verify(rollupRepository).adjust(HOUR, "SUV", Booking.BookingStatus.COMPLETED, -2, new BigDecimal("-30.00"));
+    }
+
+    private Booking booking(LocalDateTime createdDate, String fare) {
+        Booking booking = new Booking(customer, "123 Main St", "456 Oak Ave", createdDate.plusHours(2),
+            "Economy", new BigDecimal(fare));
+        booking.setCreatedDate(createdDate);
+        return booking;
+    }
+
+    private static BookingHourlyRollupRepository.TotalView total(String cabType, Booking.BookingStatus status,
+                                                                 long bookings, String fareTotal) {
+        return new BookingHourlyRollupRepository.TotalView() {
+            @Override
+            public String getCabType() { return cabType; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public long getBookings() { return bookings; }
+
+            @Override
+            public BigDecimal getFareTotal() { return new BigDecimal(fareTotal); }
+        };
+    }
+
+    private static BookingRepository.RollupRowView row(LocalDateTime hour, String cabType, Booking.BookingStatus status,
+                                                       long bookings, String fareTotal) {
+        return new BookingRepository.RollupRowView() {
+            @Override
+            public int getYear() { return hour.getYear(); }
+
+            @Override
+            public int getMonth() { return hour.getMonthValue(); }
+
+            @Override
+            public int getDay() { return hour.getDayOfMonth(); }
+
+            @Override
+            public int getHour() { return hour.getHour(); }
+
+            @Override
+            public String getCabType() { return cabType; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public long getBookings() { return bookings; }
+
+            @Override
+            public BigDecimal getFareTotal() { return new BigDecimal(fareTotal); }
+        };
+    }
+}
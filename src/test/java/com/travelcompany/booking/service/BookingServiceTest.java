@@ -1,23 +1,39 @@
 package com.travelcompany.booking.service;
 
+import com.travelcompany.booking.dto.BookingDetailsDto;
 import com.travelcompany.booking.dto.BookingRequestDto;
+import com.travelcompany.booking.dto.BookingSummaryDto;
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
 import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
 import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.model.Fare;
 import com.travelcompany.booking.repository.BookingRepository;
-import com.travelcompany.booking.repository.CustomerRepository;
+import com.travelcompany.booking.repository.BookingStatusChangeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.verify;
 
 /**
@@ -30,11 +46,23 @@ class BookingServiceTest {
     private BookingRepository bookingRepository;
 
     @Mock
-    private CustomerRepository customerRepository;
+    private BookingStatusChangeRepository statusChangeRepository;
 
     @Mock
     private FareCalculatorService fareCalculatorService;
 
+    @Mock
+    private FareQuoteService fareQuoteService;
+
+    @Mock
+    private LocationSearchIndex locationSearchIndex;
+
+    @Mock
+    private EntityNearCache entityNearCache;
+
+    @Mock
+    private ApplicationEventPublisher eventPublisher;
+
     @InjectMocks
     private BookingService bookingService;
 
@@ -69,7 +97,7 @@ class BookingServiceTest {
     @Test
     void testCreateBooking() {
         // Given
-        given(customerRepository.findById(1L)).willReturn(Optional.of(testCustomer));
+        given(entityNearCache.findCustomer(1L)).willReturn(Optional.of(testCustomer));
         given(fareCalculatorService.calculateFare("123 Main St", "456 Oak Ave", "Economy"))
             .willReturn(new BigDecimal("15.50"));
         given(bookingRepository.save(any(Booking.class))).willReturn(testBooking);
@@ -85,15 +113,33 @@ class BookingServiceTest {
         assertEquals(new BigDecimal("15.50"), result.getFare());
         assertEquals(Booking.BookingStatus.PENDING, result.getStatus());
 
-        verify(customerRepository).findById(1L);
+        verify(entityNearCache).findCustomer(1L);
         verify(fareCalculatorService).calculateFare("123 Main St", "456 Oak Ave", "Economy");
         verify(bookingRepository).save(any(Booking.class));
+        verify(eventPublisher).publishEvent(any(BookingCreatedEvent.class));
+    }
+
+    @Test
+    void testCreateBookingWithQuoteSkipsRecalculation() {
+        // Given
+        testBookingRequest.setQuoteId("quote.signature");
+        given(entityNearCache.findCustomer(1L)).willReturn(Optional.of(testCustomer));
+        given(fareQuoteService.redeemQuote("quote.signature", "123 Main St", "456 Oak Ave", "Economy"))
+            .willReturn(Optional.of(new BigDecimal("15.50")));
+        given(bookingRepository.save(any(Booking.class))).willAnswer(invocation -> invocation.getArgument(0));
+
+        // When
+        Booking result = bookingService.createBooking(testBookingRequest);
+
+        // Then
+        assertEquals(new BigDecimal("15.50"), result.getFare());
+        verify(fareCalculatorService, never()).calculateFare(anyString(), anyString(), anyString());
     }
 
     @Test
     void testCreateBookingCustomerNotFound() {
         // Given
-        given(customerRepository.findById(999L)).willReturn(Optional.empty());
+        given(entityNearCache.findCustomer(999L)).willReturn(Optional.empty());
 
         BookingRequestDto invalidRequest = new BookingRequestDto(
             999L, "123 Main St", "456 Oak Ave", LocalDateTime.now().plusHours(2), "Economy"
@@ -108,48 +154,264 @@ class BookingServiceTest {
     @Test
     void testUpdateBookingStatus() {
         // Given
-        given(bookingRepository.findById(1L)).willReturn(Optional.of(testBooking));
-        testBooking.setStatus(Booking.BookingStatus.CONFIRMED);
-        given(bookingRepository.save(testBooking)).willReturn(testBooking);
+        givenStoredBooking(Booking.BookingStatus.PENDING);
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.PENDING), Booking.BookingStatus.CONFIRMED))
+            .willReturn(1);
 
         // When
         Booking result = bookingService.updateBookingStatus(1L, Booking.BookingStatus.CONFIRMED);
 
-        // Then
+        // Then - no lock and no re-read: the returned booking carries the new status and version
         assertEquals(Booking.BookingStatus.CONFIRMED, result.getStatus());
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).save(testBooking);
+        assertEquals(4L, result.getVersion());
+        verify(bookingRepository, never()).findStatusesForUpdate(any());
+        verify(bookingRepository, never()).findById(any());
+        verify(bookingRepository).transitionStatus(1L, Set.of(Booking.BookingStatus.PENDING), Booking.BookingStatus.CONFIRMED);
+        verify(bookingRepository, never()).save(any(Booking.class));
+        verify(statusChangeRepository).recordTransitions(eq(List.of(1L)), eq(Booking.BookingStatus.CONFIRMED), any());
+        verify(entityNearCache).bookingsChanged(List.of(1L));
+        ArgumentCaptor<BookingStatusChangedEvent> event = ArgumentCaptor.forClass(BookingStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Booking.BookingStatus.PENDING, event.getValue().getChanges().get(0).getFrom());
+        assertEquals(Booking.BookingStatus.CONFIRMED, event.getValue().getChanges().get(0).getTo());
+        assertEquals("Economy", event.getValue().getChanges().get(0).getCabType());
+    }
+
+    @Test
+    void testCancelBookingAppliesToStatusChangedConcurrently() {
+        // Given - another transaction starts the trip between the read and the update
+        givenStoredBooking(Booking.BookingStatus.CONFIRMED);
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.CONFIRMED), Booking.BookingStatus.CANCELLED))
+            .willReturn(0);
+        given(bookingRepository.findStatusesForUpdate(List.of(1L)))
+            .willReturn(List.of(statusView(Booking.BookingStatus.IN_PROGRESS)));
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.IN_PROGRESS), Booking.BookingStatus.CANCELLED))
+            .willReturn(1);
+
+        // When
+        bookingService.cancelBooking(1L);
+
+        // Then - a cancellation is still legal from the new status, so it goes through from there
+        verify(statusChangeRepository).recordTransitions(eq(List.of(1L)), eq(Booking.BookingStatus.CANCELLED), any());
+        ArgumentCaptor<BookingStatusChangedEvent> event = ArgumentCaptor.forClass(BookingStatusChangedEvent.class);
+        verify(eventPublisher).publishEvent(event.capture());
+        assertEquals(Booking.BookingStatus.IN_PROGRESS, event.getValue().getChanges().get(0).getFrom());
+        assertEquals(Booking.BookingStatus.CANCELLED, event.getValue().getChanges().get(0).getTo());
+    }
+
+    @Test
+    void testCancelBookingRejectsConcurrentChangeToFinalStatus() {
+        // Given - another transaction completes the trip between the read and the update
+        givenStoredBooking(Booking.BookingStatus.CONFIRMED);
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.CONFIRMED), Booking.BookingStatus.CANCELLED))
+            .willReturn(0);
+        given(bookingRepository.findStatusesForUpdate(List.of(1L)))
+            .willReturn(List.of(statusView(Booking.BookingStatus.COMPLETED)));
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> bookingService.cancelBooking(1L));
+        assertEquals("Cannot change booking 1 from COMPLETED to CANCELLED", exception.getMessage());
+        verify(statusChangeRepository, never()).recordTransitions(any(), any(), any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testUpdateBookingStatusRejectsIllegalTransition() {
+        // Given - the booking is already completed
+        givenStoredBooking(Booking.BookingStatus.COMPLETED);
+
+        // When & Then
+        IllegalStateException exception = assertThrows(IllegalStateException.class,
+            () -> bookingService.updateBookingStatus(1L, Booking.BookingStatus.CANCELLED));
+        assertEquals("Cannot change booking 1 from COMPLETED to CANCELLED", exception.getMessage());
+        verify(bookingRepository, never()).transitionStatus(any(), any(), any());
+        verify(statusChangeRepository, never()).recordTransitions(any(), any(), any());
+        verify(entityNearCache, never()).bookingsChanged(any());
+        verify(eventPublisher, never()).publishEvent(any());
+    }
+
+    @Test
+    void testGetBookingDetailsStartsHistoryAtCreation() {
+        // Given - one row per recorded status change, each repeating the booking and its fare
+        Fare fare = new Fare(testBooking, new BigDecimal("5.00"), new BigDecimal("10.50"), BigDecimal.ZERO,
+            new BigDecimal("15.50"), new BigDecimal("7.00"));
+        LocalDateTime confirmedAt = testBooking.getCreatedDate().plusMinutes(5);
+        LocalDateTime startedAt = testBooking.getCreatedDate().plusMinutes(30);
+        given(bookingRepository.findDetailRows(1L)).willReturn(List.of(
+            new Object[] { testBooking, fare, new BookingStatusChange(testBooking, Booking.BookingStatus.CONFIRMED, confirmedAt) },
+            new Object[] { testBooking, fare, new BookingStatusChange(testBooking, Booking.BookingStatus.IN_PROGRESS, startedAt) }));
+
+        // When
+        BookingDetailsDto details = bookingService.getBookingDetails(1L).orElseThrow();
+
+        // Then
+        assertSame(testBooking, details.getBooking());
+        assertSame(fare, details.getFareBreakdown());
+        assertEquals(List.of(Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED, Booking.BookingStatus.IN_PROGRESS),
+            details.getStatusHistory().stream().map(BookingDetailsDto.StatusEntry::getStatus).toList());
+        assertEquals(testBooking.getCreatedDate(), details.getStatusHistory().get(0).getChangedAt());
+    }
+
+    @Test
+    void testGetBookingDetailsWithoutHistoryOrFare() {
+        // Given
+        List<Object[]> rows = new ArrayList<>();
+        rows.add(new Object[] { testBooking, null, null });
+        given(bookingRepository.findDetailRows(1L)).willReturn(rows);
+        given(bookingRepository.findDetailRows(999L)).willReturn(List.of());
+
+        // When
+        BookingDetailsDto details = bookingService.getBookingDetails(1L).orElseThrow();
+
+        // Then
+        assertNull(details.getFareBreakdown());
+        assertEquals(1, details.getStatusHistory().size());
+        assertTrue(bookingService.getBookingDetails(999L).isEmpty());
+    }
+
+    @Test
+    void testDetailsEtagChangesWithVersionAndCustomer() {
+        // Given
+        testBooking.setVersion(3L);
+        String etag = bookingService.getDetailsEtag(testBooking);
+
+        // When & Then
+        assertEquals(etag, bookingService.getDetailsEtag(testBooking));
+        testBooking.setVersion(4L);
+        String bumped = bookingService.getDetailsEtag(testBooking);
+        assertNotEquals(etag, bumped);
+        testCustomer.setPhone("+1999999999");
+        assertNotEquals(bumped, bookingService.getDetailsEtag(testBooking));
+    }
+
+    @Test
+    void testUpdateBookingStatusNotFound() {
+        // Given
+        given(bookingRepository.findWithCustomerById(999L)).willReturn(Optional.empty());
+
+        // When & Then
+        RuntimeException exception = assertThrows(RuntimeException.class,
+            () -> bookingService.updateBookingStatus(999L, Booking.BookingStatus.CONFIRMED));
+        assertEquals("Booking not found with id: 999", exception.getMessage());
+    }
+
+    @Test
+    void testUpdateBookingStatusToPendingIsNeverAllowed() {
+        // Given
+        givenStoredBooking(Booking.BookingStatus.CONFIRMED);
+
+        // When & Then - no predecessor allows PENDING, so no update is attempted
+        assertThrows(IllegalStateException.class,
+            () -> bookingService.updateBookingStatus(1L, Booking.BookingStatus.PENDING));
+        verify(bookingRepository, never()).transitionStatus(any(), any(), any());
     }
 
     @Test
     void testCancelBooking() {
         // Given
-        given(bookingRepository.findById(1L)).willReturn(Optional.of(testBooking));
-        testBooking.setStatus(Booking.BookingStatus.CANCELLED);
-        given(bookingRepository.save(testBooking)).willReturn(testBooking);
+        givenStoredBooking(Booking.BookingStatus.CONFIRMED);
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.CONFIRMED), Booking.BookingStatus.CANCELLED))
+            .willReturn(1);
 
         // When
         Booking result = bookingService.cancelBooking(1L);
 
         // Then
         assertEquals(Booking.BookingStatus.CANCELLED, result.getStatus());
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).save(testBooking);
+        verify(bookingRepository).transitionStatus(1L, Set.of(Booking.BookingStatus.CONFIRMED), Booking.BookingStatus.CANCELLED);
     }
 
     @Test
     void testConfirmBooking() {
         // Given
-        given(bookingRepository.findById(1L)).willReturn(Optional.of(testBooking));
-        testBooking.setStatus(Booking.BookingStatus.CONFIRMED);
-        given(bookingRepository.save(testBooking)).willReturn(testBooking);
+        givenStoredBooking(Booking.BookingStatus.PENDING);
+        given(bookingRepository.transitionStatus(1L, Set.of(Booking.BookingStatus.PENDING), Booking.BookingStatus.CONFIRMED))
+            .willReturn(1);
 
         // When
         Booking result = bookingService.confirmBooking(1L);
 
         // Then
         assertEquals(Booking.BookingStatus.CONFIRMED, result.getStatus());
-        verify(bookingRepository).findById(1L);
-        verify(bookingRepository).save(testBooking);
     }
-}
\ No newline at end of file
+
+    @Test
+    void testSearchBookingsByLocationKeepsIndexRanking() {
+        // Given
+        Booking other = new Booking(testCustomer, "Airport", "123 Main St",
+            LocalDateTime.now().plusHours(3), "Premium", new BigDecimal("30.00"));
+        other.setId(2L);
+        given(locationSearchIndex.canSearch("main")).willReturn(true);
+        given(locationSearchIndex.search("main", 0, 10)).willReturn(List.of(2L, 1L));
+        given(bookingRepository.findSummariesByIdIn(List.of(2L, 1L)))
+            .willReturn(List.of(BookingSummaryDto.from(testBooking), BookingSummaryDto.from(other)));
+
+        // When
+        List<BookingSummaryDto> results = bookingService.searchBookingsByLocation("main", 0, 10);
+
+        // Then
+        assertEquals(List.of(2L, 1L), results.stream().map(BookingSummaryDto::getId).toList());
+        assertEquals("John Doe", results.get(0).getCustomerName());
+    }
+
+    @Test
+    void testShortAndEmptySearchesReadNewestBookingsFromDatabase() {
+        // Given
+        given(locationSearchIndex.getMaxPageSize()).willReturn(500);
+        given(bookingRepository.findRecentSummaries(PageRequest.of(0, 10)))
+            .willReturn(List.of(BookingSummaryDto.from(testBooking)));
+        given(bookingRepository.findRecentSummariesByLocationContaining("St", PageRequest.of(1, 500)))
+            .willReturn(List.of());
+
+        // When
+        List<BookingSummaryDto> newest = bookingService.searchBookingsByLocation("  ", 0, 10);
+        List<BookingSummaryDto> shortQuery = bookingService.searchBookingsByLocation("St", 1, 1000);
+
+        // Then
+        assertEquals(1, newest.size());
+        assertTrue(shortQuery.isEmpty());
+        verify(locationSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    @Test
+    void testSearchBeforeIndexIsBuiltReadsFromDatabase() {
+        // Given
+        given(locationSearchIndex.canSearch("main")).willReturn(false);
+        given(locationSearchIndex.getMaxPageSize()).willReturn(500);
+        given(bookingRepository.findRecentSummariesByLocationContaining("main", PageRequest.of(0, 10)))
+            .willReturn(List.of(BookingSummaryDto.from(testBooking)));
+
+        // When
+        List<BookingSummaryDto> results = bookingService.searchBookingsByLocation("main", 0, 10);
+
+        // Then
+        assertEquals(List.of(1L), results.stream().map(BookingSummaryDto::getId).toList());
+        verify(locationSearchIndex, never()).search(anyString(), anyInt(), anyInt());
+    }
+
+    private void givenStoredBooking(Booking.BookingStatus status) {
+        testBooking.setStatus(status);
+        testBooking.setVersion(3L);
+        given(bookingRepository.findWithCustomerById(1L)).willReturn(Optional.of(testBooking));
+    }
+
+    private BookingRepository.BookingStatusView statusView(Booking.BookingStatus status) {
+        return new BookingRepository.BookingStatusView() {
+            @Override
+            public Long getId() { return 1L; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public String getCabType() { return testBooking.getCabType(); }
+
+            @Override
+            public LocalDateTime getCreatedDate() { return testBooking.getCreatedDate(); }
+
+            @Override
+            public BigDecimal getFare() { return testBooking.getFare(); }
+        };
+    }
+}
@@ -0,0 +1,101 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingStatusChange;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.BookingStatusChangeRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Tests for BookingService status changes against an embedded database
+ * Tests run outside a test transaction, so each service call must open its own.
+ */
+@DataJpaTest
+@Import(BookingService.class)
+@Transactional(propagation = Propagation.NOT_SUPPORTED)
+@TestPropertySource(properties = {
+    "spring.sql.init.mode=never"
+})
+class BookingServiceTransactionTest {
+
+    @Autowired
+    private BookingService bookingService;
+
+    @Autowired
+    private BookingRepository bookingRepository;
+
+    @Autowired
+    private BookingStatusChangeRepository statusChangeRepository;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @MockBean
+    private FareCalculatorService fareCalculatorService;
+
+    @MockBean
+    private FareQuoteService fareQuoteService;
+
+    @MockBean
+    private LocationSearchIndex locationSearchIndex;
+
+    @MockBean
+    private EntityNearCache entityNearCache;
+
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        Customer customer = customerRepository.save(
+            new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St"));
+        booking = bookingRepository.save(new Booking(customer, "123 Main St", "456 Oak Ave",
+            LocalDateTime.now().plusHours(1), "Economy", new BigDecimal("15.50")));
+    }
+
+    @AfterEach
+    void tearDown() {
+        statusChangeRepository.deleteAll();
+        bookingRepository.deleteAll();
+        customerRepository.deleteAll();
+    }
+
+    @Test
+    void testCancelBookingCommitsStatusAndHistory() {
+        // When
+        Booking cancelled = bookingService.cancelBooking(booking.getId());
+
+        // Then
+        assertEquals(Booking.BookingStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(Booking.BookingStatus.CANCELLED,
+            bookingRepository.findById(booking.getId()).orElseThrow().getStatus());
+        assertEquals(Booking.BookingStatus.CANCELLED,
+            statusChangeRepository.findAll().stream().map(BookingStatusChange::getStatus).findFirst().orElseThrow());
+    }
+
+    @Test
+    void testConfirmThenCancelBooking() {
+        // When
+        bookingService.confirmBooking(booking.getId());
+        Booking cancelled = bookingService.cancelBooking(booking.getId());
+
+        // Then
+        assertEquals(Booking.BookingStatus.CANCELLED, cancelled.getStatus());
+        assertEquals(2, statusChangeRepository.count());
+        assertThrows(IllegalStateException.class, () -> bookingService.confirmBooking(booking.getId()));
+    }
+}
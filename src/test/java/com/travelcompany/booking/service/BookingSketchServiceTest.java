@@ -0,0 +1,185 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.BookingSketch;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingSketchRepository;
+import com.travelcompany.booking.sketch.HyperLogLog;
+import com.travelcompany.booking.sketch.LogHistogram;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.CannotAcquireLockException;
+import org.springframework.transaction.PlatformTransactionManager;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for BookingSketchService
+ */
+@ExtendWith(MockitoExtension.class)
+class BookingSketchServiceTest {
+
+    private static final LocalDate TODAY = LocalDate.now();
+
+    @Mock
+    private BookingSketchRepository sketchRepository;
+
+    @Mock
+    private FareCalculatorService fareCalculatorService;
+
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BookingSketchService bookingSketchService;
+
+    @BeforeEach
+    void setUp() {
+        bookingSketchService = new BookingSketchService(sketchRepository, fareCalculatorService, transactionManager, 30);
+    }
+
+    @Test
+    void testCountsUniqueRidersPerDayAndWindow() {
+        // Given - customers 1..100 today, 51..150 yesterday
+        given(fareCalculatorService.getEstimatedTripTime(anyString(), anyString())).willReturn(20);
+        List<Booking> bookings = new ArrayList<>();
+        for (long id = 1; id <= 100; id++) {
+            bookings.add(booking(id, TODAY.atTime(9, 0), "Economy", "12.00"));
+            bookings.add(booking(id, TODAY.atTime(18, 0), "Economy", "12.00"));
+            bookings.add(booking(id + 50, TODAY.minusDays(1).atTime(9, 0), "Economy", "12.00"));
+        }
+
+        // When
+        bookingSketchService.onBookingsCreated(new BookingCreatedEvent(bookings));
+        Map<String, Object> riders = bookingSketchService.getUniqueRiders(TODAY.minusDays(2), TODAY);
+
+        // Then - linear counting keeps small counts within a rider or two
+        assertEquals(150, (Long) riders.get("uniqueRiders"), 2);
+        List<?> daily = (List<?>) riders.get("daily");
+        assertEquals(3, daily.size());
+        assertEquals(0L, ((Map<?, ?>) daily.get(0)).get("uniqueRiders"));
+        assertEquals(100, (Long) ((Map<?, ?>) daily.get(2)).get("uniqueRiders"), 2);
+        assertEquals(300L, bookingSketchService.getStats().get("recordedBookings"));
+    }
+
+    @Test
+    void testFareAndTripTimePercentilesPerCabType() {
+        // Given
+        given(fareCalculatorService.getEstimatedTripTime(anyString(), anyString())).willReturn(25);
+        given(fareCalculatorService.getEstimatedTripTime("Airport", "Downtown")).willThrow(new RuntimeException("no route"));
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 1; i <= 100; i++) {
+            bookings.add(booking((long) i, TODAY.atTime(10, 0), "Economy", i + ".00"));
+        }
+        Booking unrouted = booking(7L, TODAY.atTime(11, 0), "SUV", "40.00");
+        unrouted.setPickupLocation("Airport");
+        unrouted.setDestination("Downtown");
+        bookings.add(unrouted);
+
+        // When
+        bookingSketchService.onBookingsCreated(new BookingCreatedEvent(bookings));
+        Map<String, Object> percentiles = bookingSketchService.getPercentiles(TODAY, TODAY);
+
+        // Then
+        Map<?, ?> economy = (Map<?, ?>) ((Map<?, ?>) percentiles.get("fares")).get("Economy");
+        assertEquals(100L, economy.get("count"));
+        assertEquals(50.0, ((BigDecimal) economy.get("p50")).doubleValue(), 50 * LogHistogram.MAX_RELATIVE_ERROR);
+        assertEquals(95.0, ((BigDecimal) economy.get("p95")).doubleValue(), 95 * LogHistogram.MAX_RELATIVE_ERROR);
+        assertEquals(new BigDecimal("100.00"), economy.get("max"));
+        assertEquals(new BigDecimal("50.50"), economy.get("mean"));
+        Map<?, ?> tripMinutes = (Map<?, ?>) percentiles.get("tripMinutes");
+        assertEquals(25L, ((Map<?, ?>) tripMinutes.get("Economy")).get("p99"));
+        assertFalse(tripMinutes.containsKey("SUV"));
+        assertTrue(((Map<?, ?>) percentiles.get("fares")).containsKey("SUV"));
+    }
+
+    @Test
+    void testPersistMergesIntoStoredSketchAndPicksUpOtherNodes() {
+        // Given - another node already stored two riders for today
+        given(fareCalculatorService.getEstimatedTripTime(anyString(), anyString())).willReturn(20);
+        HyperLogLog otherNode = new HyperLogLog();
+        otherNode.add(1001L);
+        otherNode.add(1002L);
+        BookingSketch stored = new BookingSketch(new BookingSketch.Key(TODAY, BookingSketchService.RIDERS), otherNode.toBytes());
+        given(sketchRepository.findForUpdate(TODAY, BookingSketchService.RIDERS)).willReturn(Optional.of(stored));
+        given(sketchRepository.findForUpdate(eq(TODAY), eq(BookingSketchService.FARE_CENTS + "Economy"))).willReturn(Optional.empty());
+        given(sketchRepository.findForUpdate(eq(TODAY), eq(BookingSketchService.TRIP_MINUTES + "Economy"))).willReturn(Optional.empty());
+        bookingSketchService.onBookingsCreated(new BookingCreatedEvent(List.of(booking(1L, TODAY.atTime(8, 0), "Economy", "10.00"))));
+
+        // When
+        bookingSketchService.persist();
+        bookingSketchService.persist();
+
+        // Then - one write per sketch, and today's count includes the other node's riders
+        ArgumentCaptor<BookingSketch> saved = ArgumentCaptor.forClass(BookingSketch.class);
+        verify(sketchRepository, times(3)).save(saved.capture());
+        assertEquals(3L, HyperLogLog.fromBytes(stored.getData()).estimate());
+        assertEquals(3L, bookingSketchService.getUniqueRiders(TODAY, TODAY).get("uniqueRiders"));
+        verify(sketchRepository, times(2)).deleteBefore(TODAY.minusDays(29));
+        assertEquals(3L, bookingSketchService.getStats().get("persistedSketches"));
+    }
+
+    @Test
+    void testFailedPersistKeepsDataForTheNextOne() {
+        // Given
+        given(fareCalculatorService.getEstimatedTripTime(anyString(), anyString())).willReturn(20);
+        bookingSketchService.onBookingsCreated(new BookingCreatedEvent(List.of(booking(1L, TODAY.atTime(8, 0), "Economy", "10.00"))));
+        given(sketchRepository.findForUpdate(any(), anyString()))
+            .willThrow(new CannotAcquireLockException("lock wait timeout"))
+            .willReturn(Optional.empty());
+
+        // When
+        bookingSketchService.persist();
+        bookingSketchService.persist();
+
+        // Then - the failed sketch is written on the second persist
+        verify(sketchRepository, times(3)).save(any());
+        assertEquals(1L, bookingSketchService.getStats().get("persistFailures"));
+        assertEquals(1L, bookingSketchService.getUniqueRiders(TODAY, TODAY).get("uniqueRiders"));
+    }
+
+    @Test
+    void testLoadsStoredSketchesAndRejectsWindowsOutsideRetention() {
+        // Given
+        LogHistogram fares = new LogHistogram();
+        fares.record(2500);
+        given(sketchRepository.findSince(TODAY.minusDays(29))).willReturn(List.of(
+            new BookingSketch(new BookingSketch.Key(TODAY, BookingSketchService.FARE_CENTS + "SUV"), fares.toBytes()),
+            new BookingSketch(new BookingSketch.Key(TODAY, BookingSketchService.RIDERS), new byte[3])));
+
+        // When
+        bookingSketchService.load();
+
+        // Then
+        Map<?, ?> suv = (Map<?, ?>) ((Map<?, ?>) bookingSketchService.getPercentiles(TODAY, TODAY).get("fares")).get("SUV");
+        assertEquals(new BigDecimal("25.00"), suv.get("p50"));
+        assertThrows(IllegalArgumentException.class, () -> bookingSketchService.getUniqueRiders(TODAY.minusDays(30), TODAY));
+        assertThrows(IllegalArgumentException.class, () -> bookingSketchService.getPercentiles(TODAY, TODAY.minusDays(1)));
+    }
+
+    private Booking booking(Long customerId, LocalDateTime createdDate, String cabType, String fare) {
+        Customer customer = new Customer("Rider " + customerId, "rider" + customerId + "@example.com", "+1234567890",
+            "123 Main St");
+        customer.setId(customerId);
+        Booking booking = new Booking(customer, "123 Main St", "456 Oak Ave", createdDate.plusHours(1), cabType,
+            new BigDecimal(fare));
+        booking.setCreatedDate(createdDate);
+        return booking;
+    }
+}
@@ -0,0 +1,83 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.CabTypeChangedEvent;
+import com.travelcompany.booking.model.CabType;
+import com.travelcompany.booking.repository.CabTypeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for CabTypeRateCache
+ */
+@ExtendWith(MockitoExtension.class)
+class CabTypeRateCacheTest {
+
+    @Mock
+    private CabTypeRepository cabTypeRepository;
+
+    private CabTypeRateCache cabTypeRateCache;
+
+    private CabType economyCabType;
+
+    @BeforeEach
+    void setUp() {
+        economyCabType = new CabType("Economy", new BigDecimal("5.00"), new BigDecimal("1.50"), "Standard");
+        economyCabType.setId(1L);
+        given(cabTypeRepository.findAll()).willReturn(List.of(economyCabType));
+
+        cabTypeRateCache = new CabTypeRateCache(cabTypeRepository);
+    }
+
+    @Test
+    void testRatesAreServedFromSnapshot() {
+        // When
+        for (int i = 0; i < 100; i++) {
+            cabTypeRateCache.getRate("Economy");
+        }
+
+        // Then
+        verify(cabTypeRepository, times(1)).findAll();
+        assertEquals(100L, cabTypeRateCache.getStats().get("hits"));
+        assertEquals(1L, cabTypeRateCache.getStats().get("reloads"));
+    }
+
+    @Test
+    void testLookupMatchesNameExactly() {
+        assertEquals(new BigDecimal("1.50"), cabTypeRateCache.getRate("Economy").getPerKmRate());
+        assertThrows(RuntimeException.class, () -> cabTypeRateCache.getRate("economy"));
+    }
+
+    @Test
+    void testUnknownCabTypeCountsAsMiss() {
+        assertThrows(RuntimeException.class, () -> cabTypeRateCache.getRate("Limousine"));
+        assertEquals(1L, cabTypeRateCache.getStats().get("misses"));
+    }
+
+    @Test
+    void testChangeEventReloadsSnapshot() {
+        // Given
+        CabTypeRateCache.Snapshot before = cabTypeRateCache.currentSnapshot();
+        CabType renamed = new CabType("Economy Plus", new BigDecimal("6.00"), new BigDecimal("1.75"), "Standard");
+        renamed.setId(1L);
+        given(cabTypeRepository.findAll()).willReturn(List.of(renamed));
+
+        // When
+        cabTypeRateCache.onCabTypeChanged(new CabTypeChangedEvent(1L, "Economy Plus"));
+
+        // Then
+        assertNotSame(before, cabTypeRateCache.currentSnapshot());
+        assertEquals(new BigDecimal("6.00"), cabTypeRateCache.getRate("Economy Plus").getBaseFare());
+        assertThrows(RuntimeException.class, () -> cabTypeRateCache.getRate("Economy"));
+        assertEquals(1, before.getRates().size());
+    }
+}
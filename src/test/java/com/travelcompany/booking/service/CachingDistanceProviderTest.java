@@ -0,0 +1,139 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.cache.BoundedTtlCache;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for CachingDistanceProvider
+ */
+class CachingDistanceProviderTest {
+
+    private CachingDistanceProvider provider;
+
+    @AfterEach
+    void tearDown() {
+        if (provider != null) {
+            provider.shutdown();
+        }
+    }
+
+    @Test
+    void testRepeatedRouteIsServedFromCache() {
+        // Given
+        AtomicInteger calls = new AtomicInteger();
+        provider = newProvider((pickup, destination) -> {
+            calls.incrementAndGet();
+            return new BigDecimal("7.25");
+        }, 1000);
+
+        // When
+        BigDecimal first = provider.getDistanceKm("123 Main St", "456 Oak Ave");
+        BigDecimal second = provider.getDistanceKm("  123 main st ", "456  OAK Ave");
+
+        // Then
+        assertEquals(new BigDecimal("7.25"), first);
+        assertEquals(first, second);
+        assertEquals(1, calls.get());
+        @SuppressWarnings("unchecked")
+        Map<String, Object> cacheStats = (Map<String, Object>) provider.getStats().get("cache");
+        assertEquals(1L, cacheStats.get("hits"));
+    }
+
+    @Test
+    void testSlowProviderFallsBackToEstimate() {
+        // Given
+        provider = newProvider((pickup, destination) -> {
+            try {
+                Thread.sleep(2000);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            return new BigDecimal("99.00");
+        }, 50);
+
+        // When
+        long start = System.nanoTime();
+        BigDecimal distance = provider.getDistanceKm("123 Main St", "456 Oak Ave");
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        // Then
+        assertEquals(SimulatedDistanceProvider.estimate("123 main st", "456 oak ave"), distance);
+        assertTrue(elapsedMillis < 1000);
+        assertEquals(1L, provider.getStats().get("timeouts"));
+        assertEquals(1L, provider.getStats().get("fallbacks"));
+    }
+
+    @Test
+    void testFailingProviderFallsBackToEstimate() {
+        // Given
+        provider = newProvider((pickup, destination) -> {
+            throw new IllegalStateException("routing service down");
+        }, 1000);
+
+        // When
+        BigDecimal distance = provider.getDistanceKm("123 Main St", "456 Oak Ave");
+
+        // Then
+        assertEquals(SimulatedDistanceProvider.estimate("123 main st", "456 oak ave"), distance);
+        assertEquals(1L, provider.getStats().get("failures"));
+    }
+
+    @Test
+    void testProviderAndEstimateGetNormalizedLocations() {
+        // Given
+        List<String> requested = new CopyOnWriteArrayList<>();
+        provider = newProvider((pickup, destination) -> {
+            requested.add(pickup + " -> " + destination);
+            throw new IllegalStateException("routing service down");
+        }, 1000);
+
+        // When
+        BigDecimal first = provider.getDistanceKm("Airport ", "456  Oak Ave");
+        BigDecimal second = provider.getDistanceKm("airport", "456 oak ave");
+
+        // Then - the estimate is not cached, so both spellings reached the provider
+        assertEquals(List.of("airport -> 456 oak ave", "airport -> 456 oak ave"), requested);
+        assertEquals(first, second);
+    }
+
+    @Test
+    void testLocalProviderIsCalledOnTheCallingThread() {
+        // Given
+        Thread caller = Thread.currentThread();
+        DistanceProvider local = new DistanceProvider() {
+            @Override
+            public BigDecimal getDistanceKm(String pickupLocation, String destination) {
+                assertSame(caller, Thread.currentThread());
+                return new BigDecimal("3.50");
+            }
+
+            @Override
+            public boolean isLocal() {
+                return true;
+            }
+        };
+        provider = newProvider(local, 1000);
+
+        // When
+        long distance = provider.getDistanceHundredthsKm("123 Main St", "456 Oak Ave");
+
+        // Then
+        assertEquals(350L, distance);
+        assertEquals(1L, provider.getStats().get("providerCalls"));
+        assertEquals(0, provider.getStats().get("queuedLookups"));
+    }
+
+    private CachingDistanceProvider newProvider(DistanceProvider delegate, long timeoutMillis) {
+        return new CachingDistanceProvider(delegate, RouteKey::new,
+            new BoundedTtlCache<>(100, 1, TimeUnit.HOURS), timeoutMillis, 1, 10);
+    }
+}
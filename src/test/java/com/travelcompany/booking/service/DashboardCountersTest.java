@@ -0,0 +1,211 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.Clock;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for DashboardCounters
+ */
+@ExtendWith(MockitoExtension.class)
+class DashboardCountersTest {
+
+    private static final LocalDateTime NOW = LocalDateTime.of(2026, 3, 10, 12, 30);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    private DashboardCounters dashboardCounters;
+
+    private Customer customer;
+
+    @BeforeEach
+    void setUp() {
+        dashboardCounters = new DashboardCounters(bookingRepository, customerRepository,
+            Clock.fixed(NOW.toInstant(ZoneOffset.UTC), ZoneOffset.UTC));
+        customer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        customer.setId(1L);
+    }
+
+    @Test
+    void testReconcileSeedsCountsFromDatabase() {
+        // Given
+        given(bookingRepository.countGroupedByStatus()).willReturn(List.of(
+            statusCount(Booking.BookingStatus.PENDING, 4), statusCount(Booking.BookingStatus.COMPLETED, 6)));
+        given(bookingRepository.countCreatedPerHourSince(any())).willReturn(List.of(
+            hourCount(NOW.minusDays(1), 2), hourCount(NOW.minusHours(1), 3)));
+        given(customerRepository.countAllCustomers()).willReturn(5L);
+
+        // When
+        dashboardCounters.reconcile();
+        Map<String, Object> stats = dashboardCounters.getDashboardStats();
+
+        // Then
+        assertEquals(5L, stats.get("totalCustomers"));
+        assertEquals(10L, stats.get("totalBookings"));
+        assertEquals(4L, stats.get("pendingBookings"));
+        assertEquals(6L, stats.get("completedBookings"));
+        assertEquals(0L, stats.get("cancelledBookings"));
+        assertEquals(5L, stats.get("recentBookingsCount"));
+    }
+
+    @Test
+    void testEventsUpdateCountsWithoutQueries() {
+        // Given
+        Booking booking = booking(NOW.minusMinutes(5));
+
+        // When
+        dashboardCounters.onBookingsCreated(new BookingCreatedEvent(List.of(booking, booking(NOW.minusMinutes(1)))));
+        dashboardCounters.onBookingStatusChanged(new BookingStatusChangedEvent(List.of(
+            new BookingStatusChangedEvent.Change(1L, Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED,
+                booking.getCabType(), booking.getCreatedDate(), booking.getFare()))));
+        dashboardCounters.customerRegistered();
+        Map<String, Object> stats = dashboardCounters.getDashboardStats();
+
+        // Then
+        assertEquals(2L, stats.get("totalBookings"));
+        assertEquals(1L, stats.get("pendingBookings"));
+        assertEquals(1L, stats.get("confirmedBookings"));
+        assertEquals(2L, stats.get("recentBookingsCount"));
+        assertEquals(1L, stats.get("totalCustomers"));
+    }
+
+    @Test
+    void testBookingsOlderThanSevenDaysLeaveRecentWindow() {
+        // When
+        dashboardCounters.onBookingsCreated(new BookingCreatedEvent(List.of(
+            booking(NOW.minusDays(8)), booking(NOW.minusDays(6)))));
+        Map<String, Object> stats = dashboardCounters.getDashboardStats();
+
+        // Then
+        assertEquals(2L, stats.get("totalBookings"));
+        assertEquals(1L, stats.get("recentBookingsCount"));
+        assertEquals(1, dashboardCounters.getStats().get("trackedHours"));
+    }
+
+    @Test
+    void testReconcileCorrectsDriftAndRecordsIt() {
+        // Given
+        given(bookingRepository.countGroupedByStatus())
+            .willReturn(List.of())
+            .willReturn(List.of(statusCount(Booking.BookingStatus.PENDING, 1)));
+        given(bookingRepository.countCreatedPerHourSince(any())).willReturn(List.of());
+        given(customerRepository.countAllCustomers()).willReturn(0L);
+        dashboardCounters.reconcile();
+        dashboardCounters.onBookingsCreated(new BookingCreatedEvent(List.of(booking(NOW), booking(NOW), booking(NOW))));
+
+        // When
+        dashboardCounters.reconcile();
+
+        // Then
+        assertEquals(1L, dashboardCounters.getDashboardStats().get("pendingBookings"));
+        assertEquals(2L, dashboardCounters.getStats().get("lastDrift"));
+        assertEquals(2L, dashboardCounters.getStats().get("reconciliations"));
+    }
+
+    @Test
+    void testDeletedCustomerIsTakenOutOfCounts() {
+        // Given - two recent bookings and one from before the recent window
+        dashboardCounters.customerRegistered();
+        dashboardCounters.onBookingsCreated(new BookingCreatedEvent(List.of(
+            booking(NOW.minusHours(1)), booking(NOW.minusHours(1)), booking(NOW.minusDays(10)))));
+
+        // When
+        dashboardCounters.onCustomerDeleted(new CustomerDeletedEvent(1L, List.of(), List.of(
+            rollupRow(NOW.minusHours(1), Booking.BookingStatus.PENDING, 2),
+            rollupRow(NOW.minusDays(10), Booking.BookingStatus.PENDING, 1))));
+        Map<String, Object> stats = dashboardCounters.getDashboardStats();
+
+        // Then
+        assertEquals(0L, stats.get("totalCustomers"));
+        assertEquals(0L, stats.get("totalBookings"));
+        assertEquals(0L, stats.get("recentBookingsCount"));
+    }
+
+    private Booking booking(LocalDateTime createdDate) {
+        Booking booking = new Booking(customer, "123 Main St", "456 Oak Ave", createdDate.plusHours(2),
+            "Economy", new BigDecimal("15.50"));
+        booking.setCreatedDate(createdDate);
+        return booking;
+    }
+
+    private static BookingRepository.StatusCountView statusCount(Booking.BookingStatus status, long bookings) {
+        return new BookingRepository.StatusCountView() {
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public long getBookings() { return bookings; }
+        };
+    }
+
+    private static BookingRepository.HourCountView hourCount(LocalDateTime hour, long bookings) {
+        return new BookingRepository.HourCountView() {
+            @Override
+            public int getYear() { return hour.getYear(); }
+
+            @Override
+            public int getMonth() { return hour.getMonthValue(); }
+
+            @Override
+            public int getDay() { return hour.getDayOfMonth(); }
+
+            @Override
+            public int getHour() { return hour.getHour(); }
+
+            @Override
+            public long getBookings() { return bookings; }
+        };
+    }
+
+    private static BookingRepository.RollupRowView rollupRow(LocalDateTime hour, Booking.BookingStatus status,
+                                                             long bookings) {
+        return new BookingRepository.RollupRowView() {
+            @Override
+            public int getYear() { return hour.getYear(); }
+
+            @Override
+            public int getMonth() { return hour.getMonthValue(); }
+
+            @Override
+            public int getDay() { return hour.getDayOfMonth(); }
+
+            @Override
+            public int getHour() { return hour.getHour(); }
+
+            @Override
+            public String getCabType() { return "Economy"; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public long getBookings() { return bookings; }
+
+            @Override
+            public BigDecimal getFareTotal() { return new BigDecimal("15.50").multiply(BigDecimal.valueOf(bookings)); }
+        };
+    }
+}
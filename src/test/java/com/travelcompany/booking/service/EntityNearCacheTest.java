@@ -0,0 +1,196 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.model.CacheVersion;
+import com.travelcompany.booking.model.Customer;
+import com.travelcompany.booking.repository.BookingRepository;
+import com.travelcompany.booking.repository.CacheVersionRepository;
+import com.travelcompany.booking.repository.CustomerRepository;
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.*;
+
+/**
+ * Unit tests for EntityNearCache
+ */
+@ExtendWith(MockitoExtension.class)
+class EntityNearCacheTest {
+
+    @Mock
+    private CustomerRepository customerRepository;
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    @Mock
+    private CacheVersionRepository cacheVersionRepository;
+
+    @Mock
+    private EntityManager entityManager;
+
+    private EntityNearCache entityNearCache;
+
+    private Customer customer;
+    private Booking booking;
+
+    @BeforeEach
+    void setUp() {
+        entityNearCache = new EntityNearCache(customerRepository, bookingRepository, cacheVersionRepository,
+            entityManager, 4, 300, 100, 100);
+
+        customer = new Customer("John Doe", "john@example.com", "+1234567890", "123 Main St");
+        customer.setId(1L);
+        booking = new Booking(customer, "123 Main St", "456 Oak Ave", LocalDateTime.now().plusHours(2),
+            "Economy", new BigDecimal("15.50"));
+        booking.setId(1L);
+    }
+
+    @Test
+    void testCustomerIsLoadedOnceAndDetached() {
+        // Given
+        given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
+        given(entityManager.contains(customer)).willReturn(true);
+
+        // When
+        Optional<Customer> first = entityNearCache.findCustomer(1L);
+        Optional<Customer> second = entityNearCache.findCustomer(1L);
+
+        // Then
+        assertSame(customer, first.orElseThrow());
+        assertSame(customer, second.orElseThrow());
+        verify(customerRepository, times(1)).findById(1L);
+        verify(entityManager).detach(customer);
+    }
+
+    @Test
+    void testCustomerByEmailFallsBackWhenCachedCustomerIsGone() {
+        // Given - the email maps to customer 1, which is then deleted and re-registered as customer 2
+        given(customerRepository.findByEmail("john@example.com")).willReturn(Optional.of(customer));
+        entityNearCache.findCustomerByEmail("john@example.com");
+        entityNearCache.customerDeleted(1L, null);
+
+        Customer reRegistered = new Customer("John Doe", "john@example.com", "+1234567890", "9 Elm St");
+        reRegistered.setId(2L);
+        given(customerRepository.findById(1L)).willReturn(Optional.empty());
+        given(customerRepository.findByEmail("john@example.com")).willReturn(Optional.of(reRegistered));
+
+        // When
+        Optional<Customer> result = entityNearCache.findCustomerByEmail("john@example.com");
+
+        // Then
+        assertEquals(2L, result.orElseThrow().getId());
+    }
+
+    @Test
+    void testCustomerChangeDropsCustomerAndTheirBookingsOnly() {
+        // Given
+        Customer otherCustomer = new Customer("Jane Smith", "jane@example.com", "+1987654321", "9 Elm St");
+        otherCustomer.setId(2L);
+        Booking other = new Booking(otherCustomer, "Airport", "Harbour View", LocalDateTime.now().plusHours(3),
+            "SUV", new BigDecimal("30.00"));
+        other.setId(2L);
+        given(customerRepository.findById(1L)).willReturn(Optional.of(customer));
+        given(bookingRepository.findWithCustomerById(1L)).willReturn(Optional.of(booking));
+        given(bookingRepository.findWithCustomerById(2L)).willReturn(Optional.of(other));
+        given(bookingRepository.findIdsByCustomerId(1L)).willReturn(List.of(1L));
+        entityNearCache.findCustomer(1L);
+        entityNearCache.findBooking(1L);
+        entityNearCache.findBooking(2L);
+
+        // When
+        entityNearCache.customerChanged(1L);
+        entityNearCache.findCustomer(1L);
+        entityNearCache.findBooking(1L);
+        entityNearCache.findBooking(2L);
+
+        // Then - the customer's bucket and their booking's bucket; another customer's booking stays cached
+        verify(customerRepository, times(2)).findById(1L);
+        verify(bookingRepository, times(2)).findWithCustomerById(1L);
+        verify(bookingRepository, times(1)).findWithCustomerById(2L);
+        verify(cacheVersionRepository).bump(Set.of("customers:1", "bookings:1"));
+    }
+
+    @Test
+    void testBookingChangeWaitsForCommit() {
+        // Given
+        given(bookingRepository.findWithCustomerById(1L)).willReturn(Optional.of(booking));
+        entityNearCache.findBooking(1L);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When
+            entityNearCache.bookingsChanged(List.of(1L));
+            entityNearCache.findBooking(1L);
+
+            // Then - nothing is dropped or published before the transaction commits
+            verify(bookingRepository, times(1)).findWithCustomerById(1L);
+            verify(cacheVersionRepository, never()).bump(any());
+
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+        entityNearCache.findBooking(1L);
+        verify(bookingRepository, times(2)).findWithCustomerById(1L);
+        verify(cacheVersionRepository).bump(Set.of("bookings:1"));
+    }
+
+    @Test
+    void testPollFlushesBucketsBumpedByOtherNodes() {
+        // Given - baseline versions, then another node bumps the bucket of booking 1
+        given(bookingRepository.findWithCustomerById(any())).willAnswer(invocation -> {
+            Booking loaded = new Booking(customer, "A", "B", LocalDateTime.now(), "Economy", BigDecimal.TEN);
+            loaded.setId(invocation.getArgument(0));
+            return Optional.of(loaded);
+        });
+        given(cacheVersionRepository.findAll()).willReturn(List.of(version("bookings:1", 0), version("bookings:2", 0)));
+        entityNearCache.pollVersions();
+        entityNearCache.findBooking(1L);
+        entityNearCache.findBooking(2L);
+        given(cacheVersionRepository.findAll()).willReturn(List.of(version("bookings:1", 1), version("bookings:2", 0)));
+
+        // When
+        entityNearCache.pollVersions();
+        entityNearCache.findBooking(1L);
+        entityNearCache.findBooking(2L);
+
+        // Then
+        verify(bookingRepository, times(2)).findWithCustomerById(1L);
+        verify(bookingRepository, times(1)).findWithCustomerById(2L);
+        assertEquals(1L, entityNearCache.getStats().get("remoteBucketFlushes"));
+    }
+
+    @Test
+    void testPublishFailureDoesNotFailTheWrite() {
+        // Given
+        given(cacheVersionRepository.bump(anyCollection())).willThrow(new RuntimeException("database down"));
+
+        // When
+        entityNearCache.bookingsChanged(List.of(1L));
+
+        // Then
+        assertEquals(1L, entityNearCache.getStats().get("versionPublishFailures"));
+    }
+
+    private static CacheVersion version(String name, long value) {
+        CacheVersion version = new CacheVersion(name);
+        version.setVersion(value);
+        return version;
+    }
+}
@@ -0,0 +1,105 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.dto.FareQuoteRequestDto;
+import com.travelcompany.booking.dto.FareQuoteResultDto;
+import com.travelcompany.booking.model.CabType;
+import com.travelcompany.booking.repository.CabTypeRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for FareBatchService
+ */
+@ExtendWith(MockitoExtension.class)
+class FareBatchServiceTest {
+
+    @Mock
+    private CabTypeRepository cabTypeRepository;
+
+    private CabTypeRateCache cabTypeRateCache;
+    private FareCalculatorService fareCalculatorService;
+    private FareBatchService fareBatchService;
+
+    @BeforeEach
+    void setUp() {
+        CabType economy = new CabType("Economy", new BigDecimal("5.00"), new BigDecimal("1.50"), "Standard");
+        CabType suv = new CabType("SUV", new BigDecimal("12.00"), new BigDecimal("2.50"), "Large");
+        given(cabTypeRepository.findAll()).willReturn(List.of(economy, suv));
+
+        cabTypeRateCache = new CabTypeRateCache(cabTypeRepository);
+        cabTypeRateCache.reload();
+        fareCalculatorService = new FareCalculatorService(cabTypeRateCache, new SimulatedDistanceProvider(),
+            new SurgePricingService(new MockEnvironment(), 15, 20, 1.0, 0.5, 2.0));
+        fareBatchService = new FareBatchService(fareCalculatorService, cabTypeRateCache, 5000, 16, 2);
+    }
+
+    @AfterEach
+    void tearDown() {
+        fareBatchService.shutdown();
+    }
+
+    @Test
+    void testBatchMatchesSingleQuotes() {
+        // Given
+        List<FareQuoteRequestDto> trips = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            trips.add(new FareQuoteRequestDto("Pickup " + i, "Drop " + i, i % 2 == 0 ? "Economy" : "SUV"));
+        }
+
+        // When
+        List<FareQuoteResultDto> results = fareBatchService.calculateFares(trips);
+
+        // Then
+        assertEquals(trips.size(), results.size());
+        for (int i = 0; i < trips.size(); i++) {
+            FareQuoteRequestDto trip = trips.get(i);
+            assertEquals(i, results.get(i).getIndex());
+            assertEquals(fareCalculatorService.calculateFare(trip.getPickupLocation(), trip.getDestination(), trip.getCabType()),
+                results.get(i).getTotalFare());
+        }
+    }
+
+    @Test
+    void testErrorsAreReportedPerItem() {
+        // Given
+        List<FareQuoteRequestDto> trips = List.of(
+            new FareQuoteRequestDto("123 Main St", "456 Oak Ave", "Economy"),
+            new FareQuoteRequestDto("123 Main St", "456 Oak Ave", "Limousine"),
+            new FareQuoteRequestDto("", "456 Oak Ave", "Economy"));
+
+        // When
+        List<FareQuoteResultDto> results = fareBatchService.calculateFares(trips);
+
+        // Then
+        assertNotNull(results.get(0).getTotalFare());
+        assertNull(results.get(0).getError());
+        assertEquals("Cab type not found: Limousine", results.get(1).getError());
+        assertNull(results.get(1).getTotalFare());
+        assertNotNull(results.get(2).getError());
+    }
+
+    @Test
+    void testOversizedBatchIsRejected() {
+        FareBatchService smallBatches = new FareBatchService(fareCalculatorService, cabTypeRateCache, 2, 16, 1);
+        try {
+            List<FareQuoteRequestDto> trips = List.of(
+                new FareQuoteRequestDto("a", "b", "Economy"),
+                new FareQuoteRequestDto("a", "b", "Economy"),
+                new FareQuoteRequestDto("a", "b", "Economy"));
+            assertThrows(IllegalArgumentException.class, () -> smallBatches.calculateFares(trips));
+        } finally {
+            smallBatches.shutdown();
+        }
+    }
+}
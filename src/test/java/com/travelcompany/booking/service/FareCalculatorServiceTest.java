@@ -1,16 +1,17 @@
 package com.travelcompany.booking.service;
 
 import com.travelcompany.booking.dto.FareCalculationDto;
+import com.travelcompany.booking.dto.FareMatrixDto;
 import com.travelcompany.booking.model.CabType;
 import com.travelcompany.booking.repository.CabTypeRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.mock.env.MockEnvironment;
 import java.math.BigDecimal;
-import java.util.Optional;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.BDDMockito.given;
@@ -24,7 +25,6 @@ class FareCalculatorServiceTest {
     @Mock
     private CabTypeRepository cabTypeRepository;
 
-    @InjectMocks
     private FareCalculatorService fareCalculatorService;
 
     private CabType economyCabType;
@@ -38,13 +38,18 @@ class FareCalculatorServiceTest {
             "Standard comfortable ride"
         );
         economyCabType.setId(1L);
+        CabType suvCabType = new CabType("SUV", new BigDecimal("12.00"), new BigDecimal("2.50"), "Large SUV");
+        suvCabType.setId(3L);
+
+        given(cabTypeRepository.findAll()).willReturn(List.of(economyCabType, suvCabType));
+        CabTypeRateCache cabTypeRateCache = new CabTypeRateCache(cabTypeRepository);
+        cabTypeRateCache.reload();
+        fareCalculatorService = new FareCalculatorService(cabTypeRateCache, new SimulatedDistanceProvider(),
+            new SurgePricingService(new MockEnvironment(), 15, 20, 1.0, 0.5, 2.0));
     }
 
     @Test
     void testCalculateFare() {
-        // Given
-        given(cabTypeRepository.findByName("Economy")).willReturn(Optional.of(economyCabType));
-
         // When
         BigDecimal result = fareCalculatorService.calculateFare("123 Main St", "456 Oak Ave", "Economy");
 
@@ -58,9 +63,6 @@ class FareCalculatorServiceTest {
 
     @Test
     void testCalculateFareCabTypeNotFound() {
-        // Given
-        given(cabTypeRepository.findByName("NonExistent")).willReturn(Optional.empty());
-
         // When & Then
         assertThrows(RuntimeException.class, () -> {
             fareCalculatorService.calculateFare("123 Main St", "456 Oak Ave", "NonExistent");
@@ -69,9 +71,6 @@ class FareCalculatorServiceTest {
 
     @Test
     void testCalculateDetailedFare() {
-        // Given
-        given(cabTypeRepository.findByName("Economy")).willReturn(Optional.of(economyCabType));
-
         // When
         FareCalculationDto result = fareCalculatorService.calculateDetailedFare("123 Main St", "456 Oak Ave", "Economy");
 
@@ -96,4 +95,21 @@ class FareCalculatorServiceTest {
         assertTrue(result > 0);
         assertTrue(result <= 50); // Based on our simulation logic (max ~25km * 2)
     }
-}
\ No newline at end of file
+
+    @Test
+    void testCalculateFareMatrix() {
+        // When
+        FareMatrixDto result = fareCalculatorService.calculateFareMatrix("123 Main St", "456 Oak Ave");
+
+        // Then
+        assertEquals(2, result.getFares().size());
+        assertEquals(fareCalculatorService.getEstimatedTripTime("123 Main St", "456 Oak Ave"),
+            result.getEstimatedTripMinutes());
+        for (FareCalculationDto fare : result.getFares()) {
+            FareCalculationDto single = fareCalculatorService.calculateDetailedFare("123 Main St", "456 Oak Ave", fare.getCabType());
+            assertEquals(single.getTotalFare(), fare.getTotalFare());
+            assertEquals(result.getDistanceKm(), fare.getDistanceKm());
+        }
+        assertEquals("Economy", result.getFares().get(0).getCabType());
+    }
+}
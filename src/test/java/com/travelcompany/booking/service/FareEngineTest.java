@@ -0,0 +1,110 @@
+package com.travelcompany.booking.service;
+
+import org.junit.jupiter.api.Test;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Property tests for FareEngine
+ * Every result is checked against the original BigDecimal fare formula to the cent.
+ */
+class FareEngineTest {
+
+    private static final List<BigDecimal[]> CAB_TYPE_RATES = List.of(
+        new BigDecimal[] { new BigDecimal("5.00"), new BigDecimal("1.50") },   // Economy
+        new BigDecimal[] { new BigDecimal("8.00"), new BigDecimal("2.00") },   // Premium
+        new BigDecimal[] { new BigDecimal("12.00"), new BigDecimal("2.50") }); // SUV
+
+    private static final BigDecimal[] TIME_FARES = { BigDecimal.ZERO, BigDecimal.valueOf(5.00) };
+
+    @Test
+    void testMatchesBigDecimalForEveryCabTypeAndDistance() {
+        // Every distance from 0 to 500 km in steps of 0.01 km
+        for (BigDecimal[] rate : CAB_TYPE_RATES) {
+            for (BigDecimal timeFare : TIME_FARES) {
+                for (long hundredths = 0; hundredths <= 50_000; hundredths++) {
+                    assertMatches(rate[0], rate[1], BigDecimal.valueOf(hundredths, 2), timeFare);
+                }
+            }
+        }
+    }
+
+    @Test
+    void testMatchesBigDecimalForRandomRatesAndDistances() {
+        Random random = new Random(20251018L);
+        for (int i = 0; i < 200_000; i++) {
+            BigDecimal baseFare = BigDecimal.valueOf(random.nextInt(100_000), 2);
+            BigDecimal perKmRate = BigDecimal.valueOf(random.nextInt(10_000), 2);
+            BigDecimal distanceKm = BigDecimal.valueOf(random.nextInt(1_000_000), 2);
+            BigDecimal timeFare = BigDecimal.valueOf(random.nextInt(5_000), 2);
+            assertMatches(baseFare, perKmRate, distanceKm, timeFare);
+        }
+    }
+
+    @Test
+    void testEstimatedTripMinutesMatchesBigDecimal() {
+        for (long hundredths = 0; hundredths <= 50_000; hundredths++) {
+            BigDecimal distanceKm = BigDecimal.valueOf(hundredths, 2);
+            int expected = distanceKm.multiply(BigDecimal.valueOf(2)).intValue();
+            assertEquals(expected, FareEngine.estimatedTripMinutes(hundredths), "distance " + distanceKm);
+        }
+    }
+
+    @Test
+    void testSimulatedDistancesMatchAfterConversion() {
+        for (int i = 0; i < 10_000; i++) {
+            BigDecimal distanceKm = SimulatedDistanceProvider.estimate("Pickup " + i, "Drop " + i);
+            assertEquals(0, distanceKm.compareTo(FareEngine.fromHundredths(FareEngine.toHundredths(distanceKm))));
+        }
+    }
+
+    @Test
+    void testSurgeFareMatchesBigDecimal() {
+        Random random = new Random(6L);
+        for (int i = 0; i < 100_000; i++) {
+            long baseCents = random.nextInt(10_000);
+            long distanceFare = random.nextInt(10_000_000);
+            long multiplier = 10_000 + random.nextInt(20_001);
+
+            BigDecimal fareBeforeSurge = BigDecimal.valueOf(baseCents, 2).add(BigDecimal.valueOf(distanceFare, 4));
+            BigDecimal expected = fareBeforeSurge
+                .multiply(BigDecimal.valueOf(multiplier - 10_000, 4))
+                .setScale(2, RoundingMode.HALF_UP);
+
+            assertEquals(expected, FareEngine.fromHundredths(FareEngine.surgeFareCents(baseCents, distanceFare, multiplier)));
+        }
+        assertEquals(0L, FareEngine.surgeFareCents(500, 75_000, 10_000));
+    }
+
+    @Test
+    void testFinerFractionsAreRoundedOnlyWhenAsked() {
+        assertThrows(ArithmeticException.class, () -> FareEngine.toHundredths(new BigDecimal("1.255")));
+        assertEquals(150L, FareEngine.toHundredths(new BigDecimal("1.5")));
+        assertEquals(126L, FareEngine.roundToHundredths(new BigDecimal("1.255")));
+    }
+
+    @Test
+    void testOverflowIsRejected() {
+        assertThrows(ArithmeticException.class, () -> FareEngine.distanceFare(Long.MAX_VALUE, 2L));
+    }
+
+    private static void assertMatches(BigDecimal baseFare, BigDecimal perKmRate, BigDecimal distanceKm,
+                                      BigDecimal timeFare) {
+        // Original BigDecimal formula from FareCalculatorService
+        BigDecimal distanceFare = distanceKm.multiply(perKmRate);
+        BigDecimal expected = baseFare.add(distanceFare).add(timeFare).setScale(2, RoundingMode.HALF_UP);
+
+        long fixedDistanceFare = FareEngine.distanceFare(FareEngine.toHundredths(distanceKm),
+            FareEngine.toHundredths(perKmRate));
+        long totalCents = FareEngine.totalFareCents(FareEngine.toHundredths(baseFare), fixedDistanceFare,
+            FareEngine.toHundredths(timeFare));
+
+        assertEquals(expected, FareEngine.fromHundredths(totalCents),
+            () -> "base " + baseFare + ", rate " + perKmRate + ", distance " + distanceKm + ", time " + timeFare);
+        assertEquals(0, distanceFare.compareTo(FareEngine.fromDistanceFare(fixedDistanceFare)));
+    }
+}
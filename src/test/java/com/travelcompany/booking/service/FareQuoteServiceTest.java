@@ -0,0 +1,99 @@
+package com.travelcompany.booking.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import java.math.BigDecimal;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for FareQuoteService
+ */
+class FareQuoteServiceTest {
+
+    private FareQuoteService fareQuoteService;
+
+    @BeforeEach
+    void setUp() {
+        fareQuoteService = new FareQuoteService(300, 100);
+    }
+
+    @Test
+    void testQuoteIsRedeemedOnce() {
+        // Given
+        FareQuoteService.Quote quote = fareQuoteService.issueQuote("123 Main St", "456 Oak Ave", "Economy",
+            new BigDecimal("15.50"));
+
+        // When
+        Optional<BigDecimal> first = fareQuoteService.redeemQuote(quote.getQuoteId(), " 123 MAIN ST", "456 oak ave", "Economy");
+        Optional<BigDecimal> second = fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "Economy");
+
+        // Then
+        assertEquals(Optional.of(new BigDecimal("15.50")), first);
+        assertTrue(second.isEmpty());
+    }
+
+    @Test
+    void testQuoteForDifferentTripIsRejected() {
+        FareQuoteService.Quote quote = fareQuoteService.issueQuote("123 Main St", "456 Oak Ave", "Economy",
+            new BigDecimal("15.50"));
+
+        assertTrue(fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "SUV").isEmpty());
+        assertTrue(fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "economy").isEmpty());
+    }
+
+    @Test
+    void testRejectedRedemptionKeepsQuoteForCorrectedRetry() {
+        // Given
+        FareQuoteService.Quote quote = fareQuoteService.issueQuote("123 Main St", "456 Oak Ave", "Economy",
+            new BigDecimal("15.50"));
+
+        // When
+        Optional<BigDecimal> wrongTrip = fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "789 Pine Rd", "Economy");
+        Optional<BigDecimal> retry = fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "Economy");
+
+        // Then
+        assertTrue(wrongTrip.isEmpty());
+        assertEquals(Optional.of(new BigDecimal("15.50")), retry);
+    }
+
+    @Test
+    void testExpiredQuoteIsRejected() {
+        FareQuoteService expiring = new FareQuoteService(0, 100);
+        FareQuoteService.Quote quote = expiring.issueQuote("123 Main St", "456 Oak Ave", "Economy",
+            new BigDecimal("15.50"));
+
+        assertTrue(expiring.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "Economy").isEmpty());
+    }
+
+    @Test
+    void testMissingOrUnknownQuoteIsEmpty() {
+        assertTrue(fareQuoteService.redeemQuote(null, "a", "b", "Economy").isEmpty());
+        assertTrue(fareQuoteService.redeemQuote("", "a", "b", "Economy").isEmpty());
+        assertTrue(fareQuoteService.redeemQuote("unknown", "a", "b", "Economy").isEmpty());
+    }
+
+    @Test
+    void testQuoteRedeemedInRolledBackTransactionIsGivenBack() {
+        // Given
+        FareQuoteService.Quote quote = fareQuoteService.issueQuote("123 Main St", "456 Oak Ave", "Economy",
+            new BigDecimal("15.50"));
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            // When - redeemed, then the transaction rolls back
+            assertTrue(fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "Economy").isPresent());
+            TransactionSynchronizationManager.getSynchronizations()
+                .forEach(sync -> sync.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        // Then
+        assertEquals(Optional.of(new BigDecimal("15.50")),
+            fareQuoteService.redeemQuote(quote.getQuoteId(), "123 Main St", "456 Oak Ave", "Economy"));
+        assertEquals(1L, fareQuoteService.getStats().get("restored"));
+    }
+}
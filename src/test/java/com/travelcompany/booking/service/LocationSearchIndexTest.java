@@ -0,0 +1,183 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.CustomerDeletedEvent;
+import com.travelcompany.booking.repository.BookingRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.data.domain.PageRequest;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.BDDMockito.given;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+/**
+ * Unit tests for LocationSearchIndex
+ */
+class LocationSearchIndexTest {
+
+    private LocationSearchIndex index;
+    private BookingRepository bookingRepository;
+
+    private final LocalDateTime created = LocalDateTime.now().minusHours(1);
+
+    @BeforeEach
+    void setUp() {
+        bookingRepository = mock(BookingRepository.class);
+        given(bookingRepository.streamAllLocations()).willReturn(Stream.of(location(5L, "Museum", "Stadium")));
+        index = new LocationSearchIndex(bookingRepository, 100, 60);
+        index.rebuild();
+        index.add(1L, "123 Main St", "Central Station");
+        index.add(2L, "Airport Terminal 2", "45 Mainland Road");
+        index.add(3L, "Main", "Harbour View");
+        index.add(4L, "Old Town", "Remainder Lane");
+    }
+
+    @Test
+    void testSearchRanksExactThenPrefixThenWordThenSubstring() {
+        // When
+        List<Long> ids = index.search("MAIN", 0, 10);
+
+        // Then
+        assertEquals(List.of(3L, 2L, 1L, 4L), ids);
+    }
+
+    @Test
+    void testSearchVerifiesCandidatesAgainstFullQuery() {
+        // Given: "station" and "stadium" share the grams "sta" but only one contains the query
+        // When
+        List<Long> ids = index.search("station", 0, 10);
+
+        // Then
+        assertEquals(List.of(1L), ids);
+        assertTrue(index.search("nowhere", 0, 10).isEmpty());
+    }
+
+    @Test
+    void testShortAndEmptyQueriesAreLeftToTheDatabase() {
+        // When / Then
+        assertTrue(index.canSearch(" Sta "));
+        assertFalse(index.canSearch("st"));
+        assertFalse(index.canSearch(null));
+        assertThrows(IllegalArgumentException.class, () -> index.search("st", 0, 10));
+        assertFalse(new LocationSearchIndex(bookingRepository, 100, 60).canSearch("main"));
+    }
+
+    @Test
+    void testCatchUpReadsByCreationTimeFromBeforeTheLoad() {
+        // Given: other nodes created bookings around the load; ID 4 is already indexed and ID 6 has a
+        // lower ID than the last booking loaded but committed after the load
+        given(bookingRepository.findLocationsCreatedSince(any(), eq(0L), eq(PageRequest.of(0, 1000)))).willReturn(List.of(
+            location(4L, "Old Town", "Remainder Lane"), location(2L, "Mainport", "Quay"), location(7L, "Docks", "Main Square")));
+
+        // When
+        index.catchUp();
+
+        // Then: the scan started an overlap window before the load began
+        ArgumentCaptor<LocalDateTime> since = ArgumentCaptor.forClass(LocalDateTime.class);
+        verify(bookingRepository).findLocationsCreatedSince(since.capture(), eq(0L), eq(PageRequest.of(0, 1000)));
+        assertTrue(since.getValue().isBefore(LocalDateTime.now().minusSeconds(59)));
+        assertEquals(6, index.size());
+        assertEquals(List.of(3L, 7L, 2L, 1L, 4L), index.search("main", 0, 10));
+        assertEquals(1L, index.getStats().get("caughtUp"));
+    }
+
+    @Test
+    void testCatchUpPagesOnCreationTimeAndId() {
+        // Given: a full page ends at ID 6; the next page continues after it
+        List<BookingRepository.BookingLocationView> fullPage = new ArrayList<>();
+        for (long id = 1006; id > 7; id--) {
+            fullPage.add(location(id, "Depot " + id, "Yard"));
+        }
+        fullPage.add(location(6L, "Mainport", "Quay"));
+        given(bookingRepository.findLocationsCreatedSince(any(), eq(0L), eq(PageRequest.of(0, 1000)))).willReturn(fullPage);
+        given(bookingRepository.findLocationsCreatedSince(created, 6L, PageRequest.of(0, 1000)))
+            .willReturn(List.of(location(1007L, "Docks", "Main Square")));
+
+        // When
+        index.catchUp();
+
+        // Then
+        assertEquals(List.of(3L, 1007L, 6L, 2L, 1L, 4L), index.search("main", 0, 10));
+    }
+
+    @Test
+    void testDeletedCustomersBookingsAreRemoved() {
+        // When
+        index.onCustomerDeleted(new CustomerDeletedEvent(9L, List.of(1L, 3L, 42L), List.of()));
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(List.of(2L, 4L), index.search("main", 0, 10));
+        assertEquals(List.of(2L), index.search("terminal", 0, 10));
+        assertTrue(index.search("central", 0, 10).isEmpty());
+        assertEquals(2L, index.getStats().get("evicted"));
+    }
+
+    @Test
+    void testEvictDeletedDropsBookingsNoLongerInTheTable() {
+        // Given: bookings 2 and 5 were deleted on another node
+        given(bookingRepository.streamAllIds()).willReturn(Stream.of(1L, 3L, 4L, 9L));
+
+        // When
+        index.evictDeleted();
+
+        // Then
+        assertEquals(3, index.size());
+        assertEquals(List.of(3L, 1L, 4L), index.search("main", 0, 10));
+        assertTrue(index.search("stadium", 0, 10).isEmpty());
+        assertEquals(2L, index.getStats().get("evicted"));
+    }
+
+    @Test
+    void testSearchPaginatesRankedResults() {
+        // When
+        List<Long> firstPage = index.search("main", 0, 2);
+        List<Long> secondPage = index.search("main", 1, 2);
+
+        // Then
+        assertEquals(List.of(3L, 2L), firstPage);
+        assertEquals(List.of(1L, 4L), secondPage);
+        assertTrue(index.search("main", 2, 2).isEmpty());
+    }
+
+    @Test
+    void testAddIsIdempotentAndOutOfOrderIdsAreFound() {
+        // When
+        index.add(1L, "123 Main St", "Central Station");
+        index.add(0L, "Mainstreet Mall", "Docks");
+
+        // Then
+        assertEquals(6, index.size());
+        assertEquals(List.of(3L, 0L, 2L, 1L, 4L), index.search("main", 0, 10));
+    }
+
+    @Test
+    void testInvalidPageIsRejected() {
+        assertThrows(IllegalArgumentException.class, () -> index.search("main", -1, 10));
+        assertThrows(IllegalArgumentException.class, () -> index.search("main", 0, 0));
+    }
+
+    private BookingRepository.BookingLocationView location(Long id, String pickupLocation, String destination) {
+        return new BookingRepository.BookingLocationView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public String getPickupLocation() { return pickupLocation; }
+
+            @Override
+            public String getDestination() { return destination; }
+
+            @Override
+            public LocalDateTime getCreatedDate() { return created; }
+        };
+    }
+}
@@ -0,0 +1,36 @@
+package com.travelcompany.booking.service;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for RouteKey
+ */
+class RouteKeyTest {
+
+    @Test
+    void testKeysIgnoreCaseAndWhitespace() {
+        // Given
+        RouteKey stored = new RouteKey("123 Main St", "456 Oak Ave");
+
+        // When
+        RouteKey lookup = new RouteKey("  123  MAIN\tst ", "456 oak   Ave");
+
+        // Then
+        assertEquals(stored, lookup);
+        assertEquals(stored.hashCode(), lookup.hashCode());
+        assertEquals("123 main st", lookup.getPickup());
+        assertEquals("456 oak ave", lookup.getDestination());
+    }
+
+    @Test
+    void testWordBoundariesAndEndpointsStillMatter() {
+        RouteKey route = new RouteKey("123 Main St", "456 Oak Ave");
+
+        assertNotEquals(route, new RouteKey("123 MainSt", "456 Oak Ave"));
+        assertNotEquals(route, new RouteKey("456 Oak Ave", "123 Main St"));
+        assertNotEquals(route, new RouteKey("123 Main St", "456 Oak Ave 2"));
+        assertEquals(new RouteKey(null, " "), new RouteKey("", null));
+    }
+}
@@ -0,0 +1,104 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.event.BookingCreatedEvent;
+import com.travelcompany.booking.model.Booking;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.env.MockEnvironment;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for SurgePricingService
+ */
+class SurgePricingServiceTest {
+
+    private final AtomicLong now = new AtomicLong(TimeUnit.DAYS.toMillis(20_000));
+    private SurgePricingService surgePricingService;
+
+    @BeforeEach
+    void setUp() {
+        MockEnvironment environment = new MockEnvironment().withProperty("fare.surge.supply.suv", "4");
+        surgePricingService = new SurgePricingService(environment, now::get, 15, 10, 1.0, 0.5, 2.0);
+    }
+
+    @Test
+    void testNoDemandMeansNoSurge() {
+        surgePricingService.refresh();
+        assertEquals(SurgePricingService.NO_SURGE, surgePricingService.getMultiplierBasisPoints("Economy"));
+    }
+
+    @Test
+    void testDemandAboveSupplyRaisesMultiplier() {
+        // Given: 20 bookings against a supply of 10
+        IntStream.range(0, 20).forEach(i -> surgePricingService.recordBooking("Economy"));
+
+        // When
+        surgePricingService.refresh();
+
+        // Then: ratio 2.0, 1.0 above threshold at slope 0.5
+        assertEquals(15_000L, surgePricingService.getMultiplierBasisPoints("Economy"));
+    }
+
+    @Test
+    void testMultiplierIsCapped() {
+        // Given: 40 bookings against the configured SUV supply of 4
+        IntStream.range(0, 40).forEach(i -> surgePricingService.recordBooking("SUV"));
+
+        // When
+        surgePricingService.refresh();
+
+        // Then
+        assertEquals(20_000L, surgePricingService.getMultiplierBasisPoints("SUV"));
+    }
+
+    @Test
+    void testCommittedBookingsRaiseDemandAgainstLowerCaseSupply() {
+        // Given: 8 committed SUV bookings against the SUV supply of 4
+        List<Booking> bookings = IntStream.range(0, 8)
+            .mapToObj(i -> new Booking(null, "123 Main St", "456 Oak Ave", LocalDateTime.now(), "SUV", BigDecimal.TEN))
+            .toList();
+
+        // When
+        surgePricingService.onBookingsCreated(new BookingCreatedEvent(bookings));
+        surgePricingService.refresh();
+
+        // Then: ratio 2.0; the name is matched exactly
+        assertEquals(15_000L, surgePricingService.getMultiplierBasisPoints("SUV"));
+        assertEquals(SurgePricingService.NO_SURGE, surgePricingService.getMultiplierBasisPoints("suv"));
+    }
+
+    @Test
+    void testBookingsLeaveTheWindow() {
+        // Given
+        IntStream.range(0, 20).forEach(i -> surgePricingService.recordBooking("Economy"));
+
+        // When
+        now.addAndGet(TimeUnit.MINUTES.toMillis(16));
+        surgePricingService.refresh();
+
+        // Then
+        assertEquals(SurgePricingService.NO_SURGE, surgePricingService.getMultiplierBasisPoints("Economy"));
+    }
+
+    @Test
+    void testConcurrentBookingsAreAllCounted() {
+        // When
+        IntStream.range(0, 10_000).parallel().forEach(i -> surgePricingService.recordBooking("Premium"));
+        surgePricingService.refresh();
+
+        // Then
+        @SuppressWarnings("unchecked")
+        Map<String, Object> cabTypes = (Map<String, Object>) surgePricingService.getWindowState().get("cabTypes");
+        @SuppressWarnings("unchecked")
+        Map<String, Object> premium = (Map<String, Object>) cabTypes.get("Premium");
+        assertEquals(10_000L, premium.get("bookingsInWindow"));
+    }
+}
@@ -0,0 +1,162 @@
+package com.travelcompany.booking.service;
+
+import com.travelcompany.booking.dto.TripGroupDto;
+import com.travelcompany.booking.dto.TripQueryDto;
+import com.travelcompany.booking.event.BookingStatusChangedEvent;
+import com.travelcompany.booking.model.Booking;
+import com.travelcompany.booking.repository.BookingRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.BDDMockito.given;
+
+/**
+ * Unit tests for TripAnalyticsStore
+ */
+@ExtendWith(MockitoExtension.class)
+class TripAnalyticsStoreTest {
+
+    // A Monday
+    private static final LocalDateTime BASE = LocalDateTime.of(2026, 1, 5, 8, 0);
+
+    @Mock
+    private BookingRepository bookingRepository;
+
+    private TripAnalyticsStore tripAnalyticsStore;
+
+    @BeforeEach
+    void setUp() {
+        tripAnalyticsStore = new TripAnalyticsStore(bookingRepository, 4);
+    }
+
+    @AfterEach
+    void tearDown() {
+        tripAnalyticsStore.shutdown();
+    }
+
+    @Test
+    void testGroupsFinishedTripsByCabType() {
+        // Given
+        tripAnalyticsStore.append(1L, BASE, "Economy", Booking.BookingStatus.COMPLETED, new BigDecimal("10.00"));
+        tripAnalyticsStore.append(2L, BASE, "Economy", Booking.BookingStatus.COMPLETED, new BigDecimal("15.25"));
+        tripAnalyticsStore.append(3L, BASE, "SUV", Booking.BookingStatus.COMPLETED, new BigDecimal("40.00"));
+        tripAnalyticsStore.append(4L, BASE, "SUV", Booking.BookingStatus.CANCELLED, new BigDecimal("30.00"));
+        tripAnalyticsStore.append(5L, BASE, "SUV", Booking.BookingStatus.PENDING, new BigDecimal("99.00"));
+
+        // When
+        List<TripGroupDto> groups = tripAnalyticsStore.query(new TripQueryDto(Booking.BookingStatus.COMPLETED, null,
+            null, null, TripQueryDto.GroupBy.CAB_TYPE));
+
+        // Then
+        assertEquals(4, tripAnalyticsStore.size());
+        assertEquals(2, groups.size());
+        assertEquals("Economy", groups.get(0).getGroup());
+        assertEquals(2, groups.get(0).getTrips());
+        assertEquals(new BigDecimal("25.25"), groups.get(0).getFareTotal());
+        assertEquals(new BigDecimal("12.63"), groups.get(0).getAverageFare());
+        assertEquals("SUV", groups.get(1).getGroup());
+        assertEquals(new BigDecimal("40.00"), groups.get(1).getFareTotal());
+    }
+
+    @Test
+    void testFiltersByTimeRangeAndGroupsByHourAndWeekday() {
+        // Given
+        tripAnalyticsStore.append(1L, BASE.plusMinutes(30), "Economy", Booking.BookingStatus.COMPLETED, new BigDecimal("10.00"));
+        tripAnalyticsStore.append(2L, BASE.plusHours(3), "economy", Booking.BookingStatus.COMPLETED, new BigDecimal("20.00"));
+        tripAnalyticsStore.append(3L, BASE.plusDays(1), "Economy", Booking.BookingStatus.COMPLETED, new BigDecimal("30.00"));
+
+        // When
+        List<TripGroupDto> byHour = tripAnalyticsStore.query(new TripQueryDto(null, "ECONOMY",
+            BASE, BASE.plusDays(1), TripQueryDto.GroupBy.HOUR_OF_DAY));
+        List<TripGroupDto> byWeekday = tripAnalyticsStore.query(new TripQueryDto(null, null,
+            null, null, TripQueryDto.GroupBy.DAY_OF_WEEK));
+
+        // Then
+        assertEquals(List.of("08:00", "11:00"), byHour.stream().map(TripGroupDto::getGroup).toList());
+        assertEquals(List.of("MONDAY", "TUESDAY"), byWeekday.stream().map(TripGroupDto::getGroup).toList());
+        assertEquals(2, byWeekday.get(0).getTrips());
+    }
+
+    @Test
+    void testParallelScanCoversEveryChunk() {
+        // Given - enough trips for several chunks
+        int trips = TripAnalyticsStore.CHUNK_SIZE * 3 + 17;
+        for (int i = 0; i < trips; i++) {
+            tripAnalyticsStore.append((long) i, BASE.plusMinutes(i % 5000), i % 2 == 0 ? "Economy" : "SUV",
+                Booking.BookingStatus.COMPLETED, new BigDecimal("1.50"));
+        }
+
+        // When
+        List<TripGroupDto> total = tripAnalyticsStore.query(new TripQueryDto());
+        List<TripGroupDto> byStatus = tripAnalyticsStore.query(new TripQueryDto(null, null, null, null,
+            TripQueryDto.GroupBy.STATUS));
+
+        // Then
+        assertEquals(trips, total.get(0).getTrips());
+        assertEquals(new BigDecimal("1.50").multiply(BigDecimal.valueOf(trips)), total.get(0).getFareTotal());
+        assertEquals("COMPLETED", byStatus.get(0).getGroup());
+        assertEquals(2L * trips, tripAnalyticsStore.getStats().get("rowsScanned"));
+    }
+
+    @Test
+    void testReloadLoadsFinishedBookingsAndEventsAppend() {
+        // Given
+        given(bookingRepository.streamByStatusIn(any())).willReturn(Stream.of(
+            trip(1L, Booking.BookingStatus.COMPLETED, "12.00"), trip(2L, Booking.BookingStatus.CANCELLED, "8.00")));
+
+        // When
+        tripAnalyticsStore.reload();
+        tripAnalyticsStore.onBookingStatusChanged(new BookingStatusChangedEvent(List.of(
+            new BookingStatusChangedEvent.Change(3L, Booking.BookingStatus.IN_PROGRESS, Booking.BookingStatus.COMPLETED,
+                "Premium", BASE, new BigDecimal("20.00")),
+            new BookingStatusChangedEvent.Change(4L, Booking.BookingStatus.PENDING, Booking.BookingStatus.CONFIRMED,
+                "Premium", BASE, new BigDecimal("20.00")))));
+        List<TripGroupDto> completed = tripAnalyticsStore.query(new TripQueryDto(Booking.BookingStatus.COMPLETED,
+            null, null, null, TripQueryDto.GroupBy.NONE));
+
+        // Then
+        assertEquals(3, tripAnalyticsStore.size());
+        assertEquals(2, completed.get(0).getTrips());
+        assertEquals(new BigDecimal("32.00"), completed.get(0).getFareTotal());
+        assertEquals(1L, tripAnalyticsStore.getStats().get("reloads"));
+    }
+
+    @Test
+    void testQueryForUnfinishedStatusIsEmpty() {
+        // Given
+        tripAnalyticsStore.append(1L, BASE, "Economy", Booking.BookingStatus.COMPLETED, new BigDecimal("10.00"));
+
+        // When & Then
+        assertTrue(tripAnalyticsStore.query(new TripQueryDto(Booking.BookingStatus.PENDING, null, null, null, null))
+            .isEmpty());
+    }
+
+    private BookingRepository.BookingStatusView trip(Long id, Booking.BookingStatus status, String fare) {
+        return new BookingRepository.BookingStatusView() {
+            @Override
+            public Long getId() { return id; }
+
+            @Override
+            public Booking.BookingStatus getStatus() { return status; }
+
+            @Override
+            public String getCabType() { return "Economy"; }
+
+            @Override
+            public LocalDateTime getCreatedDate() { return BASE; }
+
+            @Override
+            public BigDecimal getFare() { return new BigDecimal(fare); }
+        };
+    }
+}
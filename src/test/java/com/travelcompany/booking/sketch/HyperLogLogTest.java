@@ -0,0 +1,79 @@
+package com.travelcompany.booking.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for HyperLogLog
+ */
+class HyperLogLogTest {
+
+    @Test
+    void testSmallCountsAreNearExact() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+
+        // When - every value added three times
+        for (int round = 0; round < 3; round++) {
+            for (long value = 1; value <= 1000; value++) {
+                sketch.add(value);
+            }
+        }
+
+        // Then
+        assertEquals(1000, sketch.estimate(), 10);
+    }
+
+    @Test
+    void testLargeCountsStayWithinErrorBound() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        long distinct = 1_000_000;
+
+        // When
+        for (long value = 0; value < distinct; value++) {
+            sketch.add(value * 7919);
+        }
+
+        // Then - three standard errors
+        assertEquals(distinct, sketch.estimate(), distinct * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Test
+    void testMergeCountsTheUnion() {
+        // Given - two days sharing half their riders
+        HyperLogLog monday = new HyperLogLog();
+        HyperLogLog tuesday = new HyperLogLog();
+        for (long value = 0; value < 20_000; value++) {
+            monday.add(value);
+            tuesday.add(value + 10_000);
+        }
+
+        // When
+        HyperLogLog window = monday.copy();
+        window.merge(tuesday);
+        window.merge(tuesday);
+
+        // Then
+        assertEquals(30_000, window.estimate(), 30_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+        assertEquals(20_000, monday.estimate(), 20_000 * 3 * HyperLogLog.RELATIVE_STANDARD_ERROR);
+    }
+
+    @Test
+    void testBytesRoundTrip() {
+        // Given
+        HyperLogLog sketch = new HyperLogLog();
+        for (long value = 0; value < 5000; value++) {
+            sketch.add(value);
+        }
+
+        // When
+        HyperLogLog read = HyperLogLog.fromBytes(sketch.toBytes());
+
+        // Then
+        assertEquals(sketch, read);
+        assertEquals(sketch.estimate(), read.estimate());
+        assertThrows(IllegalArgumentException.class, () -> HyperLogLog.fromBytes(new byte[10]));
+    }
+}
@@ -0,0 +1,87 @@
+package com.travelcompany.booking.sketch;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Unit tests for LogHistogram
+ */
+class LogHistogramTest {
+
+    @Test
+    void testSmallValuesAreExact() {
+        // Given
+        LogHistogram histogram = new LogHistogram();
+
+        // When
+        for (long value = 1; value <= 100; value++) {
+            histogram.record(value);
+        }
+
+        // Then
+        assertEquals(50, histogram.percentile(50));
+        assertEquals(95, histogram.percentile(95));
+        assertEquals(99, histogram.percentile(99));
+        assertEquals(100, histogram.percentile(100));
+        assertEquals(1, histogram.getMin());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+    }
+
+    @Test
+    void testPercentilesStayWithinRelativeError() {
+        // Given - skewed fares in cents
+        Random random = new Random(42);
+        long[] values = new long[100_000];
+        LogHistogram histogram = new LogHistogram();
+        for (int i = 0; i < values.length; i++) {
+            values[i] = 500 + (long) (Math.exp(random.nextGaussian()) * 2000);
+            histogram.record(values[i]);
+        }
+        Arrays.sort(values);
+
+        // When & Then
+        for (double percentile : new double[] {50, 95, 99, 99.9}) {
+            long exact = values[(int) Math.ceil(percentile / 100 * values.length) - 1];
+            long estimate = histogram.percentile(percentile);
+            assertEquals(exact, estimate, exact * LogHistogram.MAX_RELATIVE_ERROR, "p" + percentile);
+        }
+        assertEquals(values[values.length - 1], histogram.getMax());
+    }
+
+    @Test
+    void testMergeAndBytesRoundTrip() {
+        // Given
+        LogHistogram economy = new LogHistogram();
+        LogHistogram other = new LogHistogram();
+        for (long value = 0; value < 1000; value++) {
+            economy.record(value * 10);
+            other.record(1_000_000 + value);
+        }
+
+        // When
+        LogHistogram merged = LogHistogram.fromBytes(economy.toBytes());
+        merged.merge(other);
+
+        // Then
+        assertEquals(2000, merged.getCount());
+        assertEquals(0, merged.getMin());
+        assertEquals(1_000_999, merged.getMax());
+        assertEquals(economy.percentile(99), LogHistogram.fromBytes(economy.toBytes()).percentile(99));
+        assertEquals(1_000_000, merged.percentile(75), 1_000_000 * LogHistogram.MAX_RELATIVE_ERROR);
+    }
+
+    @Test
+    void testRejectsNegativeValuesAndEmptyHistogramIsZero() {
+        // Given
+        LogHistogram histogram = new LogHistogram();
+
+        // When & Then
+        assertThrows(IllegalArgumentException.class, () -> histogram.record(-1));
+        assertEquals(0, histogram.percentile(99));
+        assertEquals(0, histogram.getMax());
+    }
+}